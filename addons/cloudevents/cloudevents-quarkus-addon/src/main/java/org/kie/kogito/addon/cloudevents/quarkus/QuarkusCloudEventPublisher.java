@@ -15,6 +15,7 @@
  */
 package org.kie.kogito.addon.cloudevents.quarkus;
 
+import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Produces;
 import javax.inject.Named;
@@ -23,12 +24,15 @@ import io.quarkus.runtime.Startup;
 import io.smallrye.mutiny.Multi;
 import org.eclipse.microprofile.reactive.messaging.Channel;
 import org.eclipse.microprofile.reactive.messaging.Message;
+import org.kie.kogito.event.AcknowledgeableEvent;
 import org.kie.kogito.event.KogitoEventStreams;
 import org.reactivestreams.Publisher;
 
 /**
  * Takes a @Channel event stream and re-exposes it as a Multi
- * (a subclass of {@link Publisher})
+ * (a subclass of {@link Publisher}) of payloads, acknowledged as soon as
+ * they are received, and as a Multi of {@link AcknowledgeableEvent}, whose
+ * subscribers acknowledge the events once processed.
  */
 @Startup
 @ApplicationScoped
@@ -36,13 +40,49 @@ public class QuarkusCloudEventPublisher {
     @Channel(KogitoEventStreams.INCOMING)
     Multi<Message<String>> events;
 
+    private Multi<Message<String>> messages;
+
+    @PostConstruct
+    void init() {
+        // the channel is subscribed once whatever the number of streams derived from it
+        messages = events.broadcast().toAllSubscribers();
+    }
+
     @Produces
     @ApplicationScoped
     @Named(KogitoEventStreams.PUBLISHER)
     public Multi<String> makeMulti() {
-        return events
+        return messages
                 .invoke(Message::ack)
                 .map(Message::getPayload)
                 .broadcast().toAllSubscribers();
-    }    
+    }
+
+    @Produces
+    @ApplicationScoped
+    @Named(KogitoEventStreams.MESSAGE_PUBLISHER)
+    public Multi<AcknowledgeableEvent> makeMessageMulti() {
+        return messages
+                .map(message -> (AcknowledgeableEvent) new MessageEvent(message))
+                .broadcast().toAllSubscribers();
+    }
+
+    private static class MessageEvent implements AcknowledgeableEvent {
+
+        private final Message<String> message;
+
+        private MessageEvent(Message<String> message) {
+            this.message = message;
+        }
+
+        @Override
+        public String payload() {
+            return message.getPayload();
+        }
+
+        @Override
+        public void ack() {
+            message.ack();
+        }
+    }
 }
\ No newline at end of file
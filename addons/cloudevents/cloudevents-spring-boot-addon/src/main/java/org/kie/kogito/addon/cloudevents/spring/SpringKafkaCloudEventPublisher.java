@@ -23,6 +23,7 @@ import java.util.Map;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.kie.kogito.event.AcknowledgeableEvent;
 import org.kie.kogito.event.KogitoEventStreams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +38,7 @@ import reactor.core.publisher.Flux;
 import reactor.kafka.receiver.KafkaReceiver;
 import reactor.kafka.receiver.ReceiverOffset;
 import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
 
 @Component
 public class SpringKafkaCloudEventPublisher {
@@ -48,6 +50,8 @@ public class SpringKafkaCloudEventPublisher {
 
     private final String topic;
 
+    private Flux<ReceiverRecord<Integer, String>> records;
+
     public SpringKafkaCloudEventPublisher(
             @Value(value = "${spring.kafka.bootstrap-servers}") String kafkaBootstrapAddress,
             @Value(value = "${spring.kafka.consumer.group-id}") String groupId,
@@ -67,23 +71,59 @@ public class SpringKafkaCloudEventPublisher {
     @Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
     @Qualifier(KogitoEventStreams.PUBLISHER)
     public Flux<String> makeConsumer() {
-        ReceiverOptions<Integer, String> options = receiverOptions.subscription(Collections.singleton(topic))
-                .addAssignListener(partitions -> log.debug("onPartitionsAssigned {}", partitions))
-                .addRevokeListener(partitions -> log.debug("onPartitionsRevoked {}", partitions));
-
-        ConnectableFlux<String> broadcast = KafkaReceiver.create(options).receive().map(record -> {
-            ReceiverOffset offset = record.receiverOffset();
-            log.info("Received message: topic-partition={} offset={} timestamp={} key={} value={}\n",
-                      offset.topicPartition(),
-                      offset.offset(),
-                      dateFormat.format(new Date(record.timestamp())),
-                      record.key(),
-                      record.value());
-            offset.acknowledge();
+        return records().map(record -> {
+            record.receiverOffset().acknowledge();
+            return record.value();
+        });
+    }
+
+    /**
+     * Events are only acknowledged by the subscribers once processed
+     */
+    @Bean
+    @Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
+    @Qualifier(KogitoEventStreams.MESSAGE_PUBLISHER)
+    public Flux<AcknowledgeableEvent> makeMessageConsumer() {
+        return records().map(record -> (AcknowledgeableEvent) new RecordEvent(record));
+    }
+
+    // the topic is subscribed once whatever the number of streams derived from it
+    private synchronized Flux<ReceiverRecord<Integer, String>> records() {
+        if (records == null) {
+            ReceiverOptions<Integer, String> options = receiverOptions.subscription(Collections.singleton(topic))
+                    .addAssignListener(partitions -> log.debug("onPartitionsAssigned {}", partitions))
+                    .addRevokeListener(partitions -> log.debug("onPartitionsRevoked {}", partitions));
+
+            ConnectableFlux<ReceiverRecord<Integer, String>> broadcast = KafkaReceiver.create(options).receive().doOnNext(record -> {
+                ReceiverOffset offset = record.receiverOffset();
+                log.info("Received message: topic-partition={} offset={} timestamp={} key={} value={}\n",
+                          offset.topicPartition(),
+                          offset.offset(),
+                          dateFormat.format(new Date(record.timestamp())),
+                          record.key(),
+                          record.value());
+            }).publish();
+            records = broadcast.autoConnect();
+        }
+        return records;
+    }
+
+    private static class RecordEvent implements AcknowledgeableEvent {
+
+        private final ReceiverRecord<Integer, String> record;
+
+        private RecordEvent(ReceiverRecord<Integer, String> record) {
+            this.record = record;
+        }
 
+        @Override
+        public String payload() {
             return record.value();
-        }).publish();
+        }
 
-        return broadcast.autoConnect();
+        @Override
+        public void ack() {
+            record.receiverOffset().acknowledge();
+        }
     }
 }
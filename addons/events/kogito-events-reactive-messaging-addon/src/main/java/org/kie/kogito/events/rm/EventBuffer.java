@@ -0,0 +1,185 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.events.rm;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded first in first out buffer of encoded events waiting for downstream demand. Events published
+ * together, usually the events of one unit of work, are admitted as a whole and the given {@link OverflowPolicy}
+ * decides what happens when they do not fit.
+ */
+public class EventBuffer implements Closeable {
+
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final SpillFile spill;
+
+    private final Deque<byte[]> queue = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+
+    private long dropped;
+    private long spilled;
+
+    public EventBuffer(int capacity, OverflowPolicy policy, Path spillFile) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Buffer capacity must be greater than zero but was " + capacity);
+        }
+        this.capacity = capacity;
+        this.policy = policy;
+        this.spill = policy == OverflowPolicy.SPILL ? new SpillFile(spillFile) : null;
+    }
+
+    /**
+     * Adds the given events, waiting for room when the policy is {@link OverflowPolicy#BLOCK}.
+     * A group larger than the whole buffer is admitted once the buffer is empty.
+     * @param events encoded events to add
+     * @param timeout maximum time to wait for room, after which the events are dropped
+     * @param unit unit of the timeout
+     * @return true if the events were buffered or spilled, false if they were dropped
+     * @throws InterruptedException if interrupted while waiting for room
+     */
+    public boolean offer(List<byte[]> events, long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            switch (policy) {
+                case BLOCK:
+                    long nanos = unit.toNanos(timeout);
+                    while (!queue.isEmpty() && queue.size() + events.size() > capacity) {
+                        if (nanos <= 0) {
+                            dropped += events.size();
+                            return false;
+                        }
+                        nanos = notFull.awaitNanos(nanos);
+                    }
+                    queue.addAll(events);
+                    return true;
+                case DROP_OLDEST:
+                    queue.addAll(events);
+                    while (queue.size() > capacity) {
+                        queue.poll();
+                        dropped++;
+                    }
+                    return true;
+                default:
+                    // once events are spilled the following ones are spilled too, to keep them in order
+                    if (spill.isEmpty() && queue.size() + events.size() <= capacity) {
+                        queue.addAll(events);
+                    } else {
+                        spill.append(events);
+                        spilled += events.size();
+                    }
+                    return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the oldest event
+     * @return the oldest event or null if the buffer is empty
+     */
+    public byte[] poll() {
+        lock.lock();
+        try {
+            if (queue.isEmpty() && spill != null && !spill.isEmpty()) {
+                queue.add(spill.read());
+            }
+            byte[] event = queue.poll();
+            if (spill != null) {
+                while (queue.size() < capacity && !spill.isEmpty()) {
+                    queue.add(spill.read());
+                }
+            }
+            if (event != null) {
+                notFull.signalAll();
+            }
+            return event;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Puts back an event taken by {@link #poll()} that could not be sent, it is the next one returned
+     * @param event event to put back
+     */
+    public void requeue(byte[] event) {
+        lock.lock();
+        try {
+            queue.addFirst(event);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of events waiting to be sent, in memory and spilled to disk
+     */
+    public long depth() {
+        lock.lock();
+        try {
+            return queue.size() + (spill == null ? 0 : spill.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of events dropped because they did not fit in the buffer
+     */
+    public long dropped() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of events written to disk because they did not fit in the buffer
+     */
+    public long spilled() {
+        lock.lock();
+        try {
+            return spilled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (spill != null) {
+            lock.lock();
+            try {
+                spill.close();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.events.rm;
+
+import java.util.Map;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exposes the state of the {@link EventBuffer} of each topic as meters, they read the buffers when scraped.
+ */
+public class EventBufferMetricsBinder implements MeterBinder {
+
+    private final Map<String, EventBuffer> buffers;
+
+    public EventBufferMetricsBinder(Map<String, EventBuffer> buffers) {
+        this.buffers = buffers;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        buffers.forEach((topic, buffer) -> {
+            Gauge.builder("kie_events_buffer_depth", buffer, EventBuffer::depth)
+                    .description("Events waiting for downstream demand")
+                    .tag("topic", topic)
+                    .register(registry);
+            FunctionCounter.builder("kie_events_buffer_dropped_total", buffer, EventBuffer::dropped)
+                    .description("Events dropped because the buffer was full")
+                    .tag("topic", topic)
+                    .register(registry);
+            FunctionCounter.builder("kie_events_buffer_spilled_total", buffer, EventBuffer::spilled)
+                    .description("Events spilled to disk because the buffer was full")
+                    .tag("topic", topic)
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.events.rm;
+
+import java.nio.file.Paths;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Disposes;
+import javax.enterprise.inject.Produces;
+import javax.inject.Singleton;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.services.event.impl.FileSystemEventOutbox;
+import org.kie.kogito.services.event.impl.OutboxEventManager;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.uow.UnitOfWorkManager;
+
+/**
+ * Produces a {@link UnitOfWorkManager} relaying the events of the units of work through an {@link OutboxEventManager}
+ * when <code>kogito.events.outbox.enabled</code> is set to <code>true</code>. The outbox is kept in
+ * <code>kogito.events.outbox.directory</code>.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "kogito.events.outbox.enabled", stringValue = "true")
+public class EventOutboxProducer {
+
+    @ConfigProperty(name = "kogito.events.outbox.directory")
+    String directory;
+
+    @ConfigProperty(name = "kogito.events.outbox.batch-size", defaultValue = "100")
+    int batchSize;
+
+    @ConfigProperty(name = "kogito.events.outbox.max-attempts", defaultValue = "10")
+    int maxAttempts;
+
+    @Produces
+    @Singleton
+    public UnitOfWorkManager produceUnitOfWorkManager() {
+        OutboxEventManager eventManager = new OutboxEventManager(new FileSystemEventOutbox(Paths.get(directory)), batchSize, maxAttempts);
+        return new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory(), eventManager);
+    }
+
+    public void close(@Disposes UnitOfWorkManager unitOfWorkManager) {
+        ((OutboxEventManager) unitOfWorkManager.eventManager()).close();
+    }
+}
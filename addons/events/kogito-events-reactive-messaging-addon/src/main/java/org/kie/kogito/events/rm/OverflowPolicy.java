@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.events.rm;
+
+/**
+ * What {@link EventBuffer} does with events that do not fit in the buffer
+ */
+public enum OverflowPolicy {
+
+    /**
+     * the publishing thread waits until the buffer has room for the events and the events are dropped if there is
+     * still no room after the timeout
+     */
+    BLOCK,
+    /**
+     * the oldest buffered events are dropped to make room for the new ones
+     */
+    DROP_OLDEST,
+    /**
+     * events are appended to a file on local disk and read back in order once the buffer has room
+     */
+    SPILL;
+
+    public static OverflowPolicy from(String value) {
+        return valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+}
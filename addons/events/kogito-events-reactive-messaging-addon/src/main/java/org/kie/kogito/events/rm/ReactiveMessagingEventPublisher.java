@@ -15,103 +15,315 @@
  */
 package org.kie.kogito.events.rm;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import io.micrometer.core.instrument.Metrics;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.EventEncodingException;
 import org.kie.kogito.event.EventPublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
 
 import org.eclipse.microprofile.reactive.messaging.Channel;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
 
+/**
+ * Publishes events to reactive messaging channels only when there is downstream demand. Events wait
+ * in a bounded {@link EventBuffer} per channel until then, and the configured {@link OverflowPolicy}
+ * decides what happens when the buffer is full. Events are published once the unit of work has been committed, so
+ * publishing never fails it: events that do not fit are dropped and logged, use the event outbox when they must not be
+ * lost. The state of the buffers is exposed as <code>kie_events_buffer_*</code>
+ * meters of the global meter registry. Events are encoded as JSON bytes and sent as <code>String</code>,
+ * or as <code>byte[]</code> when <code>kogito.events.binary</code> is enabled.
+ */
 @Singleton
 public class ReactiveMessagingEventPublisher implements EventPublisher {
     private static final String PI_TOPIC_NAME = "kogito-processinstances-events";
     private static final String UI_TOPIC_NAME = "kogito-usertaskinstances-events";
     private static final String VI_TOPIC_NAME = "kogito-variables-events";
-    
+
+    private static final long DRAIN_INTERVAL_MILLIS = 100;
+
     private static final Logger logger = LoggerFactory.getLogger(ReactiveMessagingEventPublisher.class);
     private ObjectMapper json = new ObjectMapper();
-    
+    private ObjectWriter writer;
+
     @Inject
     @Channel(PI_TOPIC_NAME)
-    Emitter<String> processInstancesEventsEmitter;
-    
+    Emitter<Object> processInstancesEventsEmitter;
+
     @Inject
     @Channel(UI_TOPIC_NAME)
-    Emitter<String> userTasksEventsEmitter;
-    
+    Emitter<Object> userTasksEventsEmitter;
+
     @Inject
     @Channel(VI_TOPIC_NAME)
-    Emitter<String> variablesEventsEmitter;
-    
+    Emitter<Object> variablesEventsEmitter;
+
     @Inject
     @ConfigProperty(name = "kogito.events.processinstances.enabled")
     Optional<Boolean> processInstancesEvents;
-    
+
     @Inject
     @ConfigProperty(name = "kogito.events.usertasks.enabled")
     Optional<Boolean> userTasksEvents;
-    
+
     @Inject
     @ConfigProperty(name = "kogito.events.variables.enabled")
     Optional<Boolean> variablesEvents;
-    
+
+    @Inject
+    @ConfigProperty(name = "kogito.events.binary", defaultValue = "false")
+    boolean binary;
+
+    @Inject
+    @ConfigProperty(name = "kogito.events.buffer.capacity", defaultValue = "1000")
+    int bufferCapacity;
+
+    @Inject
+    @ConfigProperty(name = "kogito.events.buffer.overflow", defaultValue = "block")
+    String overflow;
+
+    @Inject
+    @ConfigProperty(name = "kogito.events.buffer.block-timeout", defaultValue = "1000")
+    long blockTimeout;
+
+    @Inject
+    @ConfigProperty(name = "kogito.events.buffer.spill-directory")
+    Optional<String> spillDirectory;
+
+    private final Map<String, Topic> topics = new LinkedHashMap<>();
+    private ScheduledExecutorService drainer;
+
     @PostConstruct
     public void configure() {
         json.setDateFormat(new StdDateFormat().withColonInTimeZone(true).withTimeZone(TimeZone.getDefault()));
+        writer = json.writer();
+
+        OverflowPolicy policy = OverflowPolicy.from(overflow);
+        Path spillPath = policy == OverflowPolicy.SPILL ? spillPath() : null;
+        topics.put(PI_TOPIC_NAME, new Topic(PI_TOPIC_NAME, processInstancesEventsEmitter, new EventBuffer(bufferCapacity, policy, spillFile(spillPath, PI_TOPIC_NAME))));
+        topics.put(UI_TOPIC_NAME, new Topic(UI_TOPIC_NAME, userTasksEventsEmitter, new EventBuffer(bufferCapacity, policy, spillFile(spillPath, UI_TOPIC_NAME))));
+        topics.put(VI_TOPIC_NAME, new Topic(VI_TOPIC_NAME, variablesEventsEmitter, new EventBuffer(bufferCapacity, policy, spillFile(spillPath, VI_TOPIC_NAME))));
+
+        Map<String, EventBuffer> buffers = new LinkedHashMap<>();
+        topics.forEach((name, topic) -> buffers.put(name, topic.buffer));
+        new EventBufferMetricsBinder(buffers).bindTo(Metrics.globalRegistry);
+
+        // demand is not signalled by the emitters, buffered events are also sent when demand shows up later on
+        drainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kogito-events-drainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        drainer.scheduleWithFixedDelay(() -> topics.values().forEach(this::drain), DRAIN_INTERVAL_MILLIS, DRAIN_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Spilled events are read back after a restart only from a configured directory, by default every instance
+     * spills to its own temporary directory so that instances sharing a host do not share files.
+     */
+    private Path spillPath() {
+        if (spillDirectory.isPresent()) {
+            return Paths.get(spillDirectory.get());
+        }
+        try {
+            return Files.createTempDirectory("kogito-events-");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create the directory of the spilled events", e);
+        }
+    }
+
+    private static Path spillFile(Path spillPath, String topic) {
+        return spillPath == null ? null : spillPath.resolve(topic);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (drainer != null) {
+            drainer.shutdownNow();
+        }
+        topics.values().forEach(topic -> topic.buffer.close());
     }
-    
+
     @Override
     public void publish(DataEvent<?> event) {
-        if (event.getType().equals("ProcessInstanceEvent") && processInstancesEvents.orElse(true)) {
-            
-            publishToTopic(event, processInstancesEventsEmitter, PI_TOPIC_NAME);
-        } else if (event.getType().equals("UserTaskInstanceEvent") && userTasksEvents.orElse(true)) {
-            
-            publishToTopic(event, userTasksEventsEmitter, UI_TOPIC_NAME);
-        } else if (event.getType().equals("VariableInstanceEvent") && variablesEvents.orElse(true)) {
-            
-            publishToTopic(event, variablesEventsEmitter, VI_TOPIC_NAME);
-        } else {
-            logger.warn("Unknown type of event '{}', ignoring", event.getType());
-        }
-        
+        publish(Collections.singletonList(event));
     }
 
     @Override
     public void publish(Collection<DataEvent<?>> events) {
+        // events of the same unit of work enter the buffer of their topic together
+        Map<Topic, List<byte[]>> encoded = new LinkedHashMap<>();
+        for (DataEvent<?> event : events) {
+            Topic topic = topicOf(event);
+            if (topic != null) {
+                byte[] payload = encode(event, topic);
+                if (payload != null) {
+                    encoded.computeIfAbsent(topic, t -> new ArrayList<>()).add(payload);
+                }
+            }
+        }
+        encoded.forEach(this::offer);
+    }
+
+    /**
+     * Sends the events straight to the emitters, without buffering them, and completes once they are all
+     * acknowledged downstream. Used by the event outbox, which keeps the events until they are delivered.
+     */
+    @Override
+    public CompletionStage<Void> deliver(Collection<DataEvent<?>> events) {
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
         for (DataEvent<?> event : events) {
-            publish(event);
+            Topic topic = topicOf(event);
+            if (topic != null) {
+                try {
+                    byte[] payload;
+                    try {
+                        payload = writer.writeValueAsBytes(event);
+                    } catch (Exception e) {
+                        throw new EventEncodingException(event.getId(), e);
+                    }
+                    deliveries.add(topic.emitter.send(binary ? payload : new String(payload, StandardCharsets.UTF_8)).toCompletableFuture());
+                } catch (Exception e) {
+                    CompletableFuture<Void> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(e);
+                    deliveries.add(failed);
+                }
+            }
+        }
+        return CompletableFuture.allOf(deliveries.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * @param topic name of the topic
+     * @return number of events of the topic waiting for downstream demand
+     */
+    public long queueDepth(String topic) {
+        return topics.get(topic).buffer.depth();
+    }
+
+    /**
+     * @param topic name of the topic
+     * @return number of events of the topic dropped because the buffer was full
+     */
+    public long droppedEvents(String topic) {
+        return topics.get(topic).buffer.dropped();
+    }
+
+    /**
+     * @param topic name of the topic
+     * @return number of events of the topic spilled to disk because the buffer was full
+     */
+    public long spilledEvents(String topic) {
+        return topics.get(topic).buffer.spilled();
+    }
+
+    protected Topic topicOf(DataEvent<?> event) {
+        if (event.getType().equals("ProcessInstanceEvent")) {
+            return processInstancesEvents.orElse(true) ? topics.get(PI_TOPIC_NAME) : null;
+        } else if (event.getType().equals("UserTaskInstanceEvent")) {
+            return userTasksEvents.orElse(true) ? topics.get(UI_TOPIC_NAME) : null;
+        } else if (event.getType().equals("VariableInstanceEvent")) {
+            return variablesEvents.orElse(true) ? topics.get(VI_TOPIC_NAME) : null;
         }
+        logger.warn("Unknown type of event '{}', ignoring", event.getType());
+        return null;
     }
 
-    
-    protected void publishToTopic(DataEvent<?> event, Emitter<String> emitter, String topic) {
-        if (emitter.hasRequests()) {
-            logger.debug("Emitter {} is not ready to send messages", topic);
+    protected byte[] encode(DataEvent<?> event, Topic topic) {
+        logger.debug("About to publish event {} to topic {}", event, topic.name);
+        try {
+            return writer.writeValueAsBytes(event);
+        } catch (Exception e) {
+            logger.error("Error while publishing event to topic {} for event {}", topic.name, event, e);
+            return null;
         }
-        
-        logger.debug("About to publish event {} to topic {}", event, topic);
+    }
+
+    /*
+     * the unit of work is already committed, failing here would only fail its caller, so events not buffered are logged
+     */
+    protected void offer(Topic topic, List<byte[]> events) {
         try {
-            String eventString = json.writeValueAsString(event);
-            logger.debug("Event payload '{}'", eventString);
+            if (!topic.buffer.offer(events, blockTimeout, TimeUnit.MILLISECONDS)) {
+                logger.error("Topic {} had no room for {} events after {} ms, events dropped", topic.name, events.size(), blockTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while waiting for room in topic {}, {} events dropped", topic.name, events.size());
+        }
+        drain(topic);
+    }
 
-            emitter.send(eventString);
-            logger.debug("Successfully published event {} to topic {}", event, topic);
+    protected void drain(Topic topic) {
+        if (!topic.draining.compareAndSet(false, true)) {
+            return;
+        }
+        byte[] payload = null;
+        try {
+            while (topic.emitter.hasRequests() && (payload = topic.buffer.poll()) != null) {
+                topic.emitter.send(binary ? payload : new String(payload, StandardCharsets.UTF_8)).whenComplete((result, error) -> {
+                    if (error != null) {
+                        logger.error("Error while publishing event to topic {}", topic.name, error);
+                    } else {
+                        logger.debug("Successfully published event to topic {}", topic.name);
+                    }
+                    drain(topic);
+                });
+                payload = null;
+            }
         } catch (Exception e) {
-            logger.error("Error while publishing event to topic {} for event {}", topic, event, e);
-        }  
+            // the event is sent again on the next drain, before the ones buffered after it
+            if (payload != null) {
+                topic.buffer.requeue(payload);
+            }
+            logger.error("Error while publishing events to topic {}", topic.name, e);
+        } finally {
+            topic.draining.set(false);
+        }
+    }
+
+    protected static class Topic {
+
+        private final String name;
+        private final Emitter<Object> emitter;
+        private final EventBuffer buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Topic(String name, Emitter<Object> emitter, EventBuffer buffer) {
+            this.name = name;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
     }
 }
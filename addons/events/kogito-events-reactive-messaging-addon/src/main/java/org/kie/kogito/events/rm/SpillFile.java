@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.events.rm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Append only file of length prefixed events read back in the order they were written. The file is truncated
+ * once every event was read, events left from a previous run are read first.
+ */
+class SpillFile implements Closeable {
+
+    private final FileChannel channel;
+    private final ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+    private long readPosition;
+    private long writePosition;
+    private long size;
+
+    SpillFile(Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open spill file " + file, e);
+        }
+    }
+
+    private void recover() throws IOException {
+        long length = channel.size();
+        while (writePosition + Integer.BYTES <= length) {
+            int recordSize = readHeader(writePosition);
+            if (recordSize < 0 || writePosition + Integer.BYTES + recordSize > length) {
+                // torn by a crash while appending
+                break;
+            }
+            writePosition += Integer.BYTES + recordSize;
+            size++;
+        }
+        channel.truncate(writePosition);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long size() {
+        return size;
+    }
+
+    void append(List<byte[]> events) {
+        try {
+            for (byte[] event : events) {
+                ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + event.length);
+                record.putInt(event.length).put(event).flip();
+                while (record.hasRemaining()) {
+                    writePosition += channel.write(record, writePosition);
+                }
+                size++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    byte[] read() {
+        if (size == 0) {
+            return null;
+        }
+        try {
+            int recordSize = readHeader(readPosition);
+            ByteBuffer event = ByteBuffer.allocate(recordSize);
+            while (event.hasRemaining()) {
+                channel.read(event, readPosition + Integer.BYTES + event.position());
+            }
+            readPosition += Integer.BYTES + recordSize;
+            if (--size == 0) {
+                channel.truncate(0);
+                readPosition = 0;
+                writePosition = 0;
+            }
+            return event.array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int readHeader(long position) throws IOException {
+        header.clear();
+        while (header.hasRemaining()) {
+            if (channel.read(header, position + header.position()) < 0) {
+                return -1;
+            }
+        }
+        return header.getInt(0);
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.events.rm;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventBufferTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testBlock() throws InterruptedException {
+        try (EventBuffer buffer = new EventBuffer(2, OverflowPolicy.BLOCK, null)) {
+            assertThat(buffer.offer(events("a", "b"), 0, TimeUnit.MILLISECONDS)).isTrue();
+            assertThat(buffer.offer(events("c"), 10, TimeUnit.MILLISECONDS)).isFalse();
+            assertThat(buffer.dropped()).isOne();
+
+            Thread consumer = new Thread(() -> {
+                sleep();
+                buffer.poll();
+            });
+            consumer.start();
+            assertThat(buffer.offer(events("c"), 10, TimeUnit.SECONDS)).isTrue();
+            consumer.join();
+            assertThat(drain(buffer)).containsExactly("b", "c");
+
+            // a unit of work larger than the buffer is admitted once the buffer is empty
+            assertThat(buffer.offer(events("d", "e", "f"), 0, TimeUnit.MILLISECONDS)).isTrue();
+            assertThat(drain(buffer)).containsExactly("d", "e", "f");
+        }
+    }
+
+    @Test
+    void testDropOldest() throws InterruptedException {
+        try (EventBuffer buffer = new EventBuffer(2, OverflowPolicy.DROP_OLDEST, null)) {
+            buffer.offer(events("a", "b"), 0, TimeUnit.MILLISECONDS);
+            buffer.offer(events("c"), 0, TimeUnit.MILLISECONDS);
+            assertThat(buffer.depth()).isEqualTo(2);
+            assertThat(buffer.dropped()).isOne();
+            assertThat(drain(buffer)).containsExactly("b", "c");
+        }
+    }
+
+    @Test
+    void testSpill() throws InterruptedException {
+        Path file = directory.resolve("events.spill");
+        try (EventBuffer buffer = new EventBuffer(2, OverflowPolicy.SPILL, file)) {
+            buffer.offer(events("a"), 0, TimeUnit.MILLISECONDS);
+            buffer.offer(events("b", "c"), 0, TimeUnit.MILLISECONDS);
+            buffer.offer(events("d"), 0, TimeUnit.MILLISECONDS);
+            assertThat(buffer.depth()).isEqualTo(4);
+            assertThat(buffer.spilled()).isEqualTo(3);
+            assertThat(new String(buffer.poll(), StandardCharsets.UTF_8)).isEqualTo("a");
+            buffer.offer(events("e"), 0, TimeUnit.MILLISECONDS);
+            assertThat(drain(buffer)).containsExactly("b", "c", "d", "e");
+            assertThat(buffer.dropped()).isZero();
+
+            buffer.offer(events("f", "g", "h"), 0, TimeUnit.MILLISECONDS);
+        }
+        // spilled events left by a previous run are sent first
+        try (EventBuffer buffer = new EventBuffer(2, OverflowPolicy.SPILL, file)) {
+            assertThat(buffer.depth()).isEqualTo(3);
+            buffer.offer(events("i"), 0, TimeUnit.MILLISECONDS);
+            assertThat(drain(buffer)).containsExactly("f", "g", "h", "i");
+        }
+    }
+
+    @Test
+    void testRequeue() throws InterruptedException {
+        try (EventBuffer buffer = new EventBuffer(2, OverflowPolicy.BLOCK, null)) {
+            buffer.offer(events("a", "b"), 0, TimeUnit.MILLISECONDS);
+            byte[] event = buffer.poll();
+            buffer.requeue(event);
+            assertThat(buffer.depth()).isEqualTo(2);
+            assertThat(drain(buffer)).containsExactly("a", "b");
+        }
+    }
+
+    private static List<byte[]> events(String... values) {
+        List<byte[]> events = new ArrayList<>();
+        Arrays.stream(values).forEach(value -> events.add(value.getBytes(StandardCharsets.UTF_8)));
+        return events;
+    }
+
+    private static List<String> drain(EventBuffer buffer) {
+        List<String> events = new ArrayList<>();
+        byte[] event;
+        while ((event = buffer.poll()) != null) {
+            events.add(new String(event, StandardCharsets.UTF_8));
+        }
+        return events;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.events.spring;
+
+import java.nio.file.Paths;
+
+import org.kie.kogito.services.event.impl.FileSystemEventOutbox;
+import org.kie.kogito.services.event.impl.OutboxEventManager;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides a {@link UnitOfWorkManager} relaying the events of the units of work through an {@link OutboxEventManager}
+ * when <code>kogito.events.outbox.enabled</code> is set to <code>true</code>. The outbox is kept in
+ * <code>kogito.events.outbox.directory</code>.
+ */
+@Configuration
+@ConditionalOnProperty(
+        value = "kogito.events.outbox.enabled",
+        havingValue = "true")
+public class EventOutboxConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public OutboxEventManager outboxEventManager(
+            @Value("${kogito.events.outbox.directory}") String directory,
+            @Value("${kogito.events.outbox.batch-size:100}") int batchSize,
+            @Value("${kogito.events.outbox.max-attempts:10}") int maxAttempts) {
+        return new OutboxEventManager(new FileSystemEventOutbox(Paths.get(directory)), batchSize, maxAttempts);
+    }
+
+    @Bean
+    public UnitOfWorkManager outboxUnitOfWorkManager(OutboxEventManager outboxEventManager) {
+        return new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory(), outboxEventManager);
+    }
+}
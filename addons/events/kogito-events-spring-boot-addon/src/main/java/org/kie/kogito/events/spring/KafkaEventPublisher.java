@@ -15,10 +15,15 @@
  */
 package org.kie.kogito.events.spring;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.EventEncodingException;
 import org.kie.kogito.event.EventPublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,18 +64,10 @@ public class KafkaEventPublisher implements EventPublisher {
     
     @Override
     public void publish(DataEvent<?> event) {
-        if (event.getType().equals("ProcessInstanceEvent") && processInstancesEvents) {
-            
-            publishToTopic(event, eventsEmitter, PI_TOPIC_NAME);
-        } else if (event.getType().equals("UserTaskInstanceEvent") && userTasksEvents) {
-            
-            publishToTopic(event, eventsEmitter, UI_TOPIC_NAME);
-        } else if (event.getType().equals("VariableInstanceEvent") && variablesEvents) {
-            
-            publishToTopic(event, eventsEmitter, VI_TOPIC_NAME);
-        } else {
-            logger.warn("Unknown type of event '{}', ignoring", event.getType());
-        }       
+        String topic = topicOf(event);
+        if (topic != null) {
+            publishToTopic(event, eventsEmitter, topic);
+        }
     }
 
     @Override
@@ -79,6 +76,46 @@ public class KafkaEventPublisher implements EventPublisher {
             publish(event);
         }
     }
+
+    /**
+     * Sends the events and completes once they are all acknowledged by the broker.
+     * Used by the event outbox, which keeps the events until they are delivered.
+     */
+    @Override
+    public CompletionStage<Void> deliver(Collection<DataEvent<?>> events) {
+        List<CompletableFuture<?>> deliveries = new ArrayList<>();
+        for (DataEvent<?> event : events) {
+            String topic = topicOf(event);
+            if (topic != null) {
+                try {
+                    String payload;
+                    try {
+                        payload = json.writeValueAsString(event);
+                    } catch (Exception e) {
+                        throw new EventEncodingException(event.getId(), e);
+                    }
+                    deliveries.add(eventsEmitter.send(topic, payload).completable());
+                } catch (Exception e) {
+                    CompletableFuture<Void> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(e);
+                    deliveries.add(failed);
+                }
+            }
+        }
+        return CompletableFuture.allOf(deliveries.toArray(new CompletableFuture[0]));
+    }
+
+    protected String topicOf(DataEvent<?> event) {
+        if (event.getType().equals("ProcessInstanceEvent") && processInstancesEvents) {
+            return PI_TOPIC_NAME;
+        } else if (event.getType().equals("UserTaskInstanceEvent") && userTasksEvents) {
+            return UI_TOPIC_NAME;
+        } else if (event.getType().equals("VariableInstanceEvent") && variablesEvents) {
+            return VI_TOPIC_NAME;
+        }
+        logger.warn("Unknown type of event '{}', ignoring", event.getType());
+        return null;
+    }
     
     protected void publishToTopic(DataEvent<?> event, KafkaTemplate<String, String> emitter, String topic) {
         logger.debug("About to publish event {} to Kafka topic {}", event, topic);
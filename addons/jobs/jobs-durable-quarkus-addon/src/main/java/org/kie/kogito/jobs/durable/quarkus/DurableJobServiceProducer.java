@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.jobs.durable.quarkus;
+
+import java.nio.file.Paths;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Disposes;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.Produces;
+import javax.inject.Inject;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.process.ProcessConfig;
+import org.kie.kogito.process.Processes;
+import org.kie.services.jobs.impl.DurableJobService;
+import org.kie.services.jobs.impl.FileSystemJobStore;
+
+/**
+ * Produces the {@link DurableJobService} as the jobs service of the application when
+ * <code>kogito.jobs.durable.enabled</code> is set to <code>true</code>. Its partitions are spread across
+ * <code>kogito.jobs.durable.replicas</code> replicas sharing <code>kogito.jobs.durable.directory</code>.
+ */
+@ApplicationScoped
+public class DurableJobServiceProducer {
+
+    @Inject
+    Instance<ProcessConfig> processConfig;
+
+    @Inject
+    Instance<Processes> processes;
+
+    @ConfigProperty(name = "kogito.jobs.durable.directory")
+    String directory;
+
+    @ConfigProperty(name = "kogito.jobs.durable.partitions", defaultValue = "16")
+    int partitions;
+
+    @ConfigProperty(name = "kogito.jobs.durable.replicas", defaultValue = "1")
+    int replicas;
+
+    @ConfigProperty(name = "kogito.jobs.durable.firing-pool-size", defaultValue = "4")
+    int firingPoolSize;
+
+    @ConfigProperty(name = "kogito.jobs.durable.retry-delay", defaultValue = "10000")
+    long retryDelay;
+
+    @Produces
+    @ApplicationScoped
+    @IfBuildProperty(name = "kogito.jobs.durable.enabled", stringValue = "true")
+    public DurableJobService produceJobsService() {
+        FileSystemJobStore store = new FileSystemJobStore(Paths.get(directory), partitions, FileSystemJobStore.fairShare(partitions, replicas));
+        // processes and their configuration depend on the jobs service, they are resolved when jobs fire
+        return new DurableJobService(store, () -> processConfig.get().unitOfWorkManager(), processes::get, firingPoolSize,
+                                     DurableJobService.DEFAULT_TICK, DurableJobService.DEFAULT_CLAIM_INTERVAL, retryDelay);
+    }
+
+    public void close(@Disposes DurableJobService jobsService) {
+        jobsService.close();
+    }
+}
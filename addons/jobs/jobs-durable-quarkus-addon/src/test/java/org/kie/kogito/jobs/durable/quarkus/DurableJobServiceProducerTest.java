@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.jobs.durable.quarkus;
+
+import java.nio.file.Path;
+import java.time.temporal.ChronoUnit;
+
+import javax.enterprise.inject.Instance;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.ProcessInstanceJobDescription;
+import org.kie.services.jobs.impl.DurableJobService;
+import org.kie.services.jobs.impl.FileSystemJobStore;
+import org.kie.services.jobs.impl.ScheduledJob;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@SuppressWarnings("unchecked")
+class DurableJobServiceProducerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testProduceJobsService() {
+        DurableJobServiceProducer producer = new DurableJobServiceProducer();
+        producer.processConfig = mock(Instance.class);
+        producer.processes = mock(Instance.class);
+        producer.directory = directory.toString();
+        producer.partitions = 4;
+        producer.replicas = 2;
+        producer.firingPoolSize = 1;
+        producer.retryDelay = 1000;
+
+        DurableJobService jobsService = producer.produceJobsService();
+        try (FileSystemJobStore other = new FileSystemJobStore(directory, 4, 4)) {
+            String id = jobsService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.after(1, ChronoUnit.HOURS), "instance", "process"));
+            assertThat(jobsService.getScheduledTime(id)).isNotNull();
+
+            // the other replica gets the partitions left
+            other.claim();
+            other.store(new ScheduledJob("other", "process", "instance", System.currentTimeMillis(), null, -1));
+        } finally {
+            producer.close(jobsService);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.jobs.durable.springboot;
+
+import java.nio.file.Paths;
+
+import org.kie.kogito.process.ProcessConfig;
+import org.kie.kogito.process.Processes;
+import org.kie.services.jobs.impl.DurableJobService;
+import org.kie.services.jobs.impl.FileSystemJobStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the {@link DurableJobService} as the jobs service of the application when
+ * <code>kogito.jobs.durable.enabled</code> is set to <code>true</code>. Its partitions are spread across
+ * <code>kogito.jobs.durable.replicas</code> replicas sharing <code>kogito.jobs.durable.directory</code>.
+ */
+@Configuration
+public class DurableJobServiceConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(
+            value = "kogito.jobs.durable.enabled",
+            havingValue = "true")
+    public DurableJobService durableJobService(
+            @Value("${kogito.jobs.durable.directory}") String directory,
+            @Value("${kogito.jobs.durable.partitions:16}") int partitions,
+            @Value("${kogito.jobs.durable.replicas:1}") int replicas,
+            @Value("${kogito.jobs.durable.firing-pool-size:4}") int firingPoolSize,
+            @Value("${kogito.jobs.durable.retry-delay:10000}") long retryDelay,
+            ObjectProvider<ProcessConfig> processConfig,
+            ObjectProvider<Processes> processes) {
+        FileSystemJobStore store = new FileSystemJobStore(Paths.get(directory), partitions, FileSystemJobStore.fairShare(partitions, replicas));
+        // processes and their configuration depend on the jobs service, they are resolved when jobs fire
+        return new DurableJobService(store, () -> processConfig.getObject().unitOfWorkManager(), processes::getObject, firingPoolSize,
+                                     DurableJobService.DEFAULT_TICK, DurableJobService.DEFAULT_CLAIM_INTERVAL, retryDelay);
+    }
+}
@@ -19,5 +19,6 @@ public class Constants {
 
     public static final String MONITORING_RULE_USE_DEFAULT = "kogito.monitoring.rule.useDefault";
     public static final String MONITORING_PROCESS_USE_DEFAULT = "kogito.monitoring.process.useDefault";
+    public static final String MONITORING_UNIT_OF_WORK_ENABLED = "kogito.monitoring.unitOfWork.enabled";
     public static final String HTTP_INTERCEPTOR_USE_DEFAULT = "kogito.monitoring.interceptor.useDefault";
 }
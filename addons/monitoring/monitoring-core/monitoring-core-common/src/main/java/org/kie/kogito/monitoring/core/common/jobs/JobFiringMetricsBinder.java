@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.jobs;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
+import org.kie.services.jobs.impl.DurableJobService;
+import org.kie.services.jobs.impl.InMemoryJobService;
+import org.kie.services.jobs.impl.JobFiringMetrics;
+
+/**
+ * Exposes the {@link JobFiringMetrics} of a jobs service as meters, they read the statistics when scraped so that
+ * firing jobs costs nothing more.
+ */
+public class JobFiringMetricsBinder implements MeterBinder {
+
+    private final JobFiringMetrics metrics;
+
+    public JobFiringMetricsBinder(JobFiringMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Binds the firing metrics of the given jobs service to the {@link MonitoringRegistry}, if it records any
+     */
+    public static void bind(JobsService jobsService) {
+        metricsOf(jobsService).ifPresent(metrics -> new JobFiringMetricsBinder(metrics).bindTo(MonitoringRegistry.getDefaultMeterRegistry()));
+    }
+
+    static Optional<JobFiringMetrics> metricsOf(JobsService jobsService) {
+        if (jobsService instanceof DurableJobService) {
+            return Optional.of(((DurableJobService) jobsService).metrics());
+        }
+        if (jobsService instanceof InMemoryJobService) {
+            return Optional.of(((InMemoryJobService) jobsService).metrics());
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("kie_jobs_batches_total", metrics, JobFiringMetrics::batches)
+                .description("Batches of jobs fired")
+                .register(registry);
+        FunctionCounter.builder("kie_jobs_fired_total", metrics, JobFiringMetrics::firedJobs)
+                .description("Jobs fired")
+                .register(registry);
+        FunctionCounter.builder("kie_jobs_firing_seconds_total", metrics, m -> m.firingTime(TimeUnit.NANOSECONDS) / 1e9)
+                .description("Time spent firing batches of jobs")
+                .register(registry);
+        Gauge.builder("kie_jobs_batch_size_max", metrics, JobFiringMetrics::maxBatchSize)
+                .description("Largest batch of jobs fired")
+                .register(registry);
+        Gauge.builder("kie_jobs_batch_size_average", metrics, JobFiringMetrics::averageBatchSize)
+                .description("Average batch of jobs fired")
+                .register(registry);
+    }
+}
@@ -16,14 +16,16 @@
 package org.kie.kogito.monitoring.core.common.process;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Tag;
+import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
 import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
 import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
 import org.kie.api.event.process.ProcessCompletedEvent;
@@ -36,11 +38,22 @@ import org.kie.kogito.internal.process.event.DefaultKogitoProcessEventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Records process metrics in the {@link MonitoringRegistry}. Meters are registered once and their handles kept
+ * per process (and node) so that events only cost a map lookup, no tags are allocated once a meter exists.
+ */
 public class MetricsProcessEventListener extends DefaultKogitoProcessEventListener {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MetricsProcessEventListener.class);
-    private static Map<String, AtomicInteger> gaugeMap = new HashMap<String, AtomicInteger>();
-    private String identifier;
+    // gauges are bound to the integer they are registered with, so it is shared by all listeners
+    private static final Map<String, Map<String, AtomicInteger>> gaugeMap = new ConcurrentHashMap<>();
+    private final String identifier;
+    private final Map<String, Counter> startedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Counter>> completedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Counter>> slaViolatedCounters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> processDurations = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, DistributionSummary>> nodeDurations = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> workItemDurations = new ConcurrentHashMap<>();
 
     public MetricsProcessEventListener(String identifier) {
         this.identifier = identifier;
@@ -71,16 +84,14 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
     }
 
     private static AtomicInteger getRunningProcessInstancesGauge(String appId, String processId) {
-        if (gaugeMap.containsKey(appId + processId)) {
-            return gaugeMap.get(appId + processId);
-        }
-        AtomicInteger atomicInteger = new AtomicInteger(0);
-        Gauge.builder("kie_process_instance_running_total", atomicInteger, AtomicInteger::doubleValue)
-                .description("Running Process Instances")
-                .tags(Arrays.asList(Tag.of("app_id", appId), (Tag.of("process_id", processId))))
-                .register(MonitoringRegistry.getDefaultMeterRegistry());
-        gaugeMap.put(appId + processId, atomicInteger);
-        return atomicInteger;
+        return gaugeMap.computeIfAbsent(appId, k -> new ConcurrentHashMap<>()).computeIfAbsent(processId, k -> {
+            AtomicInteger atomicInteger = new AtomicInteger(0);
+            Gauge.builder("kie_process_instance_running_total", atomicInteger, AtomicInteger::doubleValue)
+                    .description("Running Process Instances")
+                    .tags(Arrays.asList(Tag.of("app_id", appId), (Tag.of("process_id", processId))))
+                    .register(MonitoringRegistry.getDefaultMeterRegistry());
+            return atomicInteger;
+        });
     }
 
     private static DistributionSummary getProcessInstancesDurationSummary(String appId, String processId) {
@@ -90,6 +101,13 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
                 .register(MonitoringRegistry.getDefaultMeterRegistry());
     }
 
+    private static DistributionSummary getNodesDurationSummary(String appId, String processId, String nodeName) {
+        return DistributionSummary.builder("kie_process_node_duration_seconds")
+                .description("Process Nodes Duration")
+                .tags(Arrays.asList(Tag.of("app_id", appId), Tag.of("process_id", processId), Tag.of("node_name", nodeName)))
+                .register(MonitoringRegistry.getDefaultMeterRegistry());
+    }
+
     private static DistributionSummary getWorkItemsDurationSummary(String name) {
         return DistributionSummary.builder("kie_work_item_duration_seconds")
                 .description("Work Items Duration")
@@ -97,6 +115,10 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
                 .register(MonitoringRegistry.getDefaultMeterRegistry());
     }
 
+    private static <M> M meter(Map<String, Map<String, M>> meters, String processId, String key, Function<String, M> factory) {
+        return meters.computeIfAbsent(processId, k -> new ConcurrentHashMap<>()).computeIfAbsent(key, factory);
+    }
+
     protected static void recordRunningProcessInstance(String containerId, String processId) {
         getRunningProcessInstancesGauge(containerId, processId).incrementAndGet();
     }
@@ -109,7 +131,7 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
     public void afterProcessStarted(ProcessStartedEvent event) {
         LOGGER.debug("After process started event: {}", event);
         final WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) event.getProcessInstance();
-        getNumberOfProcessInstancesStartedCounter(identifier, processInstance.getProcessId()).increment();
+        startedCounters.computeIfAbsent(processInstance.getProcessId(), processId -> getNumberOfProcessInstancesStartedCounter(identifier, processId)).increment();
         recordRunningProcessInstance(identifier, processInstance.getProcessId());
     }
 
@@ -119,11 +141,13 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
         final WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) event.getProcessInstance();
         getRunningProcessInstancesGauge(identifier, processInstance.getProcessId()).decrementAndGet();
 
-        getNumberOfProcessInstancesCompletedCounter(identifier, processInstance.getProcessId(), String.valueOf(processInstance.getState())).increment();
+        String processId = processInstance.getProcessId();
+        meter(completedCounters, processId, String.valueOf(processInstance.getState()),
+              state -> getNumberOfProcessInstancesCompletedCounter(identifier, processId, state)).increment();
 
         if (processInstance.getStartDate() != null) {
             final double duration = millisToSeconds(processInstance.getEndDate().getTime() - processInstance.getStartDate().getTime());
-            getProcessInstancesDurationSummary(identifier, processInstance.getProcessId()).record(duration);
+            processDurations.computeIfAbsent(processId, id -> getProcessInstancesDurationSummary(identifier, id)).record(duration);
             LOGGER.debug("Process Instance duration: {}s", duration);
         }
     }
@@ -132,12 +156,21 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
     public void beforeNodeLeft(ProcessNodeLeftEvent event) {
         LOGGER.debug("Before Node left event: {}", event);
         final NodeInstance nodeInstance = event.getNodeInstance();
+        if (nodeInstance instanceof NodeInstanceImpl) {
+            NodeInstanceImpl ni = (NodeInstanceImpl) nodeInstance;
+            if (ni.getTriggerTime() != null && ni.getLeaveTime() != null) {
+                String processId = ni.getProcessInstance().getProcessId();
+                String nodeName = ni.getNodeName() != null && !ni.getNodeName().isEmpty() ? ni.getNodeName() : String.valueOf(ni.getNodeId());
+                meter(nodeDurations, processId, nodeName, name -> getNodesDurationSummary(identifier, processId, name))
+                        .record(millisToSeconds(ni.getLeaveTime().getTime() - ni.getTriggerTime().getTime()));
+            }
+        }
         if (nodeInstance instanceof WorkItemNodeInstance) {
             WorkItemNodeInstance wi = (WorkItemNodeInstance) nodeInstance;
             if (wi.getTriggerTime() != null) {
                 final String name = (String) wi.getWorkItem().getParameters().getOrDefault("TaskName", wi.getWorkItem().getName());
                 final double duration = millisToSeconds(wi.getLeaveTime().getTime() - wi.getTriggerTime().getTime());
-                getWorkItemsDurationSummary(name).record(duration);
+                workItemDurations.computeIfAbsent(name, MetricsProcessEventListener::getWorkItemsDurationSummary).record(duration);
                 LOGGER.debug("Work Item {}, duration: {}s", name, duration);
             }
         }
@@ -148,7 +181,9 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
         LOGGER.debug("After SLA violated event: {}", event);
         final WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) event.getProcessInstance();
         if (processInstance != null && event.getNodeInstance() != null) {
-            getNumberOfSLAsViolatedCounter(identifier, processInstance.getProcessId(), event.getNodeInstance().getNodeName()).increment();
+            String processId = processInstance.getProcessId();
+            meter(slaViolatedCounters, processId, event.getNodeInstance().getNodeName(),
+                  nodeName -> getNumberOfSLAsViolatedCounter(identifier, processId, nodeName)).increment();
         }
     }
 }
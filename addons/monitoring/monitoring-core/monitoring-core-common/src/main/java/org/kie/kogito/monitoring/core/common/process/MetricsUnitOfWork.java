@@ -0,0 +1,59 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.event.EventManager;
+import org.kie.kogito.services.uow.CollectingUnitOfWork;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit;
+import org.kie.kogito.uow.WorkUnit;
+
+/**
+ * Collecting unit of work that records how long it takes to end and how long each process instance
+ * persistence operation takes, per process and operation.
+ */
+public class MetricsUnitOfWork extends CollectingUnitOfWork {
+
+    private final MetricsUnitOfWorkFactory metrics;
+
+    public MetricsUnitOfWork(EventManager eventManager, MetricsUnitOfWorkFactory metrics) {
+        super(eventManager);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void end() {
+        long start = System.nanoTime();
+        super.end();
+        metrics.getCommitTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    protected void perform(Collection<WorkUnit<?>> work) {
+        for (WorkUnit<?> unit : work) {
+            if (unit instanceof ProcessInstanceWorkUnit && ((ProcessInstanceWorkUnit<?>) unit).operation() != null) {
+                ProcessInstanceWorkUnit<?> piUnit = (ProcessInstanceWorkUnit<?>) unit;
+                long start = System.nanoTime();
+                unit.perform();
+                metrics.getPersistenceTimer(piUnit.data().process().id(), piUnit.operation()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } else {
+                unit.perform();
+            }
+        }
+    }
+}
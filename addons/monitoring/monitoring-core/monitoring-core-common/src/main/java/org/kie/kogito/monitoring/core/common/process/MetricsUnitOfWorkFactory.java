@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import org.kie.kogito.event.EventManager;
+import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit.Operation;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkFactory;
+
+/**
+ * Creates {@link MetricsUnitOfWork} instances, can be enabled by providing a <code>UnitOfWorkManager</code>
+ * built on top of it, e.g. <code>new DefaultUnitOfWorkManager(new MetricsUnitOfWorkFactory("myApp"))</code>
+ */
+public class MetricsUnitOfWorkFactory implements UnitOfWorkFactory {
+
+    private final String identifier;
+    private final Timer commitTimer;
+    private final Map<String, Map<Operation, Timer>> persistenceTimers = new ConcurrentHashMap<>();
+
+    public MetricsUnitOfWorkFactory(String identifier) {
+        this.identifier = identifier;
+        this.commitTimer = Timer.builder("kie_unit_of_work_commit")
+                .description("Unit Of Work Commit Duration")
+                .tags(Arrays.asList(Tag.of("app_id", identifier)))
+                .publishPercentileHistogram()
+                .register(MonitoringRegistry.getDefaultMeterRegistry());
+    }
+
+    @Override
+    public UnitOfWork create(EventManager eventManager) {
+        return new MetricsUnitOfWork(eventManager, this);
+    }
+
+    Timer getCommitTimer() {
+        return commitTimer;
+    }
+
+    Timer getPersistenceTimer(String processId, Operation operation) {
+        return persistenceTimers.computeIfAbsent(processId, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(operation, op -> Timer.builder("kie_process_instance_persistence")
+                        .description("Process Instances Persistence Duration")
+                        .tags(Arrays.asList(Tag.of("app_id", identifier), Tag.of("process_id", processId), Tag.of("operation", op.name().toLowerCase())))
+                        .publishPercentileHistogram()
+                        .register(MonitoringRegistry.getDefaultMeterRegistry()));
+    }
+}
@@ -19,8 +19,10 @@ import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
 
 public class MonitoringProcessEventListenerConfig extends DefaultProcessEventListenerConfig {
 
+    public static final String IDENTIFIER = "default-process-monitoring-listener";
+
     public MonitoringProcessEventListenerConfig() {
-        super(new MetricsProcessEventListener("default-process-monitoring-listener"));
+        super(new MetricsProcessEventListener(IDENTIFIER));
     }
 }
 
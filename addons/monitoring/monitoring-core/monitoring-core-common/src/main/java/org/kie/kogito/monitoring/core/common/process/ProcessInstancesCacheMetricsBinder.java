@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
+import org.kie.kogito.process.ProcessInstances;
+import org.kie.kogito.process.Processes;
+import org.kie.kogito.process.impl.CachingProcessInstances;
+
+/**
+ * Exposes the statistics of the {@link CachingProcessInstances} of each process as meters, they read the cache
+ * statistics when scraped.
+ */
+public class ProcessInstancesCacheMetricsBinder implements MeterBinder {
+
+    private final Map<String, CachingProcessInstances<?>> caches;
+
+    public ProcessInstancesCacheMetricsBinder(Map<String, CachingProcessInstances<?>> caches) {
+        this.caches = caches;
+    }
+
+    /**
+     * Binds the cache statistics of the given processes to the {@link MonitoringRegistry}, for those caching their instances
+     */
+    public static void bind(Processes processes) {
+        Map<String, CachingProcessInstances<?>> caches = cachesOf(processes);
+        if (!caches.isEmpty()) {
+            new ProcessInstancesCacheMetricsBinder(caches).bindTo(MonitoringRegistry.getDefaultMeterRegistry());
+        }
+    }
+
+    static Map<String, CachingProcessInstances<?>> cachesOf(Processes processes) {
+        Map<String, CachingProcessInstances<?>> caches = new TreeMap<>();
+        for (String processId : processes.processIds()) {
+            ProcessInstances<?> instances = processes.processById(processId).instances();
+            if (instances instanceof CachingProcessInstances) {
+                caches.put(processId, (CachingProcessInstances<?>) instances);
+            }
+        }
+        return caches;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        caches.forEach((processId, cache) -> {
+            FunctionCounter.builder("kie_process_instances_cache_hits_total", cache, CachingProcessInstances::hitCount)
+                    .description("Process instances loaded from the cache")
+                    .tag("process_id", processId)
+                    .register(registry);
+            FunctionCounter.builder("kie_process_instances_cache_misses_total", cache, CachingProcessInstances::missCount)
+                    .description("Process instances loaded from the storage")
+                    .tag("process_id", processId)
+                    .register(registry);
+            Gauge.builder("kie_process_instances_cache_size", cache, CachingProcessInstances::estimatedSize)
+                    .description("Process instances held in the cache")
+                    .tag("process_id", processId)
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.jobs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.services.jobs.impl.DurableJobService;
+import org.kie.services.jobs.impl.JobFiringMetrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobFiringMetricsBinderTest {
+
+    @Test
+    void testBindTo() {
+        JobFiringMetrics metrics = new JobFiringMetrics();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new JobFiringMetricsBinder(metrics).bindTo(registry);
+
+        assertThat(registry.get("kie_jobs_batches_total").functionCounter().count()).isZero();
+        assertThat(registry.get("kie_jobs_fired_total").functionCounter().count()).isZero();
+        assertThat(registry.get("kie_jobs_firing_seconds_total").functionCounter().count()).isZero();
+        assertThat(registry.get("kie_jobs_batch_size_max").gauge().value()).isZero();
+        assertThat(registry.get("kie_jobs_batch_size_average").gauge().value()).isZero();
+    }
+
+    @Test
+    void testMetricsOf() {
+        JobFiringMetrics metrics = new JobFiringMetrics();
+        DurableJobService durableJobService = mock(DurableJobService.class);
+        when(durableJobService.metrics()).thenReturn(metrics);
+
+        assertThat(JobFiringMetricsBinder.metricsOf(durableJobService)).containsSame(metrics);
+        assertThat(JobFiringMetricsBinder.metricsOf(mock(JobsService.class))).isEmpty();
+    }
+}
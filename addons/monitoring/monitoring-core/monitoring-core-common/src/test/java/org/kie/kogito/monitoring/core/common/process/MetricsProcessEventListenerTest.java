@@ -15,12 +15,17 @@
  */
 package org.kie.kogito.monitoring.core.common.process;
 
+import java.util.Date;
+
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
 import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.api.event.process.ProcessNodeLeftEvent;
 import org.kie.api.event.process.ProcessStartedEvent;
 import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
@@ -63,4 +68,28 @@ public class MetricsProcessEventListenerTest {
                 .gauge()
                 .value());
     }
+
+    @Test
+    public void testNodeDuration() {
+        MetricsProcessEventListener eventListener = new MetricsProcessEventListener("myId");
+        WorkflowProcessInstanceImpl processInstanceMock = mock(WorkflowProcessInstanceImpl.class);
+        when(processInstanceMock.getProcessId()).thenReturn("myProcessId");
+        NodeInstanceImpl nodeInstanceMock = mock(NodeInstanceImpl.class);
+        when(nodeInstanceMock.getProcessInstance()).thenReturn(processInstanceMock);
+        when(nodeInstanceMock.getNodeName()).thenReturn("myNode");
+        when(nodeInstanceMock.getTriggerTime()).thenReturn(new Date(1000));
+        when(nodeInstanceMock.getLeaveTime()).thenReturn(new Date(3500));
+
+        ProcessNodeLeftEvent nodeLeftEvent = mock(ProcessNodeLeftEvent.class);
+        when(nodeLeftEvent.getNodeInstance()).thenReturn(nodeInstanceMock);
+
+        eventListener.beforeNodeLeft(nodeLeftEvent);
+        eventListener.beforeNodeLeft(nodeLeftEvent);
+
+        DistributionSummary summary = registry.find("kie_process_node_duration_seconds")
+                .tags("app_id", "myId", "process_id", "myProcessId", "node_name", "myNode")
+                .summary();
+        assertEquals(2, summary.count());
+        assertEquals(5.0, summary.totalAmount());
+    }
 }
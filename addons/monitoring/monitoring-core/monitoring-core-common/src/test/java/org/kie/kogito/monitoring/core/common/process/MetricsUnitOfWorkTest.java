@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.EventBatch;
+import org.kie.kogito.event.EventManager;
+import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit.Operation;
+import org.kie.kogito.uow.UnitOfWork;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MetricsUnitOfWorkTest {
+
+    MeterRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        MonitoringRegistry.addRegistry(registry);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        MonitoringRegistry.getDefaultMeterRegistry().remove(registry);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCommitAndPersistenceTimers() {
+        EventManager eventManager = mock(EventManager.class);
+        when(eventManager.newBatch()).thenReturn(mock(EventBatch.class));
+        Process<?> process = mock(Process.class);
+        when(process.id()).thenReturn("myProcessId");
+        ProcessInstance<Object> processInstance = mock(ProcessInstance.class);
+        doReturn(process).when(processInstance).process();
+
+        MetricsUnitOfWorkFactory factory = new MetricsUnitOfWorkFactory("myId");
+        for (int i = 0; i < 2; i++) {
+            UnitOfWork unitOfWork = factory.create(eventManager);
+            unitOfWork.start();
+            unitOfWork.intercept(new ProcessInstanceWorkUnit<>(processInstance, Operation.UPDATE, pi -> {
+            }));
+            unitOfWork.end();
+        }
+
+        Timer commit = registry.find("kie_unit_of_work_commit").tags("app_id", "myId").timer();
+        assertEquals(2, commit.count());
+        Timer update = registry.find("kie_process_instance_persistence")
+                .tags("app_id", "myId", "process_id", "myProcessId", "operation", "update")
+                .timer();
+        assertEquals(2, update.count());
+        assertTrue(update.totalTime(TimeUnit.NANOSECONDS) <= commit.totalTime(TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.Model;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.Processes;
+import org.kie.kogito.process.impl.CachingProcessInstances;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProcessInstancesCacheMetricsBinderTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBindTo() {
+        CachingProcessInstances<Model> cache = new CachingProcessInstances<>(mock(Process.class), mock(MutableProcessInstances.class), 16);
+        cache.findById("missing");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new ProcessInstancesCacheMetricsBinder(Collections.singletonMap("travels", cache)).bindTo(registry);
+
+        assertThat(registry.get("kie_process_instances_cache_hits_total").tag("process_id", "travels").functionCounter().count()).isZero();
+        assertThat(registry.get("kie_process_instances_cache_misses_total").tag("process_id", "travels").functionCounter().count()).isOne();
+        assertThat(registry.get("kie_process_instances_cache_size").tag("process_id", "travels").gauge().value()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCachesOf() {
+        Process<Model> cached = mock(Process.class);
+        CachingProcessInstances<Model> cache = new CachingProcessInstances<>(cached, mock(MutableProcessInstances.class), 16);
+        doReturn(cache).when(cached).instances();
+        Process<Model> notCached = mock(Process.class);
+        doReturn(mock(MutableProcessInstances.class)).when(notCached).instances();
+        Processes processes = mock(Processes.class);
+        when(processes.processIds()).thenReturn(Arrays.asList("cached", "notCached"));
+        doReturn(cached).when(processes).processById("cached");
+        doReturn(notCached).when(processes).processById("notCached");
+
+        assertThat(ProcessInstancesCacheMetricsBinder.cachesOf(processes)).containsOnlyKeys("cached").containsEntry("cached", cache);
+    }
+}
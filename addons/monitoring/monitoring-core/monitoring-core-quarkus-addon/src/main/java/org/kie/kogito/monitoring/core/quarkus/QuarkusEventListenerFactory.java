@@ -15,6 +15,7 @@
  */
 package org.kie.kogito.monitoring.core.quarkus;
 
+import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.Dependent;
 import javax.enterprise.inject.Produces;
 import javax.ws.rs.ext.Provider;
@@ -22,10 +23,13 @@ import javax.ws.rs.ext.Provider;
 import io.quarkus.arc.properties.IfBuildProperty;
 import org.drools.core.config.DefaultRuleEventListenerConfig;
 import org.kie.kogito.monitoring.core.common.Constants;
+import org.kie.kogito.monitoring.core.common.process.MetricsUnitOfWorkFactory;
 import org.kie.kogito.monitoring.core.common.process.MonitoringProcessEventListenerConfig;
 import org.kie.kogito.monitoring.core.common.rule.RuleMetricsListenerConfig;
 import org.kie.kogito.monitoring.core.common.system.interceptor.MetricsInterceptor;
 import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.uow.UnitOfWorkManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,4 +51,12 @@ public class QuarkusEventListenerFactory {
         LOGGER.debug("Producing default listener for process monitoring.");
         return new MonitoringProcessEventListenerConfig();
     }
+
+    @Produces
+    @ApplicationScoped
+    @IfBuildProperty(name = Constants.MONITORING_UNIT_OF_WORK_ENABLED, stringValue = "true")
+    public UnitOfWorkManager produceUnitOfWorkManager() {
+        LOGGER.debug("Producing unit of work manager for unit of work monitoring.");
+        return new DefaultUnitOfWorkManager(new MetricsUnitOfWorkFactory(MonitoringProcessEventListenerConfig.IDENTIFIER));
+    }
 }
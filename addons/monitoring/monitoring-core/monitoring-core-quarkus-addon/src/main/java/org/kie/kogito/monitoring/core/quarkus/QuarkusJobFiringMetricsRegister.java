@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.quarkus;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+
+import io.quarkus.runtime.StartupEvent;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.monitoring.core.common.jobs.JobFiringMetricsBinder;
+
+@ApplicationScoped
+public class QuarkusJobFiringMetricsRegister {
+
+    @Inject
+    Instance<JobsService> jobsService;
+
+    public void register(@Observes StartupEvent event) {
+        if (jobsService.isResolvable()) {
+            JobFiringMetricsBinder.bind(jobsService.get());
+        }
+    }
+}
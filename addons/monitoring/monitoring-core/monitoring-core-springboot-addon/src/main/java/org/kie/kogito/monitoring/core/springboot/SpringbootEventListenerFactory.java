@@ -17,9 +17,12 @@ package org.kie.kogito.monitoring.core.springboot;
 
 import org.drools.core.config.DefaultRuleEventListenerConfig;
 import org.kie.kogito.monitoring.core.common.Constants;
+import org.kie.kogito.monitoring.core.common.process.MetricsUnitOfWorkFactory;
 import org.kie.kogito.monitoring.core.common.process.MonitoringProcessEventListenerConfig;
 import org.kie.kogito.monitoring.core.common.rule.RuleMetricsListenerConfig;
 import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.uow.UnitOfWorkManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -50,4 +53,13 @@ public class SpringbootEventListenerFactory {
         LOGGER.debug("Producing default listener for rule monitoring.");
         return new RuleMetricsListenerConfig();
     }
+
+    @ConditionalOnProperty(
+            value = Constants.MONITORING_UNIT_OF_WORK_ENABLED,
+            havingValue = "true")
+    @Bean
+    public UnitOfWorkManager produceUnitOfWorkManager() {
+        LOGGER.debug("Producing unit of work manager for unit of work monitoring.");
+        return new DefaultUnitOfWorkManager(new MetricsUnitOfWorkFactory(MonitoringProcessEventListenerConfig.IDENTIFIER));
+    }
 }
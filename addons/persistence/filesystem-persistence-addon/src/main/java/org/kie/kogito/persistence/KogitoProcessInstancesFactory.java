@@ -18,8 +18,12 @@ package org.kie.kogito.persistence;
 import java.nio.file.Paths;
 
 import org.kie.kogito.persistence.filesystem.FileSystemProcessInstances;
+import org.kie.kogito.persistence.filesystem.SegmentFileSystemProcessInstances;
+import org.kie.kogito.persistence.filesystem.SegmentStore;
+import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
 
 /**
  * This class must always have exact FQCN as <code>org.kie.kogito.persistence.KogitoProcessInstancesFactory</code>
@@ -28,10 +32,29 @@ import org.kie.kogito.process.ProcessInstancesFactory;
 public abstract class KogitoProcessInstancesFactory implements ProcessInstancesFactory {
    
 	
-    public FileSystemProcessInstances createProcessInstances(Process<?> process) {
-        return new FileSystemProcessInstances(process, Paths.get(path()));
+    public MutableProcessInstances<?> createProcessInstances(Process<?> process) {
+        if (segmentSize() > 0) {
+            return new SegmentFileSystemProcessInstances(process, Paths.get(path()), new ProcessInstanceMarshaller(), segmentSize());
+        }
+        return new FileSystemProcessInstances(process, Paths.get(path()), new ProcessInstanceMarshaller(), deltasBeforeCompaction());
     }
     
     public abstract String path();
+
+    /**
+     * Number of delta updates appended to a stored process instance before it is rewritten in full,
+     * zero disables delta updates.
+     */
+    public int deltasBeforeCompaction() {
+        return 0;
+    }
+
+    /**
+     * Size in bytes of the segment files process instances are appended to, see {@link SegmentStore}.
+     * Zero, the default, stores each process instance in its own file.
+     */
+    public int segmentSize() {
+        return 0;
+    }
     
 }
@@ -16,23 +16,38 @@
 package org.kie.kogito.persistence.filesystem;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.util.Base64;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.jbpm.marshalling.impl.JBPMMessages;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstanceFilter;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.marshalling.ProcessInstanceDeltaLog;
 import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,23 +61,56 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
 
     public static final String PI_DESCRIPTION = "ProcessInstanceDescription";
     public static final String PI_STATUS = "ProcessInstanceStatus";
+    public static final String PI_VERSION = "ProcessInstanceVersion";
+    public static final String PI_BUSINESS_KEY = "ProcessInstanceBusinessKey";
+
+    private static final String BUSINESS_KEY_INDEX = ".businessKeys";
+    private static final String LOCKS = ".locks";
+    private static final int LOCK_STRIPES = 64;
 
     private Process<?> process;
     private Path storage;
+    private Path businessKeys;
+    private Path locks;
+    private final ReentrantLock[] stripeLocks = new ReentrantLock[LOCK_STRIPES];
 
     private ProcessInstanceMarshaller marshaller;
+    private int deltasBeforeCompaction;
 
     public FileSystemProcessInstances(Process<?> process, Path storage) {
         this(process, storage, new ProcessInstanceMarshaller());
     }
 
     public FileSystemProcessInstances(Process<?> process, Path storage, ProcessInstanceMarshaller marshaller) {
+        this(process, storage, marshaller, 0);
+    }
+
+    /**
+     * @param deltasBeforeCompaction when greater than zero updates are appended to the stored process instance
+     *        as deltas, see {@link ProcessInstanceMarshaller#marshallProcessInstanceDelta(ProcessInstance)}, and
+     *        a full snapshot is written once the given number of deltas has been reached
+     */
+    public FileSystemProcessInstances(Process<?> process, Path storage, ProcessInstanceMarshaller marshaller, int deltasBeforeCompaction) {
         this.process = process;
         this.storage = Paths.get(storage.toString(), process.id());
         this.marshaller = marshaller;
+        this.deltasBeforeCompaction = deltasBeforeCompaction;
+        if (deltasBeforeCompaction > 0) {
+            marshaller.setVariableChangeTracking(true);
+        }
+        this.businessKeys = Paths.get(storage.toString(), BUSINESS_KEY_INDEX, process.id());
+        this.locks = Paths.get(storage.toString(), LOCKS, process.id());
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripeLocks[i] = new ReentrantLock();
+        }
 
         try {
             Files.createDirectories(this.storage);
+            Files.createDirectories(locks);
+            if (Files.notExists(businessKeys)) {
+                Files.createDirectories(businessKeys);
+                reindex();
+            }
         } catch (IOException e) {
             throw new RuntimeException("Unable to create directories for file based storage of process instances", e);
         }
@@ -85,28 +133,78 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
         if (Files.notExists(processInstanceStorage)) {
             return Optional.empty();
         }
+        long version = getVersion(processInstanceStorage);
         byte[] data = readBytesFromFile(processInstanceStorage);
-        return Optional.of(mode == MUTABLE ?
-                                   marshaller.unmarshallProcessInstance(data, process) :
-                                   marshaller.unmarshallReadOnlyProcessInstance(data, process)
-        );
+        if (mode == MUTABLE) {
+            ProcessInstance instance = marshaller.unmarshallProcessInstance(data, process);
+            ((AbstractProcessInstance<?>) instance).setVersion(version);
+            return Optional.of(instance);
+        }
+        return Optional.of(marshaller.unmarshallReadOnlyProcessInstance(data, process));
+    }
+
+    @Override
+    public OptionalLong version(String id) {
+        Path processInstanceStorage = Paths.get(storage.toString(), id);
+        long version = Files.exists(processInstanceStorage) ? getVersion(processInstanceStorage) : 0L;
+        return version == 0 ? OptionalLong.empty() : OptionalLong.of(version);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Optional findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        String id = readIndex(businessKey);
+        if (id == null) {
+            return Optional.empty();
+        }
+        Optional<ProcessInstance> instance = findById(id, mode);
+        if (!instance.isPresent()) {
+            unindex(businessKey, id);
+        }
+        return instance.filter(pi -> businessKey.equals(pi.businessKey()));
     }
 
     @Override
     public Collection values(ProcessInstanceReadMode mode) {
-        try (Stream<Path> stream = Files.walk(storage)) {
-            return stream
+        try (Stream<?> stream = stream(ProcessInstanceFilter.all(), mode)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Stream stream(ProcessInstanceFilter filter, ProcessInstanceReadMode mode) {
+        return marshaller.unmarshallProcessInstances(read(filter), process, filter, 0, Long.MAX_VALUE, mode);
+    }
+
+    @Override
+    public List page(ProcessInstanceFilter filter, int offset, int limit, ProcessInstanceReadMode mode) {
+        try (Stream<byte[]> data = read(filter)) {
+            return marshaller.unmarshallProcessInstances(data, process, filter, offset, limit, mode).collect(Collectors.toList());
+        }
+    }
+
+    private Stream<byte[]> read(ProcessInstanceFilter filter) {
+        try {
+            return Files.walk(storage)
                     .filter(file -> !Files.isDirectory(file))
-                    .map(this::readBytesFromFile)
-                    .map(b -> mode == MUTABLE ?
-                            marshaller.unmarshallProcessInstance(b, process) :
-                            marshaller.unmarshallReadOnlyProcessInstance(b, process))
-                    .collect(Collectors.toList());
+                    .filter(file -> matchesStatus(file, filter))
+                    .map(this::readBytesFromFile);
         } catch (IOException e) {
             throw new RuntimeException("Unable to read process instances ", e);
         }
     }
 
+    /*
+     * status is kept as file metadata so instances can be discarded before reading the file content
+     */
+    protected boolean matchesStatus(Path processInstanceStorage, ProcessInstanceFilter filter) {
+        if (filter.getStates().isEmpty()) {
+            return true;
+        }
+        String status = getMetadata(processInstanceStorage, PI_STATUS);
+        return status == null || filter.getStates().contains(Integer.valueOf(status));
+    }
+
     @Override
     public boolean exists(String id) {
         return Files.exists(Paths.get(storage.toString(), id));
@@ -121,6 +219,9 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
                 throw new ProcessInstanceDuplicatedException(id);
             }
             storeProcessInstance(processInstanceStorage, instance);
+            if (instance.businessKey() != null) {
+                index(instance.businessKey(), id);
+            }
         }
     }
 
@@ -130,27 +231,127 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
         if (isActive(instance)) {
             Path processInstanceStorage = Paths.get(storage.toString(), id);
             if (Files.exists(processInstanceStorage)) {
-                storeProcessInstance(processInstanceStorage, instance);
+                if (deltasBeforeCompaction > 0 && appendDelta(processInstanceStorage, instance)) {
+                    disconnect(processInstanceStorage, instance);
+                } else {
+                    storeProcessInstance(processInstanceStorage, instance);
+                }
             }
         }
     }
 
     @Override
     public void remove(String id) {
+        remove(id, 0L);
+    }
+
+    @Override
+    public void remove(String id, ProcessInstance instance) {
+        remove(id, ((AbstractProcessInstance<?>) instance).version());
+    }
+
+    protected void remove(String id, long expectedVersion) {
         Path processInstanceStorage = Paths.get(storage.toString(), id);
-        try {
+        String businessKey = compareAndDelete(processInstanceStorage, id, expectedVersion);
+        if (businessKey != null) {
+            unindex(businessKey, id);
+        }
+    }
+
+    /*
+     * deletes the stored process instance only if its version has not changed since it was loaded
+     *
+     * @return business key of the deleted process instance
+     */
+    protected String compareAndDelete(Path processInstanceStorage, String id, long expectedVersion) {
+        ReentrantLock stripeLock = stripeLock(id);
+        stripeLock.lock();
+        try (FileChannel lockChannel = lockChannel(id);
+                FileLock lock = lockChannel.lock()) {
+            if (Files.notExists(processInstanceStorage)) {
+                return null;
+            }
+            if (expectedVersion != 0 && getVersion(processInstanceStorage) != expectedVersion) {
+                throw new ProcessInstanceOptimisticLockingException(id);
+            }
+            String businessKey = getMetadata(processInstanceStorage, PI_BUSINESS_KEY);
             Files.deleteIfExists(processInstanceStorage);
+            return businessKey;
         } catch (IOException e) {
             throw new RuntimeException("Unable to remove process instance with id " + id, e);
+        } finally {
+            stripeLock.unlock();
+        }
+    }
+
+    /*
+     * business key index is a directory with one file per business key holding the process instance id,
+     * entries left behind by removed instances are discarded when looked up
+     */
+    protected void index(String businessKey, String id) {
+        try {
+            Files.write(businessKeyIndex(businessKey), id.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to index process instance with id " + id, e);
+        }
+    }
+
+    protected synchronized void unindex(String businessKey, String id) {
+        if (id.equals(readIndex(businessKey))) {
+            try {
+                Files.deleteIfExists(businessKeyIndex(businessKey));
+            } catch (IOException e) {
+                LOGGER.warn("Unable to remove business key index entry of process instance {}", id, e);
+            }
+        }
+    }
+
+    protected String readIndex(String businessKey) {
+        try {
+            return new String(Files.readAllBytes(businessKeyIndex(businessKey)), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read business key index entry " + businessKey, e);
+        }
+    }
+
+    private Path businessKeyIndex(String businessKey) {
+        return businessKeys.resolve(Base64.getUrlEncoder().withoutPadding().encodeToString(businessKey.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /*
+     * instances stored before the index existed are indexed when the index directory is created
+     */
+    protected void reindex() throws IOException {
+        try (Stream<Path> stream = Files.walk(storage)) {
+            stream.filter(file -> !Files.isDirectory(file)).forEach(file -> {
+                JBPMMessages.ProcessInstance message = marshaller.readProcessInstanceMessage(readBytesFromFile(file), process);
+                if (message.hasCorrelationKey()) {
+                    index(message.getCorrelationKey(), message.getId());
+                }
+            });
         }
     }
 
     protected void storeProcessInstance(Path processInstanceStorage, ProcessInstance<?> instance) {
+        long version = ((AbstractProcessInstance<?>) instance).version();
         try {
             byte[] data = marshaller.marshallProcessInstance(instance);
-            Files.write(processInstanceStorage, data);
-            setMetadata(processInstanceStorage, PI_DESCRIPTION, instance.description());
-            setMetadata(processInstanceStorage, PI_STATUS, String.valueOf(instance.status()));
+            if (deltasBeforeCompaction > 0) {
+                data = ProcessInstanceDeltaLog.snapshot(data);
+            }
+            // content and metadata are prepared aside and moved at once so readers never see a partial update
+            Path temp = Files.createTempFile(storage.getParent(), instance.id(), ".tmp");
+            try {
+                boolean versioned = writeAside(temp, instance, version + 1, data);
+                compareAndMove(temp, processInstanceStorage, instance.id(), version);
+                if (versioned) {
+                    ((AbstractProcessInstance<?>) instance).setVersion(version + 1);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
 
             disconnect(processInstanceStorage, instance);
         } catch (IOException e) {
@@ -158,6 +359,124 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
         }
     }
 
+    /*
+     * writes the given content and the metadata of the process instance to the given file
+     *
+     * @return whether the version could be kept in the file metadata
+     */
+    private boolean writeAside(Path file, ProcessInstance<?> instance, long version, byte[]... content) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (byte[] bytes : content) {
+                out.write(bytes);
+            }
+        }
+        setMetadata(file, PI_DESCRIPTION, instance.description());
+        setMetadata(file, PI_STATUS, String.valueOf(instance.status()));
+        boolean versioned = setMetadata(file, PI_VERSION, String.valueOf(version));
+        setMetadata(file, PI_BUSINESS_KEY, instance.businessKey());
+        return versioned;
+    }
+
+    /*
+     * replaces the stored process instance only if its version has not changed since it was loaded,
+     * the lock file guards against other processes sharing the same storage
+     */
+    protected void compareAndMove(Path source, Path processInstanceStorage, String id, long expectedVersion) throws IOException {
+        ReentrantLock stripeLock = stripeLock(id);
+        stripeLock.lock();
+        try (FileChannel lockChannel = lockChannel(id);
+                FileLock lock = lockChannel.lock()) {
+            if (Files.exists(processInstanceStorage)) {
+                if (expectedVersion != 0 && getVersion(processInstanceStorage) != expectedVersion) {
+                    throw new ProcessInstanceOptimisticLockingException(id);
+                }
+            } else if (expectedVersion != 0) {
+                // removed since it was loaded
+                throw new ProcessInstanceOptimisticLockingException(id);
+            }
+            Files.move(source, processInstanceStorage, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            stripeLock.unlock();
+        }
+    }
+
+    /*
+     * stored files are replaced by atomic moves so locking them would leave a waiter holding the lock of a
+     * replaced file, process instances are instead guarded by one of a fixed set of lock files that are
+     * never replaced nor removed. File locks are held by the whole JVM, so the threads of this JVM sharing
+     * a lock file are serialized first by the lock of its stripe, see {@link #stripeLock(String)}
+     */
+    protected FileChannel lockChannel(String id) throws IOException {
+        Path lockFile = locks.resolve(stripe(id) + ".lock");
+        return FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    /*
+     * in JVM lock to be held around the lock file of the same stripe, process instances of other stripes
+     * are written concurrently
+     */
+    protected ReentrantLock stripeLock(String id) {
+        return stripeLocks[stripe(id)];
+    }
+
+    private static int stripe(String id) {
+        return id.hashCode() & (LOCK_STRIPES - 1);
+    }
+
+    /*
+     * appends the changes to the stored log in place unless it has to be compacted, under the same lock file and
+     * version check as a full write. The delta is forced to disk before the version and status are updated, readers
+     * ignore a delta that was not completely written.
+     */
+    protected boolean appendDelta(Path processInstanceStorage, ProcessInstance<?> instance) {
+        long version = ((AbstractProcessInstance<?>) instance).version();
+        ReentrantLock stripeLock = stripeLock(instance.id());
+        stripeLock.lock();
+        try (FileChannel lockChannel = lockChannel(instance.id());
+                FileLock lock = lockChannel.lock()) {
+            try (FileChannel channel = FileChannel.open(processInstanceStorage, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                int deltas = ProcessInstanceDeltaLog.countDeltas(channel);
+                if (deltas < 0 || deltas >= deltasBeforeCompaction) {
+                    return false;
+                }
+                if (version != 0 && getVersion(processInstanceStorage) != version) {
+                    throw new ProcessInstanceOptimisticLockingException(instance.id());
+                }
+                byte[] delta = marshaller.marshallProcessInstanceDelta(instance);
+                if (delta == null) {
+                    return false;
+                }
+                ByteBuffer record = ByteBuffer.wrap(ProcessInstanceDeltaLog.record(delta));
+                long position = channel.size();
+                while (record.hasRemaining()) {
+                    position += channel.write(record, position);
+                }
+                channel.force(false);
+            } catch (NoSuchFileException e) {
+                if (version != 0) {
+                    // removed since it was loaded
+                    throw new ProcessInstanceOptimisticLockingException(instance.id());
+                }
+                return false;
+            }
+            setMetadata(processInstanceStorage, PI_DESCRIPTION, instance.description());
+            setMetadata(processInstanceStorage, PI_STATUS, String.valueOf(instance.status()));
+            if (setMetadata(processInstanceStorage, PI_VERSION, String.valueOf(version + 1))) {
+                ((AbstractProcessInstance<?>) instance).setVersion(version + 1);
+            }
+            return true;
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to store process instance with id " + instance.id(), e);
+        } finally {
+            stripeLock.unlock();
+        }
+    }
+
+    protected long getVersion(Path processInstanceStorage) {
+        String version = getMetadata(processInstanceStorage, PI_VERSION);
+        return version == null ? 0L : Long.parseLong(version);
+    }
+
     protected byte[] readBytesFromFile(Path processInstanceStorage) {
         try {
             return Files.readAllBytes(processInstanceStorage);
@@ -170,6 +489,7 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(() -> {
 
             try {
+                ((AbstractProcessInstance<?>) instance).setVersion(getVersion(processInstanceStorage));
                 byte[] reloaded = readBytesFromFile(processInstanceStorage);
                 return marshaller.unmarshallWorkflowProcessInstance(reloaded, process);
             } catch (RuntimeException e) {
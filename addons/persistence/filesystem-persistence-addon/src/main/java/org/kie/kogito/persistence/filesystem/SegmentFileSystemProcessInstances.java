@@ -0,0 +1,208 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.filesystem;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jbpm.marshalling.impl.JBPMMessages;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstanceFilter;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
+
+/**
+ * File system based process instances kept in a {@link SegmentStore} instead of a file per instance,
+ * segments of each process are stored in <code>.segments/{processId}</code> under the given storage path.
+ */
+@SuppressWarnings({"rawtypes"})
+public class SegmentFileSystemProcessInstances implements MutableProcessInstances,
+                                                          Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SegmentFileSystemProcessInstances.class);
+
+    private static final String SEGMENTS = ".segments";
+
+    private Process<?> process;
+    private SegmentStore store;
+    private ProcessInstanceMarshaller marshaller;
+    private Map<String, String> businessKeys;
+
+    public SegmentFileSystemProcessInstances(Process<?> process, Path storage, int segmentSize) {
+        this(process, storage, new ProcessInstanceMarshaller(), segmentSize);
+    }
+
+    public SegmentFileSystemProcessInstances(Process<?> process, Path storage, ProcessInstanceMarshaller marshaller, int segmentSize) {
+        this.process = process;
+        this.marshaller = marshaller;
+        this.store = new SegmentStore(Paths.get(storage.toString(), SEGMENTS, process.id()), segmentSize);
+    }
+
+    @Override
+    public Integer size() {
+        return store.size();
+    }
+
+    @Override
+    public Optional findById(String id, ProcessInstanceReadMode mode) {
+        SegmentStore.VersionedValue stored = store.getVersioned(id);
+        if (stored == null) {
+            return Optional.empty();
+        }
+        if (mode == MUTABLE) {
+            ProcessInstance instance = marshaller.unmarshallProcessInstance(stored.value(), process);
+            ((AbstractProcessInstance<?>) instance).setVersion(stored.version());
+            return Optional.of(instance);
+        }
+        return Optional.of(marshaller.unmarshallReadOnlyProcessInstance(stored.value(), process));
+    }
+
+    @Override
+    public OptionalLong version(String id) {
+        long version = store.version(id);
+        return version == 0 ? OptionalLong.empty() : OptionalLong.of(version);
+    }
+
+    /*
+     * the store is used by a single process so the index is exact once built from the stored instances
+     */
+    @Override
+    public Optional findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        String id = businessKeys().get(businessKey);
+        return id == null ? Optional.empty() : findById(id, mode);
+    }
+
+    private synchronized Map<String, String> businessKeys() {
+        if (businessKeys == null) {
+            Map<String, String> entries = new ConcurrentHashMap<>();
+            store.values().forEach(data -> {
+                JBPMMessages.ProcessInstance message = marshaller.readProcessInstanceMessage(data, process);
+                if (message.hasCorrelationKey()) {
+                    entries.put(message.getCorrelationKey(), message.getId());
+                }
+            });
+            businessKeys = entries;
+        }
+        return businessKeys;
+    }
+
+    @Override
+    public Collection values(ProcessInstanceReadMode mode) {
+        try (Stream<?> stream = stream(ProcessInstanceFilter.all(), mode)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Stream stream(ProcessInstanceFilter filter, ProcessInstanceReadMode mode) {
+        return marshaller.unmarshallProcessInstances(store.values(), process, filter, 0, Long.MAX_VALUE, mode);
+    }
+
+    @Override
+    public List page(ProcessInstanceFilter filter, int offset, int limit, ProcessInstanceReadMode mode) {
+        try (Stream<byte[]> data = store.values()) {
+            return marshaller.unmarshallProcessInstances(data, process, filter, offset, limit, mode).collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return store.contains(id);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void create(String id, ProcessInstance instance) {
+        if (isActive(instance)) {
+            if (!store.putIfAbsent(id, marshaller.marshallProcessInstance(instance))) {
+                throw new ProcessInstanceDuplicatedException(id);
+            }
+            if (instance.businessKey() != null && businessKeys != null) {
+                businessKeys.put(instance.businessKey(), id);
+            }
+            ((AbstractProcessInstance<?>) instance).setVersion(1L);
+            disconnect(id, instance);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void update(String id, ProcessInstance instance) {
+        if (isActive(instance) && store.contains(id)) {
+            long version = ((AbstractProcessInstance<?>) instance).version();
+            if (!store.replace(id, marshaller.marshallProcessInstance(instance), version)) {
+                throw new ProcessInstanceOptimisticLockingException(id);
+            }
+            if (version != 0) {
+                ((AbstractProcessInstance<?>) instance).setVersion(version + 1);
+            }
+            disconnect(id, instance);
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        if (businessKeys != null) {
+            byte[] data = store.get(id);
+            if (data != null) {
+                JBPMMessages.ProcessInstance message = marshaller.readProcessInstanceMessage(data, process);
+                if (message.hasCorrelationKey()) {
+                    businessKeys.remove(message.getCorrelationKey(), id);
+                }
+            }
+        }
+        store.remove(id);
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    protected void disconnect(String id, ProcessInstance instance) {
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(() -> {
+            try {
+                SegmentStore.VersionedValue reloaded = store.getVersioned(id);
+                if (reloaded == null) {
+                    return null;
+                }
+                ((AbstractProcessInstance<?>) instance).setVersion(reloaded.version());
+                return marshaller.unmarshallWorkflowProcessInstance(reloaded.value(), process);
+            } catch (RuntimeException e) {
+                LOGGER.error("Unexpected exception thrown when reloading process instance {}", id, e);
+                return null;
+            }
+        });
+    }
+}
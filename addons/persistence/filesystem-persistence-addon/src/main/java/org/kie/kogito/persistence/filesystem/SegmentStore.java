@@ -0,0 +1,482 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.filesystem;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Log structured key value store made of append only segment files accessed through memory mapped buffers.
+ * <br/>
+ * Every write appends a record to the active segment and updates an in memory index of the latest record of
+ * each key, a new segment is started once the active one is full. When more than half of the stored bytes
+ * belong to overwritten or removed records the oldest segment is compacted, its live records are appended
+ * again and the segment file is deleted.
+ * <br/>
+ * Records are laid out as
+ * <pre>
+ * int  key length (zero marks the end of the written part of a segment)
+ * int  value length (-1 for a removal)
+ * long version
+ * int  CRC32 of version, key and value
+ * key and value bytes
+ * </pre>
+ * The key length is written last so a record interrupted by a crash is never visible, on startup the index is
+ * rebuilt by replaying the segments in order and replay stops at the first incomplete or corrupted record.
+ * Every write is forced to disk before returning. Reads run concurrently with writes, compaction waits for
+ * the reads in progress before releasing a segment.
+ * The directory is locked so only one process at a time can use the store.
+ */
+public class SegmentStore implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SegmentStore.class);
+
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final String LOCK_FILE = "store.lock";
+    private static final int HEADER = 20;
+    private static final int REMOVED = -1;
+    private static final double COMPACTION_RATIO = 0.5;
+    // largest size that can be memory mapped
+    private static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final ReadWriteLock segmentsLock = new ReentrantReadWriteLock();
+
+    private Segment active;
+    private long totalBytes;
+    private long liveBytes;
+
+    /**
+     * @param directory directory holding the segment files, created when missing
+     * @param segmentSize size in bytes of each segment, a larger segment is created for records that do not fit
+     */
+    public SegmentStore(Path directory, int segmentSize) {
+        if (segmentSize <= HEADER) {
+            throw new IllegalArgumentException("Segment size must be greater than " + HEADER + " bytes, given: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+            lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            lock = tryLock(lockChannel);
+            if (lock == null) {
+                lockChannel.close();
+                throw new IllegalStateException("Segment store " + directory + " is used by another process");
+            }
+            recover();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to open segment store " + directory, e);
+        }
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // already locked within this JVM
+            return null;
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * @return stored value of the given key or <code>null</code> when there is none
+     */
+    public byte[] get(String key) {
+        segmentsLock.readLock().lock();
+        try {
+            Location location = index.get(key);
+            return location == null ? null : location.read();
+        } finally {
+            segmentsLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return stored value of the given key along with its version or <code>null</code> when there is none
+     */
+    public VersionedValue getVersioned(String key) {
+        segmentsLock.readLock().lock();
+        try {
+            Location location = index.get(key);
+            return location == null ? null : new VersionedValue(location.read(), location.version);
+        } finally {
+            segmentsLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return version of the value stored with the given key, zero when there is none
+     */
+    public long version(String key) {
+        Location location = index.get(key);
+        return location == null ? 0L : location.version;
+    }
+
+    /**
+     * Returns the stored values, each value is read when consumed from the stream and skipped when it was
+     * removed meanwhile.
+     */
+    public Stream<byte[]> values() {
+        return keys().map(this::get).filter(Objects::nonNull);
+    }
+
+    public Stream<String> keys() {
+        return new ArrayList<>(index.keySet()).stream();
+    }
+
+    /**
+     * Stores the value with version one unless the key already exists.
+     *
+     * @return <code>false</code> when the key already exists
+     */
+    public synchronized boolean putIfAbsent(String key, byte[] value) {
+        if (index.containsKey(key)) {
+            return false;
+        }
+        write(key, value, 1L);
+        return true;
+    }
+
+    /**
+     * Replaces the value of an existing key, incrementing its version.
+     *
+     * @param expectedVersion version the stored value must have, zero skips the check
+     * @return <code>false</code> when the key does not exist or its version is not the expected one
+     */
+    public synchronized boolean replace(String key, byte[] value, long expectedVersion) {
+        Location current = index.get(key);
+        if (current == null || (expectedVersion != 0 && current.version != expectedVersion)) {
+            return false;
+        }
+        write(key, value, current.version + 1);
+        return true;
+    }
+
+    public synchronized void remove(String key) {
+        Location current = index.get(key);
+        if (current != null) {
+            write(key, null, current.version + 1);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        segmentsLock.writeLock().lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+            segments.clear();
+            index.clear();
+            lock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to close segment store " + directory, e);
+        } finally {
+            segmentsLock.writeLock().unlock();
+        }
+    }
+
+    private void write(String key, byte[] value, long version) {
+        Location previous = index.get(key);
+        Location location = append(key.getBytes(StandardCharsets.UTF_8), value, version);
+        active.buffer.force();
+        if (previous != null) {
+            liveBytes -= previous.length;
+        }
+        if (value == null) {
+            index.remove(key);
+        } else {
+            liveBytes += location.length;
+            index.put(key, location);
+        }
+        compact();
+    }
+
+    private Location append(byte[] key, byte[] value, long version) {
+        int valueLength = value == null ? REMOVED : value.length;
+        long recordLength = (long) HEADER + key.length + Math.max(valueLength, 0);
+        // room is left for the end marker
+        if (recordLength + Integer.BYTES > MAX_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Record of " + recordLength + " bytes does not fit in a segment of at most " + MAX_SEGMENT_SIZE + " bytes");
+        }
+        int length = (int) recordLength;
+        if (active == null || (long) active.position + length + Integer.BYTES > active.buffer.capacity()) {
+            roll(length + Integer.BYTES);
+        }
+        int offset = active.position;
+        ByteBuffer buffer = active.buffer;
+        buffer.putInt(offset + 4, valueLength);
+        buffer.putLong(offset + 8, version);
+        buffer.putInt(offset + 16, checksum(version, key, value));
+        ByteBuffer content = buffer.duplicate();
+        content.position(offset + HEADER);
+        content.put(key);
+        if (value != null) {
+            content.put(value);
+        }
+        buffer.putInt(offset, key.length);
+        active.position += length;
+        totalBytes += length;
+        return new Location(active, offset, length, offset + HEADER + key.length, valueLength, version);
+    }
+
+    private void roll(int minimumSize) {
+        try {
+            if (active != null) {
+                active.buffer.force();
+            }
+            long id = segments.isEmpty() ? 0L : segments.lastKey() + 1;
+            Path file = directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+            active = new Segment(id, file, Math.max(segmentSize, minimumSize), true);
+            segments.put(id, active);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to create segment in " + directory, e);
+        }
+    }
+
+    /*
+     * the oldest segment is rewritten so removals found there can be dropped,
+     * no older segment can hold a value they hide
+     */
+    private void compact() {
+        if (segments.size() < 2 || totalBytes < segmentSize || totalBytes - liveBytes <= totalBytes * COMPACTION_RATIO) {
+            return;
+        }
+        Segment oldest = segments.firstEntry().getValue();
+        if (oldest == active) {
+            return;
+        }
+        segments.remove(oldest.id);
+        totalBytes -= oldest.position;
+        int offset = 0;
+        while (offset < oldest.position) {
+            ByteBuffer buffer = oldest.buffer;
+            int keyLength = buffer.getInt(offset);
+            int valueLength = buffer.getInt(offset + 4);
+            int length = HEADER + keyLength + Math.max(valueLength, 0);
+            String key = readKey(buffer, offset, keyLength);
+            Location current = index.get(key);
+            if (current != null && current.segment == oldest && current.offset == offset) {
+                Location moved = append(key.getBytes(StandardCharsets.UTF_8), current.read(), current.version);
+                index.put(key, moved);
+            }
+            offset += length;
+        }
+        // moved records must be durable before the segment holding them is gone
+        active.buffer.force();
+        segmentsLock.writeLock().lock();
+        try {
+            oldest.close();
+            Files.delete(oldest.file);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to delete compacted segment {}", oldest.file, e);
+        } finally {
+            segmentsLock.writeLock().unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            Segment segment = new Segment(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), file, 0, false);
+            segments.put(segment.id, segment);
+            replay(segment);
+        }
+        if (!segments.isEmpty()) {
+            active = segments.lastEntry().getValue();
+        }
+    }
+
+    private void replay(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        int offset = 0;
+        while (offset + HEADER <= buffer.capacity()) {
+            int keyLength = buffer.getInt(offset);
+            if (keyLength <= 0) {
+                break;
+            }
+            int valueLength = buffer.getInt(offset + 4);
+            long length = (long) HEADER + keyLength + Math.max(valueLength, 0);
+            if (valueLength < REMOVED || offset + length > buffer.capacity()) {
+                LOGGER.warn("Incomplete record found in segment {} at offset {}, ignoring the rest of the segment", segment.file, offset);
+                break;
+            }
+            long version = buffer.getLong(offset + 8);
+            int valueOffset = offset + HEADER + keyLength;
+            byte[] key = new byte[keyLength];
+            byte[] value = valueLength == REMOVED ? null : new byte[valueLength];
+            ByteBuffer content = buffer.duplicate();
+            content.position(offset + HEADER);
+            content.get(key);
+            if (value != null) {
+                content.get(value);
+            }
+            if (buffer.getInt(offset + 16) != checksum(version, key, value)) {
+                LOGGER.warn("Corrupted record found in segment {} at offset {}, ignoring the rest of the segment", segment.file, offset);
+                break;
+            }
+            String name = new String(key, StandardCharsets.UTF_8);
+            Location previous = index.get(name);
+            if (previous != null) {
+                liveBytes -= previous.length;
+            }
+            if (value == null) {
+                index.remove(name);
+            } else {
+                Location location = new Location(segment, offset, (int) length, valueOffset, valueLength, version);
+                index.put(name, location);
+                liveBytes += length;
+            }
+            offset += length;
+            totalBytes += length;
+        }
+        segment.position = offset;
+        // leftovers of an interrupted write are cleared so they are not mistaken for records appended later
+        for (int i = offset; i < Math.min(offset + HEADER, buffer.capacity()); i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+
+    private static String readKey(ByteBuffer buffer, int offset, int keyLength) {
+        byte[] key = new byte[keyLength];
+        ByteBuffer content = buffer.duplicate();
+        content.position(offset + HEADER);
+        content.get(key);
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(long version, byte[] key, byte[] value) {
+        CRC32 crc = new CRC32();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (version >>> shift));
+        }
+        crc.update(key);
+        if (value != null) {
+            crc.update(value);
+        }
+        return (int) crc.getValue();
+    }
+
+    public static class VersionedValue {
+
+        private final byte[] value;
+        private final long version;
+
+        VersionedValue(byte[] value, long version) {
+            this.value = value;
+            this.version = version;
+        }
+
+        public byte[] value() {
+            return value;
+        }
+
+        public long version() {
+            return version;
+        }
+    }
+
+    private static class Segment {
+
+        private final long id;
+        private final Path file;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int position;
+
+        Segment(long id, Path file, int size, boolean create) throws IOException {
+            this.id = id;
+            this.file = file;
+            this.channel = create ? FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                    : FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, create ? size : channel.size());
+        }
+
+        void close() throws IOException {
+            buffer.force();
+            channel.close();
+        }
+    }
+
+    private static class Location {
+
+        private final Segment segment;
+        private final int offset;
+        private final int length;
+        private final int valueOffset;
+        private final int valueLength;
+        private final long version;
+
+        Location(Segment segment, int offset, int length, int valueOffset, int valueLength, long version) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.valueOffset = valueOffset;
+            this.valueLength = valueLength;
+            this.version = version;
+        }
+
+        byte[] read() {
+            byte[] value = new byte[valueLength];
+            ByteBuffer content = segment.buffer.duplicate();
+            content.position(valueOffset);
+            content.get(value);
+            return value;
+        }
+    }
+}
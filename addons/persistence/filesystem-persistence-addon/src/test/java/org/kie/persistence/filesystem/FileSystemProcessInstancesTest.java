@@ -15,9 +15,23 @@
  */
 package org.kie.persistence.filesystem;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.drools.core.io.impl.ClassPathResource;
+import org.jbpm.marshalling.impl.JBPMMessages;
 import org.jbpm.process.instance.impl.Action;
 import org.jbpm.workflow.core.DroolsAction;
 import org.jbpm.workflow.core.WorkflowProcess;
@@ -27,17 +41,25 @@ import org.kie.api.definition.process.Node;
 import org.kie.kogito.auth.SecurityPolicy;
 import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
 import org.kie.kogito.persistence.filesystem.FileSystemProcessInstances;
+import org.kie.kogito.persistence.filesystem.SegmentFileSystemProcessInstances;
+import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceFilter;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.CachingProcessInstances;
 import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
 import org.kie.kogito.process.impl.DefaultWorkItemHandlerConfig;
 import org.kie.kogito.process.impl.StaticProcessConfig;
+import org.kie.kogito.process.impl.marshalling.ProcessInstanceDeltaLog;
+import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
 import org.kie.kogito.services.identity.StaticIdentityProvider;
 import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
 import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
@@ -46,12 +68,15 @@ import org.kie.kogito.uow.UnitOfWorkManager;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_ACTIVE;
 import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_COMPLETED;
 import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_ERROR;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -61,8 +86,12 @@ class FileSystemProcessInstancesTest {
     private SecurityPolicy securityPolicy = SecurityPolicy.of(new StaticIdentityProvider("john"));
 
     private BpmnProcess createProcess(ProcessConfig config, String fileName) {
+        return createProcess(config, fileName, new FileSystemProcessInstancesFactory(0));
+    }
+
+    private BpmnProcess createProcess(ProcessConfig config, String fileName, FileSystemProcessInstancesFactory factory) {
         BpmnProcess process = BpmnProcess.from(config, new ClassPathResource(fileName)).get(0);
-        process.setProcessInstancesFactory(new FileSystemProcessInstancesFactory());
+        process.setProcessInstancesFactory(factory);
         process.configure();
         process.instances().values(ProcessInstanceReadMode.MUTABLE).forEach(p -> p.abort());
         return process;
@@ -124,6 +153,183 @@ class FileSystemProcessInstancesTest {
         assertThat(instances.size()).isZero();
     }
 
+    @Test
+    void testHeaderWithoutStartDate() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        JBPMMessages.ProcessInstance message = JBPMMessages.ProcessInstance.newBuilder()
+                .setId("noStartDate")
+                .setProcessId(process.id())
+                .setState(STATE_ACTIVE)
+                .build();
+        assertThat(ProcessInstanceMarshaller.headerOf(message, process).getStartDate()).isNull();
+    }
+
+    @Test
+    void testReadOnlyVariablesUnmarshalledLazily() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance("lazy", BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        ProcessInstanceMarshaller marshaller = spy(new ProcessInstanceMarshaller());
+        ProcessInstances<BpmnVariables> instances = new FileSystemProcessInstances(process, Paths.get("target"), marshaller);
+        ProcessInstance<BpmnVariables> pi = instances.values(ProcessInstanceReadMode.READ_ONLY).iterator().next();
+        assertThat(pi.id()).isEqualTo(processInstance.id());
+        assertThat(pi.businessKey()).isEqualTo("lazy");
+        assertThat(pi.status()).isEqualTo(STATE_ACTIVE);
+        assertThat(pi.startDate()).isNotNull();
+        verify(marshaller, never()).unmarshallWorkflowProcessInstance(any(), any());
+
+        assertThat(pi.variables().toMap()).containsEntry("test", "test");
+        verify(marshaller, times(1)).unmarshallWorkflowProcessInstance(any(), any());
+
+        processInstance.abort();
+        assertThat(process.instances().size()).isZero();
+    }
+
+    @Test
+    void testFindByBusinessKey() throws IOException {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance("order-1", BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        assertThat(instances.findByBusinessKey("order-1")).hasValueSatisfying(pi -> assertThat(pi.id()).isEqualTo(processInstance.id()));
+        assertThat(instances.findByBusinessKey("order-1", ProcessInstanceReadMode.READ_ONLY)).hasValueSatisfying(pi -> assertThat(pi.businessKey()).isEqualTo("order-1"));
+        assertThat(instances.findByBusinessKey("order-2")).isEmpty();
+
+        // index is rebuilt from the stored instances when missing
+        Path index = Paths.get("target", ".businessKeys", process.id());
+        try (Stream<Path> entries = Files.list(index)) {
+            for (Path entry : entries.collect(Collectors.toList())) {
+                Files.delete(entry);
+            }
+        }
+        Files.delete(index);
+        ProcessInstances<BpmnVariables> reindexed = new FileSystemProcessInstances(process, Paths.get("target"));
+        assertThat(reindexed.findByBusinessKey("order-1")).hasValueSatisfying(pi -> assertThat(pi.id()).isEqualTo(processInstance.id()));
+
+        processInstance.abort();
+        assertThat(instances.findByBusinessKey("order-1")).isEmpty();
+        assertThat(instances.size()).isZero();
+    }
+
+    @Test
+    void testStreamAndPageWithFilter() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        for (int i = 0; i < 3; i++) {
+            process.createInstance("key-" + i, BpmnVariables.create(Collections.singletonMap("test", "test"))).start();
+        }
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        try (Stream<ProcessInstance<BpmnVariables>> stream = instances.stream(ProcessInstanceFilter.filter().withBusinessKey("key-1"), ProcessInstanceReadMode.READ_ONLY)) {
+            List<String> businessKeys = stream.map(ProcessInstance::businessKey).collect(Collectors.toList());
+            assertThat(businessKeys).containsExactly("key-1");
+        }
+        assertThat(instances.page(ProcessInstanceFilter.filter().withStates(STATE_ACTIVE), 1, 5, ProcessInstanceReadMode.READ_ONLY)).hasSize(2);
+        assertThat(instances.page(ProcessInstanceFilter.filter().withStates(STATE_COMPLETED), 0, 5, ProcessInstanceReadMode.READ_ONLY)).isEmpty();
+        assertThat(instances.page(ProcessInstanceFilter.filter().startedBefore(new Date(0)), 0, 5, ProcessInstanceReadMode.READ_ONLY)).isEmpty();
+
+        instances.values(ProcessInstanceReadMode.MUTABLE).forEach(ProcessInstance::abort);
+        assertThat(instances.size()).isZero();
+    }
+
+    @Test
+    void testConcurrentUpdate() throws IOException {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        FileSystemProcessInstances storage = (FileSystemProcessInstances) process.instances();
+        assumeTrue(Files.getFileStore(Paths.get("target")).supportsFileAttributeView(UserDefinedFileAttributeView.class), "version is kept in user defined file attributes");
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        ProcessInstance<BpmnVariables> first = process.instances().findById(processInstance.id()).get();
+        ProcessInstance<BpmnVariables> second = process.instances().findById(processInstance.id()).get();
+
+        first.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "first")));
+        assertThatThrownBy(() -> second.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "second"))))
+                .isInstanceOf(ProcessInstanceOptimisticLockingException.class);
+        assertThat(process.instances().findById(processInstance.id(), ProcessInstanceReadMode.READ_ONLY).get().variables().toMap()).containsEntry("test", "first");
+
+        process.instances().findById(processInstance.id()).get().abort();
+        assertThat(storage.size()).isZero();
+    }
+
+    @Test
+    void testConcurrentRemove() throws IOException {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        assumeTrue(Files.getFileStore(Paths.get("target")).supportsFileAttributeView(UserDefinedFileAttributeView.class), "version is kept in user defined file attributes");
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        ProcessInstance<BpmnVariables> first = process.instances().findById(processInstance.id()).get();
+        ProcessInstance<BpmnVariables> second = process.instances().findById(processInstance.id()).get();
+
+        first.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "first")));
+        MutableProcessInstances<BpmnVariables> instances = (MutableProcessInstances<BpmnVariables>) process.instances();
+        assertThatThrownBy(() -> instances.remove(second.id(), second)).isInstanceOf(ProcessInstanceOptimisticLockingException.class);
+        assertThat(process.instances().findById(processInstance.id(), ProcessInstanceReadMode.READ_ONLY)).isPresent();
+
+        process.instances().findById(processInstance.id()).get().abort();
+        assertThat(process.instances().size()).isZero();
+    }
+
+    @Test
+    void testDeltaUpdates() throws IOException {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2", new FileSystemProcessInstancesFactory(2));
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        Path file = Paths.get("target", process.id(), processInstance.id());
+        long snapshotSize = Files.size(file);
+
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "first")));
+        assertThat(deltas(file)).isEqualTo(1);
+        assertThat(Files.size(file)).isGreaterThan(snapshotSize);
+        assertThat(process.instances().findById(processInstance.id(), ProcessInstanceReadMode.READ_ONLY).get().variables().toMap()).containsEntry("test", "first");
+
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "second")));
+        assertThat(deltas(file)).isEqualTo(2);
+        assertThat(process.instances().stream(ProcessInstanceFilter.filter().withStates(STATE_ACTIVE), ProcessInstanceReadMode.READ_ONLY)
+                .map(pi -> pi.variables().toMap().get("test"))).containsExactly("second");
+
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "third")));
+        assertThat(deltas(file)).isZero();
+        assertThat(process.instances().findById(processInstance.id(), ProcessInstanceReadMode.READ_ONLY).get().variables().toMap()).containsEntry("test", "third");
+
+        WorkItem workItem = processInstance.workItems(securityPolicy).get(0);
+        processInstance.completeWorkItem(workItem.getId(), null, securityPolicy);
+        assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(process.instances().size()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeltaUpdatesVariableChangedInPlace() throws IOException {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2", new FileSystemProcessInstancesFactory(2));
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("test", "test");
+        variables.put("items", new ArrayList<>(Collections.singletonList("first")));
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(variables));
+        processInstance.start();
+        Path file = Paths.get("target", process.id(), processInstance.id());
+
+        assertThat(processInstance.workItems(securityPolicy)).hasSize(1);
+        List<String> items = (List<String>) ((AbstractProcessInstance<?>) processInstance).internalGetProcessInstance().getVariable("items");
+        items.add("second");
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "first")));
+        assertThat(deltas(file)).isEqualTo(1);
+
+        Map<String, Object> stored = process.instances().findById(processInstance.id(), ProcessInstanceReadMode.READ_ONLY).get().variables().toMap();
+        assertThat(stored).containsEntry("test", "first");
+        assertThat((List<String>) stored.get("items")).containsExactly("first", "second");
+    }
+
+    private static int deltas(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            return ProcessInstanceDeltaLog.countDeltas(channel);
+        }
+    }
+
     @Test
     void testBasicFlow() {
         BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
@@ -154,10 +360,69 @@ class FileSystemProcessInstancesTest {
         assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
 
         fileSystemBasedStorage = (FileSystemProcessInstances) process.instances();
-        verify(fileSystemBasedStorage, times(2)).remove(processInstance.id());
+        verify(fileSystemBasedStorage, times(2)).remove(eq(processInstance.id()), any(ProcessInstance.class));
         assertThat(fileSystemBasedStorage.size()).isZero();
     }
 
+    @Test
+    void testBasicFlowWithSegments() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2", new FileSystemProcessInstancesFactory(0, 4096));
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance("order-1", BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        assertThat(process.instances().size()).isOne();
+
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "updated")));
+        assertThat(process.instances().findById(processInstance.id(), ProcessInstanceReadMode.READ_ONLY).get().variables().toMap()).containsEntry("test", "updated");
+        assertThat(process.instances().findByBusinessKey("order-1")).hasValueSatisfying(pi -> assertThat(pi.id()).isEqualTo(processInstance.id()));
+
+        // process instances are recovered from the segments when the store is opened again
+        ((SegmentFileSystemProcessInstances) process.instances()).close();
+        process.configure();
+        assertThat(process.instances().size()).isOne();
+        ProcessInstance<BpmnVariables> recovered = process.instances().findById(processInstance.id()).get();
+        assertThat(recovered.variables().toMap()).containsEntry("test", "updated");
+
+        WorkItem workItem = recovered.workItems(securityPolicy).get(0);
+        recovered.completeWorkItem(workItem.getId(), null, securityPolicy);
+        assertThat(recovered.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(process.instances().size()).isZero();
+        ((SegmentFileSystemProcessInstances) process.instances()).close();
+    }
+
+    @Test
+    void testBasicFlowWithCache() throws IOException {
+        assumeTrue(Files.getFileStore(Paths.get("target")).supportsFileAttributeView(UserDefinedFileAttributeView.class), "version is kept in user defined file attributes");
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2", new FileSystemProcessInstancesFactory(0, 0, 16));
+        CachingProcessInstances<BpmnVariables> instances = (CachingProcessInstances<BpmnVariables>) process.instances();
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "updated")));
+        assertThat(instances.estimatedSize()).isOne();
+
+        // the written instance is served from the cache, and taken out of it until written again
+        ProcessInstance<BpmnVariables> cached = instances.findById(processInstance.id()).get();
+        assertThat(instances.hitCount()).isOne();
+        assertThat(cached.variables().toMap()).containsEntry("test", "updated");
+        assertThat(instances.findById(processInstance.id())).isPresent();
+        assertThat(instances.missCount()).isOne();
+
+        cached.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "cached")));
+
+        // an instance written by another storage is read again once its version changed
+        MutableProcessInstances<BpmnVariables> storage = new FileSystemProcessInstances(process, Paths.get("target"));
+        storage.update(processInstance.id(), storage.findById(processInstance.id()).get());
+        ProcessInstance<BpmnVariables> reloaded = instances.findById(processInstance.id()).get();
+        assertThat(instances.hitCount()).isOne();
+        assertThat(instances.missCount()).isEqualTo(2);
+        assertThat(reloaded.variables().toMap()).containsEntry("test", "cached");
+
+        WorkItem workItem = reloaded.workItems(securityPolicy).get(0);
+        reloaded.completeWorkItem(workItem.getId(), null, securityPolicy);
+        assertThat(reloaded.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(instances.size()).isZero();
+        assertThat(instances.findById(processInstance.id())).isEmpty();
+    }
+
     @Test
     void testBasicFlowWithStartFrom() {
         BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
@@ -182,7 +447,7 @@ class FileSystemProcessInstancesTest {
         assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
 
         fileSystemBasedStorage = (FileSystemProcessInstances) process.instances();
-        verify(fileSystemBasedStorage, times(2)).remove(any());
+        verify(fileSystemBasedStorage, times(2)).remove(any(), any(ProcessInstance.class));
         assertThat(fileSystemBasedStorage.size()).isZero();
     }
 
@@ -191,7 +456,7 @@ class FileSystemProcessInstancesTest {
         UnitOfWorkManager uowManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
         ProcessConfig config = new StaticProcessConfig(new DefaultWorkItemHandlerConfig(), new DefaultProcessEventListenerConfig(), uowManager, null);
         BpmnProcess process = createProcess(config, "BPMN2-UserTask.bpmn2");
-        process.setProcessInstancesFactory(new FileSystemProcessInstancesFactory());
+        process.setProcessInstancesFactory(new FileSystemProcessInstancesFactory(0));
         process.configure();
 
         ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
@@ -228,16 +493,49 @@ class FileSystemProcessInstancesTest {
         assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
 
         fileSystemBasedStorage = (FileSystemProcessInstances) process.instances();
-        verify(fileSystemBasedStorage).remove(processInstance.id());
+        verify(fileSystemBasedStorage).remove(eq(processInstance.id()), any(ProcessInstance.class));
         assertThat(fileSystemBasedStorage.size()).isZero();
     }
 
     private class FileSystemProcessInstancesFactory extends KogitoProcessInstancesFactory {
 
+        private final int deltasBeforeCompaction;
+        private final int segmentSize;
+        private final int cacheSize;
+
+        FileSystemProcessInstancesFactory(int deltasBeforeCompaction) {
+            this(deltasBeforeCompaction, 0);
+        }
+
+        FileSystemProcessInstancesFactory(int deltasBeforeCompaction, int segmentSize) {
+            this(deltasBeforeCompaction, segmentSize, 0);
+        }
+
+        FileSystemProcessInstancesFactory(int deltasBeforeCompaction, int segmentSize, int cacheSize) {
+            this.deltasBeforeCompaction = deltasBeforeCompaction;
+            this.segmentSize = segmentSize;
+            this.cacheSize = cacheSize;
+        }
+
+        @Override
+        public int deltasBeforeCompaction() {
+            return deltasBeforeCompaction;
+        }
+
+        @Override
+        public int segmentSize() {
+            return segmentSize;
+        }
+
+        @Override
+        public int cacheSize() {
+            return cacheSize;
+        }
+
         @Override
-        public FileSystemProcessInstances createProcessInstances(Process<?> process) {
-            FileSystemProcessInstances instances = spy(super.createProcessInstances(process));
-            return instances;
+        public MutableProcessInstances<?> createProcessInstances(Process<?> process) {
+            MutableProcessInstances<?> instances = super.createProcessInstances(process);
+            return instances instanceof FileSystemProcessInstances ? spy((FileSystemProcessInstances) instances) : instances;
         }
 
         @Override
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.filesystem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.kogito.persistence.filesystem.SegmentStore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class SegmentStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testPutReplaceRemove() {
+        try (SegmentStore store = new SegmentStore(directory, 1024)) {
+            assertThat(store.putIfAbsent("a", bytes("first"))).isTrue();
+            assertThat(store.putIfAbsent("a", bytes("second"))).isFalse();
+            assertThat(store.getVersioned("a").version()).isOne();
+
+            assertThat(store.replace("a", bytes("second"), 2)).isFalse();
+            assertThat(store.replace("a", bytes("second"), 1)).isTrue();
+            assertThat(store.replace("b", bytes("second"), 0)).isFalse();
+            assertThat(store.getVersioned("a").version()).isEqualTo(2);
+            assertThat(store.get("a")).isEqualTo(bytes("second"));
+            assertThat(store.size()).isOne();
+
+            store.remove("a");
+            assertThat(store.get("a")).isNull();
+            assertThat(store.contains("a")).isFalse();
+            assertThat(store.size()).isZero();
+        }
+    }
+
+    @Test
+    void testRecovery() throws IOException {
+        try (SegmentStore store = new SegmentStore(directory, 64)) {
+            for (int i = 0; i < 10; i++) {
+                store.putIfAbsent("key-" + i, bytes("value-" + i));
+            }
+            store.replace("key-1", bytes("updated"), 0);
+            store.remove("key-2");
+            assertThatIllegalStateException().isThrownBy(() -> new SegmentStore(directory, 64));
+        }
+
+        // a record torn by a crash is not replayed
+        Path last;
+        try (Stream<Path> files = Files.list(directory)) {
+            last = files.filter(file -> file.toString().endsWith(".segment")).sorted().reduce((first, second) -> second).get();
+        }
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int offset = endOfRecords(channel);
+            channel.write(ByteBuffer.allocate(4).putInt(0, 100), offset);
+        }
+
+        try (SegmentStore store = new SegmentStore(directory, 64)) {
+            assertThat(store.size()).isEqualTo(9);
+            assertThat(store.get("key-0")).isEqualTo(bytes("value-0"));
+            assertThat(store.get("key-1")).isEqualTo(bytes("updated"));
+            assertThat(store.getVersioned("key-1").version()).isEqualTo(2);
+            assertThat(store.get("key-2")).isNull();
+
+            store.putIfAbsent("key-10", bytes("value-10"));
+        }
+        try (SegmentStore store = new SegmentStore(directory, 64)) {
+            assertThat(store.size()).isEqualTo(10);
+            assertThat(store.get("key-10")).isEqualTo(bytes("value-10"));
+        }
+    }
+
+    @Test
+    void testCompaction() throws IOException {
+        try (SegmentStore store = new SegmentStore(directory, 128)) {
+            store.putIfAbsent("kept", bytes("kept"));
+            store.putIfAbsent("removed", bytes("removed"));
+            store.putIfAbsent("updated", bytes("updated"));
+            store.remove("removed");
+            for (int i = 0; i < 1000; i++) {
+                store.replace("updated", bytes("updated-" + i), 0);
+            }
+            assertThat(store.keys().collect(Collectors.toList())).containsExactlyInAnyOrder("kept", "updated");
+            assertThat(store.get("kept")).isEqualTo(bytes("kept"));
+            assertThat(store.get("updated")).isEqualTo(bytes("updated-999"));
+            assertThat(segments()).isLessThan(10);
+        }
+        try (SegmentStore store = new SegmentStore(directory, 128)) {
+            assertThat(store.keys().collect(Collectors.toList())).containsExactlyInAnyOrder("kept", "updated");
+            assertThat(store.get("updated")).isEqualTo(bytes("updated-999"));
+            assertThat(store.getVersioned("updated").version()).isEqualTo(1001);
+        }
+    }
+
+    @Test
+    void testLargeRecord() {
+        byte[] large = new byte[4096];
+        try (SegmentStore store = new SegmentStore(directory, 128)) {
+            store.putIfAbsent("small", bytes("small"));
+            store.putIfAbsent("large", large);
+            store.putIfAbsent("next", bytes("next"));
+        }
+        try (SegmentStore store = new SegmentStore(directory, 128)) {
+            assertThat(store.get("large")).isEqualTo(large);
+            assertThat(store.get("next")).isEqualTo(bytes("next"));
+        }
+    }
+
+    @Test
+    void testRemovalKeepsVersion() throws IOException {
+        try (SegmentStore store = new SegmentStore(directory, 1024)) {
+            store.putIfAbsent("a", bytes("first"));
+            store.replace("a", bytes("second"), 1);
+            store.remove("a");
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(file -> file.toString().endsWith(".segment")).findFirst().get();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            channel.read(buffer, 0);
+            int offset = 0;
+            int last = 0;
+            while (buffer.getInt(offset) > 0) {
+                last = offset;
+                offset += 20 + buffer.getInt(offset) + Math.max(buffer.getInt(offset + 4), 0);
+            }
+            assertThat(buffer.getInt(last + 4)).isEqualTo(-1);
+            assertThat(buffer.getLong(last + 8)).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void testReadsDuringCompaction() throws Exception {
+        try (SegmentStore store = new SegmentStore(directory, 128)) {
+            for (int i = 0; i < 10; i++) {
+                store.putIfAbsent("key-" + i, bytes("value-" + i));
+            }
+            AtomicBoolean writing = new AtomicBoolean(true);
+            ExecutorService readers = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> reads = new ArrayList<>();
+                for (int r = 0; r < 4; r++) {
+                    reads.add(readers.submit(() -> {
+                        while (writing.get()) {
+                            for (int i = 0; i < 10; i++) {
+                                assertThat(new String(store.get("key-" + i), StandardCharsets.UTF_8)).startsWith("value-" + i);
+                            }
+                            assertThat(store.values()).hasSize(10);
+                        }
+                    }));
+                }
+                for (int n = 0; n < 2000; n++) {
+                    int i = n % 10;
+                    store.replace("key-" + i, bytes("value-" + i + "-" + n), 0);
+                }
+                writing.set(false);
+                for (Future<?> read : reads) {
+                    read.get(1, TimeUnit.MINUTES);
+                }
+            } finally {
+                readers.shutdownNow();
+            }
+        }
+    }
+
+    private long segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".segment")).count();
+        }
+    }
+
+    private static int endOfRecords(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        channel.read(buffer, 0);
+        int offset = 0;
+        while (buffer.getInt(offset) > 0) {
+            offset += 20 + buffer.getInt(offset) + Math.max(buffer.getInt(offset + 4), 0);
+        }
+        return offset;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
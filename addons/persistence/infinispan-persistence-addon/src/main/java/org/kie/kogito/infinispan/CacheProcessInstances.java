@@ -15,28 +15,46 @@
  */
 package org.kie.kogito.infinispan;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.protostream.BaseMarshaller;
+import org.jbpm.marshalling.impl.JBPMMessages;
 import org.kie.kogito.persistence.protobuf.ProtoStreamObjectMarshallingStrategy;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstanceFilter;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ReactiveProcessInstances;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
 
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
 @SuppressWarnings({"rawtypes"})
-public class CacheProcessInstances implements MutableProcessInstances {
+public class CacheProcessInstances implements MutableProcessInstances,
+                                              ReactiveProcessInstances {
 
     private final RemoteCache<String, byte[]> cache;
+    private final RemoteCache<String, String> businessKeys;
+    private volatile boolean indexed;
+    private boolean versionTracking;
     private ProcessInstanceMarshaller marshaller;
     private org.kie.kogito.process.Process<?> process;
 
@@ -44,6 +62,36 @@ public class CacheProcessInstances implements MutableProcessInstances {
         this.process = process;
         this.cache = cacheManager.administration().getOrCreateCache(process.id() + "_store", ignoreNullOrEmpty(templateName));
         this.marshaller = new ProcessInstanceMarshaller(new ProtoStreamObjectMarshallingStrategy(proto, marshallers));
+        this.businessKeys = cacheManager.administration().getOrCreateCache(process.id() + "_businessKey", ignoreNullOrEmpty(templateName));
+    }
+
+    /**
+     * Reads back the version the server gave to every written process instance and sets it on the instance, as
+     * expected by {@link MutableProcessInstances#version(String)}, at the cost of one more read per write. Needed when
+     * process instances are cached in front of the storage, which only hands out instances still at their version.
+     */
+    public void setVersionTracking(boolean versionTracking) {
+        this.versionTracking = versionTracking;
+    }
+
+    /*
+     * instances stored before the business key index existed are indexed on the first lookup
+     */
+    protected synchronized void reindex() {
+        if (indexed) {
+            return;
+        }
+        if (businessKeys.isEmpty() && !cache.isEmpty()) {
+            Map<String, String> entries = new HashMap<>();
+            for (byte[] data : cache.values()) {
+                JBPMMessages.ProcessInstance message = marshaller.readProcessInstanceMessage(data, process);
+                if (message.hasCorrelationKey()) {
+                    entries.put(message.getCorrelationKey(), message.getId());
+                }
+            }
+            businessKeys.putAll(entries);
+        }
+        indexed = true;
     }
 
     @Override
@@ -53,24 +101,60 @@ public class CacheProcessInstances implements MutableProcessInstances {
 
     @Override
     public Optional<? extends ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
+        if (mode == MUTABLE) {
+            MetadataValue<byte[]> entry = cache.getWithMetadata(id);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            ProcessInstance instance = marshaller.unmarshallProcessInstance(entry.getValue(), process);
+            ((AbstractProcessInstance<?>) instance).setVersion(entry.getVersion());
+            return Optional.of(instance);
+        }
+
         byte[] data = cache.get(id);
         if (data == null) {
             return Optional.empty();
         }
 
-        return Optional.of(mode == MUTABLE ?
-                                   marshaller.unmarshallProcessInstance(data, process) :
-                                   marshaller.unmarshallReadOnlyProcessInstance(data, process));
+        return Optional.of(marshaller.unmarshallReadOnlyProcessInstance(data, process));
+    }
+
+    @Override
+    public Optional<? extends ProcessInstance> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        if (!indexed) {
+            reindex();
+        }
+        String id = businessKeys.get(businessKey);
+        if (id == null) {
+            return Optional.empty();
+        }
+        Optional<? extends ProcessInstance> instance = findById(id, mode).filter(pi -> businessKey.equals(pi.businessKey()));
+        if (!instance.isPresent()) {
+            businessKeys.remove(businessKey, id);
+        }
+        return instance;
     }
 
     @Override
     public Collection<? extends ProcessInstance> values(ProcessInstanceReadMode mode) {
-        return cache.values()
-                .parallelStream()
-                .map(data -> mode == MUTABLE ?
-                        marshaller.unmarshallProcessInstance(data, process) :
-                        marshaller.unmarshallReadOnlyProcessInstance(data, process))
-                .collect(Collectors.toList());
+        try (Stream<byte[]> data = cache.values().parallelStream()) {
+            return data.map(bytes -> mode == MUTABLE ?
+                    marshaller.unmarshallProcessInstance(bytes, process) :
+                    marshaller.unmarshallReadOnlyProcessInstance(bytes, process))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Stream<? extends ProcessInstance> stream(ProcessInstanceFilter filter, ProcessInstanceReadMode mode) {
+        return marshaller.unmarshallProcessInstances(cache.values().stream(), process, filter, 0, Long.MAX_VALUE, mode);
+    }
+
+    @Override
+    public List<? extends ProcessInstance> page(ProcessInstanceFilter filter, int offset, int limit, ProcessInstanceReadMode mode) {
+        try (Stream<byte[]> data = cache.values().stream()) {
+            return marshaller.unmarshallProcessInstances(data, process, filter, offset, limit, mode).collect(Collectors.toList());
+        }
     }
 
     @Override
@@ -78,11 +162,27 @@ public class CacheProcessInstances implements MutableProcessInstances {
         updateStorage(id, instance, false);
     }
 
+    /*
+     * the removed value is not sent back just to unindex it, stale business keys are dropped on lookup
+     */
     @Override
     public void remove(String id) {
         cache.remove(id);
     }
 
+    @Override
+    public void remove(String id, ProcessInstance instance) {
+        long version = ((AbstractProcessInstance<?>) instance).version();
+        if (version == 0) {
+            cache.remove(id);
+        } else if (!cache.removeWithVersion(id, version) && cache.containsKey(id)) {
+            throw new ProcessInstanceOptimisticLockingException(id);
+        }
+        if (instance.businessKey() != null) {
+            businessKeys.remove(instance.businessKey(), id);
+        }
+    }
+
     protected String ignoreNullOrEmpty(String value) {
         if (value == null || value.trim().isEmpty()) {
             return null;
@@ -96,9 +196,20 @@ public class CacheProcessInstances implements MutableProcessInstances {
         updateStorage(id, instance, true);
     }
 
+    @Override
+    public void createAll(Collection instances) {
+        storeAll(instances, true);
+    }
+
+    @Override
+    public void updateAll(Collection instances) {
+        storeAll(instances, false);
+    }
+
     @SuppressWarnings("unchecked")
     protected void updateStorage(String id, ProcessInstance instance, boolean checkDuplicates) {
         if (isActive(instance)) {
+            AbstractProcessInstance<?> processInstance = (AbstractProcessInstance<?>) instance;
             byte[] data = marshaller.marshallProcessInstance(instance);
 
             if (checkDuplicates) {
@@ -106,22 +217,165 @@ public class CacheProcessInstances implements MutableProcessInstances {
                 if (existing != null) {
                     throw new ProcessInstanceDuplicatedException(id);
                 }
+                if (instance.businessKey() != null) {
+                    businessKeys.put(instance.businessKey(), id);
+                }
+            } else if (processInstance.version() != 0) {
+                if (!cache.replaceWithVersion(id, data, processInstance.version())) {
+                    throw new ProcessInstanceOptimisticLockingException(id);
+                }
             } else {
                 cache.put(id, data);
             }
 
-            ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(() -> {
-                byte[] reloaded = cache.get(id);
-                if (reloaded != null) {
-                    return marshaller.unmarshallWorkflowProcessInstance(reloaded, process);
+            if (versionTracking) {
+                written(processInstance, data, cache.getWithMetadata(id));
+            }
+            disconnect(id, processInstance);
+        }
+    }
+
+    /*
+     * all writes are sent without waiting for each other and awaited afterwards
+     * so storing a group of instances costs about one round trip
+     */
+    @SuppressWarnings("unchecked")
+    protected void storeAll(Collection<?> instances, boolean checkDuplicates) {
+        Map<AbstractProcessInstance<?>, byte[]> written = new LinkedHashMap<>();
+        Map<AbstractProcessInstance<?>, CompletableFuture<Boolean>> pending = new LinkedHashMap<>();
+        for (Object element : instances) {
+            ProcessInstance instance = (ProcessInstance) element;
+            if (isActive(instance)) {
+                byte[] data = marshaller.marshallProcessInstance(instance);
+                written.put((AbstractProcessInstance<?>) instance, data);
+                pending.put((AbstractProcessInstance<?>) instance, storeAsync(instance, data, checkDuplicates));
+            }
+        }
+
+        for (Map.Entry<AbstractProcessInstance<?>, CompletableFuture<Boolean>> entry : pending.entrySet()) {
+            String id = entry.getKey().id();
+            if (!entry.getValue().join()) {
+                throw checkDuplicates ? new ProcessInstanceDuplicatedException(id) : new ProcessInstanceOptimisticLockingException(id);
+            }
+        }
+        Map<AbstractProcessInstance<?>, CompletableFuture<MetadataValue<byte[]>>> versions = new LinkedHashMap<>();
+        if (versionTracking) {
+            written.keySet().forEach(instance -> versions.put(instance, cache.getWithMetadataAsync(instance.id())));
+        }
+        for (Map.Entry<AbstractProcessInstance<?>, byte[]> entry : written.entrySet()) {
+            if (versionTracking) {
+                written(entry.getKey(), entry.getValue(), versions.get(entry.getKey()).join());
+            }
+            disconnect(entry.getKey().id(), entry.getKey());
+        }
+    }
+
+    /**
+     * Sends the marshalled process instance to the cache without blocking.
+     *
+     * @return future completed with <code>false</code> when the instance already exists (on create)
+     *         or was modified concurrently (on update)
+     */
+    protected CompletableFuture<Boolean> storeAsync(ProcessInstance instance, byte[] data, boolean checkDuplicates) {
+        AbstractProcessInstance<?> processInstance = (AbstractProcessInstance<?>) instance;
+        if (checkDuplicates) {
+            return cache.putIfAbsentAsync(instance.id(), data).thenCompose(existing -> {
+                if (existing != null || instance.businessKey() == null) {
+                    return CompletableFuture.completedFuture(existing == null);
                 }
-                return null;
+                return businessKeys.putAsync(instance.businessKey(), instance.id()).thenApply(previous -> true);
             });
+        } else if (processInstance.version() != 0) {
+            return cache.replaceWithVersionAsync(instance.id(), data, processInstance.version());
+        }
+        return cache.putAsync(instance.id(), data).thenApply(previous -> true);
+    }
+
+    /*
+     * the version read back is the one of the write only if the value is still the written one
+     */
+    private void written(AbstractProcessInstance<?> processInstance, byte[] data, MetadataValue<byte[]> stored) {
+        if (stored != null && Arrays.equals(stored.getValue(), data)) {
+            processInstance.setVersion(stored.getVersion());
         }
     }
 
+    protected void disconnect(String id, AbstractProcessInstance<?> processInstance) {
+        processInstance.internalRemoveProcessInstance(() -> {
+            MetadataValue<byte[]> reloaded = cache.getWithMetadata(id);
+            if (reloaded != null) {
+                processInstance.setVersion(reloaded.getVersion());
+                return marshaller.unmarshallWorkflowProcessInstance(reloaded.getValue(), process);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public CompletionStage<Optional> findByIdAsync(String id, ProcessInstanceReadMode mode) {
+        if (mode == MUTABLE) {
+            return cache.getWithMetadataAsync(id).thenApply(entry -> {
+                if (entry == null) {
+                    return Optional.empty();
+                }
+                ProcessInstance instance = marshaller.unmarshallProcessInstance(entry.getValue(), process);
+                ((AbstractProcessInstance<?>) instance).setVersion(entry.getVersion());
+                return Optional.of(instance);
+            });
+        }
+        return cache.getAsync(id).thenApply(data -> Optional.ofNullable(data).map(d -> marshaller.unmarshallReadOnlyProcessInstance(d, process)));
+    }
+
+    @Override
+    public CompletionStage<Boolean> existsAsync(String id) {
+        return cache.containsKeyAsync(id);
+    }
+
+    @Override
+    public CompletionStage<OptionalLong> versionAsync(String id) {
+        return cache.getWithMetadataAsync(id).thenApply(entry -> entry == null ? OptionalLong.empty() : OptionalLong.of(entry.getVersion()));
+    }
+
+    @Override
+    public CompletionStage<Void> createAsync(String id, ProcessInstance instance) {
+        return storeAsync(id, instance, true);
+    }
+
+    @Override
+    public CompletionStage<Void> updateAsync(String id, ProcessInstance instance) {
+        return storeAsync(id, instance, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletionStage<Void> storeAsync(String id, ProcessInstance instance, boolean checkDuplicates) {
+        if (!isActive(instance)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        byte[] data = marshaller.marshallProcessInstance(instance);
+        return storeAsync(instance, data, checkDuplicates).thenCompose(stored -> {
+            if (!stored) {
+                throw checkDuplicates ? new ProcessInstanceDuplicatedException(id) : new ProcessInstanceOptimisticLockingException(id);
+            }
+            if (versionTracking) {
+                return cache.getWithMetadataAsync(id).thenAccept(reloaded -> written((AbstractProcessInstance<?>) instance, data, reloaded));
+            }
+            return CompletableFuture.completedFuture(null);
+        }).thenRun(() -> disconnect(id, (AbstractProcessInstance<?>) instance));
+    }
+
+    @Override
+    public CompletionStage<Void> removeAsync(String id) {
+        return cache.removeAsync(id).thenApply(removed -> null);
+    }
+
     @Override
     public boolean exists(String id) {
         return cache.containsKey(id);
     }
+
+    @Override
+    public OptionalLong version(String id) {
+        MetadataValue<byte[]> entry = cache.getWithMetadata(id);
+        return entry == null ? OptionalLong.empty() : OptionalLong.of(entry.getVersion());
+    }
 }
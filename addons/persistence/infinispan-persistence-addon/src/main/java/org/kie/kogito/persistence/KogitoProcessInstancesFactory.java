@@ -38,7 +38,10 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
     
     public CacheProcessInstances createProcessInstances(Process<?> process) {
         List<BaseMarshaller<?>> marshallers = marshallers();
-        return new CacheProcessInstances(process, cacheManager, template(), proto(), marshallers.toArray(new BaseMarshaller<?>[0]));
+        CacheProcessInstances instances = new CacheProcessInstances(process, cacheManager, template(), proto(), marshallers.toArray(new BaseMarshaller<?>[0]));
+        // cached process instances are only handed out while at the version they were written with
+        instances.setVersionTracking(cacheSize() > 0);
+        return instances;
     }
     
     public String proto() {
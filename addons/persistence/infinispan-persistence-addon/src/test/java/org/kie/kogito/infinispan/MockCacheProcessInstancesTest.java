@@ -18,6 +18,7 @@ package org.kie.kogito.infinispan;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
@@ -25,6 +26,7 @@ import org.drools.core.io.impl.ClassPathResource;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.RemoteCacheManagerAdmin;
+import org.infinispan.client.hotrod.impl.MetadataValueImpl;
 import org.infinispan.protostream.BaseMarshaller;
 import org.jbpm.process.instance.impl.Action;
 import org.jbpm.workflow.core.DroolsAction;
@@ -38,11 +40,14 @@ import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
 import org.kie.kogito.process.ProcessError;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceNotFoundException;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.ProcessInstances;
+import org.kie.kogito.process.ReactiveProcessInstances;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.CachingProcessInstances;
 import org.kie.kogito.services.identity.StaticIdentityProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -53,23 +58,39 @@ import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STAT
 import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_COMPLETED;
 import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_ERROR;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.endsWith;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 public class MockCacheProcessInstancesTest {
 
     private final ConcurrentHashMap<Object, Object> mockCache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, Long> versions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, Object> mockBusinessKeys = new ConcurrentHashMap<>();
     private RemoteCacheManager cacheManager;
 
     @BeforeEach
     public void setup() {
         mockCache.clear();
+        versions.clear();
+        mockBusinessKeys.clear();
         cacheManager = mock(RemoteCacheManager.class);
         RemoteCacheManagerAdmin admin = mock(RemoteCacheManagerAdmin.class);
         RemoteCache<Object, Object> cache = mock(RemoteCache.class);
 
         when(cacheManager.administration()).thenReturn(admin);
         when(admin.getOrCreateCache(any(), (String) any())).thenReturn(cache);
+        when(cache.isEmpty()).then(invocation -> mockCache.isEmpty());
+
+        RemoteCache<Object, Object> businessKeys = mock(RemoteCache.class);
+        when(admin.getOrCreateCache(endsWith("_businessKey"), (String) any())).thenReturn(businessKeys);
+        when(businessKeys.isEmpty()).then(invocation -> mockBusinessKeys.isEmpty());
+        when(businessKeys.get(any())).then(invocation -> mockBusinessKeys.get(invocation.getArgument(0)));
+        when(businessKeys.put(any(), any())).then(invocation -> mockBusinessKeys.put(invocation.getArgument(0), invocation.getArgument(1)));
+        when(businessKeys.remove(any(), any())).then(invocation -> mockBusinessKeys.remove(invocation.getArgument(0), invocation.getArgument(1)));
+        when(businessKeys.removeAsync(any(), any()))
+                .then(invocation -> CompletableFuture.completedFuture(mockBusinessKeys.remove(invocation.getArgument(0), invocation.getArgument(1))));
 
         when(cache.put(any(), any())).then(invocation -> {
             Object key = invocation.getArgument(0, Object.class);
@@ -85,11 +106,44 @@ public class MockCacheProcessInstancesTest {
             Object key = invocation.getArgument(0, Object.class);
             return mockCache.get(key);
         });
+        when(cache.getWithMetadata(any())).then(invocation -> {
+            Object key = invocation.getArgument(0, Object.class);
+            Object value = mockCache.get(key);
+            return value == null ? null : new MetadataValueImpl<>(0, -1, 0, -1, versions.getOrDefault(key, 1L), value);
+        });
+        when(cache.replaceWithVersion(any(), any(), anyLong())).then(invocation -> {
+            Object key = invocation.getArgument(0, Object.class);
+            Object value = invocation.getArgument(1, Object.class);
+            long version = invocation.getArgument(2, Long.class);
+            if (!mockCache.containsKey(key) || versions.getOrDefault(key, 1L) != version) {
+                return false;
+            }
+            mockCache.put(key, value);
+            versions.put(key, version + 1);
+            return true;
+        });
         when(cache.remove(any())).then(invocation -> {
             Object key = invocation.getArgument(0, Object.class);
             return mockCache.remove(key);
         });
+        when(cache.removeWithVersion(any(), anyLong())).then(invocation -> {
+            Object key = invocation.getArgument(0, Object.class);
+            long version = invocation.getArgument(1, Long.class);
+            if (!mockCache.containsKey(key) || versions.getOrDefault(key, 1L) != version) {
+                return false;
+            }
+            mockCache.remove(key);
+            versions.remove(key);
+            return true;
+        });
+        when(cache.containsKey(any())).then(invocation -> mockCache.containsKey(invocation.getArgument(0)));
         when(cache.size()).then(invocation -> mockCache.size());
+        when(cache.getAsync(any())).then(invocation -> CompletableFuture.completedFuture(cache.get(invocation.getArgument(0))));
+        when(cache.getWithMetadataAsync(any())).then(invocation -> CompletableFuture.completedFuture(cache.getWithMetadata(invocation.getArgument(0))));
+        when(cache.containsKeyAsync(any())).then(invocation -> CompletableFuture.completedFuture(mockCache.containsKey(invocation.getArgument(0))));
+        when(cache.replaceWithVersionAsync(any(), any(), anyLong()))
+                .then(invocation -> CompletableFuture.completedFuture(cache.replaceWithVersion(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2, Long.class))));
+        when(cache.removeAsync(any())).then(invocation -> CompletableFuture.completedFuture(cache.remove(invocation.getArgument(0))));
     }
 
     @Test
@@ -154,6 +208,32 @@ public class MockCacheProcessInstancesTest {
         assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
     }
 
+    @Test
+    public void testBasicFlowWithCache() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager, 16));
+        process.configure();
+        CachingProcessInstances<BpmnVariables> instances = (CachingProcessInstances<BpmnVariables>) process.instances();
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "updated")));
+        assertThat(instances.version(processInstance.id())).hasValue(2);
+
+        // the written instance is served from the cache while the server still has its version
+        ProcessInstance<BpmnVariables> cached = instances.findById(processInstance.id()).get();
+        assertThat(instances.hitCount()).isOne();
+        assertThat(cached.variables().toMap()).containsEntry("test", "updated");
+        cached.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "cached")));
+
+        // an instance written by another node is read again
+        versions.put(processInstance.id(), 5L);
+        ProcessInstance<BpmnVariables> reloaded = instances.findById(processInstance.id()).get();
+        assertThat(instances.hitCount()).isOne();
+        assertThat(instances.missCount()).isOne();
+        assertThat(reloaded.variables().toMap()).containsEntry("test", "cached");
+    }
+
     @Test
     public void testBasicFlowNoActors() {
         BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask-NoActors.bpmn2")).get(0);
@@ -176,6 +256,101 @@ public class MockCacheProcessInstancesTest {
         assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
     }
 
+    @Test
+    public void testConcurrentUpdate() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager));
+        process.configure();
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        ProcessInstance<BpmnVariables> first = process.instances().findById(processInstance.id()).get();
+        ProcessInstance<BpmnVariables> second = process.instances().findById(processInstance.id()).get();
+
+        first.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "first")));
+        assertThatThrownBy(() -> second.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "second"))))
+                .isInstanceOf(ProcessInstanceOptimisticLockingException.class);
+
+        ProcessInstance<BpmnVariables> reloaded = process.instances().findById(processInstance.id()).get();
+        assertThat(reloaded.variables().toMap()).containsEntry("test", "first");
+        reloaded.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "third")));
+        assertThat(process.instances().findById(processInstance.id(), ProcessInstanceReadMode.READ_ONLY).get().variables().toMap()).containsEntry("test", "third");
+    }
+
+    @Test
+    public void testFindByBusinessKey() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager));
+        process.configure();
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance("order-1", BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        assertThat(instances.findByBusinessKey("order-1")).hasValueSatisfying(pi -> assertThat(pi.id()).isEqualTo(processInstance.id()));
+        assertThat(instances.findByBusinessKey("order-1", ProcessInstanceReadMode.READ_ONLY)).hasValueSatisfying(pi -> assertThat(pi.businessKey()).isEqualTo("order-1"));
+        assertThat(instances.findByBusinessKey("order-2")).isEmpty();
+
+        processInstance.abort();
+        assertThat(instances.findByBusinessKey("order-1")).isEmpty();
+        assertThat(mockBusinessKeys).isEmpty();
+    }
+
+    @Test
+    public void testReactiveFindAndUpdate() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager));
+        process.configure();
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        ReactiveProcessInstances<BpmnVariables> instances = ReactiveProcessInstances.of(process.instances());
+        assertThat(instances).isSameAs(process.instances());
+        assertThat(instances.existsAsync(processInstance.id()).toCompletableFuture().join()).isTrue();
+
+        ProcessInstance<BpmnVariables> first = instances.findByIdAsync(processInstance.id()).toCompletableFuture().join().get();
+        ProcessInstance<BpmnVariables> second = instances.findByIdAsync(processInstance.id()).toCompletableFuture().join().get();
+        instances.updateAsync(first.id(), first).toCompletableFuture().join();
+        assertThatThrownBy(() -> instances.updateAsync(second.id(), second).toCompletableFuture().join())
+                .hasCauseInstanceOf(ProcessInstanceOptimisticLockingException.class);
+
+        ProcessInstance<BpmnVariables> readOnly = instances.findByIdAsync(processInstance.id(), ProcessInstanceReadMode.READ_ONLY).toCompletableFuture().join().get();
+        assertThat(readOnly.variables().toMap()).containsEntry("test", "test");
+
+        instances.removeAsync(processInstance.id()).toCompletableFuture().join();
+        assertThat(instances.findByIdAsync(processInstance.id()).toCompletableFuture().join()).isNotPresent();
+    }
+
+    @Test
+    public void testReactiveFindAndUpdateWithCache() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager, 16));
+        process.configure();
+        CachingProcessInstances<BpmnVariables> cached = (CachingProcessInstances<BpmnVariables>) process.instances();
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        ReactiveProcessInstances<BpmnVariables> instances = ReactiveProcessInstances.of(process.instances());
+        assertThat(instances).isSameAs(cached);
+
+        ProcessInstance<BpmnVariables> found = instances.findByIdAsync(processInstance.id()).toCompletableFuture().join().get();
+        assertThat(cached.hitCount()).isOne();
+        instances.updateAsync(found.id(), found).toCompletableFuture().join();
+        assertThat(instances.versionAsync(found.id()).toCompletableFuture().join()).hasValue(2);
+
+        found = instances.findByIdAsync(processInstance.id()).toCompletableFuture().join().get();
+        assertThat(cached.hitCount()).isEqualTo(2);
+
+        // instances written in a batch are cached as well
+        cached.updateAll(Collections.singletonList(found));
+        assertThat(cached.findById(processInstance.id())).isPresent();
+        assertThat(cached.hitCount()).isEqualTo(3);
+        assertThat(cached.missCount()).isZero();
+    }
+
     @Test
     public void testProcessInstanceNotFound() {
         BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
@@ -187,6 +362,7 @@ public class MockCacheProcessInstancesTest {
         processInstance.start();
         assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
         mockCache.clear();
+        versions.clear();
 
         assertThatThrownBy(() -> processInstance.workItems().get(0)).isInstanceOf(ProcessInstanceNotFoundException.class);
 
@@ -249,8 +425,20 @@ public class MockCacheProcessInstancesTest {
 
     private class CacheProcessInstancesFactory extends KogitoProcessInstancesFactory {
 
+        private final int cacheSize;
+
         CacheProcessInstancesFactory(RemoteCacheManager cacheManager) {
+            this(cacheManager, 0);
+        }
+
+        CacheProcessInstancesFactory(RemoteCacheManager cacheManager, int cacheSize) {
             super(cacheManager);
+            this.cacheSize = cacheSize;
+        }
+
+        @Override
+        public int cacheSize() {
+            return cacheSize;
         }
 
         @Override
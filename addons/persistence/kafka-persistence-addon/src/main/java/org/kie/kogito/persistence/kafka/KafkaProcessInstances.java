@@ -18,22 +18,39 @@ package org.kie.kogito.persistence.kafka;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
 import org.infinispan.protostream.BaseMarshaller;
+import org.jbpm.marshalling.impl.JBPMMessages;
 import org.kie.kogito.persistence.protobuf.ProtoStreamObjectMarshallingStrategy;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstanceFilter;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ReactiveProcessInstances;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
 import org.slf4j.Logger;
@@ -42,9 +59,11 @@ import org.slf4j.LoggerFactory;
 import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.topicName;
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
-public class KafkaProcessInstances implements MutableProcessInstances {
+public class KafkaProcessInstances implements MutableProcessInstances,
+                                              ReactiveProcessInstances {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaProcessInstances.class);
+    private static final long DEFAULT_INDEX_REFRESH_INTERVAL = TimeUnit.SECONDS.toMillis(5);
 
     private Process<?> process;
     private KafkaProducer<String, byte[]> producer;
@@ -52,6 +71,10 @@ public class KafkaProcessInstances implements MutableProcessInstances {
     private ReadOnlyKeyValueStore<String, byte[]> store;
     private ProcessInstanceMarshaller marshaller;
     private CountDownLatch latch = new CountDownLatch(1);
+    private final Map<String, String> businessKeys = new ConcurrentHashMap<>();
+    private final Object indexLock = new Object();
+    private volatile long indexedAt = -1;
+    private long indexRefreshInterval = DEFAULT_INDEX_REFRESH_INTERVAL;
 
     public KafkaProcessInstances(Process<?> process, KafkaProducer<String, byte[]> producer, String proto, BaseMarshaller<?>... marshallers) {
         this.process = process;
@@ -97,11 +120,35 @@ public class KafkaProcessInstances implements MutableProcessInstances {
         this.marshaller = marshaller;
     }
 
+    /**
+     * Minimum time in milliseconds between two scans of the store done to find business keys written by other nodes,
+     * lookups of unknown business keys in between are answered from the index without scanning.
+     */
+    protected void setIndexRefreshInterval(long indexRefreshInterval) {
+        this.indexRefreshInterval = indexRefreshInterval;
+    }
+
     @Override
     public boolean exists(String id) {
         return getStore().get(id) != null;
     }
 
+    /*
+     * records carry no version, the version of a process instance is derived from its content so that it changes
+     * with every write and is known as soon as the store has caught up with it
+     */
+    @Override
+    public OptionalLong version(String id) {
+        byte[] data = getStore().get(id);
+        return data == null ? OptionalLong.empty() : OptionalLong.of(version(data));
+    }
+
+    protected static long version(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        return crc.getValue() << 32 | data.length;
+    }
+
     @Override
     public void create(String id, ProcessInstance instance) {
         if (isActive(instance)) {
@@ -111,7 +158,8 @@ public class KafkaProcessInstances implements MutableProcessInstances {
             byte[] data = marshaller.marshallProcessInstance(instance);
             try {
                 producer.send(new ProducerRecord<>(topic, id, data)).get();
-                disconnect(instance);
+                index(instance);
+                disconnect(instance, data);
             } catch (Exception e) {
                 throw new RuntimeException("Unable to persist process instance id: " + id, e);
             }
@@ -124,15 +172,61 @@ public class KafkaProcessInstances implements MutableProcessInstances {
             byte[] data = marshaller.marshallProcessInstance(instance);
             try {
                 producer.send(new ProducerRecord<>(topic, id, data)).get();
-                disconnect(instance);
+                disconnect(instance, data);
             } catch (Exception e) {
                 throw new RuntimeException("Unable to update process instance id: " + id, e);
             }
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public void createAll(Collection instances) {
+        for (Object instance : instances) {
+            String id = ((ProcessInstance) instance).id();
+            if (isActive((ProcessInstance) instance) && getStore().get(id) != null) {
+                throw new ProcessInstanceDuplicatedException(id);
+            }
+        }
+        sendAll(instances, "Unable to persist process instance id: ");
+    }
+
+    @Override
+    public void updateAll(Collection instances) {
+        sendAll(instances, "Unable to update process instance id: ");
+    }
+
+    /*
+     * records are sent without waiting for each acknowledgement and flushed at once
+     */
+    @SuppressWarnings("unchecked")
+    protected void sendAll(Collection<?> instances, String errorMessage) {
+        Map<ProcessInstance, byte[]> written = new LinkedHashMap<>();
+        List<Future<RecordMetadata>> sent = new ArrayList<>();
+        for (Object element : instances) {
+            ProcessInstance instance = (ProcessInstance) element;
+            if (isActive(instance)) {
+                byte[] data = marshaller.marshallProcessInstance(instance);
+                written.put(instance, data);
+                sent.add(producer.send(new ProducerRecord<>(topic, instance.id(), data)));
+            }
+        }
+        producer.flush();
+        int i = 0;
+        for (Map.Entry<ProcessInstance, byte[]> entry : written.entrySet()) {
+            try {
+                sent.get(i++).get();
+                index(entry.getKey());
+                disconnect(entry.getKey(), entry.getValue());
+            } catch (Exception e) {
+                throw new RuntimeException(errorMessage + entry.getKey().id(), e);
+            }
+        }
+    }
+
     @Override
     public void remove(String id) {
+        unindex(id);
         try {
             producer.send(new ProducerRecord<>(topic, id, null)).get();
         } catch (Exception e) {
@@ -153,6 +247,77 @@ public class KafkaProcessInstances implements MutableProcessInstances {
         );
     }
 
+    /*
+     * the global store is fed by every node while the index only sees local writes, so entries are
+     * verified against the store and business keys written elsewhere are picked up by scanning the store,
+     * at most once per refresh interval: misses in between are negative lookups served by the index
+     */
+    @Override
+    public Optional<ProcessInstance> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        Optional<ProcessInstance> instance = findIndexed(businessKey, mode);
+        if (!instance.isPresent() && scan()) {
+            instance = findIndexed(businessKey, mode);
+        }
+        return instance;
+    }
+
+    private Optional<ProcessInstance> findIndexed(String businessKey, ProcessInstanceReadMode mode) {
+        String id = businessKeys.get(businessKey);
+        if (id == null) {
+            return Optional.empty();
+        }
+        Optional<ProcessInstance> instance = findById(id, mode).filter(pi -> businessKey.equals(pi.businessKey()));
+        if (!instance.isPresent()) {
+            businessKeys.remove(businessKey, id);
+        }
+        return instance;
+    }
+
+    /*
+     * merges the business keys of the store into the index unless it was scanned within the refresh interval
+     *
+     * @return whether the store was scanned
+     */
+    protected boolean scan() {
+        long scannedAt = indexedAt;
+        if (scannedAt >= 0 && System.currentTimeMillis() - scannedAt < indexRefreshInterval) {
+            return false;
+        }
+        synchronized (indexLock) {
+            if (indexedAt != scannedAt) {
+                // another lookup scanned the store meanwhile
+                return true;
+            }
+            long now = System.currentTimeMillis();
+            try (final KeyValueIterator<String, byte[]> iterator = getStore().all()) {
+                while (iterator.hasNext()) {
+                    JBPMMessages.ProcessInstance message = marshaller.readProcessInstanceMessage(iterator.next().value, process);
+                    if (message.hasCorrelationKey()) {
+                        businessKeys.put(message.getCorrelationKey(), message.getId());
+                    }
+                }
+            }
+            indexedAt = now;
+            return true;
+        }
+    }
+
+    protected void index(ProcessInstance instance) {
+        if (instance.businessKey() != null) {
+            businessKeys.put(instance.businessKey(), instance.id());
+        }
+    }
+
+    protected void unindex(String id) {
+        byte[] data = getStore().get(id);
+        if (data != null) {
+            JBPMMessages.ProcessInstance message = marshaller.readProcessInstanceMessage(data, process);
+            if (message.hasCorrelationKey()) {
+                businessKeys.remove(message.getCorrelationKey(), id);
+            }
+        }
+    }
+
     @Override
     public Collection<ProcessInstance> values(ProcessInstanceReadMode mode) {
         final List<ProcessInstance> instances = new ArrayList<>();
@@ -169,12 +334,92 @@ public class KafkaProcessInstances implements MutableProcessInstances {
         }
     }
 
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceFilter filter, ProcessInstanceReadMode mode) {
+        return marshaller.unmarshallProcessInstances(read(), process, filter, 0, Long.MAX_VALUE, mode);
+    }
+
+    @Override
+    public List<ProcessInstance> page(ProcessInstanceFilter filter, int offset, int limit, ProcessInstanceReadMode mode) {
+        try (Stream<byte[]> data = read()) {
+            return marshaller.unmarshallProcessInstances(data, process, filter, offset, limit, mode).collect(Collectors.toList());
+        }
+    }
+
+    private Stream<byte[]> read() {
+        final KeyValueIterator<String, byte[]> iterator = getStore().all();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close)
+                .map(entry -> entry.value);
+    }
+
+    /*
+     * reads are served by the local state store, only writes wait for the broker
+     */
+    @Override
+    public CompletionStage<Optional> findByIdAsync(String id, ProcessInstanceReadMode mode) {
+        return CompletableFuture.completedFuture(findById(id, mode));
+    }
+
+    @Override
+    public CompletionStage<Boolean> existsAsync(String id) {
+        return CompletableFuture.completedFuture(exists(id));
+    }
+
+    @Override
+    public CompletionStage<OptionalLong> versionAsync(String id) {
+        return CompletableFuture.completedFuture(version(id));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompletionStage<Void> createAsync(String id, ProcessInstance instance) {
+        if (isActive(instance) && getStore().get(id) != null) {
+            CompletableFuture<Void> duplicated = new CompletableFuture<>();
+            duplicated.completeExceptionally(new ProcessInstanceDuplicatedException(id));
+            return duplicated;
+        }
+        return updateAsync(id, instance);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompletionStage<Void> updateAsync(String id, ProcessInstance instance) {
+        if (!isActive(instance)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        byte[] data = marshaller.marshallProcessInstance(instance);
+        return sendAsync(id, data).thenRun(() -> {
+            index(instance);
+            disconnect(instance, data);
+        });
+    }
+
+    @Override
+    public CompletionStage<Void> removeAsync(String id) {
+        unindex(id);
+        return sendAsync(id, null);
+    }
+
+    protected CompletableFuture<Void> sendAsync(String id, byte[] data) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        producer.send(new ProducerRecord<>(topic, id, data), (metadata, exception) -> {
+            if (exception != null) {
+                result.completeExceptionally(new RuntimeException("Unable to send process instance id: " + id, exception));
+            } else {
+                result.complete(null);
+            }
+        });
+        return result;
+    }
+
     @Override
     public Integer size() {
         return (int) getStore().approximateNumEntries();
     }
 
-    protected void disconnect(ProcessInstance instance) {
+    protected void disconnect(ProcessInstance instance, byte[] data) {
+        ((AbstractProcessInstance<?>) instance).setVersion(version(data));
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(() -> {
 
             try {
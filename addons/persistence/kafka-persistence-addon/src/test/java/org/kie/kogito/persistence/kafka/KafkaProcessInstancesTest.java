@@ -16,11 +16,13 @@
 
 package org.kie.kogito.persistence.kafka;
 
+import java.util.OptionalLong;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.streams.KeyValue;
@@ -28,6 +30,7 @@ import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.jbpm.marshalling.impl.JBPMMessages;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
@@ -47,6 +50,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -127,6 +131,32 @@ public class KafkaProcessInstancesTest {
         verify(marshaller).unmarshallProcessInstance(any(), any());
     }
 
+    @Test
+    public void testProcessInstancesFindByBusinessKey() {
+        byte[] data = new byte[]{1};
+        KeyValueIterator iterator = mock(KeyValueIterator.class);
+        when(iterator.hasNext()).thenReturn(true, false);
+        when(iterator.next()).thenReturn(new KeyValue<>(id, data));
+        when(store.all()).thenReturn(iterator);
+        doReturn(data).when(store).get(id);
+        doReturn(JBPMMessages.ProcessInstance.newBuilder().setId(id).setCorrelationKey("order-1").build()).when(marshaller).readProcessInstanceMessage(data, process);
+        ProcessInstance instance = mock(ProcessInstance.class);
+        when(instance.businessKey()).thenReturn("order-1");
+        doReturn(instance).when(marshaller).unmarshallProcessInstance(data, process);
+
+        assertThat(instances.findByBusinessKey("order-1")).hasValue(instance);
+        assertThat(instances.findByBusinessKey("order-1")).hasValue(instance);
+        verify(store, times(1)).all();
+
+        assertThat(instances.findByBusinessKey("order-2")).isNotPresent();
+        assertThat(instances.findByBusinessKey("order-3")).isNotPresent();
+        verify(store, times(1)).all();
+
+        instances.setIndexRefreshInterval(0);
+        assertThat(instances.findByBusinessKey("order-2")).isNotPresent();
+        verify(store, times(2)).all();
+    }
+
     @Test
     public void testProcessInstancesFindByIdReadOnly() {
         doReturn(mock(ProcessInstance.class)).when(marshaller).unmarshallReadOnlyProcessInstance(any(), any());
@@ -190,6 +220,57 @@ public class KafkaProcessInstancesTest {
         verify(marshaller).unmarshallWorkflowProcessInstance(any(), any());
     }
 
+    @Test
+    public void testProcessInstancesVersion() {
+        doReturn(mock(Future.class)).when(producer).send(any());
+        AbstractProcessInstance instance = mock(AbstractProcessInstance.class);
+        byte[] data = new byte[]{1, 2};
+        doReturn(data).when(marshaller).marshallProcessInstance(instance);
+        when(instance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+
+        assertThat(instances.version(id)).isEmpty();
+
+        instances.update(id, instance);
+
+        // the written instance gets the version of the store once it has caught up with the write
+        ArgumentCaptor<Long> version = ArgumentCaptor.forClass(Long.class);
+        verify(instance).setVersion(version.capture());
+        doReturn(new byte[]{1}).when(store).get(id);
+        assertThat(instances.version(id)).isPresent().isNotEqualTo(OptionalLong.of(version.getValue()));
+        doReturn(new byte[]{1, 2}).when(store).get(id);
+        assertThat(instances.version(id)).hasValue(version.getValue());
+    }
+
+    @Test
+    public void testProcessInstancesUpdateAsync() {
+        AbstractProcessInstance instance = mock(AbstractProcessInstance.class);
+        doReturn(new byte[]{}).when(marshaller).marshallProcessInstance(instance);
+        when(instance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+
+        CompletableFuture<Void> updated = instances.updateAsync(id, instance).toCompletableFuture();
+
+        ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        ArgumentCaptor<Callback> callbackCaptor = ArgumentCaptor.forClass(Callback.class);
+        verify(producer).send(captor.capture(), callbackCaptor.capture());
+        assertThat(captor.getValue().key()).isEqualTo(id);
+        assertThat(updated).isNotDone();
+        verify(instance, never()).internalRemoveProcessInstance(any());
+
+        callbackCaptor.getValue().onCompletion(null, null);
+        assertThat(updated).isCompleted();
+        verify(instance).internalRemoveProcessInstance(any());
+    }
+
+    @Test
+    public void testProcessInstancesRemoveAsyncException() {
+        CompletableFuture<Void> removed = instances.removeAsync(id).toCompletableFuture();
+
+        ArgumentCaptor<Callback> callbackCaptor = ArgumentCaptor.forClass(Callback.class);
+        verify(producer).send(any(), callbackCaptor.capture());
+        callbackCaptor.getValue().onCompletion(null, new IllegalStateException());
+        assertThat(removed).isCompletedExceptionally();
+    }
+
     @Test
     public void testProcessInstancesUpdateException() {
         doThrow(new RuntimeException()).when(producer).send(any());
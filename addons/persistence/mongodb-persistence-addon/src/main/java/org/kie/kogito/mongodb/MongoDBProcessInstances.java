@@ -17,13 +17,29 @@ package org.kie.kogito.mongodb;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.WriteModel;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.kie.kogito.Model;
 import org.kie.kogito.mongodb.marshalling.DocumentMarshallingStrategy;
 import org.kie.kogito.mongodb.marshalling.DocumentProcessInstanceMarshaller;
@@ -31,12 +47,19 @@ import org.kie.kogito.mongodb.model.ProcessInstanceDocument;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstanceFilter;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static java.util.stream.Collectors.toList;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.DOCUMENT_ID;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_CORRELATION_KEY;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_STATE;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.START_DATE;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.VERSION;
 import static org.kie.kogito.mongodb.utils.DocumentUtils.getCollection;
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
@@ -50,16 +73,30 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
     public MongoDBProcessInstances(MongoClient mongoClient, org.kie.kogito.process.Process<?> process, String dbName) {
         this.process = process;
         collection = getCollection(mongoClient, process.id(), dbName);
+        collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_CORRELATION_KEY));
         marshaller = new DocumentProcessInstanceMarshaller(new DocumentMarshallingStrategy());
     }
 
     @Override
     public Optional<ProcessInstance<T>> findById(String id, ProcessInstanceReadMode mode) {
-        ProcessInstanceDocument piDoc = find(id);
+        return toProcessInstance(find(id), mode);
+    }
+
+    @Override
+    public Optional<ProcessInstance<T>> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        return toProcessInstance(collection.find(Filters.eq(PROCESS_INSTANCE_CORRELATION_KEY, businessKey)).first(), mode);
+    }
+
+    private Optional<ProcessInstance<T>> toProcessInstance(ProcessInstanceDocument piDoc, ProcessInstanceReadMode mode) {
         if (piDoc == null) {
             return Optional.empty();
         }
-        return Optional.of(mode == MUTABLE ? marshaller.unmarshallProcessInstance(piDoc, process) : marshaller.unmarshallReadOnlyProcessInstance(piDoc, process));
+        if (mode == MUTABLE) {
+            ProcessInstance<T> instance = marshaller.unmarshallProcessInstance(piDoc, process);
+            ((AbstractProcessInstance<?>) instance).setVersion(piDoc.getVersion());
+            return Optional.of(instance);
+        }
+        return Optional.of(marshaller.unmarshallReadOnlyProcessInstance(piDoc, process));
     }
 
     @Override
@@ -73,6 +110,48 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         return list;
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceFilter filter, ProcessInstanceReadMode mode) {
+        return stream(collection.find(toBson(filter)), filter, mode);
+    }
+
+    @Override
+    public List<ProcessInstance<T>> page(ProcessInstanceFilter filter, int offset, int limit, ProcessInstanceReadMode mode) {
+        if (filter.hasDateRange()) {
+            // start date is stored as a string by the protobuf json printer, range is evaluated on the client side
+            return MutableProcessInstances.super.page(filter, offset, limit, mode);
+        }
+        try (Stream<ProcessInstance<T>> stream = stream(collection.find(toBson(filter)).sort(Sorts.ascending(DOCUMENT_ID)).skip(offset).limit(limit), filter, mode)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    private Stream<ProcessInstance<T>> stream(FindIterable<ProcessInstanceDocument> documents, ProcessInstanceFilter filter, ProcessInstanceReadMode mode) {
+        MongoCursor<ProcessInstanceDocument> cursor = documents.iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(cursor::close)
+                .filter(doc -> !filter.hasDateRange() || filter.matchesStartDate(startDate(doc)))
+                .map(doc -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(doc, process) : marshaller.unmarshallReadOnlyProcessInstance(doc, process));
+    }
+
+    private static Bson toBson(ProcessInstanceFilter filter) {
+        List<Bson> conditions = new ArrayList<>();
+        if (!filter.getStates().isEmpty()) {
+            Bson states = Filters.in(PROCESS_INSTANCE_STATE, filter.getStates());
+            // default values are omitted by the protobuf json printer so pending state is not stored
+            conditions.add(filter.getStates().contains(ProcessInstance.STATE_PENDING) ? Filters.or(states, Filters.exists(PROCESS_INSTANCE_STATE, false)) : states);
+        }
+        if (filter.getBusinessKey() != null) {
+            conditions.add(Filters.eq(PROCESS_INSTANCE_CORRELATION_KEY, filter.getBusinessKey()));
+        }
+        return conditions.isEmpty() ? new BsonDocument() : Filters.and(conditions);
+    }
+
+    private static Date startDate(ProcessInstanceDocument doc) {
+        Object startDate = doc.getProcessInstance().get(START_DATE);
+        return startDate == null ? null : new Date(Long.parseLong(startDate.toString()));
+    }
+
     @Override
     public void create(String id, ProcessInstance<T> instance) {
         updateStorage(id, instance, true);
@@ -85,24 +164,77 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
 
     protected void updateStorage(String id, ProcessInstance<T> instance, boolean checkDuplicates) {
         if (isActive(instance)) {
+            long version = ((AbstractProcessInstance<?>) instance).version();
             ProcessInstanceDocument doc = marshaller.marshalProcessInstance(instance);
+            doc.setVersion(version + 1);
             if (checkDuplicates) {
                 if (exists(id)) {
                     throw new ProcessInstanceDuplicatedException(id);
                 } else {
                     collection.insertOne(doc);
                 }
-            } else {
-                collection.replaceOne(Filters.eq(DOCUMENT_ID, id), doc);
+            } else if (collection.replaceOne(versionFilter(id, version), doc).getMatchedCount() == 0) {
+                throw new ProcessInstanceOptimisticLockingException(id);
             }
+            ((AbstractProcessInstance<?>) instance).setVersion(version + 1);
         }
         reloadProcessInstance(instance, id);
     }
 
+    @Override
+    public void createAll(Collection<ProcessInstance<T>> instances) {
+        List<ProcessInstance<T>> active = instances.stream().filter(this::isActive).collect(toList());
+        if (!active.isEmpty()) {
+            ProcessInstanceDocument existing = collection.find(Filters.in(DOCUMENT_ID, active.stream().map(ProcessInstance::id).collect(toList()))).first();
+            if (existing != null) {
+                throw new ProcessInstanceDuplicatedException(existing.getId());
+            }
+            collection.insertMany(active.stream().map(instance -> marshal(instance, 0)).collect(toList()));
+        }
+        instances.forEach(instance -> reloadProcessInstance(instance, instance.id()));
+    }
+
+    @Override
+    public void updateAll(Collection<ProcessInstance<T>> instances) {
+        List<WriteModel<ProcessInstanceDocument>> writes = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        for (ProcessInstance<T> instance : instances) {
+            if (isActive(instance)) {
+                long version = ((AbstractProcessInstance<?>) instance).version();
+                writes.add(new ReplaceOneModel<>(versionFilter(instance.id(), version), marshal(instance, version)));
+                ids.add(instance.id());
+            }
+        }
+        if (!writes.isEmpty() && collection.bulkWrite(writes).getMatchedCount() != writes.size()) {
+            // bulk result does not tell which replacement did not match
+            throw new ProcessInstanceOptimisticLockingException(String.join(", ", ids));
+        }
+        instances.forEach(instance -> reloadProcessInstance(instance, instance.id()));
+    }
+
+    private ProcessInstanceDocument marshal(ProcessInstance<T> instance, long version) {
+        ProcessInstanceDocument doc = marshaller.marshalProcessInstance(instance);
+        doc.setVersion(version + 1);
+        return doc;
+    }
+
+    private static Bson versionFilter(String id, long version) {
+        // documents stored before versioning was introduced do not have the field
+        Bson versionCondition = version == 0 ? Filters.or(Filters.eq(VERSION, 0L), Filters.exists(VERSION, false)) : Filters.eq(VERSION, version);
+        return Filters.and(Filters.eq(DOCUMENT_ID, id), versionCondition);
+    }
+
     private ProcessInstanceDocument find(String id) {
         return collection.find(Filters.eq(DOCUMENT_ID, id)).first();
     }
 
+    @Override
+    public OptionalLong version(String id) {
+        Document document = collection.withDocumentClass(Document.class).find(Filters.eq(DOCUMENT_ID, id)).projection(Projections.include(VERSION)).first();
+        Object version = document == null ? null : document.get(VERSION);
+        return version instanceof Number ? OptionalLong.of(((Number) version).longValue()) : OptionalLong.empty();
+    }
+
     @Override
     public boolean exists(String id) {
         return find(id) != null;
@@ -113,11 +245,20 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         collection.deleteOne(Filters.eq(DOCUMENT_ID, id));
     }
 
+    @Override
+    public void remove(String id, ProcessInstance<T> instance) {
+        long version = ((AbstractProcessInstance<?>) instance).version();
+        if (collection.deleteOne(versionFilter(id, version)).getDeletedCount() == 0 && exists(id)) {
+            throw new ProcessInstanceOptimisticLockingException(id);
+        }
+    }
+
     private void reloadProcessInstance(ProcessInstance<T> instance, String id) {
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(() -> {
             try {
                 ProcessInstanceDocument reloaded = find(id);
                 if (reloaded != null) {
+                    ((AbstractProcessInstance<?>) instance).setVersion(reloaded.getVersion());
                     return marshaller.unmarshallWorkflowProcessInstance(reloaded, process);
                 }
             } catch (RuntimeException e) {
@@ -40,6 +40,7 @@ import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.impl.AbstractProcess;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
 
 import static org.kie.kogito.mongodb.utils.DocumentConstants.DOCUMENT_MARSHALLING_ERROR_MSG;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.DOCUMENT_UNMARSHALLING_ERROR_MSG;
@@ -102,7 +103,9 @@ public class DocumentProcessInstanceMarshaller {
 
     @SuppressWarnings("unchecked")
     public <T> ProcessInstance<T> unmarshallReadOnlyProcessInstance(ProcessInstanceDocument doc, Process<?> process) {
-        return (ProcessInstance<T>) ((AbstractProcess<?>) process).createReadOnlyInstance(unmarshallWorkflowProcessInstance(doc, process));
+        ProcessInstance<T> instance = (ProcessInstance<T>) ((AbstractProcess<?>) process).createReadOnlyInstance(ProcessInstanceMarshaller.headerOf(new ProcessInstanceMessageMapper().header(doc), process));
+        ((AbstractProcessInstance<?>) instance).internalLoadProcessInstanceLazily(() -> unmarshallWorkflowProcessInstance(doc, process));
+        return instance;
     }
 
     //This is to get dummy byte arrays to create context using existing marshaling framework
@@ -28,6 +28,8 @@ public class ProcessInstanceDocument {
 
     private Map<String, Integer> strategies = new HashMap<>();
 
+    private long version;
+
     public ProcessInstanceDocument() {
         super();
     }
@@ -55,4 +57,12 @@ public class ProcessInstanceDocument {
     public void setStrategies(Map<String, Integer> strategies) {
         this.strategies = strategies;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -22,8 +22,12 @@ public class DocumentConstants {
     public static final String DOCUMENT_ID = "_id";
     public static final String PROCESS_INSTANCE_ID = "id";
     public static final String STRATEGIES = "strategies";
+    public static final String VERSION = "version";
     public static final String NAME = "name";
     public static final String PROCESS_INSTANCE = "processInstance";
+    public static final String PROCESS_INSTANCE_STATE = "processInstance.state";
+    public static final String PROCESS_INSTANCE_CORRELATION_KEY = "processInstance.correlationKey";
+    public static final String START_DATE = "startDate";
     public static final String DOCUMENT_MARSHALLING_ERROR_MSG = "Error while marshalling process instance with id as document : ";
     public static final String DOCUMENT_UNMARSHALLING_ERROR_MSG = "Error while unmarshalling document for process instance with id : ";
 
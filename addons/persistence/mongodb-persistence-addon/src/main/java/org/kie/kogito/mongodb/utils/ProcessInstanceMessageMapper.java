@@ -15,12 +15,15 @@
  */
 package org.kie.kogito.mongodb.utils;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.protobuf.util.JsonFormat;
+import org.bson.Document;
 import org.drools.core.marshalling.impl.MarshallerReaderContext;
 import org.jbpm.marshalling.impl.JBPMMessages;
 import org.jbpm.marshalling.impl.JBPMMessages.ProcessInstance;
@@ -34,6 +37,29 @@ import static org.kie.kogito.mongodb.utils.DocumentUtils.getObjectMapper;
 
 public class ProcessInstanceMessageMapper implements BiFunction<MarshallerReaderContext, ProcessInstanceDocument, JBPMMessages.ProcessInstance> {
 
+    private static final List<String> HEADER_FIELDS = Arrays.asList("id", "processId", "description", "state", "startDate", "parentProcessInstanceId",
+            "rootProcessInstanceId", "rootProcessId", "correlationKey", "errorNodeId", "errorMessage", "referenceId");
+
+    /**
+     * Maps only the header fields of the stored process instance, skipping variables and node instances
+     */
+    public ProcessInstance header(ProcessInstanceDocument doc) {
+        JBPMMessages.ProcessInstance.Builder builder = JBPMMessages.ProcessInstance.newBuilder();
+        Document header = new Document();
+        for (String field : HEADER_FIELDS) {
+            Object value = doc.getProcessInstance().get(field);
+            if (value != null) {
+                header.put(field, value);
+            }
+        }
+        try {
+            JsonFormat.parser().ignoringUnknownFields().merge(header.toJson(), builder);
+        } catch (Exception e) {
+            throw new DocumentUnmarshallingException(e);
+        }
+        return builder.build();
+    }
+
     @Override
     public ProcessInstance apply(MarshallerReaderContext context, ProcessInstanceDocument doc) {
         JBPMMessages.ProcessInstance.Builder builder = JBPMMessages.ProcessInstance.newBuilder();
@@ -195,6 +195,24 @@ class MongoDBProcessInstancesIT {
         assertThat(instances.size()).isZero();
     }
 
+    @Test
+    void testFindByBusinessKey() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new MongoDBProcessInstancesFactory(mongoClient));
+        process.configure();
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance("order-1", BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        assertThat(instances.findByBusinessKey("order-1")).hasValueSatisfying(pi -> assertThat(pi.id()).isEqualTo(processInstance.id()));
+        assertThat(instances.findByBusinessKey("order-1", ProcessInstanceReadMode.READ_ONLY)).hasValueSatisfying(pi -> assertThat(pi.businessKey()).isEqualTo("order-1"));
+        assertThat(instances.findByBusinessKey("order-2")).isEmpty();
+
+        processInstance.abort();
+        assertThat(instances.findByBusinessKey("order-1")).isEmpty();
+    }
+
     private class MongoDBProcessInstancesFactory extends KogitoProcessInstancesFactory {
 
         public MongoDBProcessInstancesFactory(MongoClient mongoClient) {
@@ -49,4 +49,14 @@ class ProcessInstanceMessageMapperTest {
         assertThat(instance.getProcessId()).isEqualTo(doc.getProcessInstance().get("processId"));
         assertThrows(DocumentUnmarshallingException.class, () -> processInstanceMessageMapper.apply(null, null));
     }
+
+    @Test
+    void headerTest() {
+        ProcessInstance instance = processInstanceMessageMapper.header(doc);
+        assertNotNull(instance);
+        assertThat(instance.getId()).isEqualTo(doc.getProcessInstance().get("id"));
+        assertThat(instance.getProcessId()).isEqualTo(doc.getProcessInstance().get("processId"));
+        assertThat(instance.getVariableCount()).isZero();
+        assertThat(instance.getNodeInstanceCount()).isZero();
+    }
 }
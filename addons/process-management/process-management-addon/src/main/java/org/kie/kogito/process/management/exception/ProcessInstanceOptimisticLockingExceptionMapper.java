@@ -0,0 +1,30 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.management.exception;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+
+@Provider
+public class ProcessInstanceOptimisticLockingExceptionMapper extends BaseExceptionMapper<ProcessInstanceOptimisticLockingException> {
+
+    @Override
+    public Response toResponse(ProcessInstanceOptimisticLockingException exception) {
+        return exceptionsHandler.mapException(exception);
+    }
+}
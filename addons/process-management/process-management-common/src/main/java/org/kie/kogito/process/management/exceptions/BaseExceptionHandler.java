@@ -25,6 +25,7 @@ import org.kie.kogito.process.NodeNotFoundException;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceExecutionException;
 import org.kie.kogito.process.ProcessInstanceNotFoundException;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
 import org.kie.kogito.process.VariableViolationException;
 import org.kie.kogito.process.workitem.InvalidLifeCyclePhaseException;
 import org.kie.kogito.process.workitem.InvalidTransitionException;
@@ -100,6 +101,15 @@ public abstract class BaseExceptionHandler<T> {
                        return notFound(response);
                    });
 
+        mapper.put(ProcessInstanceOptimisticLockingException.class,
+                   ex -> {
+                       ProcessInstanceOptimisticLockingException exception = (ProcessInstanceOptimisticLockingException) ex;
+                       Map<String, String> response = new HashMap<>();
+                       response.put(MESSAGE, exception.getMessage());
+                       response.put(PROCESS_INSTANCE_ID, exception.getProcessInstanceId());
+                       return conflict(response);
+                   });
+
         mapper.put(VariableViolationException.class,
                    ex -> {
                        VariableViolationException exception = (VariableViolationException) ex;
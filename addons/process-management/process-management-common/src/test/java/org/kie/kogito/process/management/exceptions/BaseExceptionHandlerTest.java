@@ -22,6 +22,7 @@ import org.kie.kogito.process.NodeInstanceNotFoundException;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceExecutionException;
 import org.kie.kogito.process.ProcessInstanceNotFoundException;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
 import org.kie.kogito.process.VariableViolationException;
 import org.kie.kogito.process.workitem.InvalidLifeCyclePhaseException;
 import org.kie.kogito.process.workitem.InvalidTransitionException;
@@ -112,6 +113,12 @@ class BaseExceptionHandlerTest {
         assertThat(response).isEqualTo(conflictResponse);
     }
 
+    @Test
+    void testMapProcessInstanceOptimisticLockingException() {
+        Object response = tested.mapException(new ProcessInstanceOptimisticLockingException("processInstanceId"));
+        assertThat(response).isEqualTo(conflictResponse);
+    }
+
     @Test
     void testMapProcessInstanceExecutionException() {
         Object response = tested.mapException(new ProcessInstanceExecutionException("processInstanceId", "nodeId", "message"));
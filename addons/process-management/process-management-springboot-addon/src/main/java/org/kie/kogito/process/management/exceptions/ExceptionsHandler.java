@@ -20,6 +20,7 @@ import org.kie.kogito.process.NodeNotFoundException;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceExecutionException;
 import org.kie.kogito.process.ProcessInstanceNotFoundException;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
 import org.kie.kogito.process.VariableViolationException;
 import org.kie.kogito.process.workitem.InvalidLifeCyclePhaseException;
 import org.kie.kogito.process.workitem.InvalidTransitionException;
@@ -113,6 +114,11 @@ public class ExceptionsHandler extends BaseExceptionHandler<ResponseEntity> {
         return mapException(exception);
     }
 
+    @ExceptionHandler(ProcessInstanceOptimisticLockingException.class)
+    public ResponseEntity toResponse(ProcessInstanceOptimisticLockingException exception) {
+        return mapException(exception);
+    }
+
     @ExceptionHandler(VariableViolationException.class)
     public ResponseEntity toResponse(VariableViolationException exception) {
         return mapException(exception);
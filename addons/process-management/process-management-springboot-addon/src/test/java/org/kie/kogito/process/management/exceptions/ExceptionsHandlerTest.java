@@ -22,6 +22,7 @@ import org.kie.kogito.process.NodeInstanceNotFoundException;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceExecutionException;
 import org.kie.kogito.process.ProcessInstanceNotFoundException;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
 import org.kie.kogito.process.VariableViolationException;
 import org.kie.kogito.process.workitem.InvalidLifeCyclePhaseException;
 import org.kie.kogito.process.workitem.InvalidTransitionException;
@@ -113,6 +114,12 @@ class ExceptionsHandlerTest {
         verify(tested).mapException(exception);
     }
 
+    @Test
+    void testProcessInstanceOptimisticLockingException(@Mock ProcessInstanceOptimisticLockingException exception) {
+        tested.toResponse(exception);
+        verify(tested).mapException(exception);
+    }
+
     @Test
     void testProcessInstanceExecutionException(@Mock ProcessInstanceExecutionException exception) {
         tested.toResponse(exception);
@@ -15,40 +15,69 @@
  */
 package org.kie.kogito.tracing.decision;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
+import io.cloudevents.CloudEvent;
+import org.kie.dmn.api.core.DMNDecisionResult.DecisionEvaluationStatus;
 import org.kie.dmn.api.core.DMNModel;
 import org.kie.kogito.cloudevents.CloudEventUtils;
 import org.kie.kogito.conf.ConfigBean;
+import org.kie.kogito.tracing.decision.aggregator.Aggregation;
 import org.kie.kogito.tracing.decision.aggregator.Aggregator;
 import org.kie.kogito.tracing.decision.aggregator.DefaultAggregator;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
+import org.kie.kogito.tracing.decision.event.evaluate.EvaluateResult;
+import org.kie.kogito.tracing.decision.event.message.MessageLevel;
 import org.kie.kogito.tracing.decision.terminationdetector.CounterTerminationDetector;
 import org.kie.kogito.tracing.decision.terminationdetector.TerminationDetector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Aggregates the events of each execution while they are received and publishes the trace once the execution is terminated.
+ * <p>
+ * Only a sample of the executions is traced, chosen by execution id so that all the events of an execution
+ * share the same decision. Executions not sampled can still be traced when they end with errors: only their
+ * first event is kept and the trace holds their inputs, outputs and messages without the execution steps.
+ * Executions not terminated within the timeout are periodically discarded and no new execution is traced while
+ * the executions in progress hold more than the maximum number of events.
+ */
 public class DecisionTracingCollector {
 
     private static final Logger LOG = LoggerFactory.getLogger(DecisionTracingCollector.class);
 
-    private final Map<String, List<EvaluateEvent>> cacheMap;
-    private final Map<String, TerminationDetector> terminationDetectorMap;
+    private static final int SAMPLING_PRECISION = 10000;
+
+    private final Map<String, Execution> executions;
     private final Aggregator aggregator;
     private final Consumer<String> payloadConsumer;
     private final BiFunction<String, String, DMNModel> modelSupplier;
     private final Supplier<TerminationDetector> terminationDetectorSupplier;
     private final ConfigBean configBean;
+    private final DecisionTracingCollectorConfig config;
+    private final LongSupplier clock;
+    private final ScheduledExecutorService evictionScheduler;
+    private final AtomicInteger events = new AtomicInteger();
+    private final AtomicBoolean overflowing = new AtomicBoolean();
 
     public DecisionTracingCollector(Consumer<String> payloadConsumer, BiFunction<String, String, DMNModel> modelSupplier, ConfigBean configBean) {
-        this(new DefaultAggregator(), payloadConsumer, modelSupplier, CounterTerminationDetector::new, configBean);
+        this(payloadConsumer, modelSupplier, configBean, new DecisionTracingCollectorConfig());
+    }
+
+    public DecisionTracingCollector(Consumer<String> payloadConsumer, BiFunction<String, String, DMNModel> modelSupplier, ConfigBean configBean, DecisionTracingCollectorConfig config) {
+        this(new DefaultAggregator(), payloadConsumer, modelSupplier, CounterTerminationDetector::new, configBean, config);
     }
 
     public DecisionTracingCollector(
@@ -58,47 +87,208 @@ public class DecisionTracingCollector {
             Supplier<TerminationDetector> terminationDetectorSupplier,
             ConfigBean configBean
     ) {
-        this.cacheMap = new ConcurrentHashMap<>();
-        this.terminationDetectorMap = new ConcurrentHashMap<>();
+        this(aggregator, payloadConsumer, modelSupplier, terminationDetectorSupplier, configBean, new DecisionTracingCollectorConfig());
+    }
+
+    public DecisionTracingCollector(
+            Aggregator aggregator,
+            Consumer<String> payloadConsumer,
+            BiFunction<String, String, DMNModel> modelSupplier,
+            Supplier<TerminationDetector> terminationDetectorSupplier,
+            ConfigBean configBean,
+            DecisionTracingCollectorConfig config
+    ) {
+        this(aggregator, payloadConsumer, modelSupplier, terminationDetectorSupplier, configBean, config, System::currentTimeMillis,
+                Executors.newSingleThreadScheduledExecutor(DecisionTracingCollector::newEvictionThread));
+    }
+
+    DecisionTracingCollector(
+            Aggregator aggregator,
+            Consumer<String> payloadConsumer,
+            BiFunction<String, String, DMNModel> modelSupplier,
+            Supplier<TerminationDetector> terminationDetectorSupplier,
+            ConfigBean configBean,
+            DecisionTracingCollectorConfig config,
+            LongSupplier clock
+    ) {
+        this(aggregator, payloadConsumer, modelSupplier, terminationDetectorSupplier, configBean, config, clock, null);
+    }
+
+    private DecisionTracingCollector(
+            Aggregator aggregator,
+            Consumer<String> payloadConsumer,
+            BiFunction<String, String, DMNModel> modelSupplier,
+            Supplier<TerminationDetector> terminationDetectorSupplier,
+            ConfigBean configBean,
+            DecisionTracingCollectorConfig config,
+            LongSupplier clock,
+            ScheduledExecutorService evictionScheduler
+    ) {
+        this.executions = new ConcurrentHashMap<>();
         this.aggregator = aggregator;
         this.payloadConsumer = payloadConsumer;
         this.modelSupplier = modelSupplier;
         this.terminationDetectorSupplier = terminationDetectorSupplier;
         this.configBean = configBean;
+        this.config = config;
+        this.clock = clock;
+        this.evictionScheduler = evictionScheduler;
+        if (evictionScheduler != null) {
+            long timeout = config.getExecutionTimeoutMillis();
+            evictionScheduler.scheduleWithFixedDelay(this::evictExpired, timeout, timeout, TimeUnit.MILLISECONDS);
+        }
     }
 
     public void addEvent(EvaluateEvent event) {
         LOG.trace("Received {}(executionId: {}, modelName: {}, modelNamespace: {})", event.getType(), event.getExecutionId(), event.getModelName(), event.getModelNamespace());
 
         String executionId = event.getExecutionId();
-        if (!cacheMap.containsKey(executionId)) {
-            cacheMap.put(executionId, new LinkedList<>());
-            terminationDetectorMap.put(executionId, terminationDetectorSupplier.get());
-            LOG.trace("Added evaluation {} to cache (current size: {})", executionId, cacheMap.size());
+        boolean sampled = isSampled(executionId);
+        if (!sampled && !config.isSamplingErrors()) {
+            return;
+        }
+
+        Execution execution = executions.get(executionId);
+        if (execution == null) {
+            Execution started = startExecution(sampled);
+            execution = executions.putIfAbsent(executionId, started);
+            if (execution == null) {
+                execution = started;
+                LOG.trace("Added evaluation {} to cache (current size: {})", executionId, executions.size());
+            }
         }
 
-        cacheMap.get(executionId).add(event);
-        terminationDetectorMap.get(executionId).add(event);
+        Aggregation aggregation;
+        EvaluateEvent firstEvent;
+        synchronized (execution) {
+            execution.lastUpdate = clock.getAsLong();
+            execution.terminationDetector.add(event);
+            // executions not sampled only keep their first event, to trace inputs and errors if they fail
+            if (execution.traced && (execution.sampled || execution.firstEvent == null)) {
+                if (events.incrementAndGet() > config.getMaxEvents()) {
+                    events.decrementAndGet();
+                    LOG.warn("Discarded evaluation {} exceeding the maximum number of events in progress ({})", executionId, config.getMaxEvents());
+                    discard(execution);
+                } else {
+                    execution.events++;
+                    if (!execution.sampled) {
+                        execution.firstEvent = event;
+                    } else {
+                        if (execution.aggregation == null) {
+                            execution.aggregation = aggregator.start(modelSupplier.apply(event.getModelNamespace(), event.getModelName()), executionId, configBean);
+                        }
+                        execution.aggregation.add(event);
+                    }
+                }
+            }
+            if (!execution.terminationDetector.isTerminated()) {
+                return;
+            }
+            executions.remove(executionId, execution);
+            aggregation = execution.aggregation;
+            firstEvent = execution.firstEvent;
+            discard(execution);
+            LOG.trace("Removed evaluation {} from cache (current size: {})", executionId, executions.size());
+        }
 
-        if (terminationDetectorMap.get(executionId).isTerminated()) {
+        Optional<CloudEvent> trace;
+        if (aggregation != null) {
+            trace = aggregation.aggregate();
+        } else if (firstEvent != null && hasErrors(event.getResult())) {
             DMNModel dmnModel = modelSupplier.apply(event.getModelNamespace(), event.getModelName());
-            Optional<String> optPayload = aggregate(dmnModel, executionId, cacheMap.get(executionId));
-
-            if (optPayload.isPresent()) {
-                String payload = optPayload.get();
-                payloadConsumer.accept(payload);
-                LOG.debug("Generated aggregated event for evaluation {} (length {})", executionId, payload.length());
-            } else {
-                LOG.error("Failed aggregating data for evaluation {}", executionId);
+            trace = aggregator.aggregate(dmnModel, executionId, Arrays.asList(firstEvent, event), configBean);
+        } else {
+            return;
+        }
+
+        Optional<String> optPayload = trace.flatMap(CloudEventUtils::encode);
+        if (optPayload.isPresent()) {
+            String payload = optPayload.get();
+            payloadConsumer.accept(payload);
+            LOG.debug("Generated aggregated event for evaluation {} (length {})", executionId, payload.length());
+        } else {
+            LOG.error("Failed aggregating data for evaluation {}", executionId);
+        }
+    }
+
+    /**
+     * Stops the periodic eviction of the executions not terminated within the timeout.
+     */
+    public void close() {
+        if (evictionScheduler != null) {
+            evictionScheduler.shutdownNow();
+        }
+    }
+
+    private Execution startExecution(boolean sampled) {
+        Execution execution = new Execution(terminationDetectorSupplier.get(), sampled);
+        if (events.get() < config.getMaxEvents()) {
+            overflowing.set(false);
+            execution.traced = true;
+        } else if (overflowing.compareAndSet(false, true)) {
+            LOG.warn("Maximum number of events in progress ({}) reached, new evaluations are not traced", config.getMaxEvents());
+        }
+        return execution;
+    }
+
+    private void discard(Execution execution) {
+        events.addAndGet(-execution.events);
+        execution.events = 0;
+        execution.traced = false;
+        execution.aggregation = null;
+        execution.firstEvent = null;
+    }
+
+    void evictExpired() {
+        long now = clock.getAsLong();
+        executions.forEach((executionId, execution) -> {
+            synchronized (execution) {
+                if (now - execution.lastUpdate >= config.getExecutionTimeoutMillis() && executions.remove(executionId, execution)) {
+                    if (execution.traced) {
+                        LOG.warn("Discarded evaluation {} not terminated within {} ms", executionId, config.getExecutionTimeoutMillis());
+                    }
+                    discard(execution);
+                }
             }
+        });
+    }
 
-            cacheMap.remove(executionId);
-            terminationDetectorMap.remove(executionId);
-            LOG.trace("Removed evaluation {} from cache (current size: {})", executionId, cacheMap.size());
+    private boolean isSampled(String executionId) {
+        if (config.getSamplingRate() >= 1) {
+            return true;
         }
+        return Math.floorMod(executionId.hashCode(), SAMPLING_PRECISION) < config.getSamplingRate() * SAMPLING_PRECISION;
+    }
+
+    private static boolean hasErrors(EvaluateResult result) {
+        return result != null
+                && (result.getMessages().stream().anyMatch(m -> m.getLevel() == MessageLevel.ERROR)
+                        || result.getDecisionResults().stream().anyMatch(r -> r.getEvaluationStatus() == DecisionEvaluationStatus.FAILED));
     }
 
-    private Optional<String> aggregate(DMNModel model, String executionId, List<EvaluateEvent> events) {
-        return aggregator.aggregate(model, executionId, events, configBean).flatMap(CloudEventUtils::encode);
+    private static Thread newEvictionThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "kogito-tracing-eviction");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    int executionsInProgress() {
+        return executions.size();
+    }
+
+    private static class Execution {
+
+        private final TerminationDetector terminationDetector;
+        private final boolean sampled;
+        private boolean traced;
+        private Aggregation aggregation;
+        private EvaluateEvent firstEvent;
+        private int events;
+        private long lastUpdate;
+
+        Execution(TerminationDetector terminationDetector, boolean sampled) {
+            this.terminationDetector = terminationDetector;
+            this.sampled = sampled;
+        }
     }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.tracing.decision;
+
+/**
+ * Limits applied by the {@link DecisionTracingCollector} to the executions it traces.
+ */
+public class DecisionTracingCollectorConfig {
+
+    public static final double DEFAULT_SAMPLING_RATE = 1.0;
+    public static final boolean DEFAULT_SAMPLING_ERRORS = true;
+    public static final long DEFAULT_EXECUTION_TIMEOUT_MILLIS = 60000L;
+    public static final int DEFAULT_MAX_EVENTS = 100000;
+
+    private final double samplingRate;
+    private final boolean samplingErrors;
+    private final long executionTimeoutMillis;
+    private final int maxEvents;
+
+    public DecisionTracingCollectorConfig() {
+        this(DEFAULT_SAMPLING_RATE, DEFAULT_SAMPLING_ERRORS, DEFAULT_EXECUTION_TIMEOUT_MILLIS, DEFAULT_MAX_EVENTS);
+    }
+
+    /**
+     * @param samplingRate fraction (between 0 and 1) of the executions that are traced
+     * @param samplingErrors whether executions not sampled are traced anyway when they end with errors
+     * @param executionTimeoutMillis time after the last received event when an execution not terminated is discarded
+     * @param maxEvents maximum number of events of the executions in progress, new executions aren't traced above it
+     */
+    public DecisionTracingCollectorConfig(double samplingRate, boolean samplingErrors, long executionTimeoutMillis, int maxEvents) {
+        if (samplingRate < 0 || samplingRate > 1) {
+            throw new IllegalArgumentException("Sampling rate must be between 0 and 1 but was " + samplingRate);
+        }
+        this.samplingRate = samplingRate;
+        this.samplingErrors = samplingErrors;
+        this.executionTimeoutMillis = executionTimeoutMillis;
+        this.maxEvents = maxEvents;
+    }
+
+    public double getSamplingRate() {
+        return samplingRate;
+    }
+
+    public boolean isSamplingErrors() {
+        return samplingErrors;
+    }
+
+    public long getExecutionTimeoutMillis() {
+        return executionTimeoutMillis;
+    }
+
+    public int getMaxEvents() {
+        return maxEvents;
+    }
+}
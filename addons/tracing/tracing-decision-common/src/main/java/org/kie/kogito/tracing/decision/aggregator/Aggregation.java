@@ -0,0 +1,32 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.tracing.decision.aggregator;
+
+import java.util.Optional;
+
+import io.cloudevents.CloudEvent;
+import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
+
+/**
+ * Aggregation of the events of a single execution, fed one event at a time
+ * as they are received and completed once the execution is terminated.
+ */
+public interface Aggregation {
+
+    void add(EvaluateEvent event);
+
+    Optional<CloudEvent> aggregate();
+}
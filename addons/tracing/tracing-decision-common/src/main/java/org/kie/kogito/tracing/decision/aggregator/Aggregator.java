@@ -15,6 +15,7 @@
  */
 package org.kie.kogito.tracing.decision.aggregator;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,4 +28,23 @@ import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
 public interface Aggregator {
 
     Optional<CloudEvent> aggregate(DMNModel model, String executionId, List<EvaluateEvent> events, ConfigBean configBean);
+
+    /**
+     * Starts the aggregation of a single execution. Implementations able to aggregate events as they are
+     * received should override it, by default events are buffered and aggregated once the execution is terminated.
+     */
+    default Aggregation start(DMNModel model, String executionId, ConfigBean configBean) {
+        List<EvaluateEvent> events = new ArrayList<>();
+        return new Aggregation() {
+            @Override
+            public void add(EvaluateEvent event) {
+                events.add(event);
+            }
+
+            @Override
+            public Optional<CloudEvent> aggregate() {
+                return Aggregator.this.aggregate(model, executionId, events, configBean);
+            }
+        };
+    }
 }
@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -76,9 +77,16 @@ public class DefaultAggregator implements Aggregator {
 
     @Override
     public Optional<CloudEvent> aggregate(DMNModel model, String executionId, List<EvaluateEvent> events, ConfigBean configBean) {
-        return events == null || events.isEmpty()
-                ? buildNotEnoughDataCloudEvent(model, executionId, configBean)
-                : buildDefaultCloudEvent(model, executionId, events, configBean);
+        Aggregation aggregation = new DefaultAggregation(model, executionId, configBean);
+        if (events != null) {
+            events.forEach(aggregation::add);
+        }
+        return aggregation.aggregate();
+    }
+
+    @Override
+    public Aggregation start(DMNModel model, String executionId, ConfigBean configBean) {
+        return new DefaultAggregation(model, executionId, configBean);
     }
 
     private static Optional<CloudEvent> buildNotEnoughDataCloudEvent(DMNModel model, String executionId, ConfigBean configBean) {
@@ -100,16 +108,12 @@ public class DefaultAggregator implements Aggregator {
                 .build(executionId, buildSource(configBean.getServiceUrl(), null), event, TraceEvent.class);
     }
 
-    private static Optional<CloudEvent> buildDefaultCloudEvent(DMNModel model, String executionId, List<EvaluateEvent> events, ConfigBean configBean) {
-        EvaluateEvent firstEvent = events.get(0);
-        EvaluateEvent lastEvent = events.get(events.size() - 1);
-
+    private static Optional<CloudEvent> buildDefaultCloudEvent(DMNModel model, String executionId, EvaluateEvent firstEvent, EvaluateEvent lastEvent,
+            List<TraceExecutionStep> executionSteps, List<Message> executionStepsMessages, ConfigBean configBean) {
         List<TraceInputValue> inputs = buildTraceInputValues(model, firstEvent);
 
         List<TraceOutputValue> outputs = buildTraceOutputValues(model, lastEvent);
 
-        Pair<List<TraceExecutionStep>, List<Message>> executionStepsPair = buildTraceExecutionSteps(model, executionId, events);
-
         TraceHeader header = new TraceHeader(
                 TraceEventType.DMN,
                 executionId,
@@ -119,14 +123,14 @@ public class DefaultAggregator implements Aggregator {
                 firstEvent.toTraceResourceId(configBean.getServiceUrl()),
                 Stream.of(
                         model == null ? Stream.of(EventUtils.messageFrom(InternalMessageType.DMN_MODEL_NOT_FOUND)) : Stream.<Message>empty(),
-                        executionStepsPair.getRight().stream(),
+                        executionStepsMessages.stream(),
                         lastEvent.getResult().getMessages().stream()
                                 .filter(m -> m.getSourceId() == null || m.getSourceId().isEmpty())
                 ).flatMap(Function.identity()).collect(Collectors.toList())
         );
 
         // complete event
-        TraceEvent event = new TraceEvent(header, inputs, outputs, executionStepsPair.getLeft());
+        TraceEvent event = new TraceEvent(header, inputs, outputs, executionSteps);
         return CloudEventUtils
                 .build(executionId, buildSource(configBean.getServiceUrl(), firstEvent), event, TraceEvent.class);
     }
@@ -199,55 +203,15 @@ public class DefaultAggregator implements Aggregator {
                 .collect(Collectors.toList());
     }
 
-    private static Pair<List<TraceExecutionStep>, List<Message>> buildTraceExecutionSteps(DMNModel model, String executionId, List<EvaluateEvent> events) {
-        try {
-            return new Pair<>(buildTraceExecutionStepsHierarchy(model, events), Collections.emptyList());
-        } catch (IllegalStateException e) {
-            LOG.error(String.format("IllegalStateException during aggregation of evaluation %s", executionId), e);
-            return new Pair<>(buildTraceExecutionStepsList(model, events), Arrays.asList(EventUtils.messageFrom(InternalMessageType.NO_EXECUTION_STEP_HIERARCHY, e)));
-        }
-    }
-
-    private static List<TraceExecutionStep> buildTraceExecutionStepsHierarchy(DMNModel model, List<EvaluateEvent> events) {
-        List<TraceExecutionStep> executionSteps = new ArrayList<>(events.size() / 2);
-        Deque<DefaultAggregatorStackEntry> stack = new ArrayDeque<>(events.size() / 2);
-        for (int i = 1; i < events.size() - 1; i++) {
-            processEvaluateEventInHierarchy(model, stack, executionSteps, events.get(i));
-        }
-        if (!stack.isEmpty()) {
-            throw new IllegalStateException("Can't match all after events with corresponding before events");
-        }
-        return executionSteps;
+    private static TraceExecutionStep flatTraceExecutionStep(TraceExecutionStep step) {
+        return new TraceExecutionStep(step.getType(), 0L, step.getName(), step.getResult(), step.getMessages(), step.getAdditionalData(), Collections.emptyList());
     }
 
-    private static void processEvaluateEventInHierarchy(DMNModel model, Deque<DefaultAggregatorStackEntry> stack, List<TraceExecutionStep> executionSteps, EvaluateEvent event) {
-        LOG.trace("Started aggregating event {} (execution steps: {}, stack size: {})", event.getType(), executionSteps.size(), stack.size());
-        if (event.getType().isBefore()) {
-            stack.push(new DefaultAggregatorStackEntry(event));
-        } else {
-            if (stack.isEmpty() || !stack.peek().isValidAfterEvent(event)) {
-                throw new IllegalStateException(String.format("Can't match %s after event with corresponding before event", event.getType()));
-            }
-            DefaultAggregatorStackEntry stackEntry = stack.pop();
-            TraceExecutionStep step = buildTraceExecutionStep(model, stackEntry, event);
-            if (step == null) {
-                throw new IllegalStateException(String.format("Can't build TraceExecutionStep for a %s event", event.getType()));
-            }
-            if (stack.isEmpty()) {
-                executionSteps.add(step);
-            } else {
-                stack.peek().addChild(step);
-            }
+    private static void flattenTraceExecutionSteps(List<TraceExecutionStep> steps, List<TraceExecutionStep> flatSteps) {
+        for (TraceExecutionStep step : steps) {
+            flattenTraceExecutionSteps(step.getChildren(), flatSteps);
+            flatSteps.add(flatTraceExecutionStep(step));
         }
-        LOG.trace("Finished aggregating event {} (execution steps: {}, stack size: {})", event.getType(), executionSteps.size(), stack.size());
-    }
-
-    private static List<TraceExecutionStep> buildTraceExecutionStepsList(DMNModel model, List<EvaluateEvent> events) {
-        return events.stream()
-                .filter(e -> e.getType().isAfter())
-                .map(e -> buildTraceExecutionStep(model, null, e))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
     }
 
     private static TraceExecutionStep buildTraceExecutionStep(DMNModel model, DefaultAggregatorStackEntry stackEntry, EvaluateEvent afterEvent) {
@@ -406,4 +370,117 @@ public class DefaultAggregator implements Aggregator {
         return null;
     }
 
+    /**
+     * Builds the execution steps hierarchy while the events are received: only the open steps,
+     * the first event (for the inputs) and the last received one (for the outputs) are kept.
+     * If the hierarchy can't be built the steps are flattened as the events of the execution were.
+     */
+    private static class DefaultAggregation implements Aggregation {
+
+        private final DMNModel model;
+        private final String executionId;
+        private final ConfigBean configBean;
+        private final Deque<DefaultAggregatorStackEntry> stack = new ArrayDeque<>();
+        private List<TraceExecutionStep> executionSteps = new ArrayList<>();
+        private IllegalStateException hierarchyError;
+        private EvaluateEvent firstEvent;
+        private EvaluateEvent lastEvent;
+
+        DefaultAggregation(DMNModel model, String executionId, ConfigBean configBean) {
+            this.model = model;
+            this.executionId = executionId;
+            this.configBean = configBean;
+        }
+
+        @Override
+        public void add(EvaluateEvent event) {
+            if (firstEvent == null) {
+                firstEvent = event;
+                return;
+            }
+            // the first and the last events aren't part of the execution steps,
+            // so an event is processed only when the next one is received
+            if (lastEvent != null) {
+                process(lastEvent);
+            }
+            lastEvent = event;
+        }
+
+        @Override
+        public Optional<CloudEvent> aggregate() {
+            if (firstEvent == null) {
+                return buildNotEnoughDataCloudEvent(model, executionId, configBean);
+            }
+            if (hierarchyError == null && !stack.isEmpty()) {
+                fallback(new IllegalStateException("Can't match all after events with corresponding before events"));
+            }
+            List<Message> messages = Collections.emptyList();
+            if (hierarchyError != null) {
+                if (lastEvent != null) {
+                    addFlat(lastEvent);
+                }
+                messages = Arrays.asList(EventUtils.messageFrom(InternalMessageType.NO_EXECUTION_STEP_HIERARCHY, hierarchyError));
+            }
+            return buildDefaultCloudEvent(model, executionId, firstEvent, lastEvent == null ? firstEvent : lastEvent, executionSteps, messages, configBean);
+        }
+
+        private void process(EvaluateEvent event) {
+            if (hierarchyError != null) {
+                addFlat(event);
+                return;
+            }
+            try {
+                processInHierarchy(event);
+            } catch (IllegalStateException e) {
+                fallback(e);
+                addFlat(event);
+            }
+        }
+
+        private void processInHierarchy(EvaluateEvent event) {
+            LOG.trace("Started aggregating event {} (execution steps: {}, stack size: {})", event.getType(), executionSteps.size(), stack.size());
+            if (event.getType().isBefore()) {
+                stack.push(new DefaultAggregatorStackEntry(event));
+            } else {
+                if (stack.isEmpty() || !stack.peek().isValidAfterEvent(event)) {
+                    throw new IllegalStateException(String.format("Can't match %s after event with corresponding before event", event.getType()));
+                }
+                TraceExecutionStep step = buildTraceExecutionStep(model, stack.peek(), event);
+                if (step == null) {
+                    throw new IllegalStateException(String.format("Can't build TraceExecutionStep for a %s event", event.getType()));
+                }
+                stack.pop();
+                if (stack.isEmpty()) {
+                    executionSteps.add(step);
+                } else {
+                    stack.peek().addChild(step);
+                }
+            }
+            LOG.trace("Finished aggregating event {} (execution steps: {}, stack size: {})", event.getType(), executionSteps.size(), stack.size());
+        }
+
+        private void fallback(IllegalStateException e) {
+            LOG.error(String.format("IllegalStateException during aggregation of evaluation %s", executionId), e);
+            hierarchyError = e;
+
+            // completed steps are flattened in the order their after events were received
+            List<TraceExecutionStep> flatSteps = new ArrayList<>();
+            if (firstEvent.getType().isAfter()) {
+                Optional.ofNullable(buildTraceExecutionStep(model, null, firstEvent)).ifPresent(flatSteps::add);
+            }
+            flattenTraceExecutionSteps(executionSteps, flatSteps);
+            Iterator<DefaultAggregatorStackEntry> entries = stack.descendingIterator();
+            while (entries.hasNext()) {
+                flattenTraceExecutionSteps(entries.next().getChildren(), flatSteps);
+            }
+            stack.clear();
+            executionSteps = flatSteps;
+        }
+
+        private void addFlat(EvaluateEvent event) {
+            if (event.getType().isAfter()) {
+                Optional.ofNullable(buildTraceExecutionStep(model, null, event)).ifPresent(executionSteps::add);
+            }
+        }
+    }
 }
@@ -16,20 +16,25 @@
 package org.kie.kogito.tracing.decision;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import io.cloudevents.CloudEvent;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.kie.dmn.api.core.DMNDecisionResult.DecisionEvaluationStatus;
 import org.kie.dmn.api.core.DMNModel;
 import org.kie.dmn.feel.util.Pair;
 import org.kie.kogito.cloudevents.CloudEventUtils;
 import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.conf.StaticConfigBean;
+import org.kie.kogito.tracing.decision.event.evaluate.EvaluateDecisionResult;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
 import org.kie.kogito.tracing.decision.mock.MockDefaultAggregator;
 import org.kie.kogito.tracing.decision.terminationdetector.BoundariesTerminationDetector;
@@ -45,7 +50,9 @@ import static org.kie.kogito.decision.DecisionTestUtils.createDMNModel;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.EVALUATE_ALL_JSON_RESOURCE;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.EVALUATE_DECISION_SERVICE_JSON_RESOURCE;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.readEvaluateEventsFromJsonResource;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -116,6 +123,81 @@ class DecisionTracingCollectorTest {
         assertEquals(expectedEvaluateDecisionService, payloads.get(evaluateDecisionServiceIndex));
     }
 
+    @Test
+    void testCollectorDiscardsExecutionsNotTerminatedWithinTimeout() throws IOException {
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        AtomicLong clock = new AtomicLong();
+        DecisionTracingCollector collector = new DecisionTracingCollector(new MockDefaultAggregator(), payloadConsumer, (namespace, name) -> model,
+                CounterTerminationDetector::new, configBean, new DecisionTracingCollectorConfig(1, false, 1000, 1000), clock::get);
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        List<EvaluateEvent> evaluateDecisionServiceEvents = readEvaluateEventsFromJsonResource(EVALUATE_DECISION_SERVICE_JSON_RESOURCE);
+
+        evaluateAllEvents.subList(0, evaluateAllEvents.size() - 1).forEach(collector::addEvent);
+        assertEquals(1, collector.executionsInProgress());
+
+        clock.set(1000);
+        collector.evictExpired();
+        assertEquals(0, collector.executionsInProgress());
+
+        evaluateDecisionServiceEvents.subList(0, evaluateDecisionServiceEvents.size() - 1).forEach(collector::addEvent);
+        assertEquals(1, collector.executionsInProgress());
+
+        collector.addEvent(evaluateDecisionServiceEvents.get(evaluateDecisionServiceEvents.size() - 1));
+        assertEquals(0, collector.executionsInProgress());
+        verify(payloadConsumer, times(1)).accept(any());
+    }
+
+    @Test
+    void testCollectorDoesNotTraceExecutionsAboveMaxEvents() throws IOException {
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        DecisionTracingCollector collector = new DecisionTracingCollector(new MockDefaultAggregator(), payloadConsumer, (namespace, name) -> model,
+                CounterTerminationDetector::new, configBean, new DecisionTracingCollectorConfig(1, false, 60000, 5));
+
+        readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE).forEach(collector::addEvent);
+
+        assertEquals(0, collector.executionsInProgress());
+        verify(payloadConsumer, never()).accept(any());
+    }
+
+    @Test
+    void testCollectorDoesNotTraceExecutionsNotSampled() throws IOException {
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        MockDefaultAggregator aggregator = new MockDefaultAggregator();
+        DecisionTracingCollector collector = new DecisionTracingCollector(aggregator, payloadConsumer, (namespace, name) -> model,
+                CounterTerminationDetector::new, configBean, new DecisionTracingCollectorConfig(0, false, 60000, 1000));
+
+        readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE).forEach(collector::addEvent);
+
+        assertEquals(0, collector.executionsInProgress());
+        assertTrue(aggregator.getCalls().isEmpty());
+        verify(payloadConsumer, never()).accept(any());
+    }
+
+    @Test
+    void testCollectorTracesOnlyErrorsOfExecutionsNotSampled() throws IOException {
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        MockDefaultAggregator aggregator = new MockDefaultAggregator();
+        DecisionTracingCollector collector = new DecisionTracingCollector(aggregator, payloadConsumer, (namespace, name) -> model,
+                CounterTerminationDetector::new, configBean, new DecisionTracingCollectorConfig(0, true, 60000, 1000));
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        List<EvaluateEvent> evaluateDecisionServiceEvents = readEvaluateEventsFromJsonResource(EVALUATE_DECISION_SERVICE_JSON_RESOURCE);
+        EvaluateEvent lastEvent = evaluateDecisionServiceEvents.get(evaluateDecisionServiceEvents.size() - 1);
+        lastEvent.getResult().getDecisionResults()
+                .add(new EvaluateDecisionResult("failedId", "Failed", DecisionEvaluationStatus.FAILED, null, Collections.emptyList(), true));
+
+        evaluateAllEvents.forEach(collector::addEvent);
+        evaluateDecisionServiceEvents.forEach(collector::addEvent);
+
+        assertEquals(0, collector.executionsInProgress());
+        verify(payloadConsumer, times(1)).accept(any());
+
+        Map<String, Pair<List<EvaluateEvent>, CloudEvent>> aggregatorCalls = aggregator.getCalls();
+        assertEquals(1, aggregatorCalls.size());
+        assertEquals(Arrays.asList(evaluateDecisionServiceEvents.get(0), lastEvent), aggregatorCalls.get(EVALUATE_DECISION_SERVICE_EXECUTION_ID).getLeft());
+    }
+
     private static String encodeFromCall(Map<String, Pair<List<EvaluateEvent>, CloudEvent>> aggregatorCalls, String key) {
         return Optional.ofNullable(aggregatorCalls.get(key))
                 .map(Pair::getRight)
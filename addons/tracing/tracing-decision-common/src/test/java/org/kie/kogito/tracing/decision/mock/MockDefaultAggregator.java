@@ -15,6 +15,7 @@
  */
 package org.kie.kogito.tracing.decision.mock;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +25,7 @@ import io.cloudevents.CloudEvent;
 import org.kie.dmn.api.core.DMNModel;
 import org.kie.dmn.feel.util.Pair;
 import org.kie.kogito.conf.ConfigBean;
+import org.kie.kogito.tracing.decision.aggregator.Aggregation;
 import org.kie.kogito.tracing.decision.aggregator.DefaultAggregator;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
 
@@ -42,4 +44,24 @@ public class MockDefaultAggregator extends DefaultAggregator {
         return Optional.of(result);
     }
 
+    @Override
+    public Aggregation start(DMNModel model, String executionId, ConfigBean configBean) {
+        Aggregation aggregation = super.start(model, executionId, configBean);
+        List<EvaluateEvent> events = new ArrayList<>();
+        return new Aggregation() {
+            @Override
+            public void add(EvaluateEvent event) {
+                events.add(event);
+                aggregation.add(event);
+            }
+
+            @Override
+            public Optional<CloudEvent> aggregate() {
+                CloudEvent result = aggregation.aggregate().orElseThrow(IllegalStateException::new);
+                calls.put(executionId, new Pair<>(events, result));
+                return Optional.of(result);
+            }
+        };
+    }
+
 }
@@ -17,10 +17,12 @@ package org.kie.kogito.tracing.decision;
 
 import java.util.function.BiFunction;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import io.quarkus.vertx.ConsumeEvent;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.Application;
 import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
@@ -34,18 +36,41 @@ public class QuarkusDecisionTracingCollector {
     public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
                                            final ConfigBean configBean,
                                            final BiFunction<String, String, org.kie.dmn.api.core.DMNModel> modelSupplier) {
-        this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean);
+        this(eventEmitter, configBean, modelSupplier, new DecisionTracingCollectorConfig());
+    }
+
+    public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
+                                           final ConfigBean configBean,
+                                           final BiFunction<String, String, org.kie.dmn.api.core.DMNModel> modelSupplier,
+                                           final DecisionTracingCollectorConfig config) {
+        this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean, config);
     }
 
-    @Inject
     public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
                                            final ConfigBean configBean,
                                            final Application application) {
         this(eventEmitter, configBean, new ApplicationModelSupplier(application));
     }
 
+    @Inject
+    public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
+                                           final ConfigBean configBean,
+                                           final Application application,
+                                           @ConfigProperty(name = "kogito.addon.tracing.decision.sampling.rate", defaultValue = "1.0") double samplingRate,
+                                           @ConfigProperty(name = "kogito.addon.tracing.decision.sampling.errors", defaultValue = "true") boolean samplingErrors,
+                                           @ConfigProperty(name = "kogito.addon.tracing.decision.execution.timeout", defaultValue = "60000") long executionTimeout,
+                                           @ConfigProperty(name = "kogito.addon.tracing.decision.maxEvents", defaultValue = "100000") int maxEvents) {
+        this(eventEmitter, configBean, new ApplicationModelSupplier(application),
+                new DecisionTracingCollectorConfig(samplingRate, samplingErrors, executionTimeout, maxEvents));
+    }
+
     @ConsumeEvent("kogito-tracing-decision_EvaluateEvent")
     public void onEvent(final EvaluateEvent event) {
         collector.addEvent(event);
     }
+
+    @PreDestroy
+    public void close() {
+        collector.close();
+    }
 }
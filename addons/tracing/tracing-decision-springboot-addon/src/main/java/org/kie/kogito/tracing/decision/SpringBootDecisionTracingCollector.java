@@ -17,6 +17,8 @@ package org.kie.kogito.tracing.decision;
 
 import java.util.function.BiFunction;
 
+import javax.annotation.PreDestroy;
+
 import org.kie.dmn.api.core.DMNModel;
 import org.kie.kogito.Application;
 import org.kie.kogito.conf.ConfigBean;
@@ -30,7 +32,14 @@ public class SpringBootDecisionTracingCollector {
     public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
                                               final ConfigBean configBean,
                                               final BiFunction<String, String, DMNModel> modelSupplier) {
-        this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean);
+        this(eventEmitter, configBean, modelSupplier, new DecisionTracingCollectorConfig());
+    }
+
+    public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
+                                              final ConfigBean configBean,
+                                              final BiFunction<String, String, DMNModel> modelSupplier,
+                                              final DecisionTracingCollectorConfig config) {
+        this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean, config);
     }
 
     public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
@@ -39,7 +48,19 @@ public class SpringBootDecisionTracingCollector {
         this(eventEmitter, configBean, new ApplicationModelSupplier(application));
     }
 
+    public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
+                                              final ConfigBean configBean,
+                                              final Application application,
+                                              final DecisionTracingCollectorConfig config) {
+        this(eventEmitter, configBean, new ApplicationModelSupplier(application), config);
+    }
+
     public void onApplicationEvent(final EvaluateEvent event) {
         collector.addEvent(event);
     }
+
+    @PreDestroy
+    public void close() {
+        collector.close();
+    }
 }
@@ -34,6 +34,10 @@ public class SpringBootDecisionTracingCollectorAsync extends SpringBootDecisionT
         super(eventEmitter, configBean, application);
     }
 
+    public SpringBootDecisionTracingCollectorAsync(SpringBootTraceEventEmitter eventEmitter, ConfigBean configBean, Application application, DecisionTracingCollectorConfig config) {
+        super(eventEmitter, configBean, application, config);
+    }
+
     @Override
     @Async("kogitoTracingDecisionAddonTaskExecutor")
     @EventListener
@@ -62,12 +62,17 @@ public class SpringBootDecisionTracingConfiguration {
             final SpringBootTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final Application application,
-            @Value(value = "${kogito.addon.tracing.decision.asyncEnabled:true}") final boolean asyncEnabled
+            @Value(value = "${kogito.addon.tracing.decision.asyncEnabled:true}") final boolean asyncEnabled,
+            @Value(value = "${kogito.addon.tracing.decision.sampling.rate:1.0}") final double samplingRate,
+            @Value(value = "${kogito.addon.tracing.decision.sampling.errors:true}") final boolean samplingErrors,
+            @Value(value = "${kogito.addon.tracing.decision.execution.timeout:60000}") final long executionTimeout,
+            @Value(value = "${kogito.addon.tracing.decision.maxEvents:100000}") final int maxEvents
     ) {
+        DecisionTracingCollectorConfig config = new DecisionTracingCollectorConfig(samplingRate, samplingErrors, executionTimeout, maxEvents);
         if (asyncEnabled) {
-            return new SpringBootDecisionTracingCollectorAsync(eventEmitter, configBean, application);
+            return new SpringBootDecisionTracingCollectorAsync(eventEmitter, configBean, application, config);
         } else {
-            return new SpringBootDecisionTracingCollector(eventEmitter, configBean, application);
+            return new SpringBootDecisionTracingCollector(eventEmitter, configBean, application, config);
         }
     }
 
@@ -23,4 +23,6 @@ public interface ConfigBean extends KogitoConfig {
 
     Optional<Boolean> useCloudEvents();
     String getServiceUrl();
+
+    int getVariablesSnapshotInterval();
 }
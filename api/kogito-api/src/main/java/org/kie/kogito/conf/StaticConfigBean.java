@@ -21,6 +21,7 @@ public class StaticConfigBean implements ConfigBean {
 
     private String serviceUrl;
     private Optional<Boolean> useCloudEvents = Optional.empty();
+    private int variablesSnapshotInterval = 1;
 
     public StaticConfigBean() {
     }
@@ -38,6 +39,10 @@ public class StaticConfigBean implements ConfigBean {
         this.useCloudEvents = useCloudEvents;
     }
 
+    protected void setVariablesSnapshotInterval(int variablesSnapshotInterval) {
+        this.variablesSnapshotInterval = variablesSnapshotInterval;
+    }
+
     @Override
     public Optional<Boolean> useCloudEvents() {
         return useCloudEvents;
@@ -47,4 +52,9 @@ public class StaticConfigBean implements ConfigBean {
     public String getServiceUrl() {
         return serviceUrl;
     }
+
+    @Override
+    public int getVariablesSnapshotInterval() {
+        return variablesSnapshotInterval;
+    }
 }
@@ -58,4 +58,13 @@ public interface EventManager {
      * @param addons addons available in the service
      */
     void setAddons(Addons addons);
+
+    /**
+     * Sets how often process instance events carry all variables of the instance, in between
+     * events carry only the variables that changed.
+     * @param interval number of events per snapshot of the variables, 1 (the default) sends all variables on every event
+     */
+    default void setVariablesSnapshotInterval(int interval) {
+        // all variables are always sent unless the event manager supports diffs
+    }
 }
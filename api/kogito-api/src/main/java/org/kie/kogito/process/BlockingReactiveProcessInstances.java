@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Adapts process instances without an asynchronous client by running the blocking calls
+ * on the default async pool.
+ */
+class BlockingReactiveProcessInstances<T> implements ReactiveProcessInstances<T> {
+
+    private final ProcessInstances<T> instances;
+
+    BlockingReactiveProcessInstances(ProcessInstances<T> instances) {
+        this.instances = instances;
+    }
+
+    @Override
+    public CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id, ProcessInstanceReadMode mode) {
+        return CompletableFuture.supplyAsync(() -> instances.findById(id, mode));
+    }
+
+    @Override
+    public CompletionStage<Boolean> existsAsync(String id) {
+        return CompletableFuture.supplyAsync(() -> mutable().exists(id));
+    }
+
+    @Override
+    public CompletionStage<OptionalLong> versionAsync(String id) {
+        return CompletableFuture.supplyAsync(() -> mutable().version(id));
+    }
+
+    @Override
+    public CompletionStage<Void> createAsync(String id, ProcessInstance<T> instance) {
+        return CompletableFuture.runAsync(() -> mutable().create(id, instance));
+    }
+
+    @Override
+    public CompletionStage<Void> updateAsync(String id, ProcessInstance<T> instance) {
+        return CompletableFuture.runAsync(() -> mutable().update(id, instance));
+    }
+
+    @Override
+    public CompletionStage<Void> removeAsync(String id) {
+        return CompletableFuture.runAsync(() -> mutable().remove(id));
+    }
+
+    private MutableProcessInstances<T> mutable() {
+        if (instances instanceof MutableProcessInstances) {
+            return (MutableProcessInstances<T>) instances;
+        }
+        throw new UnsupportedOperationException(instances.getClass().getName() + " does not support modifications");
+    }
+}
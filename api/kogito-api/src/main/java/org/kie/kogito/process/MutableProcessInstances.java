@@ -15,6 +15,9 @@
  */
 package org.kie.kogito.process;
 
+import java.util.Collection;
+import java.util.OptionalLong;
+
 public interface MutableProcessInstances<T> extends ProcessInstances<T> {
     
     boolean exists(String id);
@@ -24,6 +27,54 @@ public interface MutableProcessInstances<T> extends ProcessInstances<T> {
     void update(String id, ProcessInstance<T> instance);
     
     void remove(String id);
+
+    /**
+     * Removes the given process instance. Like on update, implementations supporting versions throw
+     * {@link ProcessInstanceOptimisticLockingException} when the stored process instance has been modified
+     * since the given one was loaded.
+     *
+     * @param id id of the process instance
+     * @param instance process instance being removed
+     */
+    default void remove(String id, ProcessInstance<T> instance) {
+        remove(id);
+    }
+
+    /**
+     * Returns the version of the stored process instance, the one checked for optimistic locking. Implementations
+     * able to read it without unmarshalling the process instance should override it, they are also expected to set
+     * the new version on the process instances they create or update.
+     *
+     * @param id id of the process instance
+     * @return version of the stored process instance, empty when it does not exist or versions are not supported
+     */
+    default OptionalLong version(String id) {
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Creates all given process instances. Implementations backed by remote storage should
+     * override it to store the instances in as few round trips as possible.
+     *
+     * @param instances process instances to be created
+     */
+    default void createAll(Collection<ProcessInstance<T>> instances) {
+        for (ProcessInstance<T> instance : instances) {
+            create(instance.id(), instance);
+        }
+    }
+
+    /**
+     * Updates all given process instances. Implementations backed by remote storage should
+     * override it to store the instances in as few round trips as possible.
+     *
+     * @param instances process instances to be updated
+     */
+    default void updateAll(Collection<ProcessInstance<T>> instances) {
+        for (ProcessInstance<T> instance : instances) {
+            update(instance.id(), instance);
+        }
+    }
     
     default boolean isActive(ProcessInstance<T> instance) {
         return instance.status() == ProcessInstance.STATE_ACTIVE || instance.status() == ProcessInstance.STATE_ERROR;        
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the work item handlers of the iterations of parallel multi-instance nodes. The thread executing the process
+ * instance submits the handlers and waits for them, so the executor should be bounded: when it is saturated it should
+ * hold the submitting thread back, for instance by running the handler on it, rather than queue without limit.
+ */
+@FunctionalInterface
+public interface ParallelWorkItemExecutor extends Executor {
+}
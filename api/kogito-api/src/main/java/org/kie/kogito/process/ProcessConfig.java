@@ -30,4 +30,8 @@ public interface ProcessConfig extends KogitoConfig {
     UnitOfWorkManager unitOfWorkManager();
     
     JobsService jobsService();
+
+    ProcessInstanceIdGenerator processInstanceIdGenerator();
+
+    ParallelWorkItemExecutor parallelWorkItemExecutor();
 }
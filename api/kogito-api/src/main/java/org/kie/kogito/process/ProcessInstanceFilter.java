@@ -0,0 +1,139 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Criteria used to query process instances. All criteria are optional and combined with AND semantic,
+ * a filter without any criteria matches every process instance.
+ * <br/>
+ * Persistence implementations are expected to evaluate the criteria against the stored data
+ * (see {@link #matches(int, String, Date)}) so that only matching instances are unmarshalled.
+ */
+public class ProcessInstanceFilter {
+
+    private static final ProcessInstanceFilter ALL = new ProcessInstanceFilter();
+
+    private Set<Integer> states = Collections.emptySet();
+    private String businessKey;
+    private Date startedAfter;
+    private Date startedBefore;
+
+    public static ProcessInstanceFilter all() {
+        return ALL;
+    }
+
+    public static ProcessInstanceFilter filter() {
+        return new ProcessInstanceFilter();
+    }
+
+    /**
+     * Restricts the result to instances in any of the given states, see <code>ProcessInstance.STATE_*</code>
+     */
+    public ProcessInstanceFilter withStates(Integer... states) {
+        ProcessInstanceFilter copy = copy();
+        copy.states = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(states)));
+        return copy;
+    }
+
+    public ProcessInstanceFilter withBusinessKey(String businessKey) {
+        ProcessInstanceFilter copy = copy();
+        copy.businessKey = businessKey;
+        return copy;
+    }
+
+    /**
+     * Restricts the result to instances started at or after the given date (inclusive)
+     */
+    public ProcessInstanceFilter startedAfter(Date startedAfter) {
+        ProcessInstanceFilter copy = copy();
+        copy.startedAfter = startedAfter;
+        return copy;
+    }
+
+    /**
+     * Restricts the result to instances started before the given date (exclusive)
+     */
+    public ProcessInstanceFilter startedBefore(Date startedBefore) {
+        ProcessInstanceFilter copy = copy();
+        copy.startedBefore = startedBefore;
+        return copy;
+    }
+
+    public Set<Integer> getStates() {
+        return states;
+    }
+
+    public String getBusinessKey() {
+        return businessKey;
+    }
+
+    public Date getStartedAfter() {
+        return startedAfter;
+    }
+
+    public Date getStartedBefore() {
+        return startedBefore;
+    }
+
+    public boolean isEmpty() {
+        return states.isEmpty() && businessKey == null && startedAfter == null && startedBefore == null;
+    }
+
+    public boolean hasDateRange() {
+        return startedAfter != null || startedBefore != null;
+    }
+
+    public boolean matches(ProcessInstance<?> instance) {
+        return matches(instance.status(), instance.businessKey(), instance.startDate());
+    }
+
+    public boolean matches(int state, String businessKey, Date startDate) {
+        if (!states.isEmpty() && !states.contains(state)) {
+            return false;
+        }
+        if (this.businessKey != null && !this.businessKey.equals(businessKey)) {
+            return false;
+        }
+        return matchesStartDate(startDate);
+    }
+
+    public boolean matchesStartDate(Date startDate) {
+        if (startedAfter != null && (startDate == null || startDate.before(startedAfter))) {
+            return false;
+        }
+        return startedBefore == null || (startDate != null && startDate.before(startedBefore));
+    }
+
+    private ProcessInstanceFilter copy() {
+        ProcessInstanceFilter copy = new ProcessInstanceFilter();
+        copy.states = states;
+        copy.businessKey = businessKey;
+        copy.startedAfter = startedAfter;
+        copy.startedBefore = startedBefore;
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessInstanceFilter [states=" + states + ", businessKey=" + businessKey + ", startedAfter=" + startedAfter + ", startedBefore=" + startedBefore + "]";
+    }
+}
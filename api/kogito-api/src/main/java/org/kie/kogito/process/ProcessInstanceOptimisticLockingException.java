@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process;
+
+/**
+ * Thrown when a process instance is updated based on a stale version, meaning
+ * it has been modified concurrently since it was loaded. The unit of work
+ * can be safely retried as the instance will be reloaded with its latest state.
+ */
+public class ProcessInstanceOptimisticLockingException extends RuntimeException {
+
+    private static final long serialVersionUID = -4536853282398546734L;
+
+    private final String processInstanceId;
+
+    public ProcessInstanceOptimisticLockingException(String processInstanceId) {
+        super("Process instance with id '" + processInstanceId + "' has been modified concurrently, expected version is outdated");
+        this.processInstanceId = processInstanceId;
+    }
+
+    public String getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+}
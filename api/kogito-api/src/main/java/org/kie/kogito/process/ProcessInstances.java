@@ -16,7 +16,10 @@
 package org.kie.kogito.process;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface ProcessInstances<T> {
 
@@ -26,11 +29,69 @@ public interface ProcessInstances<T> {
 
     Optional<ProcessInstance<T>> findById(String id, ProcessInstanceReadMode mode);
 
+    default Optional<ProcessInstance<T>> findByBusinessKey(String businessKey) {
+        return findByBusinessKey(businessKey, ProcessInstanceReadMode.MUTABLE);
+    }
+
+    /**
+     * Returns the process instance started with the given business key, which is also its correlation key.
+     * Implementations are expected to keep an index of business keys maintained when instances are created
+     * and removed, the default implementation scans the stored process instances.
+     *
+     * @param businessKey business key the process instance was started with
+     * @param mode read mode used to unmarshall the process instance
+     * @return process instance with the given business key, if any
+     */
+    default Optional<ProcessInstance<T>> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        try (Stream<ProcessInstance<T>> stream = stream(ProcessInstanceFilter.filter().withBusinessKey(businessKey), mode)) {
+            return stream.findFirst();
+        }
+    }
+
     default Collection<ProcessInstance<T>> values(){
         return values(ProcessInstanceReadMode.READ_ONLY);
     }
-    
+
     Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode);
-    
+
+    default Stream<ProcessInstance<T>> stream() {
+        return stream(ProcessInstanceFilter.all(), ProcessInstanceReadMode.READ_ONLY);
+    }
+
+    /**
+     * Returns a lazy stream of the process instances matching the given filter. Implementations
+     * unmarshall process instances only when they are consumed from the stream, so the returned
+     * stream should be closed (e.g. with try-with-resources) to release the underlying storage cursor.
+     *
+     * @param filter criteria the process instances must match
+     * @param mode read mode used to unmarshall the process instances
+     * @return stream of matching process instances
+     */
+    default Stream<ProcessInstance<T>> stream(ProcessInstanceFilter filter, ProcessInstanceReadMode mode) {
+        return values(mode).stream().filter(filter::matches);
+    }
+
+    /**
+     * Returns one page of the process instances matching the given filter.
+     *
+     * @param filter criteria the process instances must match
+     * @param offset number of matching process instances to skip
+     * @param limit maximum number of process instances to return
+     * @param mode read mode used to unmarshall the process instances
+     * @return list with at most <code>limit</code> process instances
+     */
+    default List<ProcessInstance<T>> page(ProcessInstanceFilter filter, int offset, int limit, ProcessInstanceReadMode mode) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative, offset: " + offset + ", limit: " + limit);
+        }
+        try (Stream<ProcessInstance<T>> stream = stream(filter, mode)) {
+            return stream.skip(offset).limit(limit).collect(Collectors.toList());
+        }
+    }
+
+    default List<ProcessInstance<T>> page(int offset, int limit) {
+        return page(ProcessInstanceFilter.all(), offset, limit, ProcessInstanceReadMode.READ_ONLY);
+    }
+
     Integer size();
 }
@@ -19,4 +19,11 @@ package org.kie.kogito.process;
 public interface ProcessInstancesFactory {
 
     MutableProcessInstances<?> createProcessInstances(Process<?> process);
+
+    /**
+     * Maximum number of process instances kept unmarshalled in front of the storage, zero, the default, disables the cache.
+     */
+    default int cacheSize() {
+        return 0;
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non blocking counterpart of {@link MutableProcessInstances}. Persistence implementations
+ * backed by a client with an asynchronous API implement it next to the blocking contract so that
+ * callers running on an event loop do not have to be moved to worker threads.
+ * <br/>
+ * Use {@link #of(ProcessInstances)} to obtain a reactive view of any process instances,
+ * falling back to running the blocking methods asynchronously when the storage has no async client.
+ */
+public interface ReactiveProcessInstances<T> {
+
+    default CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id) {
+        return findByIdAsync(id, ProcessInstanceReadMode.MUTABLE);
+    }
+
+    CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id, ProcessInstanceReadMode mode);
+
+    CompletionStage<Boolean> existsAsync(String id);
+
+    /**
+     * Non blocking counterpart of {@link MutableProcessInstances#version(String)}.
+     */
+    default CompletionStage<OptionalLong> versionAsync(String id) {
+        return CompletableFuture.completedFuture(OptionalLong.empty());
+    }
+
+    CompletionStage<Void> createAsync(String id, ProcessInstance<T> instance);
+
+    CompletionStage<Void> updateAsync(String id, ProcessInstance<T> instance);
+
+    CompletionStage<Void> removeAsync(String id);
+
+    @SuppressWarnings("unchecked")
+    static <T> ReactiveProcessInstances<T> of(ProcessInstances<T> instances) {
+        if (instances instanceof ReactiveProcessInstances) {
+            return (ReactiveProcessInstances<T>) instances;
+        }
+        return new BlockingReactiveProcessInstances<>(instances);
+    }
+}
@@ -40,6 +40,25 @@ public interface UnitOfWorkManager {
      * @return new, not started unit of work
      */
     UnitOfWork newUnitOfWork();
+
+    /**
+     * Returns new not started UnitOfWork nested in the current unit of work. When it ends its work is handed
+     * to the current unit of work instead of being performed, when it is aborted its work is ignored without
+     * affecting the current unit of work.
+     *
+     * @return new, not started nested unit of work
+     */
+    UnitOfWork newNestedUnitOfWork();
+
+    /**
+     * Returns new not started UnitOfWork nested in the given unit of work. Unlike {@link #newNestedUnitOfWork()}
+     * the parent does not have to be current, so work executed on behalf of a unit of work in another execution
+     * context can be grouped and handed to it once done.
+     *
+     * @param parent unit of work the new one hands its work to when it ends
+     * @return new, not started nested unit of work
+     */
+    UnitOfWork newNestedUnitOfWork(UnitOfWork parent);
     
     /**
      * Returns instance of the event manager configured for this unit of work manager
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProcessInstanceFilterTest {
+
+    @Test
+    void testAllMatchesEverything() {
+        assertTrue(ProcessInstanceFilter.all().isEmpty());
+        assertTrue(ProcessInstanceFilter.all().matches(ProcessInstance.STATE_ACTIVE, null, null));
+    }
+
+    @Test
+    void testStatesAndBusinessKey() {
+        ProcessInstanceFilter filter = ProcessInstanceFilter.filter()
+                .withStates(ProcessInstance.STATE_ACTIVE, ProcessInstance.STATE_ERROR)
+                .withBusinessKey("order-1");
+
+        assertTrue(filter.matches(ProcessInstance.STATE_ERROR, "order-1", null));
+        assertFalse(filter.matches(ProcessInstance.STATE_COMPLETED, "order-1", null));
+        assertFalse(filter.matches(ProcessInstance.STATE_ACTIVE, "order-2", null));
+        assertFalse(filter.matches(ProcessInstance.STATE_ACTIVE, null, null));
+    }
+
+    @Test
+    void testStartDateRange() {
+        ProcessInstanceFilter filter = ProcessInstanceFilter.filter()
+                .startedAfter(new Date(1000))
+                .startedBefore(new Date(2000));
+
+        assertTrue(filter.matches(ProcessInstance.STATE_ACTIVE, null, new Date(1000)));
+        assertTrue(filter.matches(ProcessInstance.STATE_ACTIVE, null, new Date(1999)));
+        assertFalse(filter.matches(ProcessInstance.STATE_ACTIVE, null, new Date(2000)));
+        assertFalse(filter.matches(ProcessInstance.STATE_ACTIVE, null, new Date(999)));
+        assertFalse(filter.matches(ProcessInstance.STATE_ACTIVE, null, null));
+    }
+
+    @Test
+    void testFilterIsImmutable() {
+        ProcessInstanceFilter filter = ProcessInstanceFilter.filter();
+        filter.withBusinessKey("order-1");
+        assertTrue(filter.isEmpty());
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+/**
+ * Thrown by {@link EventPublisher#deliver(java.util.Collection)} when an event cannot be encoded. Unlike a failure
+ * of the broker it does not go away when the delivery is retried, so the event is not delivered again.
+ */
+public class EventEncodingException extends RuntimeException {
+
+    private static final long serialVersionUID = 3981205934212874391L;
+
+    private final String eventId;
+
+    public EventEncodingException(String eventId, Throwable cause) {
+        super("Unable to encode event with id '" + eventId + "'", cause);
+        this.eventId = eventId;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+}
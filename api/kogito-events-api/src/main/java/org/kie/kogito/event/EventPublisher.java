@@ -16,6 +16,8 @@
 package org.kie.kogito.event;
 
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Responsible for publishing events for consumption to the "outside world"
@@ -40,4 +42,17 @@ public interface EventPublisher {
      * @param events events to be published
      */
     void publish(Collection<DataEvent<?>> events);
+
+    /**
+     * Publish collection of events and confirm their delivery. Callers keeping the events
+     * until they are delivered, like an outbox, release them once the returned stage completes.
+     * Implementations not able to confirm the delivery complete it once the events are published.
+     * @param events events to be published
+     * @return stage completed once the events are delivered, or exceptionally if they could not be, with
+     *         {@link EventEncodingException} when an event cannot be encoded
+     */
+    default CompletionStage<Void> deliver(Collection<DataEvent<?>> events) {
+        publish(events);
+        return CompletableFuture.completedFuture(null);
+    }
 }
@@ -19,4 +19,5 @@ public class KogitoEventStreams {
     public static final String INCOMING = "kogito_incoming_stream";
     public static final String OUTGOING = "kogito_outgoing_stream";
     public static final String PUBLISHER = "kogito_event_publisher";
+    public static final String MESSAGE_PUBLISHER = "kogito_message_publisher";
 }
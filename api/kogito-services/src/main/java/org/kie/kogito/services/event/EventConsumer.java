@@ -15,6 +15,8 @@
  */
 package org.kie.kogito.services.event;
 
+import java.util.List;
+
 import org.kie.kogito.Application;
 import org.kie.kogito.Model;
 import org.kie.kogito.process.Process;
@@ -23,4 +25,14 @@ public interface EventConsumer<T extends Model> {
 
     void consume(Application application, Process<T> process, String payload, String trigger);
 
+    /**
+     * Consumes a batch of payloads received for the same trigger. Implementations are expected to process
+     * the whole batch in a single unit of work, the default implementation consumes payloads one by one.
+     */
+    default void consume(Application application, Process<T> process, List<String> payloads, String trigger) {
+        for (String payload : payloads) {
+            consume(application, process, payload, trigger);
+        }
+    }
+
 }
@@ -15,12 +15,16 @@
  */
 package org.kie.kogito.services.event.impl;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.kie.kogito.Application;
 import org.kie.kogito.Model;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.services.event.AbstractProcessDataEvent;
+import org.kie.kogito.services.event.EventConsumer;
 import org.kie.kogito.services.event.EventConsumerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -79,11 +83,34 @@ public abstract class AbstractMessageConsumer<M extends Model, D, T extends Abst
         logger.info("Consumer for {} started.", dataEventClass);
     }
 
+    /**
+     * @return <code>true</code> if this consumer expects CloudEvents, which is the default
+     */
+    public boolean useCloudEvents() {
+        return useCloudEvents.orElse(true);
+    }
+
+    /**
+     * Returns the CloudEvent types or sources this consumer accepts, any other CloudEvent is ignored by the consumer
+     */
+    public Collection<String> routingKeys() {
+        return Arrays.asList(trigger, cloudEventClass.getSimpleName());
+    }
+
     public void consume(String payload) {
         logger.debug("Received: {} on thread {}", payload, Thread.currentThread().getName());
         eventConsumerFactory.get(this::eventToModel, dataEventClass, cloudEventClass, useCloudEvents)
                 .consume(application, (Process<Model>) process, payload, trigger);
     }
 
+    /**
+     * Consumes a batch of payloads in a single unit of work, see {@link EventConsumer#consume(Application, Process, List, String)}
+     */
+    public void consume(List<String> payloads) {
+        logger.debug("Received batch of {} messages on thread {}", payloads.size(), Thread.currentThread().getName());
+        eventConsumerFactory.get(this::eventToModel, dataEventClass, cloudEventClass, useCloudEvents)
+                .consume(application, (Process<Model>) process, payloads, trigger);
+    }
+
     protected abstract Model eventToModel(D event);
 }
\ No newline at end of file
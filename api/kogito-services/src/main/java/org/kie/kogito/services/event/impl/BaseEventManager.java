@@ -16,8 +16,8 @@
 package org.kie.kogito.services.event.impl;
 
 import java.util.Collection;
-import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.kie.kogito.Addons;
 import org.kie.kogito.event.DataEvent;
@@ -29,11 +29,12 @@ public class BaseEventManager implements EventManager {
 
     private String service;
     private Addons addons;
-    private Set<EventPublisher> publishers = new LinkedHashSet<>();
+    private VariableSnapshotPolicy snapshots = new VariableSnapshotPolicy();
+    private Set<EventPublisher> publishers = new CopyOnWriteArraySet<>();
     
     @Override
     public EventBatch newBatch() {
-        return new ProcessInstanceEventBatch(service, addons);
+        return new ProcessInstanceEventBatch(service, addons, snapshots);
     }
 
     @Override
@@ -52,6 +53,10 @@ public class BaseEventManager implements EventManager {
         this.publishers.add(publisher);
     }
 
+    protected Set<EventPublisher> publishers() {
+        return publishers;
+    }
+
     @Override
     public void setService(String service) {
         this.service = service;
@@ -62,4 +67,11 @@ public class BaseEventManager implements EventManager {
         this.addons = addons;
     }
 
+    @Override
+    public void setVariablesSnapshotInterval(int interval) {
+        if (interval != snapshots.interval()) {
+            this.snapshots = new VariableSnapshotPolicy(interval);
+        }
+    }
+
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.event.impl;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.List;
+
+import org.kie.kogito.event.DataEvent;
+
+/**
+ * Durable queue of the events published by units of work, relayed to the event publishers
+ * by {@link OutboxEventManager}. Events are appended by many threads and consumed in order by a single relay.
+ */
+public interface EventOutbox extends Closeable {
+
+    /**
+     * Appends the given events, they are durable once the method returns.
+     */
+    void append(Collection<DataEvent<?>> events);
+
+    /**
+     * Returns the oldest events that have not been acknowledged yet, without removing them.
+     *
+     * @param max maximum number of events to return
+     */
+    List<DataEvent<?>> pending(int max);
+
+    /**
+     * Removes the given number of oldest events, once they have been delivered.
+     */
+    void acknowledge(int count);
+
+    /**
+     * Removes the given oldest pending events, which could not be delivered, and keeps them apart for inspection.
+     */
+    void deadLetter(List<DataEvent<?>> events);
+
+    /**
+     * Returns the number of events that have not been acknowledged yet.
+     */
+    long size();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.event.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.kie.kogito.event.DataEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.StdDateFormat;
+
+/**
+ * {@link EventOutbox} keeping events as JSON in append only segment files of a local directory.
+ * <br/>
+ * Records are laid out as
+ * <pre>
+ * int  length of the payload
+ * int  CRC32 of the payload
+ * payload: the event encoded as JSON
+ * </pre>
+ * A new segment is started once the current one is larger than <code>segmentSize</code>, segments are deleted
+ * once all their events are acknowledged. The position of the oldest pending event is kept in
+ * <code>outbox.ack</code>, it may lag behind after a crash so some events are relayed again.
+ * On open the segments are read up to the first incomplete or corrupted record.
+ * <br/>
+ * Dead lettered events are appended, one JSON document per line, to <code>dead-letter.jsonl</code>.
+ */
+public class FileSystemEventOutbox implements EventOutbox {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemEventOutbox.class);
+
+    private static final String SEGMENT_PREFIX = "outbox-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String ACK_FILE = "outbox.ack";
+    private static final String DEAD_LETTER_FILE = "dead-letter.jsonl";
+    private static final int HEADER_SIZE = 8;
+    private static final long DEFAULT_SEGMENT_SIZE = 16L * 1024 * 1024;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final boolean sync;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private FileChannel writer;
+    private long writeSegment;
+    private long ackSegment;
+    private long ackOffset;
+    private long size;
+    private final List<long[]> readPositions = new ArrayList<>();
+
+    public FileSystemEventOutbox(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, true);
+    }
+
+    /**
+     * @param directory local directory holding the outbox
+     * @param segmentSize size after which a new segment file is started
+     * @param sync whether appended events are forced to the storage device before {@link #append(Collection)} returns
+     */
+    public FileSystemEventOutbox(Path directory, long segmentSize, boolean sync) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive but was " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        this.mapper.setDateFormat(new StdDateFormat().withColonInTimeZone(true).withTimeZone(TimeZone.getDefault()));
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open event outbox " + directory, e);
+        }
+    }
+
+    @Override
+    public synchronized void append(Collection<DataEvent<?>> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream records = new ByteArrayOutputStream();
+            for (DataEvent<?> event : events) {
+                byte[] payload = mapper.writeValueAsBytes(event);
+                records.write(ByteBuffer.allocate(HEADER_SIZE).putInt(payload.length).putInt(crc(payload)).array());
+                records.write(payload);
+            }
+            if (writer.size() > segmentSize) {
+                roll();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(records.toByteArray());
+            long position = writer.size();
+            while (buffer.hasRemaining()) {
+                position += writer.write(buffer, position);
+            }
+            if (sync) {
+                writer.force(false);
+            }
+            size += events.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to append events to outbox " + directory, e);
+        }
+    }
+
+    @Override
+    public synchronized List<DataEvent<?>> pending(int max) {
+        List<DataEvent<?>> events = new ArrayList<>();
+        readPositions.clear();
+        long segment = ackSegment;
+        long offset = ackOffset;
+        try {
+            while (events.size() < max && segment <= writeSegment) {
+                FileChannel channel = segment == writeSegment ? writer : FileChannel.open(segments.get(segment), StandardOpenOption.READ);
+                try {
+                    byte[] payload;
+                    while (events.size() < max && (payload = read(channel, offset)) != null) {
+                        offset += HEADER_SIZE + payload.length;
+                        events.add(new SpooledDataEvent((ObjectNode) mapper.readTree(payload)));
+                        readPositions.add(new long[] { segment, offset });
+                    }
+                } finally {
+                    if (channel != writer) {
+                        channel.close();
+                    }
+                }
+                if (events.size() < max) {
+                    Long next = segments.higherKey(segment);
+                    if (next == null) {
+                        break;
+                    }
+                    segment = next;
+                    offset = 0;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read events from outbox " + directory, e);
+        }
+        return events;
+    }
+
+    @Override
+    public synchronized void acknowledge(int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (count > readPositions.size()) {
+            throw new IllegalArgumentException("Only " + readPositions.size() + " pending events were read, unable to acknowledge " + count);
+        }
+        long[] position = readPositions.get(count - 1);
+        readPositions.subList(0, count).clear();
+        ackSegment = position[0];
+        ackOffset = position[1];
+        size -= count;
+        try {
+            writeAck();
+            deleteSegmentsBefore(ackSegment);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to acknowledge events of outbox " + directory, e);
+        }
+    }
+
+    @Override
+    public synchronized void deadLetter(List<DataEvent<?>> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try (FileChannel deadLetter = FileChannel.open(directory.resolve(DEAD_LETTER_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            for (DataEvent<?> event : events) {
+                lines.write(mapper.writeValueAsBytes(event));
+                lines.write('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                deadLetter.write(buffer);
+            }
+            deadLetter.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to dead letter events of outbox " + directory, e);
+        }
+        acknowledge(events.size());
+    }
+
+    @Override
+    public synchronized long size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            LOGGER.warn("Unable to close event outbox {}", directory, e);
+        }
+    }
+
+    private void recover() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    segments.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())), file);
+                }
+            });
+        }
+        Path ackFile = directory.resolve(ACK_FILE);
+        if (Files.exists(ackFile)) {
+            ByteBuffer ack = ByteBuffer.wrap(Files.readAllBytes(ackFile));
+            ackSegment = ack.getLong();
+            ackOffset = ack.getLong();
+        }
+        if (!segments.containsKey(ackSegment)) {
+            // the acknowledged segment is gone, its events were all delivered
+            Long next = segments.higherKey(ackSegment);
+            ackSegment = next == null ? ackSegment : next;
+            ackOffset = 0;
+        }
+        deleteSegmentsBefore(ackSegment);
+        if (segments.isEmpty()) {
+            segments.put(ackSegment, segmentPath(ackSegment));
+        }
+
+        // counts the pending events and drops what follows the first invalid record of every segment
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            try (FileChannel channel = FileChannel.open(segment.getValue(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long offset = 0;
+                byte[] payload;
+                while ((payload = read(channel, offset)) != null) {
+                    offset += HEADER_SIZE + payload.length;
+                    if (segment.getKey() > ackSegment || offset > ackOffset) {
+                        size++;
+                    }
+                }
+                if (offset < channel.size()) {
+                    LOGGER.warn("Incomplete or corrupted record found in event outbox segment {}, ignoring the rest of the segment", segment.getValue());
+                    channel.truncate(offset);
+                }
+            }
+        }
+        writeSegment = segments.lastKey();
+        writer = FileChannel.open(segments.get(writeSegment), StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private void roll() throws IOException {
+        writer.close();
+        writeSegment++;
+        Path segment = segmentPath(writeSegment);
+        segments.put(writeSegment, segment);
+        writer = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private void writeAck() throws IOException {
+        Path ackFile = directory.resolve(ACK_FILE);
+        Path updated = directory.resolve(ACK_FILE + ".tmp");
+        Files.write(updated, ByteBuffer.allocate(16).putLong(ackSegment).putLong(ackOffset).array());
+        Files.move(updated, ackFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteSegmentsBefore(long segment) throws IOException {
+        Map<Long, Path> delivered = segments.headMap(segment, false);
+        for (Path file : delivered.values()) {
+            Files.deleteIfExists(file);
+        }
+        delivered.clear();
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+    }
+
+    /*
+     * returns the payload of the record at the given offset, or null if there is no complete and valid record
+     */
+    private static byte[] read(FileChannel channel, long offset) throws IOException {
+        if (channel.size() < offset + HEADER_SIZE) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, offset);
+        int length = header.getInt(0);
+        if (length <= 0 || channel.size() < offset + HEADER_SIZE + length) {
+            return null;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(channel, payload, offset + HEADER_SIZE);
+        return crc(payload.array()) == header.getInt(4) ? payload.array() : null;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of outbox segment");
+            }
+        }
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue();
+    }
+}
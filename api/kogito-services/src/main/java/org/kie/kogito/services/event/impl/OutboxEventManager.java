@@ -0,0 +1,241 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.event.impl;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.EventBatch;
+import org.kie.kogito.event.EventEncodingException;
+import org.kie.kogito.event.EventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Event manager that appends the events of every unit of work to an {@link EventOutbox} and relays them
+ * to the publishers from a background thread, so units of work do not wait for the publishers.
+ * <br/>
+ * Events are delivered at least once: they are acknowledged in the outbox only after every publisher confirmed
+ * their delivery, see {@link EventPublisher#deliver(Collection)}, and relayed again after a failure or a restart.
+ * Consumers detect duplicates by the event id, which is kept by the outbox. Events appended before the publishers
+ * are registered wait in the outbox.
+ * <br/>
+ * After a failure events are relayed one at a time until one is delivered, retrying the failing event with a
+ * backoff capped to 30 seconds for as long as the publishers are unavailable. The failing event is dead lettered
+ * in the outbox, so that it does not block the others, only when it cannot be encoded, see
+ * {@link EventEncodingException}, or when it failed <code>maxAttempts</code> times in a row and once more right after
+ * the event following it could be delivered, which tells the event from an outage of the publishers.
+ */
+public class OutboxEventManager extends BaseEventManager implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxEventManager.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final int DEFAULT_MAX_ATTEMPTS = 10;
+    private static final long IDLE_WAIT_MILLIS = 1000;
+    private static final long DELIVERY_TIMEOUT_MILLIS = 30000;
+    private static final long MIN_RETRY_DELAY_MILLIS = 100;
+    private static final long MAX_RETRY_DELAY_MILLIS = 30000;
+
+    private final EventOutbox outbox;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final ExecutorService relay;
+    private final Object signal = new Object();
+    private volatile boolean running = true;
+
+    public OutboxEventManager(EventOutbox outbox) {
+        this(outbox, DEFAULT_BATCH_SIZE, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    /**
+     * @param outbox outbox holding the events until they are delivered
+     * @param batchSize maximum number of events handed to the publishers at once
+     * @param maxAttempts number of failed deliveries after which an event is dead lettered, provided the event
+     *        after it can be delivered
+     */
+    public OutboxEventManager(EventOutbox outbox, int batchSize, int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be positive but was " + maxAttempts);
+        }
+        this.outbox = outbox;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.relay = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kogito-event-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.relay.execute(this::relay);
+    }
+
+    @Override
+    public void publish(EventBatch batch) {
+        Collection<DataEvent<?>> events = batch.events();
+        if (!events.isEmpty()) {
+            outbox.append(events);
+            synchronized (signal) {
+                signal.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events waiting to be delivered.
+     */
+    public long pending() {
+        return outbox.size();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        relay.shutdownNow();
+        try {
+            if (!relay.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOGGER.warn("Event outbox relay did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        outbox.close();
+    }
+
+    protected void relay() {
+        long retryDelay = MIN_RETRY_DELAY_MILLIS;
+        int size = batchSize;
+        int attempts = 0;
+        boolean nextDelivered = false;
+        while (running) {
+            List<DataEvent<?>> events = Collections.emptyList();
+            try {
+                events = publishers().isEmpty() ? Collections.emptyList() : outbox.pending(size);
+                if (events.isEmpty()) {
+                    await(IDLE_WAIT_MILLIS);
+                    continue;
+                }
+                deliver(events);
+                outbox.acknowledge(events.size());
+                retryDelay = MIN_RETRY_DELAY_MILLIS;
+                size = batchSize;
+                attempts = 0;
+                nextDelivered = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException | ExecutionException | TimeoutException e) {
+                Throwable cause = cause(e);
+                boolean encoding = cause instanceof EventEncodingException;
+                if (events.size() > 1) {
+                    // looks for the failing event
+                    size = 1;
+                    if (encoding) {
+                        continue;
+                    }
+                } else if (events.size() == 1) {
+                    if (encoding || nextDelivered) {
+                        LOGGER.error("Unable to relay event {} from the outbox, moving it to the dead letters", events.get(0).getId(), cause);
+                        if (deadLetter(events)) {
+                            retryDelay = MIN_RETRY_DELAY_MILLIS;
+                            size = batchSize;
+                            attempts = 0;
+                            nextDelivered = false;
+                            continue;
+                        }
+                    } else if (++attempts >= maxAttempts && nextDelivered()) {
+                        // the publishers are available, the event is dead lettered if it fails once more
+                        nextDelivered = true;
+                        continue;
+                    }
+                }
+                LOGGER.warn("Unable to relay events from the outbox, retrying in {} ms", retryDelay, cause);
+                try {
+                    Thread.sleep(retryDelay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    /*
+     * delivers the event following the failing one, which is delivered again once the failing one is dead lettered,
+     * to tell whether the publishers are available
+     */
+    private boolean nextDelivered() {
+        try {
+            List<DataEvent<?>> events = outbox.pending(2);
+            if (events.size() < 2) {
+                return false;
+            }
+            deliver(events.subList(1, 2));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (RuntimeException | ExecutionException | TimeoutException e) {
+            LOGGER.debug("Unable to relay the event following the failing one from the outbox", e);
+            return false;
+        }
+    }
+
+    private static Throwable cause(Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private void deliver(List<DataEvent<?>> events) throws InterruptedException, ExecutionException, TimeoutException {
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        for (EventPublisher publisher : publishers()) {
+            deliveries.add(publisher.deliver(events).toCompletableFuture());
+        }
+        CompletableFuture.allOf(deliveries.toArray(new CompletableFuture[0])).get(DELIVERY_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean deadLetter(List<DataEvent<?>> events) {
+        try {
+            outbox.deadLetter(events);
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to move events to the dead letters of the outbox", e);
+            return false;
+        }
+    }
+
+    private void await(long millis) throws InterruptedException {
+        synchronized (signal) {
+            if (outbox.size() == 0 || publishers().isEmpty()) {
+                signal.wait(millis);
+            }
+        }
+    }
+}
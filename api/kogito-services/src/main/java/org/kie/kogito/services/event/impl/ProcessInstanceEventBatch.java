@@ -48,13 +48,21 @@ public class ProcessInstanceEventBatch implements EventBatch {
 
     public static final String TRACKED = "tracked";
 
+    private static final VariableSnapshotPolicy ALWAYS = new VariableSnapshotPolicy();
+
     private final String service;
     private Addons addons;
+    private VariableSnapshotPolicy snapshots;
     private List<ProcessEvent> rawEvents = new ArrayList<>();
 
     public ProcessInstanceEventBatch(String service, Addons addons) {
+        this(service, addons, ALWAYS);
+    }
+
+    public ProcessInstanceEventBatch(String service, Addons addons, VariableSnapshotPolicy snapshots) {
         this.service = service;
         this.addons = addons;
+        this.snapshots = snapshots;
     }
 
     @Override
@@ -83,6 +91,7 @@ public class ProcessInstanceEventBatch implements EventBatch {
                 handleProcessWorkItemTransitionEvent((ProcessWorkItemTransitionEvent) event, userTaskInstances);
             } else if (event instanceof ProcessVariableChangedEvent) {
                 handleProcessVariableChangedEvent((KogitoProcessVariableChangedEvent) event, variables);
+                handleProcessVariableDiff((ProcessVariableChangedEvent) event, body);
             }
         }
 
@@ -131,6 +140,19 @@ public class ProcessInstanceEventBatch implements EventBatch {
         }
     }
 
+    protected void handleProcessVariableDiff(ProcessVariableChangedEvent variableChangedEvent, ProcessInstanceEventBody body) {
+        Map<String, VariableDiffEventBody> diffs = body.getVariableDiffs();
+        // variables of sub process scopes are prefixed with the node instance and are not part of the instance variables
+        if (diffs != null && variableChangedEvent.getVariableId().indexOf(':') < 0) {
+            // keep the value before the first change and the value after the last one
+            VariableDiffEventBody first = diffs.get(variableChangedEvent.getVariableId());
+            diffs.put(variableChangedEvent.getVariableId(), VariableDiffEventBody.create()
+                    .oldValue(first == null ? variableChangedEvent.getOldValue() : first.getOldValue())
+                    .newValue(variableChangedEvent.getNewValue())
+                    .build());
+        }
+    }
+
     protected UserTaskInstanceEventBody createUserTask(ProcessWorkItemTransitionEvent workItemTransitionEvent) {
         KogitoWorkflowProcessInstance pi = (KogitoWorkflowProcessInstance) workItemTransitionEvent.getProcessInstance();
         HumanTaskWorkItem workItem = (HumanTaskWorkItem) workItemTransitionEvent.getWorkItem();
@@ -172,9 +194,14 @@ public class ProcessInstanceEventBatch implements EventBatch {
                 .endDate(pi.getEndDate())
                 .state(pi.getState())
                 .businessKey(pi.getCorrelationKey())
-                .variables(pi.getVariables())
                 .milestones(createMilestones(pi));
 
+        if (snapshots.snapshot(pi.getStringId(), pi.getState() == KogitoProcessInstance.STATE_ACTIVE)) {
+            eventBuilder.variables(pi.getVariables());
+        } else {
+            eventBuilder.variableDiffs(new LinkedHashMap<>());
+        }
+
         if (pi.getState() == KogitoProcessInstance.STATE_ERROR) {
             eventBuilder.error(ProcessErrorEventBody.create()
                                        .nodeDefinitionId(pi.getNodeIdInError())
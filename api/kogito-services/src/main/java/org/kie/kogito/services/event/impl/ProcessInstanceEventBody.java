@@ -50,6 +50,8 @@ public class ProcessInstanceEventBody {
 
     private Map<String, Object> variables;
 
+    private Map<String, VariableDiffEventBody> variableDiffs;
+
     private ProcessErrorEventBody error;
 
     private List<String> roles;
@@ -107,10 +109,20 @@ public class ProcessInstanceEventBody {
         return nodeInstances;
     }
 
+    /**
+     * All variables of the process instance, null when the event carries only the variable diffs
+     */
     public Map<String, Object> getVariables() {
         return variables;
     }
 
+    /**
+     * Variables changed since the previous event of the process instance, null when the event carries all variables
+     */
+    public Map<String, VariableDiffEventBody> getVariableDiffs() {
+        return variableDiffs;
+    }
+
     public List<String> getRoles() {
         return roles;
     }
@@ -236,6 +248,11 @@ public class ProcessInstanceEventBody {
             return this;
         }
 
+        public Builder variableDiffs(Map<String, VariableDiffEventBody> variableDiffs) {
+            instance.variableDiffs = variableDiffs;
+            return this;
+        }
+
         public Builder error(ProcessErrorEventBody error) {
             instance.error = error;
             return this;
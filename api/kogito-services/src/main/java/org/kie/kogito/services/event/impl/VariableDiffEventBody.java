@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.event.impl;
+
+public class VariableDiffEventBody {
+
+    private Object oldValue;
+    private Object newValue;
+
+    private VariableDiffEventBody() {}
+
+    public Object getOldValue() {
+        return oldValue;
+    }
+
+    public Object getNewValue() {
+        return newValue;
+    }
+
+    @Override
+    public String toString() {
+        return "VariableDiff [oldValue=" + oldValue + ", newValue=" + newValue + "]";
+    }
+
+    public static Builder create() {
+        return new Builder(new VariableDiffEventBody());
+    }
+
+    static class Builder {
+
+        private VariableDiffEventBody instance;
+
+        private Builder(VariableDiffEventBody instance) {
+            this.instance = instance;
+        }
+
+        public Builder oldValue(Object oldValue) {
+            instance.oldValue = oldValue;
+            return this;
+        }
+
+        public Builder newValue(Object newValue) {
+            instance.newValue = newValue;
+            return this;
+        }
+
+        public VariableDiffEventBody build() {
+            return instance;
+        }
+    }
+}
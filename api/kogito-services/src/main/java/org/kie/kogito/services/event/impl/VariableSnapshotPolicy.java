@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.event.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which process instance events carry all the variables of the instance. With an interval
+ * of one every event is a snapshot, otherwise events carry only the variables changed since the previous
+ * event and a snapshot is sent on the first event of an instance seen by this service, when the instance
+ * is no longer active and then every <code>interval</code> events so consumers that missed
+ * a change converge again.
+ */
+public class VariableSnapshotPolicy {
+
+    public static final int DEFAULT_INTERVAL = 1;
+
+    private static final int MAX_TRACKED_INSTANCES = 10000;
+
+    private final int interval;
+    private final Map<String, Integer> eventsSinceSnapshot = new ConcurrentHashMap<>();
+
+    public VariableSnapshotPolicy() {
+        this(DEFAULT_INTERVAL);
+    }
+
+    public VariableSnapshotPolicy(int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Snapshot interval must be greater than zero but was " + interval);
+        }
+        this.interval = interval;
+    }
+
+    public int interval() {
+        return interval;
+    }
+
+    public boolean isAlways() {
+        return interval == 1;
+    }
+
+    /**
+     * Returns true when the next event of the given process instance should carry all its variables.
+     * @param processInstanceId id of the process instance
+     * @param active whether the process instance is still active
+     * @return true to send a snapshot, false to send only the changed variables
+     */
+    public boolean snapshot(String processInstanceId, boolean active) {
+        if (isAlways()) {
+            return true;
+        }
+        if (!active) {
+            eventsSinceSnapshot.remove(processInstanceId);
+            return true;
+        }
+        if (eventsSinceSnapshot.size() >= MAX_TRACKED_INSTANCES && !eventsSinceSnapshot.containsKey(processInstanceId)) {
+            // instances that moved to other services are never completed here, start over instead of growing
+            eventsSinceSnapshot.clear();
+        }
+        return eventsSinceSnapshot.compute(processInstanceId, (id, count) -> count == null || count + 1 >= interval ? 0 : count + 1) == 0;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.uow;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.kie.kogito.event.EventManager;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit.Operation;
+import org.kie.kogito.uow.WorkUnit;
+
+/**
+ * Unit of work that collects work elements like {@link CollectingUnitOfWork}
+ * but groups process instance creations and updates per process and stores them
+ * through {@link MutableProcessInstances#createAll(Collection)} and
+ * {@link MutableProcessInstances#updateAll(Collection)} when the unit ends.
+ * Grouped operations are flushed before any other work element is performed
+ * so the order defined by priorities is preserved.
+ */
+public class BatchingUnitOfWork extends CollectingUnitOfWork {
+
+    public BatchingUnitOfWork(EventManager eventManager) {
+        super(eventManager);
+    }
+
+    @Override
+    protected void perform(Collection<WorkUnit<?>> work) {
+        Map<MutableProcessInstances<?>, List<ProcessInstance<?>>> created = new LinkedHashMap<>();
+        Map<MutableProcessInstances<?>, List<ProcessInstance<?>>> updated = new LinkedHashMap<>();
+
+        for (WorkUnit<?> unit : work) {
+            Operation operation = operation(unit);
+            if (operation == Operation.CREATE) {
+                group(created, (ProcessInstanceWorkUnit<?>) unit);
+            } else if (operation == Operation.UPDATE) {
+                group(updated, (ProcessInstanceWorkUnit<?>) unit);
+            } else {
+                flush(created, updated);
+                unit.perform();
+            }
+        }
+        flush(created, updated);
+    }
+
+    protected Operation operation(WorkUnit<?> unit) {
+        if (unit instanceof ProcessInstanceWorkUnit) {
+            ProcessInstanceWorkUnit<?> piUnit = (ProcessInstanceWorkUnit<?>) unit;
+            if (piUnit.data() != null && piUnit.data().process().instances() instanceof MutableProcessInstances) {
+                return piUnit.operation();
+            }
+        }
+        return null;
+    }
+
+    private void group(Map<MutableProcessInstances<?>, List<ProcessInstance<?>>> groups, ProcessInstanceWorkUnit<?> unit) {
+        MutableProcessInstances<?> instances = (MutableProcessInstances<?>) unit.data().process().instances();
+        groups.computeIfAbsent(instances, k -> new ArrayList<>()).add(unit.data());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void flush(Map<MutableProcessInstances<?>, List<ProcessInstance<?>>> created, Map<MutableProcessInstances<?>, List<ProcessInstance<?>>> updated) {
+        for (Map.Entry<MutableProcessInstances<?>, List<ProcessInstance<?>>> entry : created.entrySet()) {
+            ((MutableProcessInstances) entry.getKey()).createAll((Collection) entry.getValue());
+        }
+        created.clear();
+        for (Map.Entry<MutableProcessInstances<?>, List<ProcessInstance<?>>> entry : updated.entrySet()) {
+            ((MutableProcessInstances) entry.getKey()).updateAll((Collection) entry.getValue());
+        }
+        updated.clear();
+    }
+}
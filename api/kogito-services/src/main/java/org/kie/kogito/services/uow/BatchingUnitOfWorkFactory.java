@@ -0,0 +1,34 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.uow;
+
+import org.kie.kogito.event.EventManager;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkFactory;
+
+/**
+ * Creates {@link BatchingUnitOfWork} instances, can be enabled by providing a
+ * <code>UnitOfWorkManager</code> built on top of it, e.g.
+ * <code>new DefaultUnitOfWorkManager(new BatchingUnitOfWorkFactory())</code>
+ */
+public class BatchingUnitOfWorkFactory implements UnitOfWorkFactory {
+
+    @Override
+    public UnitOfWork create(EventManager eventManager) {
+        return new BatchingUnitOfWork(eventManager);
+    }
+
+}
@@ -57,15 +57,21 @@ public class CollectingUnitOfWork implements UnitOfWork {
     public void end() {
         checkStarted();
         EventBatch batch = eventManager.newBatch();        
-        
-        for (WorkUnit<?> work : sorted()) {
+        Collection<WorkUnit<?>> sorted = sorted();
+        for (WorkUnit<?> work : sorted) {
             batch.append(work.data());
-            work.perform();
         }
+        perform(sorted);
         eventManager.publish(batch);
         done();
     }
 
+    protected void perform(Collection<WorkUnit<?>> work) {
+        for (WorkUnit<?> unit : work) {
+            unit.perform();
+        }
+    }
+
     @Override
     public void abort() {
         checkStarted();                
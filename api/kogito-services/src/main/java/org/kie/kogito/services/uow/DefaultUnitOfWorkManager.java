@@ -15,6 +15,9 @@
  */
 package org.kie.kogito.services.uow;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 import org.kie.kogito.event.EventManager;
 import org.kie.kogito.services.event.impl.BaseEventManager;
 import org.kie.kogito.uow.UnitOfWork;
@@ -27,8 +30,8 @@ import org.kie.kogito.uow.UnitOfWorkManager;
  *
  */
 public class DefaultUnitOfWorkManager implements UnitOfWorkManager {
-    // uses thread local to associate unit of works to execution context/thread
-    private ThreadLocal<UnitOfWork> currentUnitOfWork = new ThreadLocal<>();
+    // uses thread local to associate unit of works to execution context/thread, the last started one is current
+    private ThreadLocal<Deque<UnitOfWork>> currentUnitOfWork = new ThreadLocal<>();
     // uses pass through unit of work as fallback if no unit of work has been started
     private UnitOfWork fallbackUnitOfWork = new PassThroughUnitOfWork();
     // factory used to create unit of work 
@@ -47,14 +50,20 @@ public class DefaultUnitOfWorkManager implements UnitOfWorkManager {
         this.factory = factory;
     }
 
+    public DefaultUnitOfWorkManager(UnitOfWorkFactory factory, EventManager eventManager) {
+        super();
+        this.factory = factory;
+        this.eventManager = eventManager;
+    }
+
     @Override
     public UnitOfWork currentUnitOfWork() {
-        UnitOfWork unit = currentUnitOfWork.get();
+        Deque<UnitOfWork> units = currentUnitOfWork.get();
         
-        if (unit == null) {
+        if (units == null) {
             return fallbackUnitOfWork;
         }
-        return unit;
+        return units.peek();
     }
 
     @Override
@@ -62,13 +71,34 @@ public class DefaultUnitOfWorkManager implements UnitOfWorkManager {
         
         return new ManagedUnitOfWork(factory.create(eventManager), this::associate, this::dissociate, this::dissociate);
     }
+
+    @Override
+    public UnitOfWork newNestedUnitOfWork() {
+        return newNestedUnitOfWork(currentUnitOfWork());
+    }
+
+    @Override
+    public UnitOfWork newNestedUnitOfWork(UnitOfWork parent) {
+        return new ManagedUnitOfWork(new NestedUnitOfWork(parent, eventManager), this::associate, this::dissociate, this::dissociate);
+    }
     
     protected void associate(UnitOfWork unit) {
-        currentUnitOfWork.set(unit);
+        Deque<UnitOfWork> units = currentUnitOfWork.get();
+        if (units == null) {
+            units = new ArrayDeque<>();
+            currentUnitOfWork.set(units);
+        }
+        units.push(unit);
     }
 
     protected void dissociate(UnitOfWork unit) {
-        currentUnitOfWork.set(null);
+        Deque<UnitOfWork> units = currentUnitOfWork.get();
+        if (units != null) {
+            units.remove(unit);
+            if (units.isEmpty()) {
+                currentUnitOfWork.remove();
+            }
+        }
     }
 
     @Override
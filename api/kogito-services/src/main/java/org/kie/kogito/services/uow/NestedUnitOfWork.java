@@ -0,0 +1,44 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.uow;
+
+import org.kie.kogito.event.EventManager;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.WorkUnit;
+
+/**
+ * Unit of work nested in another one, it collects work elements like {@link CollectingUnitOfWork}
+ * but hands them to its parent when it ends, so that they are performed when the parent ends.
+ * When aborted only its own work elements are aborted, the parent is not affected.
+ */
+public class NestedUnitOfWork extends CollectingUnitOfWork {
+
+    private final UnitOfWork parent;
+
+    public NestedUnitOfWork(UnitOfWork parent, EventManager eventManager) {
+        super(eventManager);
+        this.parent = parent;
+    }
+
+    @Override
+    public void end() {
+        checkStarted();
+        for (WorkUnit<?> work : sorted()) {
+            parent.intercept(work);
+        }
+        done();
+    }
+}
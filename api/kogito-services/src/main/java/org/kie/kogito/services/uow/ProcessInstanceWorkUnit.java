@@ -22,10 +22,21 @@ import org.kie.kogito.uow.WorkUnit;
 
 
 public class ProcessInstanceWorkUnit<T> implements WorkUnit<ProcessInstance<T>> {
-    
+
+    /**
+     * Persistence operation performed by the work unit, allows units of work to
+     * group operations of the same kind instead of performing them one by one
+     */
+    public enum Operation {
+        CREATE,
+        UPDATE,
+        REMOVE
+    }
+
     private ProcessInstance<T> data;
     private Consumer<Object> action;
     private Consumer<Object> compensation;
+    private Operation operation;
 
     public ProcessInstanceWorkUnit(ProcessInstance<T> data, Consumer<Object> action) {
         this.data = data;
@@ -38,11 +49,24 @@ public class ProcessInstanceWorkUnit<T> implements WorkUnit<ProcessInstance<T>>
         this.compensation = compensation;
     }
 
+    public ProcessInstanceWorkUnit(ProcessInstance<T> data, Operation operation, Consumer<Object> action) {
+        this.data = data;
+        this.operation = operation;
+        this.action = action;
+    }
+
     @Override
     public ProcessInstance<T> data() {
         return data;
     }
 
+    /**
+     * @return persistence operation of this work unit or null when the action is not a plain persistence operation
+     */
+    public Operation operation() {
+        return operation;
+    }
+
     @Override
     public void perform() {
         action.accept(data());
@@ -18,14 +18,72 @@ package org.kie.kogito.services.uow;
 import java.util.function.Supplier;
 
 import org.kie.kogito.process.ProcessInstanceExecutionException;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.UnitOfWorkManager;
 
 public class UnitOfWorkExecutor {
 
+    /**
+     * Number of retries on concurrent modification used by the runtime when it loads the process instances itself,
+     * e.g. when consuming messages, firing timers or completing asynchronous work items
+     */
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    /**
+     * Executes given supplier in a new unit of work and retries it (in a fresh unit of work)
+     * when the persisted process instance has been concurrently modified.
+     * Supplier must load the process instances it works on so that retry is performed on the latest state.
+     *
+     * @param uowManager unit of work manager
+     * @param supplier work to be executed
+     * @param maxRetries maximum number of retries on concurrent modification
+     * @return result of the supplier
+     */
+    public static <T> T executeInUnitOfWork(UnitOfWorkManager uowManager, Supplier<T> supplier, int maxRetries) {
+        int attempt = 0;
+        while (true) {
+            try {
+                return executeInUnitOfWork(uowManager, supplier);
+            } catch (ProcessInstanceOptimisticLockingException e) {
+                if (attempt++ >= maxRetries) {
+                    throw e;
+                }
+            }
+        }
+    }
+
     public static <T> T executeInUnitOfWork(UnitOfWorkManager uowManager, Supplier<T> supplier) {
+        return execute(uowManager.newUnitOfWork(), supplier);
+    }
+
+    /**
+     * Executes given supplier in a unit of work nested in the current one, its work is performed when the
+     * current unit of work ends unless the supplier fails.
+     *
+     * @param uowManager unit of work manager
+     * @param supplier work to be executed
+     * @return result of the supplier
+     */
+    public static <T> T executeInNestedUnitOfWork(UnitOfWorkManager uowManager, Supplier<T> supplier) {
+        return execute(uowManager.newNestedUnitOfWork(), supplier);
+    }
+
+    /**
+     * Executes given supplier in a unit of work nested in the given one, its work is handed to the given unit of work
+     * unless the supplier fails.
+     *
+     * @param uowManager unit of work manager
+     * @param parent unit of work the work is handed to
+     * @param supplier work to be executed
+     * @return result of the supplier
+     */
+    public static <T> T executeInNestedUnitOfWork(UnitOfWorkManager uowManager, UnitOfWork parent, Supplier<T> supplier) {
+        return execute(uowManager.newNestedUnitOfWork(parent), supplier);
+    }
+
+    private static <T> T execute(UnitOfWork uow, Supplier<T> supplier) {
         T result = null;
-        UnitOfWork uow = uowManager.newUnitOfWork();
         
         try {
             uow.start();
@@ -0,0 +1,491 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.io.Closeable;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.kie.kogito.jobs.ExpirationTime;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.jobs.ProcessInstanceJobDescription;
+import org.kie.kogito.jobs.ProcessJobDescription;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.Processes;
+import org.kie.kogito.process.Signal;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.timer.TimerInstance;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link JobsService} keeping process instance jobs in a {@link JobStore} so that they survive restarts and are
+ * spread across the replicas sharing the store.
+ * <br/>
+ * Pending jobs are tracked by a hierarchical {@link TimingWheel} advanced by a single ticker thread, expired jobs
+ * are fired by a pool with bounded parallelism and a bounded queue, once the queue is full the ticker runs the
+ * jobs itself which throttles firing. Jobs of the same process instance expiring in the same tick are fired
+ * together in one unit of work, see {@link #metrics()}. When such a batch fails its jobs are fired again one at a time,
+ * so that a failing job does not hold back the others. A job whose firing fails is kept and fired again after the
+ * retry delay, or at its next execution when it is repeatable. Process jobs (timer start events) are kept in memory only, as they are
+ * scheduled again every time their process is activated.
+ * <br/>
+ * Only the process instance jobs expiring within two spans of the wheel are kept in memory, later ones stay in the store
+ * only and are loaded as the clock gets close to them.
+ * <br/>
+ * Processes are resolved when jobs fire rather than on construction, as processes depend on the jobs service
+ * through their configuration.
+ */
+public class DurableJobService implements JobsService,
+                                          Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DurableJobService.class);
+    private static final String TRIGGER = "timer";
+    private static final String TIMER_TRIGGERED = "timerTriggered";
+
+    public static final long DEFAULT_TICK = 50;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+    public static final long DEFAULT_CLAIM_INTERVAL = 10000;
+    public static final long DEFAULT_RETRY_DELAY = 10000;
+    private static final int QUEUED_JOBS_PER_THREAD = 64;
+
+    private final JobStore store;
+    private final Supplier<UnitOfWorkManager> unitOfWorkManager;
+    private final Supplier<Processes> processes;
+    private final TimingWheel<Job> wheel;
+    private final ScheduledExecutorService ticker;
+    private final ThreadPoolExecutor firingPool;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final JobFiringMetrics metrics = new JobFiringMetrics();
+    private final long retryDelay;
+    private final long span;
+    // jobs of the store expiring before the horizon are tracked by the wheel, guarded by the wheel
+    private long horizon;
+
+    public DurableJobService(JobStore store, UnitOfWorkManager unitOfWorkManager, Supplier<Processes> processes, int firingPoolSize) {
+        this(store, unitOfWorkManager, processes, firingPoolSize, DEFAULT_TICK, DEFAULT_CLAIM_INTERVAL);
+    }
+
+    /**
+     * @param store store of the process instance jobs
+     * @param unitOfWorkManager manager of the unit of work each job is fired in
+     * @param processes supplier of the processes the jobs belong to
+     * @param firingPoolSize maximum number of jobs fired in parallel
+     * @param tick resolution of the timing wheel in milliseconds, jobs expiring within the same tick are fired in batches
+     * @param claimInterval interval in milliseconds between attempts to claim the partitions of dead replicas
+     */
+    public DurableJobService(JobStore store, UnitOfWorkManager unitOfWorkManager, Supplier<Processes> processes, int firingPoolSize, long tick, long claimInterval) {
+        this(store, () -> unitOfWorkManager, processes, firingPoolSize, tick, claimInterval, DEFAULT_RETRY_DELAY);
+    }
+
+    /**
+     * @param store store of the process instance jobs
+     * @param unitOfWorkManager supplier of the manager of the unit of work each job is fired in, resolved when jobs fire
+     * @param processes supplier of the processes the jobs belong to
+     * @param firingPoolSize maximum number of jobs fired in parallel
+     * @param tick resolution of the timing wheel in milliseconds, jobs expiring within the same tick are fired in batches
+     * @param claimInterval interval in milliseconds between attempts to claim the partitions of dead replicas
+     * @param retryDelay delay in milliseconds before a job whose firing failed is fired again
+     */
+    public DurableJobService(JobStore store, Supplier<UnitOfWorkManager> unitOfWorkManager, Supplier<Processes> processes, int firingPoolSize, long tick, long claimInterval,
+                             long retryDelay) {
+        this.store = store;
+        this.unitOfWorkManager = unitOfWorkManager;
+        this.retryDelay = retryDelay;
+        this.processes = processes;
+        long now = System.currentTimeMillis();
+        this.wheel = new TimingWheel<>(tick, DEFAULT_WHEEL_SIZE, now);
+        this.span = tick * DEFAULT_WHEEL_SIZE;
+        this.horizon = now + 2 * span;
+        this.firingPool = new ThreadPoolExecutor(firingPoolSize, firingPoolSize, 0, TimeUnit.MILLISECONDS,
+                                                 new ArrayBlockingQueue<>(firingPoolSize * QUEUED_JOBS_PER_THREAD),
+                                                 daemon("kogito-job-firing"),
+                                                 new ThreadPoolExecutor.CallerRunsPolicy());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(daemon("kogito-job-ticker"));
+        recover();
+        ticker.scheduleAtFixedRate(this::tick, tick, tick, TimeUnit.MILLISECONDS);
+        ticker.scheduleWithFixedDelay(this::recover, claimInterval, claimInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String scheduleProcessJob(ProcessJobDescription description) {
+        LOGGER.debug("ScheduleProcessJob: {}", description);
+        String processId = description.process() != null ? description.process().id() : description.processId();
+        schedule(new Job(toScheduledJob(description.id(), processId, null, description.expirationTime()), description.process(), false));
+        return description.id();
+    }
+
+    @Override
+    public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
+        LOGGER.debug("ScheduleProcessInstanceJob: {}", description);
+        ScheduledJob job = toScheduledJob(description.id(), description.processId(), description.processInstanceId(), description.expirationTime());
+        store.store(job);
+        schedule(new Job(job, null, true));
+        return description.id();
+    }
+
+    @Override
+    public boolean cancelJob(String id) {
+        LOGGER.debug("Cancel Job: {}", id);
+        Job job = jobs.remove(id);
+        if (job == null) {
+            // the job may be owned by another replica
+            return store.remove(id);
+        }
+        synchronized (job) {
+            job.cancelled = true;
+        }
+        // a repeatable job being fired may have been scheduled again meanwhile
+        jobs.remove(id, job);
+        synchronized (wheel) {
+            if (job.timeout != null) {
+                wheel.cancel(job.timeout);
+            }
+        }
+        if (job.durable) {
+            store.remove(id);
+        }
+        return true;
+    }
+
+    @Override
+    public ZonedDateTime getScheduledTime(String id) {
+        Job job = jobs.get(id);
+        ScheduledJob scheduled = job != null ? job.scheduled : store.find(id).orElse(null);
+        if (scheduled != null && scheduled.expiration() > System.currentTimeMillis()) {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(scheduled.expiration()), ZoneId.systemDefault());
+        }
+        return null;
+    }
+
+    /**
+     * @return statistics about the batches of jobs fired so far
+     */
+    public JobFiringMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+        firingPool.shutdown();
+        try {
+            if (!firingPool.awaitTermination(30, TimeUnit.SECONDS)) {
+                LOGGER.warn("Jobs still running after 30 seconds, closing the job store anyway");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        store.close();
+    }
+
+    protected ScheduledJob toScheduledJob(String id, String processId, String processInstanceId, ExpirationTime expirationTime) {
+        long expiration = expirationTime.get().toInstant().toEpochMilli();
+        if (expirationTime.repeatInterval() != null) {
+            return new ScheduledJob(id, processId, processInstanceId, expiration, expirationTime.repeatInterval(), expirationTime.repeatLimit());
+        }
+        return new ScheduledJob(id, processId, processInstanceId, expiration, null, -1);
+    }
+
+    private void recover() {
+        try {
+            long limit;
+            synchronized (wheel) {
+                limit = horizon;
+            }
+            Collection<ScheduledJob> recovered = store.claim(limit);
+            recovered.forEach(job -> schedule(new Job(job, null, true)));
+            if (!recovered.isEmpty()) {
+                LOGGER.info("Recovered {} jobs from job store", recovered.size());
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Unable to claim jobs from job store", e);
+        }
+    }
+
+    /*
+     * stored jobs are written to the store before being scheduled, so that the ones beyond the horizon are loaded with it
+     */
+    private void schedule(Job job) {
+        String id = job.scheduled.id();
+        TimingWheel.Timeout<Job> timeout;
+        synchronized (wheel) {
+            if (job.durable && job.scheduled.expiration() >= horizon) {
+                jobs.remove(id, job);
+                return;
+            }
+            Job tracked = jobs.putIfAbsent(id, job);
+            if (tracked != null && tracked != job) {
+                // already loaded from the store while being scheduled
+                return;
+            }
+            timeout = wheel.add(job, job.scheduled.expiration());
+            job.timeout = timeout;
+        }
+        if (timeout == null) {
+            fire(job);
+        }
+    }
+
+    /*
+     * expirations of the same tick are grouped per process instance, so that every process instance
+     * is loaded and stored once whatever the number of its expired jobs
+     */
+    private void tick() {
+        Map<String, List<Job>> batches = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+        synchronized (wheel) {
+            if (now + span >= horizon) {
+                advanceHorizon(now + 2 * span, batches);
+            }
+            wheel.advanceClock(now, job -> {
+                job.timeout = null;
+                batch(batches, job);
+            });
+        }
+        batches.values().forEach(this::fire);
+    }
+
+    /*
+     * the jobs of the store up to the new horizon join the wheel, a span ahead of their expiration at least
+     */
+    private void advanceHorizon(long next, Map<String, List<Job>> batches) {
+        Collection<ScheduledJob> loaded;
+        try {
+            loaded = store.load(horizon, next);
+        } catch (RuntimeException e) {
+            LOGGER.error("Unable to load jobs from job store", e);
+            return;
+        }
+        horizon = next;
+        for (ScheduledJob scheduled : loaded) {
+            Job job = new Job(scheduled, null, true);
+            if (jobs.putIfAbsent(scheduled.id(), job) == null) {
+                job.timeout = wheel.add(job, scheduled.expiration());
+                if (job.timeout == null) {
+                    batch(batches, job);
+                }
+            }
+        }
+    }
+
+    private static void batch(Map<String, List<Job>> batches, Job job) {
+        String key = job.scheduled.processInstanceId() != null ? job.scheduled.processInstanceId() : job.scheduled.id();
+        batches.computeIfAbsent(key, k -> new ArrayList<>()).add(job);
+    }
+
+    private void fire(Job job) {
+        fire(Collections.singletonList(job));
+    }
+
+    private void fire(List<Job> batch) {
+        firingPool.execute(() -> run(batch));
+    }
+
+    private void run(List<Job> batch) {
+        List<Job> live = new ArrayList<>(batch.size());
+        for (Job job : batch) {
+            if (job.cancelled || (job.durable && !store.isScheduled(job.scheduled.id()))) {
+                jobs.remove(job.scheduled.id(), job);
+            } else {
+                live.add(job);
+            }
+        }
+        if (live.isEmpty()) {
+            return;
+        }
+        live.sort(Comparator.comparingLong(job -> job.scheduled.expiration()));
+        long start = System.nanoTime();
+        if (!execute(live)) {
+            if (live.size() == 1) {
+                failed(live.get(0));
+            } else {
+                // one failing job must not hold back the other jobs of its process instance
+                LOGGER.warn("Jobs {} failed together, firing them one at a time", live);
+                for (Job job : live) {
+                    if (!execute(Collections.singletonList(job))) {
+                        failed(job);
+                    }
+                }
+            }
+        }
+        metrics.record(live.size(), System.nanoTime() - start);
+    }
+
+    /**
+     * Fires the given jobs in one unit of work and completes them when it succeeds
+     *
+     * @return <code>false</code> if the unit of work failed
+     */
+    private boolean execute(List<Job> live) {
+        List<ScheduledJob> fired = new ArrayList<>(live.size());
+        live.forEach(job -> fired.add(job.scheduled));
+        boolean active;
+        try {
+            LOGGER.debug("Jobs {} started", live);
+            active = UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager.get(), () -> trigger(live, fired), UnitOfWorkExecutor.DEFAULT_MAX_RETRIES);
+            LOGGER.debug("Jobs {} completed", live);
+        } catch (RuntimeException e) {
+            LOGGER.error("Jobs {} failed", live, e);
+            return false;
+        }
+        for (int i = 0; i < live.size(); i++) {
+            completed(live.get(i), fired.get(i), active);
+        }
+        return true;
+    }
+
+    /*
+     * the job stays in the store so that it is fired again, here or by the replica claiming its partition
+     */
+    private void failed(Job job) {
+        ScheduledJob scheduled = job.scheduled;
+        if (scheduled.isRepeatable()) {
+            completed(job, scheduled, true);
+            return;
+        }
+        LOGGER.debug("Job {} fired again in {} ms", job, retryDelay);
+        synchronized (job) {
+            if (!job.cancelled) {
+                job.scheduled = scheduled.postpone(System.currentTimeMillis() + retryDelay);
+                if (job.durable) {
+                    store.store(job.scheduled);
+                }
+                schedule(job);
+            }
+        }
+    }
+
+    private void completed(Job job, ScheduledJob scheduled, boolean active) {
+        String id = scheduled.id();
+        if (active && scheduled.isRepeatable() && scheduled.repeatLimit() - 1 != 0) {
+            synchronized (job) {
+                if (!job.cancelled) {
+                    job.scheduled = scheduled.next();
+                    if (job.durable) {
+                        store.store(job.scheduled);
+                    }
+                    schedule(job);
+                }
+            }
+        } else if (jobs.remove(id, job) && job.durable) {
+            store.remove(id);
+        }
+    }
+
+    /**
+     * Triggers the given jobs, which either belong to the same process instance or are a single process job
+     *
+     * @return <code>false</code> if the jobs should be cancelled as their process or process instance no longer exists
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private boolean trigger(List<Job> batch, List<ScheduledJob> fired) {
+        ScheduledJob first = fired.get(0);
+        Process process = batch.get(0).process != null ? batch.get(0).process : processes.get().processById(first.processId());
+        if (process == null) {
+            LOGGER.warn("Process {} of jobs {} not found", first.processId(), batch);
+            return false;
+        }
+        if (first.processInstanceId() == null) {
+            ProcessInstance<?> pi = process.createInstance(process.createModel());
+            if (pi != null) {
+                pi.start(TRIGGER, null);
+            }
+            return true;
+        }
+        Optional<ProcessInstance<?>> pi = process.instances().findById(first.processInstanceId());
+        if (pi.isPresent()) {
+            for (ScheduledJob scheduled : fired) {
+                String[] ids = scheduled.id().split("_");
+                pi.get().send(new TimerSignal(TimerInstance.with(Long.parseLong(ids[1]), scheduled.id(), scheduled.repeatLimit() - 1)));
+            }
+            return true;
+        }
+        // since owning process instance does not exist cancel timers
+        return false;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class Job {
+
+        private volatile ScheduledJob scheduled;
+        private final Process<?> process;
+        private final boolean durable;
+        private volatile boolean cancelled;
+        private TimingWheel.Timeout<Job> timeout;
+
+        private Job(ScheduledJob scheduled, Process<?> process, boolean durable) {
+            this.scheduled = scheduled;
+            this.process = process;
+            this.durable = durable;
+        }
+
+        @Override
+        public String toString() {
+            return scheduled.id();
+        }
+    }
+
+    private static class TimerSignal implements Signal<TimerInstance> {
+
+        private final TimerInstance timer;
+
+        private TimerSignal(TimerInstance timer) {
+            this.timer = timer;
+        }
+
+        @Override
+        public String channel() {
+            return TIMER_TRIGGERED;
+        }
+
+        @Override
+        public TimerInstance payload() {
+            return timer;
+        }
+
+        @Override
+        public String referenceId() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,538 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link JobStore} keeping every partition in an append only journal file of a directory shared by the replicas.
+ * <br/>
+ * A partition is owned by the replica holding the lock of its <code>partition-{n}.lock</code> file, the lock is
+ * released by the operating system when the replica dies so that another replica can claim the partition and
+ * fire its jobs. Each replica claims at most <code>maxOwnedPartitions</code> partitions, usually its
+ * {@link #fairShare(int, int) fair share}, except orphaned partitions that still hold pending jobs which are always
+ * claimed. Cancellations of jobs owned by another
+ * replica are recorded as marker files in the <code>cancelled</code> directory and consumed by the owner.
+ * <br/>
+ * Journal records are laid out as
+ * <pre>
+ * int  length of the payload
+ * int  CRC32 of the payload
+ * payload: byte type, job id and, for stored jobs, process id, process instance id, expiration,
+ *          repeat interval (-1 when not repeatable) and repeat limit
+ * </pre>
+ * Every record is forced to disk before the write returns.
+ * On claim the journal is replayed up to the first incomplete or corrupted record and rewritten with the
+ * pending jobs only, the same compaction happens once the journal holds twice as many records as pending jobs.
+ * <br/>
+ * Pending jobs are not kept in memory, every partition indexes the position of the last record of each pending job
+ * in its journal along with its expiration, and reads the job back from the journal when it is loaded.
+ */
+public class FileSystemJobStore implements JobStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemJobStore.class);
+
+    private static final String PARTITION = "partition-";
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String LOCK_SUFFIX = ".lock";
+    private static final String CANCELLED = "cancelled";
+    private static final byte STORED = 1;
+    private static final byte REMOVED = 2;
+    private static final int COMPACTION_THRESHOLD = 1024;
+    private static final Duration CANCELLED_RETENTION = Duration.ofDays(1);
+
+    private final Path directory;
+    private final Path cancelled;
+    private final int partitions;
+    private final int maxOwnedPartitions;
+    private final Map<Integer, Partition> owned = new ConcurrentHashMap<>();
+    private volatile Partition[] writable = new Partition[0];
+
+    /**
+     * @param directory directory holding the partitions, shared by all the replicas
+     * @param partitions number of partitions, it must not change once jobs are stored
+     * @param maxOwnedPartitions maximum number of partitions claimed by this replica when they are not orphaned
+     */
+    public FileSystemJobStore(Path directory, int partitions, int maxOwnedPartitions) {
+        if (partitions <= 0 || maxOwnedPartitions <= 0) {
+            throw new IllegalArgumentException("Partitions must be positive, partitions: " + partitions + ", max owned partitions: " + maxOwnedPartitions);
+        }
+        this.directory = directory;
+        this.cancelled = directory.resolve(CANCELLED);
+        this.partitions = partitions;
+        this.maxOwnedPartitions = maxOwnedPartitions;
+        try {
+            Files.createDirectories(cancelled);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create job store " + directory, e);
+        }
+    }
+
+    /**
+     * @return number of partitions each replica should claim so that the partitions are spread across all the replicas
+     */
+    public static int fairShare(int partitions, int replicas) {
+        if (partitions <= 0 || replicas <= 0) {
+            throw new IllegalArgumentException("Partitions and replicas must be positive, partitions: " + partitions + ", replicas: " + replicas);
+        }
+        return (partitions + replicas - 1) / replicas;
+    }
+
+    @Override
+    public synchronized Collection<ScheduledJob> claim(long horizon) {
+        List<ScheduledJob> recovered = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            if (!owned.containsKey(i)) {
+                try {
+                    Partition partition = Partition.tryOpen(directory, i, owned.size() < maxOwnedPartitions);
+                    if (partition != null) {
+                        for (String id : partition.ids()) {
+                            if (consumeCancellation(id)) {
+                                partition.remove(id);
+                            }
+                        }
+                        recovered.addAll(partition.load(Long.MIN_VALUE, horizon));
+                        owned.put(i, partition);
+                        LOGGER.debug("Claimed partition {} of job store {} with {} pending jobs", i, directory, partition.size());
+                    }
+                } catch (IOException e) {
+                    LOGGER.error("Unable to claim partition {} of job store {}", i, directory, e);
+                }
+            }
+        }
+        writable = owned.values().toArray(new Partition[0]);
+        purgeCancellations();
+        return recovered;
+    }
+
+    @Override
+    public Collection<ScheduledJob> load(long from, long to) {
+        List<ScheduledJob> loaded = new ArrayList<>();
+        for (Partition partition : writable) {
+            loaded.addAll(partition.load(from, to));
+        }
+        return loaded;
+    }
+
+    @Override
+    public Optional<ScheduledJob> find(String id) {
+        Partition partition = partitionOf(id);
+        return partition == null ? Optional.empty() : Optional.ofNullable(partition.find(id));
+    }
+
+    @Override
+    public void store(ScheduledJob job) {
+        Partition partition = partitionOf(job.id());
+        if (partition == null) {
+            Partition[] candidates = writable;
+            if (candidates.length == 0) {
+                throw new IllegalStateException("No partition of job store " + directory + " is owned, unable to store job " + job.id());
+            }
+            partition = candidates[Math.floorMod(job.id().hashCode(), candidates.length)];
+        }
+        partition.store(job);
+    }
+
+    @Override
+    public boolean remove(String id) {
+        Partition partition = partitionOf(id);
+        if (partition != null && partition.remove(id)) {
+            return true;
+        }
+        try {
+            Files.createFile(cancelled.resolve(id));
+        } catch (FileAlreadyExistsException e) {
+            // already cancelled
+        } catch (IOException e) {
+            LOGGER.error("Unable to record cancellation of job {} in job store {}", id, directory, e);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isScheduled(String id) {
+        Partition partition = partitionOf(id);
+        if (partition == null) {
+            return false;
+        }
+        if (consumeCancellation(id)) {
+            partition.remove(id);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void close() {
+        owned.values().forEach(Partition::close);
+        owned.clear();
+        writable = new Partition[0];
+    }
+
+    /*
+     * a replica owns a handful of partitions, looking the job up in each of them is cheaper than indexing it twice
+     */
+    private Partition partitionOf(String id) {
+        for (Partition partition : writable) {
+            if (partition.contains(id)) {
+                return partition;
+            }
+        }
+        return null;
+    }
+
+    private boolean consumeCancellation(String id) {
+        try {
+            return Files.deleteIfExists(cancelled.resolve(id));
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read cancellation of job {} in job store {}", id, directory, e);
+            return false;
+        }
+    }
+
+    /*
+     * cancellations of jobs that already fired on their owner are never consumed
+     */
+    private void purgeCancellations() {
+        long limit = System.currentTimeMillis() - CANCELLED_RETENTION.toMillis();
+        try (Stream<Path> files = Files.list(cancelled)) {
+            files.filter(file -> file.toFile().lastModified() < limit).forEach(file -> file.toFile().delete());
+        } catch (IOException e) {
+            LOGGER.warn("Unable to purge cancellations of job store {}", directory, e);
+        }
+    }
+
+    private static class Partition {
+
+        private final Path journalFile;
+        private final FileChannel lockChannel;
+        private final FileLock lock;
+        private final Map<String, Entry> index = new HashMap<>();
+        private FileChannel journal;
+        private long size;
+        private int records;
+
+        private Partition(Path journalFile, FileChannel lockChannel, FileLock lock) {
+            this.journalFile = journalFile;
+            this.lockChannel = lockChannel;
+            this.lock = lock;
+        }
+
+        /**
+         * Opens the partition if its lock is available and it is either wanted or orphaned with pending jobs
+         */
+        static Partition tryOpen(Path directory, int number, boolean wanted) throws IOException {
+            FileChannel lockChannel = FileChannel.open(directory.resolve(PARTITION + number + LOCK_SUFFIX), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock;
+            try {
+                lock = lockChannel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                // already owned within this JVM
+                lock = null;
+            }
+            Path journalFile = directory.resolve(PARTITION + number + JOURNAL_SUFFIX);
+            if (lock == null || (!wanted && (!Files.exists(journalFile) || Files.size(journalFile) == 0))) {
+                lockChannel.close();
+                return null;
+            }
+            Partition partition = new Partition(journalFile, lockChannel, lock);
+            try {
+                partition.recover();
+            } catch (IOException | RuntimeException e) {
+                partition.close();
+                throw e;
+            }
+            return partition;
+        }
+
+        synchronized void store(ScheduledJob job) {
+            long position = size;
+            append(encode(job));
+            index.put(job.id(), new Entry(position, job.expiration()));
+            compactIfNeeded();
+        }
+
+        synchronized boolean remove(String id) {
+            if (index.remove(id) != null) {
+                append(encode(REMOVED, id));
+                compactIfNeeded();
+                return true;
+            }
+            return false;
+        }
+
+        synchronized boolean contains(String id) {
+            return index.containsKey(id);
+        }
+
+        synchronized int size() {
+            return index.size();
+        }
+
+        synchronized List<String> ids() {
+            return new ArrayList<>(index.keySet());
+        }
+
+        synchronized ScheduledJob find(String id) {
+            Entry entry = index.get(id);
+            return entry == null ? null : read(id, entry);
+        }
+
+        synchronized List<ScheduledJob> load(long from, long to) {
+            List<ScheduledJob> loaded = new ArrayList<>();
+            index.forEach((id, entry) -> {
+                if (entry.expiration >= from && entry.expiration < to) {
+                    loaded.add(read(id, entry));
+                }
+            });
+            return loaded;
+        }
+
+        synchronized void close() {
+            try {
+                if (journal != null) {
+                    journal.close();
+                }
+                lock.release();
+                lockChannel.close();
+            } catch (IOException e) {
+                LOGGER.warn("Unable to release job store partition {}", journalFile, e);
+            }
+        }
+
+        private void recover() throws IOException {
+            journal = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // the stream must not close the journal, it is read again by the compaction
+            DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(journal.position(0))));
+            while (replay(input)) {
+                // replaying up to the last valid record
+            }
+            compact();
+        }
+
+        private boolean replay(DataInputStream input) throws IOException {
+            byte[] payload;
+            int crc;
+            try {
+                int length = input.readInt();
+                crc = input.readInt();
+                if (length <= 0) {
+                    return false;
+                }
+                payload = new byte[length];
+                input.readFully(payload);
+            } catch (EOFException e) {
+                return false;
+            }
+            if (crc != crc(payload)) {
+                LOGGER.warn("Corrupted record found in job store partition {}, ignoring the rest of the journal", journalFile);
+                return false;
+            }
+            long position = size;
+            size += 8 + payload.length;
+            DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+            byte type = record.readByte();
+            String id = record.readUTF();
+            if (type == STORED) {
+                index.put(id, new Entry(position, decode(id, record).expiration()));
+            } else {
+                index.remove(id);
+            }
+            return true;
+        }
+
+        /*
+         * the record at the position of an index entry was checked when written or replayed
+         */
+        private ScheduledJob read(String id, Entry entry) {
+            try {
+                ByteBuffer header = ByteBuffer.allocate(8);
+                read(header, entry.position);
+                byte[] payload = new byte[header.getInt(0)];
+                read(ByteBuffer.wrap(payload), entry.position + 8);
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                record.readByte();
+                record.readUTF();
+                return decode(id, record);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read job " + id + " from job store partition " + journalFile, e);
+            }
+        }
+
+        private void read(ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                if (journal.read(buffer, position + buffer.position()) < 0) {
+                    throw new EOFException("Unexpected end of job store partition " + journalFile);
+                }
+            }
+        }
+
+        /*
+         * rewrites the journal with the pending jobs, the new journal replaces the old one atomically
+         */
+        private void compact() {
+            Path compacted = journalFile.resolveSibling(journalFile.getFileName() + ".compacted");
+            try {
+                Map<String, Entry> rewritten = new HashMap<>();
+                long position = 0;
+                try (FileChannel channel = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    for (Map.Entry<String, Entry> pending : index.entrySet()) {
+                        ByteBuffer record = encode(read(pending.getKey(), pending.getValue()));
+                        rewritten.put(pending.getKey(), new Entry(position, pending.getValue().expiration));
+                        int length = record.remaining();
+                        write(channel, record, position);
+                        position += length;
+                    }
+                    channel.force(true);
+                }
+                journal.close();
+                Files.move(compacted, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                journal = FileChannel.open(journalFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                index.putAll(rewritten);
+                size = position;
+                records = index.size();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to compact job store partition " + journalFile, e);
+            }
+        }
+
+        private void append(ByteBuffer record) {
+            try {
+                int length = record.remaining();
+                write(journal, record, size);
+                journal.force(false);
+                size += length;
+                records++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write job store partition " + journalFile, e);
+            }
+        }
+
+        private void compactIfNeeded() {
+            if (records > COMPACTION_THRESHOLD && records > 2 * index.size()) {
+                compact();
+            }
+        }
+
+        private static void write(FileChannel channel, ByteBuffer record, long position) throws IOException {
+            while (record.hasRemaining()) {
+                channel.write(record, position + record.position());
+            }
+        }
+
+        private static ScheduledJob decode(String id, DataInputStream record) throws IOException {
+            String processId = emptyToNull(record.readUTF());
+            String processInstanceId = emptyToNull(record.readUTF());
+            long expiration = record.readLong();
+            long repeatInterval = record.readLong();
+            int repeatLimit = record.readInt();
+            return new ScheduledJob(id, processId, processInstanceId, expiration, repeatInterval < 0 ? null : repeatInterval, repeatLimit);
+        }
+
+        private static ByteBuffer encode(ScheduledJob job) {
+            return encode(STORED, job.id(), output -> {
+                output.writeUTF(nullToEmpty(job.processId()));
+                output.writeUTF(nullToEmpty(job.processInstanceId()));
+                output.writeLong(job.expiration());
+                output.writeLong(job.isRepeatable() ? job.repeatInterval() : -1);
+                output.writeInt(job.repeatLimit());
+            });
+        }
+
+        private static ByteBuffer encode(byte type, String id) {
+            return encode(type, id, output -> {
+            });
+        }
+
+        private static ByteBuffer encode(byte type, String id, RecordWriter writer) {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+                DataOutputStream output = new DataOutputStream(bytes);
+                output.writeByte(type);
+                output.writeUTF(id);
+                writer.write(output);
+                byte[] payload = bytes.toByteArray();
+                ByteBuffer record = ByteBuffer.allocate(8 + payload.length);
+                record.putInt(payload.length).putInt(crc(payload)).put(payload).flip();
+                return record;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static int crc(byte[] payload) {
+            CRC32 crc = new CRC32();
+            crc.update(payload, 0, payload.length);
+            return (int) crc.getValue();
+        }
+
+        private static String nullToEmpty(String value) {
+            return value == null ? "" : value;
+        }
+
+        private static String emptyToNull(String value) {
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    private static class Entry {
+
+        private final long position;
+        private final long expiration;
+
+        private Entry(long position, long expiration) {
+            this.position = position;
+            this.expiration = expiration;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+
+        void write(DataOutputStream output) throws IOException;
+    }
+}
@@ -18,6 +18,9 @@ package org.kie.services.jobs.impl;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -36,6 +39,11 @@ import org.kie.kogito.uow.UnitOfWorkManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * {@link JobsService} keeping jobs in memory. Process instance jobs expiring within the same batch window are
+ * coalesced per process instance and fired together in one unit of work, so that the process instance is loaded
+ * and stored once; when such a batch fails its jobs are fired again one at a time, see {@link #metrics()}.
+ */
 public class InMemoryJobService implements JobsService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryJobService.class);
@@ -44,15 +52,31 @@ public class InMemoryJobService implements JobsService {
     protected final ScheduledThreadPoolExecutor scheduler;
     protected final KogitoProcessRuntime processRuntime;
     protected final UnitOfWorkManager unitOfWorkManager;
+    protected final long batchWindow;
 
     protected ConcurrentHashMap<String, ScheduledFuture<?>> scheduledJobs = new ConcurrentHashMap<>();
 
+    private final ConcurrentHashMap<String, List<SignalProcessInstanceOnExpiredTimer>> expiredJobs = new ConcurrentHashMap<>();
+    private final JobFiringMetrics metrics = new JobFiringMetrics();
+
     public InMemoryJobService(KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
         this(1, processRuntime, unitOfWorkManager);
     }
 
     public InMemoryJobService(int threadPoolSize, KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
+        this(threadPoolSize, 0, processRuntime, unitOfWorkManager);
+    }
+
+    /**
+     * @param threadPoolSize number of threads firing jobs
+     * @param batchWindow time in milliseconds an expired process instance job waits for other jobs of its process
+     *        instance before being fired, with <code>0</code> only the jobs already expired are fired together
+     * @param processRuntime runtime of the process instances the jobs belong to
+     * @param unitOfWorkManager manager of the unit of work jobs are fired in
+     */
+    public InMemoryJobService(int threadPoolSize, long batchWindow, KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
         this.scheduler = new ScheduledThreadPoolExecutor(threadPoolSize);
+        this.batchWindow = batchWindow;
         this.processRuntime = processRuntime;
         this.unitOfWorkManager = unitOfWorkManager;
     }
@@ -106,6 +130,13 @@ public class InMemoryJobService implements JobsService {
         return null;
     }
 
+    /**
+     * @return statistics about the batches of process instance jobs fired so far
+     */
+    public JobFiringMetrics metrics() {
+        return metrics;
+    }
+
     protected long calculateDelay(JobDescription description) {
         return Duration.between(ZonedDateTime.now(), description.expirationTime().get()).toMillis();
     }
@@ -140,33 +171,105 @@ public class InMemoryJobService implements JobsService {
             this.limit = limit;
         }
 
+        /*
+         * the job joins the batch of its process instance, the first job of a batch schedules its firing
+         */
         @Override
         public void run() {
-            try {
-                LOGGER.debug("Job {} started", id);
-                UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
-                    ProcessInstance pi = processRuntime.getProcessInstance(processInstanceId);
-                    if (pi != null) {
-                        String[] ids = id.split("_");
-                        limit--;
-                        pi.signalEvent("timerTriggered", TimerInstance.with(Long.valueOf(ids[1]), id, limit));
-                        if (limit == 0) {
-                            scheduledJobs.remove(id).cancel(false);
-                        }
-                    } else {
-                        // since owning process instance does not exist cancel timers
-                        scheduledJobs.remove(id).cancel(false);
-                    }
+            boolean[] first = new boolean[1];
+            expiredJobs.compute(processInstanceId, (key, batch) -> {
+                if (batch == null) {
+                    batch = new ArrayList<>();
+                    first[0] = true;
+                }
+                batch.add(this);
+                return batch;
+            });
+            if (first[0]) {
+                scheduler.schedule(() -> fire(processInstanceId), batchWindow, TimeUnit.MILLISECONDS);
+            }
+        }
 
-                    return null;
-                });
-                LOGGER.debug("Job {} completed", id);
-            } finally {
-                if (removeAtExecution) {
-                    scheduledJobs.remove(id);
+        /*
+         * the limit is only updated once the unit of work succeeded, as the job may be fired again on its own
+         */
+        private void completed(boolean active) {
+            if (!active) {
+                // since owning process instance does not exist cancel timers
+                cancel();
+            } else if (--limit == 0) {
+                cancel();
+            }
+        }
+
+        private void cancel() {
+            ScheduledFuture<?> future = scheduledJobs.remove(id);
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return id;
+        }
+    }
+
+    private void fire(String processInstanceId) {
+        List<SignalProcessInstanceOnExpiredTimer> batch = expiredJobs.remove(processInstanceId);
+        // jobs cancelled while waiting for their batch are skipped
+        batch.removeIf(job -> !scheduledJobs.containsKey(job.id));
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            if (!execute(processInstanceId, batch)) {
+                if (batch.size() > 1) {
+                    // one failing job must not hold back the other jobs of its process instance
+                    LOGGER.warn("Jobs {} failed together, firing them one at a time", batch);
+                    batch.forEach(job -> execute(processInstanceId, Collections.singletonList(job)));
+                }
+            }
+        } finally {
+            for (SignalProcessInstanceOnExpiredTimer job : batch) {
+                if (job.removeAtExecution) {
+                    scheduledJobs.remove(job.id);
                 }
             }
+            metrics.record(batch.size(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Signals the given jobs to their process instance in one unit of work and completes them when it succeeds
+     *
+     * @return <code>false</code> if the unit of work failed
+     */
+    private boolean execute(String processInstanceId, List<SignalProcessInstanceOnExpiredTimer> batch) {
+        boolean active;
+        try {
+            LOGGER.debug("Jobs {} started", batch);
+            active = UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+                ProcessInstance pi = processRuntime.getProcessInstance(processInstanceId);
+                if (pi == null) {
+                    return false;
+                }
+                for (SignalProcessInstanceOnExpiredTimer job : batch) {
+                    String[] ids = job.id.split("_");
+                    pi.signalEvent("timerTriggered", TimerInstance.with(Long.valueOf(ids[1]), job.id, job.limit - 1));
+                }
+                return true;
+            }, UnitOfWorkExecutor.DEFAULT_MAX_RETRIES);
+            LOGGER.debug("Jobs {} completed", batch);
+        } catch (RuntimeException e) {
+            LOGGER.error("Jobs {} failed", batch, e);
+            return false;
+        }
+        for (SignalProcessInstanceOnExpiredTimer job : batch) {
+            job.completed(active);
         }
+        return true;
     }
 
     private class StartProcessOnExpiredTimer implements Runnable {
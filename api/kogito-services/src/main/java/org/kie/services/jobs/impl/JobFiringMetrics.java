@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the batches fired by {@link DurableJobService} and {@link InMemoryJobService}, each batch holds
+ * the jobs of one process instance expired together and is fired in a single unit of work.
+ */
+public class JobFiringMetrics {
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder jobs = new LongAdder();
+    private final LongAdder firingTime = new LongAdder();
+    private final AtomicLong maxBatchSize = new AtomicLong();
+
+    void record(int batchSize, long nanos) {
+        batches.increment();
+        jobs.add(batchSize);
+        firingTime.add(nanos);
+        maxBatchSize.accumulateAndGet(batchSize, Math::max);
+    }
+
+    public long batches() {
+        return batches.sum();
+    }
+
+    public long firedJobs() {
+        return jobs.sum();
+    }
+
+    public long maxBatchSize() {
+        return maxBatchSize.get();
+    }
+
+    public double averageBatchSize() {
+        long count = batches.sum();
+        return count == 0 ? 0 : (double) jobs.sum() / count;
+    }
+
+    /**
+     * @return total time spent firing batches, including their units of work, in the given unit
+     */
+    public long firingTime(TimeUnit unit) {
+        return unit.convert(firingTime.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "JobFiringMetrics{" +
+                "batches=" + batches() +
+                ", firedJobs=" + firedJobs() +
+                ", maxBatchSize=" + maxBatchSize() +
+                ", firingTime=" + firingTime(TimeUnit.MILLISECONDS) + "ms" +
+                '}';
+    }
+}
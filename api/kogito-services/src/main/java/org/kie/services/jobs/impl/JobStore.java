@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Persistent storage of the process instance jobs scheduled by {@link DurableJobService}.
+ * <br/>
+ * Jobs are split in partitions and every replica sharing the store owns a subset of them, only the owner
+ * of a partition stores and fires its jobs. Jobs owned by another replica can still be cancelled with
+ * {@link #remove(String)}, the owner is expected to honour the cancellation before firing the job.
+ * <br/>
+ * Only the jobs expiring soon are handed out, so that the pending jobs do not have to be kept in memory, the later ones
+ * are read with {@link #load(long, long)} as time goes by.
+ */
+public interface JobStore extends Closeable {
+
+    /**
+     * Acquires the partitions that are not owned by any live replica.
+     *
+     * @param horizon time in milliseconds up to which pending jobs are returned
+     * @return pending jobs of the newly acquired partitions expiring before the horizon
+     */
+    Collection<ScheduledJob> claim(long horizon);
+
+    /**
+     * Acquires the partitions that are not owned by any live replica.
+     *
+     * @return all the pending jobs of the newly acquired partitions
+     */
+    default Collection<ScheduledJob> claim() {
+        return claim(Long.MAX_VALUE);
+    }
+
+    /**
+     * Reads the pending jobs of the owned partitions expiring within the given time range.
+     *
+     * @param from time in milliseconds from which jobs are returned, inclusive
+     * @param to time in milliseconds up to which jobs are returned, exclusive
+     */
+    Collection<ScheduledJob> load(long from, long to);
+
+    /**
+     * Reads the given pending job, if owned.
+     */
+    Optional<ScheduledJob> find(String id);
+
+    /**
+     * Stores a new job, or its next execution, in one of the owned partitions.
+     *
+     * @throws IllegalStateException if no partition is owned
+     */
+    void store(ScheduledJob job);
+
+    /**
+     * Removes the given job, whatever partition it belongs to.
+     *
+     * @return <code>true</code> if the job was owned, or the cancellation has been recorded for its owner
+     */
+    boolean remove(String id);
+
+    /**
+     * Returns <code>true</code> if the given job is owned and has not been cancelled by any replica.
+     */
+    boolean isScheduled(String id);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.util.Objects;
+
+/**
+ * Pending job as kept by a {@link JobStore}, the expiration time is given in epoch milliseconds.
+ */
+public final class ScheduledJob {
+
+    private final String id;
+    private final String processId;
+    private final String processInstanceId;
+    private final long expiration;
+    private final Long repeatInterval;
+    private final int repeatLimit;
+
+    public ScheduledJob(String id, String processId, String processInstanceId, long expiration, Long repeatInterval, int repeatLimit) {
+        this.id = Objects.requireNonNull(id);
+        this.processId = processId;
+        this.processInstanceId = processInstanceId;
+        this.expiration = expiration;
+        this.repeatInterval = repeatInterval;
+        this.repeatLimit = repeatLimit;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String processId() {
+        return processId;
+    }
+
+    public String processInstanceId() {
+        return processInstanceId;
+    }
+
+    public long expiration() {
+        return expiration;
+    }
+
+    public Long repeatInterval() {
+        return repeatInterval;
+    }
+
+    /**
+     * Number of remaining executions of a repeatable job, decremented on every execution
+     */
+    public int repeatLimit() {
+        return repeatLimit;
+    }
+
+    public boolean isRepeatable() {
+        return repeatInterval != null;
+    }
+
+    /**
+     * Returns the next execution of this repeatable job
+     */
+    public ScheduledJob next() {
+        return new ScheduledJob(id, processId, processInstanceId, expiration + repeatInterval, repeatInterval, repeatLimit - 1);
+    }
+
+    /**
+     * Returns the same execution of this job postponed to the given expiration
+     */
+    public ScheduledJob postpone(long expiration) {
+        return new ScheduledJob(id, processId, processInstanceId, expiration, repeatInterval, repeatLimit);
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduledJob{" +
+                "id='" + id + '\'' +
+                ", processId='" + processId + '\'' +
+                ", processInstanceId='" + processInstanceId + '\'' +
+                ", expiration=" + expiration +
+                ", repeatInterval=" + repeatInterval +
+                ", repeatLimit=" + repeatLimit +
+                '}';
+    }
+}
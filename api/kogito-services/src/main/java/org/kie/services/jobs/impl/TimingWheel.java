@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel. Each level has <code>wheelSize</code> buckets of one tick each, timeouts due after
+ * the span of a level are kept by the next level, whose tick is the span of the previous one, and cascade
+ * down as the clock advances. Adding and cancelling a timeout is O(1) whatever the number of pending timeouts.
+ * <br/>
+ * This class is not thread safe, callers are expected to synchronize access.
+ */
+final class TimingWheel<T> {
+
+    static final class Timeout<T> {
+
+        private final T item;
+        private final long expiration;
+        private Collection<Timeout<T>> bucket;
+
+        private Timeout(T item, long expiration) {
+            this.item = item;
+            this.expiration = expiration;
+        }
+
+        T item() {
+            return item;
+        }
+
+        long expiration() {
+            return expiration;
+        }
+    }
+
+    private final long tick;
+    private final int wheelSize;
+    private final long interval;
+    private final Set<Timeout<T>>[] buckets;
+    private long currentTime;
+    private TimingWheel<T> overflow;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tick, int wheelSize, long startTime) {
+        this.tick = tick;
+        this.wheelSize = wheelSize;
+        this.interval = tick * wheelSize;
+        this.buckets = new Set[wheelSize];
+        this.currentTime = startTime - (startTime % tick);
+    }
+
+    /**
+     * Adds a timeout for the given item
+     *
+     * @return the timeout, or <code>null</code> when the expiration time falls in the current tick
+     */
+    Timeout<T> add(T item, long expiration) {
+        Timeout<T> timeout = new Timeout<>(item, expiration);
+        return add(timeout) ? timeout : null;
+    }
+
+    void cancel(Timeout<T> timeout) {
+        if (timeout.bucket != null) {
+            timeout.bucket.remove(timeout);
+            timeout.bucket = null;
+        }
+    }
+
+    /**
+     * Advances the clock up to the given time, passing the items of expired timeouts to the given consumer
+     */
+    void advanceClock(long time, Consumer<T> expired) {
+        advance(time, timeout -> expired.accept(timeout.item));
+    }
+
+    private boolean add(Timeout<T> timeout) {
+        if (timeout.expiration < currentTime + tick) {
+            return false;
+        }
+        if (timeout.expiration < currentTime + interval) {
+            int index = index(timeout.expiration);
+            Set<Timeout<T>> bucket = buckets[index];
+            if (bucket == null) {
+                bucket = new HashSet<>();
+                buckets[index] = bucket;
+            }
+            bucket.add(timeout);
+            timeout.bucket = bucket;
+            return true;
+        }
+        if (overflow == null) {
+            overflow = new TimingWheel<>(interval, wheelSize, currentTime);
+        }
+        return overflow.add(timeout);
+    }
+
+    private void advance(long time, Consumer<Timeout<T>> expired) {
+        while (time >= currentTime + tick) {
+            currentTime += tick;
+            if (overflow != null) {
+                overflow.advance(currentTime, timeout -> reinsert(timeout, expired));
+            }
+            int index = index(currentTime);
+            Set<Timeout<T>> bucket = buckets[index];
+            if (bucket != null) {
+                buckets[index] = null;
+                for (Timeout<T> timeout : bucket) {
+                    reinsert(timeout, expired);
+                }
+            }
+        }
+    }
+
+    private void reinsert(Timeout<T> timeout, Consumer<Timeout<T>> expired) {
+        timeout.bucket = null;
+        if (!add(timeout)) {
+            expired.accept(timeout);
+        }
+    }
+
+    private int index(long time) {
+        return (int) ((time / tick) % wheelSize);
+    }
+}
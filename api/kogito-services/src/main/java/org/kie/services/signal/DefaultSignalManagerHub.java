@@ -55,6 +55,7 @@ public class DefaultSignalManagerHub implements SignalManagerHub {
     public void subscribe(String type, SignalManager signalManager) {
         this.signalManagers.compute(type, (k, v) -> {
             if (v == null) {
+                // signal managers subscribe once per signal they have listeners for, so the set rarely changes
                 v = new CopyOnWriteArraySet<>();
             }
             v.add(signalManager);
@@ -66,10 +67,7 @@ public class DefaultSignalManagerHub implements SignalManagerHub {
     public void unsubscribe(String type, SignalManager signalManager) {
         this.signalManagers.computeIfPresent(type, (k, v) -> {
             v.remove(signalManager);
-            if (v.isEmpty()) {
-                signalManagers.remove(type);
-            }
-            return v;
+            return v.isEmpty() ? null : v;
         });
     }
 
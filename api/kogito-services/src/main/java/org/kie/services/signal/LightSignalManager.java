@@ -15,66 +15,72 @@
  */
 package org.kie.services.signal;
 
-import java.util.Collections;
-import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.kie.api.runtime.process.EventListener;
 import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.kogito.signal.SignalManager;
 import org.kie.kogito.signal.SignalManagerHub;
 
+/**
+ * Signal manager of a process runtime, listeners are indexed by the signal they wait for
+ * (instance scoped signals such as <code>processInstanceCompleted:{id}</code> carry the correlation
+ * in their name) so a signal only visits its own listeners. The manager is subscribed to the hub while
+ * it has listeners for a signal, signals without local listeners are published to the hub.
+ */
 public class LightSignalManager implements SignalManager {
 
     private SignalManagerHub signalManagerHub;
-	private final EventListenerResolver instanceResolver;
-	private ConcurrentHashMap<String, List<EventListener>> listeners = new ConcurrentHashMap<>();
+    private final EventListenerResolver instanceResolver;
+    private ConcurrentHashMap<String, SignalListeners> listeners = new ConcurrentHashMap<>();
+
+    public LightSignalManager(EventListenerResolver instanceResolver, SignalManagerHub signalManagerHub) {
+        this.instanceResolver = instanceResolver;
+        this.signalManagerHub = signalManagerHub;
+    }
+
+    public void addEventListener(String type, EventListener eventListener) {
+        listeners.compute(type, (k, v) -> {
+            if (v == null) {
+                v = new SignalListeners();
+                signalManagerHub.subscribe(type, this);
+            }
+            v.add(eventListener);
+            return v;
+        });
+    }
 
-	public LightSignalManager(EventListenerResolver instanceResolver, SignalManagerHub signalManagerHub) {
-		this.instanceResolver = instanceResolver;
-		this.signalManagerHub = signalManagerHub;
-	}
-	
-	public void addEventListener(String type, EventListener eventListener) {
-		listeners.compute(type, (k, v) -> {
-			if (v == null) {
-				v = new CopyOnWriteArrayList<>();
-			}
-			v.add(eventListener);
-			return v;
-		});
-		signalManagerHub.subscribe(type, this);
-	}
-	
-	public void removeEventListener(String type, EventListener eventListener) {
-		listeners.computeIfPresent(type, (k, v) -> {
-			v.remove(eventListener);
-			if (v.isEmpty()) {
-			    listeners.remove(type);
-			}
-			return v;
-		});
-		signalManagerHub.unsubscribe(type, this);
-	}
-	
-	public void signalEvent(String type, Object event) {
-	    if (!listeners.containsKey(type)) {
-			if (event instanceof ProcessInstance && listeners.containsKey(((ProcessInstance) event).getProcessId())) {
-				listeners.getOrDefault(((ProcessInstance) event).getProcessId(), Collections.emptyList())
-						.forEach(e -> e.signalEvent(type, event));
-				return;
-			}
-	        signalManagerHub.publish(type, event);
-	    }
-	    listeners.getOrDefault(type, Collections.emptyList())
-				.forEach(e -> e.signalEvent(type, event));
-	}
+    public void removeEventListener(String type, EventListener eventListener) {
+        listeners.computeIfPresent(type, (k, v) -> {
+            v.remove(eventListener);
+            if (v.isEmpty()) {
+                signalManagerHub.unsubscribe(type, this);
+                return null;
+            }
+            return v;
+        });
+    }
+
+    public void signalEvent(String type, Object event) {
+        SignalListeners typeListeners = listeners.get(type);
+        if (typeListeners == null) {
+            if (event instanceof ProcessInstance) {
+                SignalListeners processListeners = listeners.get(((ProcessInstance) event).getProcessId());
+                if (processListeners != null) {
+                    processListeners.signal(type, event);
+                    return;
+                }
+            }
+            signalManagerHub.publish(type, event);
+            return;
+        }
+        typeListeners.signal(type, event);
+    }
 
-	public void signalEvent(String processInstanceId, String type, Object event) {
-		instanceResolver.find(processInstanceId)
-				.ifPresent(signalable -> signalable.signalEvent(type, event));
-	}
+    public void signalEvent(String processInstanceId, String type, Object event) {
+        instanceResolver.find(processInstanceId)
+                .ifPresent(signalable -> signalable.signalEvent(type, event));
+    }
 
     @Override
     public boolean accept(String type, Object event) {
@@ -83,6 +89,6 @@ public class LightSignalManager implements SignalManager {
         }
         // handle processInstance events that are registered as child processes
         return event instanceof ProcessInstance &&
-				listeners.containsKey(((ProcessInstance) event).getProcessId());
-    }	
+                listeners.containsKey(((ProcessInstance) event).getProcessId());
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.signal;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.kie.api.runtime.process.EventListener;
+
+/**
+ * Listeners registered for one signal, delivered in registration order. Adding and removing a listener
+ * takes logarithmic time without copying the other registrations, and delivery does not block them.
+ * A signal is only delivered to the listeners registered when its delivery starts, so a listener registered
+ * again from its own {@link EventListener#signalEvent(String, Object)} does not receive the same signal twice;
+ * listeners removed while a signal is delivered may or may not receive it.
+ * A listener added twice receives signals twice until it is removed twice.
+ */
+class SignalListeners {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentSkipListMap<Long, EventListener> ordered = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<EventListener, long[]> registrations = new ConcurrentHashMap<>();
+
+    void add(EventListener listener) {
+        long registration = sequence.incrementAndGet();
+        ordered.put(registration, listener);
+        registrations.merge(listener, new long[] { registration }, (current, added) -> {
+            long[] merged = Arrays.copyOf(current, current.length + 1);
+            merged[current.length] = added[0];
+            return merged;
+        });
+    }
+
+    boolean remove(EventListener listener) {
+        long[] removed = new long[1];
+        registrations.computeIfPresent(listener, (key, current) -> {
+            removed[0] = current[0];
+            return current.length == 1 ? null : Arrays.copyOfRange(current, 1, current.length);
+        });
+        return removed[0] != 0 && ordered.remove(removed[0]) != null;
+    }
+
+    boolean isEmpty() {
+        return ordered.isEmpty();
+    }
+
+    int size() {
+        return ordered.size();
+    }
+
+    void signal(String type, Object event) {
+        for (EventListener listener : ordered.headMap(sequence.get(), true).values()) {
+            listener.signalEvent(type, event);
+        }
+    }
+}
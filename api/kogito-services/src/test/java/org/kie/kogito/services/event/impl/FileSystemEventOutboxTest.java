@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.event.impl;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.services.event.ProcessInstanceDataEvent;
+
+import static java.util.Collections.singletonMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileSystemEventOutboxTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testAppendAcknowledge() {
+        DataEvent<?> first = event("first");
+        DataEvent<?> second = event("second");
+        DataEvent<?> third = event("third");
+        try (FileSystemEventOutbox outbox = new FileSystemEventOutbox(directory)) {
+            outbox.append(Arrays.asList(first, second));
+            outbox.append(Arrays.asList(third));
+            assertThat(outbox.size()).isEqualTo(3);
+
+            List<DataEvent<?>> pending = outbox.pending(2);
+            assertThat(ids(pending)).containsExactly(first.getId(), second.getId());
+            assertThat(pending.get(0).getType()).isEqualTo("ProcessInstanceEvent");
+            assertThat(((SpooledDataEvent) pending.get(0)).getData().get("id").asText()).isEqualTo("first");
+
+            outbox.acknowledge(1);
+            assertThat(ids(outbox.pending(10))).containsExactly(second.getId(), third.getId());
+            assertThat(outbox.size()).isEqualTo(2);
+        }
+        // not acknowledged events are relayed again after a restart
+        try (FileSystemEventOutbox outbox = new FileSystemEventOutbox(directory)) {
+            assertThat(outbox.size()).isEqualTo(2);
+            assertThat(ids(outbox.pending(10))).containsExactly(second.getId(), third.getId());
+            outbox.acknowledge(2);
+            assertThat(outbox.size()).isZero();
+            assertThat(outbox.pending(10)).isEmpty();
+        }
+    }
+
+    @Test
+    public void testSegments() throws IOException {
+        try (FileSystemEventOutbox outbox = new FileSystemEventOutbox(directory, 256, false)) {
+            for (int i = 0; i < 20; i++) {
+                outbox.append(Arrays.asList(event("pi-" + i)));
+            }
+            assertThat(segments()).isGreaterThan(2);
+            while (outbox.size() > 0) {
+                outbox.acknowledge(outbox.pending(3).size());
+            }
+            assertThat(segments()).isOne();
+        }
+    }
+
+    @Test
+    public void testTornRecord() throws IOException {
+        DataEvent<?> event = event("first");
+        try (FileSystemEventOutbox outbox = new FileSystemEventOutbox(directory)) {
+            outbox.append(Arrays.asList(event, event("second")));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(file -> file.toString().endsWith(".log")).findFirst().get();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        try (FileSystemEventOutbox outbox = new FileSystemEventOutbox(directory)) {
+            assertThat(outbox.size()).isOne();
+            assertThat(ids(outbox.pending(10))).containsExactly(event.getId());
+        }
+    }
+
+    @Test
+    public void testDeadLetter() throws IOException {
+        DataEvent<?> first = event("first");
+        DataEvent<?> second = event("second");
+        try (FileSystemEventOutbox outbox = new FileSystemEventOutbox(directory)) {
+            outbox.append(Arrays.asList(first, second));
+            outbox.deadLetter(outbox.pending(1));
+            assertThat(ids(outbox.pending(10))).containsExactly(second.getId());
+            assertThat(outbox.size()).isOne();
+        }
+        List<String> deadLetters = Files.readAllLines(directory.resolve("dead-letter.jsonl"));
+        assertThat(deadLetters).hasSize(1);
+        assertThat(deadLetters.get(0)).contains(first.getId());
+    }
+
+    static DataEvent<?> event(String processInstanceId) {
+        ProcessInstanceEventBody body = ProcessInstanceEventBody.create().id(processInstanceId).processId("travels").state(1).build();
+        return new ProcessInstanceDataEvent("/travels", "", body.metaData(), body);
+    }
+
+    private static List<String> ids(List<DataEvent<?>> events) {
+        return events.stream().map(DataEvent::getId).collect(Collectors.toList());
+    }
+
+    private long segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".log")).count();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.event.impl;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.EventBatch;
+import org.kie.kogito.event.EventEncodingException;
+import org.kie.kogito.event.EventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.services.event.impl.FileSystemEventOutboxTest.event;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OutboxEventManagerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRelayAtLeastOnce() throws InterruptedException {
+        DataEvent<?> event = event("pi");
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch acknowledged = new CountDownLatch(1);
+
+        OutboxEventManager eventManager = new OutboxEventManager(new FileSystemEventOutbox(directory) {
+            @Override
+            public synchronized void acknowledge(int count) {
+                super.acknowledge(count);
+                acknowledged.countDown();
+            }
+        });
+        try {
+            // events published before the publishers are registered wait in the outbox
+            eventManager.publish(batch(event));
+            assertThat(eventManager.pending()).isOne();
+
+            eventManager.addPublisher(new TestPublisher(events -> {
+                events.forEach(e -> delivered.add(e.getId()));
+                CompletableFuture<Void> delivery = new CompletableFuture<>();
+                if (attempts.incrementAndGet() == 1) {
+                    delivery.completeExceptionally(new IllegalStateException("broker unavailable"));
+                } else {
+                    delivery.complete(null);
+                }
+                return delivery;
+            }));
+
+            assertThat(acknowledged.await(10, TimeUnit.SECONDS)).isTrue();
+            // redelivered with the same id after the failure, acknowledged once the delivery is confirmed
+            assertThat(delivered).containsExactly(event.getId(), event.getId());
+            assertThat(eventManager.pending()).isZero();
+        } finally {
+            eventManager.close();
+        }
+    }
+
+    @Test
+    public void testPoisonEventIsDeadLettered() throws InterruptedException {
+        DataEvent<?> first = event("first");
+        DataEvent<?> poison = event("poison");
+        DataEvent<?> last = event("last");
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        List<String> deadLettered = new CopyOnWriteArrayList<>();
+        CountDownLatch acknowledged = new CountDownLatch(3);
+
+        OutboxEventManager eventManager = new OutboxEventManager(new FileSystemEventOutbox(directory) {
+            @Override
+            public synchronized void acknowledge(int count) {
+                super.acknowledge(count);
+                for (int i = 0; i < count; i++) {
+                    acknowledged.countDown();
+                }
+            }
+
+            @Override
+            public synchronized void deadLetter(List<DataEvent<?>> events) {
+                events.forEach(e -> deadLettered.add(e.getId()));
+                super.deadLetter(events);
+            }
+        }, 10, 2);
+        try {
+            eventManager.addPublisher(new TestPublisher(events -> {
+                CompletableFuture<Void> delivery = new CompletableFuture<>();
+                if (events.stream().anyMatch(e -> e.getId().equals(poison.getId()))) {
+                    delivery.completeExceptionally(new IllegalArgumentException("poison"));
+                } else {
+                    events.forEach(e -> delivered.add(e.getId()));
+                    delivery.complete(null);
+                }
+                return delivery;
+            }));
+            eventManager.publish(batch(first, poison, last));
+
+            assertThat(acknowledged.await(10, TimeUnit.SECONDS)).isTrue();
+            // the last event is delivered once to tell the poison event from an outage and again once it is relayed
+            assertThat(delivered).containsExactly(first.getId(), last.getId(), last.getId());
+            assertThat(deadLettered).containsExactly(poison.getId());
+            assertThat(eventManager.pending()).isZero();
+        } finally {
+            eventManager.close();
+        }
+    }
+
+    @Test
+    public void testEventNotEncodedIsDeadLettered() throws InterruptedException {
+        DataEvent<?> poison = event("poison");
+        DataEvent<?> last = event("last");
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        List<String> deadLettered = new CopyOnWriteArrayList<>();
+        CountDownLatch acknowledged = new CountDownLatch(2);
+
+        OutboxEventManager eventManager = new OutboxEventManager(new FileSystemEventOutbox(directory) {
+            @Override
+            public synchronized void acknowledge(int count) {
+                super.acknowledge(count);
+                for (int i = 0; i < count; i++) {
+                    acknowledged.countDown();
+                }
+            }
+
+            @Override
+            public synchronized void deadLetter(List<DataEvent<?>> events) {
+                events.forEach(e -> deadLettered.add(e.getId()));
+                super.deadLetter(events);
+            }
+        }, 10, 10);
+        try {
+            eventManager.addPublisher(new TestPublisher(events -> {
+                CompletableFuture<Void> delivery = new CompletableFuture<>();
+                if (events.stream().anyMatch(e -> e.getId().equals(poison.getId()))) {
+                    delivery.completeExceptionally(new EventEncodingException(poison.getId(), new IllegalArgumentException("poison")));
+                } else {
+                    events.forEach(e -> delivered.add(e.getId()));
+                    delivery.complete(null);
+                }
+                return delivery;
+            }));
+            eventManager.publish(batch(poison, last));
+
+            // dead lettered on the first attempt, without waiting for max attempts
+            assertThat(acknowledged.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(delivered).containsExactly(last.getId());
+            assertThat(deadLettered).containsExactly(poison.getId());
+        } finally {
+            eventManager.close();
+        }
+    }
+
+    @Test
+    public void testEventsAreNotDeadLetteredDuringOutage() throws InterruptedException {
+        DataEvent<?> first = event("first");
+        DataEvent<?> last = event("last");
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        List<String> deadLettered = new CopyOnWriteArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch acknowledged = new CountDownLatch(2);
+
+        OutboxEventManager eventManager = new OutboxEventManager(new FileSystemEventOutbox(directory) {
+            @Override
+            public synchronized void acknowledge(int count) {
+                super.acknowledge(count);
+                for (int i = 0; i < count; i++) {
+                    acknowledged.countDown();
+                }
+            }
+
+            @Override
+            public synchronized void deadLetter(List<DataEvent<?>> events) {
+                events.forEach(e -> deadLettered.add(e.getId()));
+                super.deadLetter(events);
+            }
+        }, 10, 2);
+        try {
+            eventManager.addPublisher(new TestPublisher(events -> {
+                CompletableFuture<Void> delivery = new CompletableFuture<>();
+                if (attempts.incrementAndGet() <= 5) {
+                    delivery.completeExceptionally(new IllegalStateException("broker unavailable"));
+                } else {
+                    events.forEach(e -> delivered.add(e.getId()));
+                    delivery.complete(null);
+                }
+                return delivery;
+            }));
+            eventManager.publish(batch(first, last));
+
+            // the first event fails past max attempts but is delivered once the following one could be
+            assertThat(acknowledged.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(delivered).containsExactly(last.getId(), first.getId(), last.getId());
+            assertThat(deadLettered).isEmpty();
+        } finally {
+            eventManager.close();
+        }
+    }
+
+    private static EventBatch batch(DataEvent<?>... events) {
+        EventBatch batch = mock(EventBatch.class);
+        when(batch.events()).thenReturn(Arrays.asList(events));
+        return batch;
+    }
+
+    private static class TestPublisher implements EventPublisher {
+
+        private final Function<Collection<DataEvent<?>>, CompletableFuture<Void>> delivery;
+
+        TestPublisher(Function<Collection<DataEvent<?>>, CompletableFuture<Void>> delivery) {
+            this.delivery = delivery;
+        }
+
+        @Override
+        public void publish(DataEvent<?> event) {
+            publish(Collections.singletonList(event));
+        }
+
+        @Override
+        public void publish(Collection<DataEvent<?>> events) {
+            delivery.apply(events).join();
+        }
+
+        @Override
+        public CompletionStage<Void> deliver(Collection<DataEvent<?>> events) {
+            return delivery.apply(events);
+        }
+    }
+}
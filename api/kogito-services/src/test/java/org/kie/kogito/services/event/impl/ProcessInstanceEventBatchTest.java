@@ -16,9 +16,18 @@
 
 package org.kie.kogito.services.event.impl;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
+import org.kie.api.definition.process.Process;
+import org.kie.kogito.Addons;
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.internal.process.event.KogitoProcessVariableChangedEvent;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.process.flexible.Milestone;
 import org.kie.kogito.internal.process.runtime.KogitoWorkflowProcessInstance;
+import org.kie.kogito.services.event.ProcessInstanceDataEvent;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
@@ -26,6 +35,7 @@ import static java.util.Collections.singleton;
 import static java.util.Collections.singletonMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.kie.kogito.process.flexible.ItemDescription.Status;
 import static org.kie.kogito.services.event.impl.ProcessInstanceEventBody.PROCESS_ID_META_DATA;
 import static org.mockito.Mockito.mock;
@@ -73,4 +83,88 @@ public class ProcessInstanceEventBatchTest {
         MilestoneEventBody milestoneEventBody = MilestoneEventBody.create().id("id").name("name").status(Status.AVAILABLE.name()).build();
         assertThat(batch.createMilestones(pi)).containsOnly(milestoneEventBody);
     }
+
+    @Test
+    public void testVariableSnapshots() {
+        VariableSnapshotPolicy snapshots = new VariableSnapshotPolicy(3);
+
+        assertThat(snapshots.snapshot("pi", true)).isTrue();
+        assertThat(snapshots.snapshot("pi", true)).isFalse();
+        assertThat(snapshots.snapshot("pi", true)).isFalse();
+        assertThat(snapshots.snapshot("pi", true)).isTrue();
+        assertThat(snapshots.snapshot("pi", true)).isFalse();
+        assertThat(snapshots.snapshot("pi", false)).isTrue();
+        assertThat(snapshots.snapshot("pi", true)).isTrue();
+
+        assertThat(new VariableSnapshotPolicy().snapshot("pi", true)).isTrue();
+        assertThatIllegalArgumentException().isThrownBy(() -> new VariableSnapshotPolicy(0));
+    }
+
+    @Test
+    public void testVariableDiffs() {
+        VariableSnapshotPolicy snapshots = new VariableSnapshotPolicy(10);
+        KogitoWorkflowProcessInstance pi = mockProcessInstance(singletonMap("name", "first"));
+
+        ProcessInstanceEventBody started = processInstanceEvent(snapshots, variableChanged(pi, "name", null, "first"));
+        assertThat(started.getVariables()).containsEntry("name", "first");
+        assertThat(started.getVariableDiffs()).isNull();
+
+        ProcessInstanceEventBody updated = processInstanceEvent(snapshots,
+                                                                variableChanged(pi, "name", "first", "second"),
+                                                                variableChanged(pi, "name", "second", "third"),
+                                                                variableChanged(pi, "1:local", null, "value"));
+        assertThat(updated.getVariables()).isNull();
+        assertThat(updated.getVariableDiffs()).containsOnlyKeys("name");
+        assertThat(updated.getVariableDiffs().get("name").getOldValue()).isEqualTo("first");
+        assertThat(updated.getVariableDiffs().get("name").getNewValue()).isEqualTo("third");
+
+        when(pi.getState()).thenReturn(KogitoProcessInstance.STATE_COMPLETED);
+        ProcessInstanceEventBody completed = processInstanceEvent(snapshots, variableChanged(pi, "name", "third", "last"));
+        assertThat(completed.getVariables()).isNotNull();
+        assertThat(completed.getVariableDiffs()).isNull();
+    }
+
+    @Test
+    public void testAllVariablesByDefault() {
+        KogitoWorkflowProcessInstance pi = mockProcessInstance(singletonMap("name", "first"));
+        ProcessInstanceEventBatch batch = new ProcessInstanceEventBatch(null, Addons.EMTPY);
+        batch.append(variableChanged(pi, "name", null, "first"));
+        batch.events();
+        batch.append(variableChanged(pi, "name", "first", "second"));
+
+        ProcessInstanceEventBody body = (ProcessInstanceEventBody) batch.events().iterator().next().getData();
+        assertThat(body.getVariables()).containsEntry("name", "first");
+        assertThat(body.getVariableDiffs()).isNull();
+    }
+
+    private static ProcessInstanceEventBody processInstanceEvent(VariableSnapshotPolicy snapshots, KogitoProcessVariableChangedEvent... events) {
+        ProcessInstanceEventBatch batch = new ProcessInstanceEventBatch(null, Addons.EMTPY, snapshots);
+        for (KogitoProcessVariableChangedEvent event : events) {
+            batch.append(event);
+        }
+        Collection<DataEvent<?>> dataEvents = batch.events();
+        assertThat(dataEvents).hasSize(1).first().isInstanceOf(ProcessInstanceDataEvent.class);
+        return (ProcessInstanceEventBody) dataEvents.iterator().next().getData();
+    }
+
+    private static KogitoWorkflowProcessInstance mockProcessInstance(Map<String, Object> variables) {
+        KogitoWorkflowProcessInstance pi = mock(KogitoWorkflowProcessInstance.class);
+        Process process = mock(Process.class);
+        when(pi.getStringId()).thenReturn("pi");
+        when(pi.getProcessId()).thenReturn("travels");
+        when(pi.getState()).thenReturn(KogitoProcessInstance.STATE_ACTIVE);
+        when(pi.getVariables()).thenReturn(variables);
+        when(pi.getProcess()).thenReturn(process);
+        when(process.getMetaData()).thenReturn(emptyMap());
+        return pi;
+    }
+
+    private static KogitoProcessVariableChangedEvent variableChanged(KogitoWorkflowProcessInstance pi, String id, Object oldValue, Object newValue) {
+        KogitoProcessVariableChangedEvent event = mock(KogitoProcessVariableChangedEvent.class);
+        when(event.getProcessInstance()).thenReturn(pi);
+        when(event.getVariableId()).thenReturn(id);
+        when(event.getOldValue()).thenReturn(oldValue);
+        when(event.getNewValue()).thenReturn(newValue);
+        return event;
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.uow;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit.Operation;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class BatchingUnitOfWorkTest {
+
+    private UnitOfWorkManager unitOfWorkManager;
+    private MutableProcessInstances instances;
+    private Process process;
+
+    @BeforeEach
+    public void setup() {
+        unitOfWorkManager = new DefaultUnitOfWorkManager(new BatchingUnitOfWorkFactory());
+        instances = mock(MutableProcessInstances.class);
+        process = mock(Process.class);
+        when(process.instances()).thenReturn(instances);
+    }
+
+    @Test
+    public void testGroupedUpdates() {
+        ProcessInstance first = processInstance("1");
+        ProcessInstance second = processInstance("2");
+        ProcessInstance third = processInstance("3");
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+        unit.start();
+        unit.intercept(new ProcessInstanceWorkUnit<>(first, Operation.CREATE, pi -> instances.create("1", first)));
+        unit.intercept(new ProcessInstanceWorkUnit<>(second, Operation.UPDATE, pi -> instances.update("2", second)));
+        unit.intercept(new ProcessInstanceWorkUnit<>(third, Operation.UPDATE, pi -> instances.update("3", third)));
+        unit.end();
+
+        ArgumentCaptor<Collection> updated = ArgumentCaptor.forClass(Collection.class);
+        verify(instances).createAll(Collections.singletonList(first));
+        verify(instances).updateAll(updated.capture());
+        assertThat(updated.getValue()).containsExactly(second, third);
+        verify(instances, never()).create(anyString(), any());
+        verify(instances, never()).update(anyString(), any());
+    }
+
+    @Test
+    public void testGroupedUpdatesFlushedBeforeOtherWork() {
+        ProcessInstance first = processInstance("1");
+        ProcessInstance second = processInstance("2");
+        AtomicInteger counter = new AtomicInteger(0);
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+        unit.start();
+        unit.intercept(new ProcessInstanceWorkUnit<>(first, Operation.UPDATE, pi -> instances.update("1", first)));
+        unit.intercept(new ProcessInstanceWorkUnit<>(second, Operation.REMOVE, pi -> instances.remove("2")));
+        unit.intercept(new BaseWorkUnit(counter, d -> ((AtomicInteger) d).incrementAndGet()));
+        unit.end();
+
+        InOrder inOrder = inOrder(instances);
+        inOrder.verify(instances).updateAll(Arrays.asList(first));
+        inOrder.verify(instances).remove("2");
+        assertThat(counter.get()).isEqualTo(1);
+    }
+
+    private ProcessInstance processInstance(String id) {
+        ProcessInstance processInstance = mock(ProcessInstance.class);
+        when(processInstance.id()).thenReturn(id);
+        when(processInstance.process()).thenReturn(process);
+        return processInstance;
+    }
+}
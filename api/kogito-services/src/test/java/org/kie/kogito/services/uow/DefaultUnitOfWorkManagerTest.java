@@ -18,6 +18,7 @@ package org.kie.kogito.services.uow;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -133,4 +134,57 @@ public class DefaultUnitOfWorkManagerTest {
         assertThat(counter.get()).isEqualTo(1);
         assertThat(picounter.get()).isEqualTo(0);
     }
+
+    @Test
+    public void testNestedUnitOfWork() {
+        
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+        final AtomicInteger counter = new AtomicInteger(0);
+        
+        unit.start();
+        UnitOfWork current = unitOfWorkManager.currentUnitOfWork();
+        
+        UnitOfWork nested = unitOfWorkManager.newNestedUnitOfWork();
+        nested.start();
+        assertThat(unitOfWorkManager.currentUnitOfWork()).isInstanceOf(NestedUnitOfWork.class);
+        unitOfWorkManager.currentUnitOfWork().intercept(new BaseWorkUnit(counter, (d) -> ((AtomicInteger) d).incrementAndGet()));
+        nested.end();
+        // the work of the nested unit is performed by the unit it is nested in
+        assertThat(counter.get()).isEqualTo(0);
+        assertThat(unitOfWorkManager.currentUnitOfWork()).isSameAs(current);
+        
+        UnitOfWork aborted = unitOfWorkManager.newNestedUnitOfWork();
+        aborted.start();
+        unitOfWorkManager.currentUnitOfWork().intercept(new BaseWorkUnit(counter, (d) -> ((AtomicInteger) d).addAndGet(10)));
+        aborted.abort();
+        assertThat(unitOfWorkManager.currentUnitOfWork()).isSameAs(current);
+        
+        unit.end();
+        assertThat(counter.get()).isEqualTo(1);
+        assertThat(unitOfWorkManager.currentUnitOfWork()).isInstanceOf(PassThroughUnitOfWork.class);
+    }
+
+    @Test
+    public void testNestedUnitOfWorkOnAnotherThread() {
+        
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+        final AtomicInteger counter = new AtomicInteger(0);
+        
+        unit.start();
+        UnitOfWork current = unitOfWorkManager.currentUnitOfWork();
+        
+        CompletableFuture.runAsync(() -> {
+            UnitOfWork nested = unitOfWorkManager.newNestedUnitOfWork(current);
+            nested.start();
+            assertThat(unitOfWorkManager.currentUnitOfWork()).isInstanceOf(NestedUnitOfWork.class);
+            unitOfWorkManager.currentUnitOfWork().intercept(new BaseWorkUnit(counter, (d) -> ((AtomicInteger) d).incrementAndGet()));
+            nested.end();
+            assertThat(unitOfWorkManager.currentUnitOfWork()).isInstanceOf(PassThroughUnitOfWork.class);
+        }).join();
+        assertThat(counter.get()).isEqualTo(0);
+        assertThat(unitOfWorkManager.currentUnitOfWork()).isSameAs(current);
+        
+        unit.end();
+        assertThat(counter.get()).isEqualTo(1);
+    }
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.ExactExpirationTime;
+import org.kie.kogito.jobs.ProcessInstanceJobDescription;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstances;
+import org.kie.kogito.process.Processes;
+import org.kie.kogito.process.Signal;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.timer.TimerInstance;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings({ "rawtypes", "unchecked" })
+class DurableJobServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private UnitOfWorkManager unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+    private Processes processes;
+    private ProcessInstances instances;
+    private ProcessInstance processInstance;
+
+    @BeforeEach
+    void setup() {
+        processes = mock(Processes.class);
+        Process process = mock(Process.class);
+        instances = mock(ProcessInstances.class);
+        processInstance = mock(ProcessInstance.class);
+        when(processes.processById("process")).thenReturn(process);
+        when(process.instances()).thenReturn(instances);
+        when(instances.findById("instance")).thenReturn(Optional.of(processInstance));
+    }
+
+    @Test
+    void testFireProcessInstanceJob() {
+        try (DurableJobService service = service()) {
+            String id = service.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.after(100, ChronoUnit.MILLIS), "instance", "process"));
+            assertThat(service.getScheduledTime(id)).isNotNull();
+
+            ArgumentCaptor<Signal> signal = ArgumentCaptor.forClass(Signal.class);
+            verify(processInstance, timeout(5000)).send(signal.capture());
+            assertThat(signal.getValue().channel()).isEqualTo("timerTriggered");
+            assertThat(((TimerInstance) signal.getValue().payload()).getId()).isEqualTo(id);
+        }
+        try (FileSystemJobStore store = new FileSystemJobStore(directory, 4, 4)) {
+            assertThat(store.claim()).isEmpty();
+        }
+    }
+
+    @Test
+    void testCancelledJobIsNotFired() throws InterruptedException {
+        try (DurableJobService service = service()) {
+            String id = service.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.after(200, ChronoUnit.MILLIS), "instance", "process"));
+            assertThat(service.cancelJob(id)).isTrue();
+            assertThat(service.getScheduledTime(id)).isNull();
+            Thread.sleep(400);
+            verify(processInstance, never()).send(any());
+        }
+    }
+
+    @Test
+    void testPendingJobIsFiredAfterRestart() {
+        try (DurableJobService service = service()) {
+            service.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.after(1, ChronoUnit.HOURS), "instance", "process"));
+            service.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(2, DurationExpirationTime.after(500, ChronoUnit.MILLIS), "instance", "process"));
+        }
+        verify(processInstance, never()).send(any());
+
+        try (DurableJobService service = service()) {
+            verify(processInstance, timeout(5000)).send(any());
+        }
+        try (FileSystemJobStore store = new FileSystemJobStore(directory, 4, 4)) {
+            assertThat(store.claim()).hasSize(1);
+        }
+    }
+
+    @Test
+    void testJobBeyondHorizonIsLoadedFromStore() {
+        // a tick of 1 ms keeps in memory the jobs expiring within about a second
+        try (DurableJobService service = new DurableJobService(new FileSystemJobStore(directory, 4, 4), () -> unitOfWorkManager, () -> processes, 2, 1, 1000, 100)) {
+            String cancelled = service.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.after(1500, ChronoUnit.MILLIS), "instance", "process"));
+            String fired = service.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(2, DurationExpirationTime.after(1500, ChronoUnit.MILLIS), "instance", "process"));
+            assertThat(service.getScheduledTime(fired)).isNotNull();
+            assertThat(service.cancelJob(cancelled)).isTrue();
+            assertThat(service.getScheduledTime(cancelled)).isNull();
+
+            ArgumentCaptor<Signal> signal = ArgumentCaptor.forClass(Signal.class);
+            verify(processInstance, timeout(5000)).send(signal.capture());
+            assertThat(((TimerInstance) signal.getValue().payload()).getId()).isEqualTo(fired);
+        }
+        try (FileSystemJobStore store = new FileSystemJobStore(directory, 4, 4)) {
+            assertThat(store.claim()).isEmpty();
+        }
+    }
+
+    @Test
+    void testRepeatableJob() {
+        try (DurableJobService service = service()) {
+            String id = service.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.repeat(50, 50L, 3), "instance", "process"));
+
+            ArgumentCaptor<Signal> signal = ArgumentCaptor.forClass(Signal.class);
+            verify(processInstance, timeout(5000).times(3)).send(signal.capture());
+            assertThat(signal.getAllValues()).extracting(s -> ((TimerInstance) s.payload()).getRepeatLimit()).containsExactly(2, 1, 0);
+            assertThat(signal.getAllValues()).extracting(s -> ((TimerInstance) s.payload()).getId()).containsOnly(id);
+        }
+        try (FileSystemJobStore store = new FileSystemJobStore(directory, 4, 4)) {
+            assertThat(store.claim()).isEmpty();
+        }
+    }
+
+    @Test
+    void testJobsOfSameInstanceAreFiredInOneBatch() {
+        ExactExpirationTime expiration = ExactExpirationTime.of(ZonedDateTime.now().plus(300, ChronoUnit.MILLIS));
+        DurableJobService service = service();
+        try {
+            String first = service.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, expiration, "instance", "process"));
+            String second = service.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(2, expiration, "instance", "process"));
+
+            ArgumentCaptor<Signal> signal = ArgumentCaptor.forClass(Signal.class);
+            verify(processInstance, timeout(5000).times(2)).send(signal.capture());
+            assertThat(signal.getAllValues()).extracting(s -> ((TimerInstance) s.payload()).getId()).containsExactlyInAnyOrder(first, second);
+        } finally {
+            service.close();
+        }
+        verify(instances, times(1)).findById("instance");
+        assertThat(service.metrics().batches()).isOne();
+        assertThat(service.metrics().firedJobs()).isEqualTo(2);
+        assertThat(service.metrics().maxBatchSize()).isEqualTo(2);
+    }
+
+    @Test
+    void testFailedJobIsRetried() {
+        doThrow(new IllegalStateException("failure")).doNothing().when(processInstance).send(any());
+        try (DurableJobService service = new DurableJobService(new FileSystemJobStore(directory, 4, 4), () -> unitOfWorkManager, () -> processes, 2, 10, 1000, 100)) {
+            service.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.after(50, ChronoUnit.MILLIS), "instance", "process"));
+            verify(processInstance, timeout(5000).times(2)).send(any());
+        }
+        try (FileSystemJobStore store = new FileSystemJobStore(directory, 4, 4)) {
+            assertThat(store.claim()).isEmpty();
+        }
+    }
+
+    @Test
+    void testFailingJobDoesNotHoldBackItsBatch() {
+        ExactExpirationTime expiration = ExactExpirationTime.of(ZonedDateTime.now().plus(300, ChronoUnit.MILLIS));
+        try (DurableJobService service = new DurableJobService(new FileSystemJobStore(directory, 4, 4), () -> unitOfWorkManager, () -> processes, 2, 10, 1000, 60000)) {
+            String failing = service.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, expiration, "instance", "process"));
+            String succeeding = service.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(2, expiration, "instance", "process"));
+            doThrow(new IllegalStateException("failure")).when(processInstance)
+                    .send(argThat(s -> s != null && ((TimerInstance) s.payload()).getId().equals(failing)));
+
+            // the batch fails, then each job is fired in its own unit of work
+            verify(instances, timeout(5000).times(3)).findById("instance");
+            assertThat(service.getScheduledTime(failing)).isNotNull();
+            assertThat(service.getScheduledTime(succeeding)).isNull();
+        }
+        try (FileSystemJobStore store = new FileSystemJobStore(directory, 4, 4)) {
+            assertThat(store.claim()).hasSize(1);
+        }
+    }
+
+    private DurableJobService service() {
+        return new DurableJobService(new FileSystemJobStore(directory, 4, 4), unitOfWorkManager, () -> processes, 2, 10, 1000);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.tuple;
+
+class FileSystemJobStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecovery() throws IOException {
+        try (FileSystemJobStore store = new FileSystemJobStore(directory, 1, 1)) {
+            assertThat(store.claim()).isEmpty();
+            store.store(job("one", 1000, null, -1));
+            store.store(job("two", 2000, 100L, 5));
+            store.store(job("three", 3000, null, -1));
+            store.store(job("two", 2100, 100L, 4));
+            assertThat(store.remove("three")).isTrue();
+            assertThat(store.isScheduled("one")).isTrue();
+            assertThat(store.isScheduled("three")).isFalse();
+        }
+
+        // a record torn by a crash is not replayed
+        try (FileChannel channel = FileChannel.open(directory.resolve("partition-0.journal"), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 0, 100, 0, 1 }));
+        }
+
+        try (FileSystemJobStore store = new FileSystemJobStore(directory, 1, 1)) {
+            assertThat(store.claim()).extracting(ScheduledJob::id, ScheduledJob::expiration, ScheduledJob::repeatInterval, ScheduledJob::repeatLimit)
+                    .containsExactlyInAnyOrder(tuple("one", 1000L, null, -1),
+                                               tuple("two", 2100L, 100L, 4));
+            store.store(job("four", 4000, null, -1));
+        }
+        try (FileSystemJobStore store = new FileSystemJobStore(directory, 1, 1)) {
+            assertThat(store.claim().stream().map(ScheduledJob::id).collect(Collectors.toList())).containsExactlyInAnyOrder("one", "two", "four");
+        }
+    }
+
+    @Test
+    void testJobsAreLoadedUpToHorizon() {
+        try (FileSystemJobStore store = new FileSystemJobStore(directory, 2, 2)) {
+            store.claim();
+            store.store(job("one", 1000, null, -1));
+            store.store(job("two", 2000, null, -1));
+            store.store(job("three", 3000, 100L, 2));
+            assertThat(store.load(1500, 3000)).extracting(ScheduledJob::id).containsExactly("two");
+        }
+        try (FileSystemJobStore store = new FileSystemJobStore(directory, 2, 2)) {
+            assertThat(store.claim(1500)).extracting(ScheduledJob::id).containsExactly("one");
+            assertThat(store.load(1500, 2500)).extracting(ScheduledJob::id).containsExactly("two");
+            assertThat(store.find("three")).get()
+                    .extracting(ScheduledJob::processInstanceId, ScheduledJob::expiration, ScheduledJob::repeatInterval, ScheduledJob::repeatLimit)
+                    .containsExactly("instance-three", 3000L, 100L, 2);
+            assertThat(store.remove("three")).isTrue();
+            assertThat(store.find("three")).isEmpty();
+            assertThat(store.load(0, Long.MAX_VALUE)).extracting(ScheduledJob::id).containsExactlyInAnyOrder("one", "two");
+        }
+    }
+
+    @Test
+    void testPartitionOwnership() {
+        int share = FileSystemJobStore.fairShare(4, 2);
+        assertThat(share).isEqualTo(2);
+        assertThat(FileSystemJobStore.fairShare(5, 2)).isEqualTo(3);
+        try (FileSystemJobStore first = new FileSystemJobStore(directory, 4, share);
+             FileSystemJobStore second = new FileSystemJobStore(directory, 4, share);
+             FileSystemJobStore third = new FileSystemJobStore(directory, 4, share)) {
+            first.claim();
+            second.claim();
+            assertThat(third.claim()).isEmpty();
+            assertThatIllegalStateException().isThrownBy(() -> third.store(job("none", 1000, null, -1)));
+
+            for (int i = 0; i < 10; i++) {
+                first.store(job("first-" + i, 1000, null, -1));
+            }
+            second.store(job("second", 1000, null, -1));
+
+            // cancelled by a replica that does not own the job
+            assertThat(second.remove("first-0")).isTrue();
+            assertThat(first.isScheduled("first-0")).isFalse();
+            assertThat(first.isScheduled("first-1")).isTrue();
+            assertThat(second.remove("first-2")).isTrue();
+
+            // the partitions of a dead replica are claimed by the others
+            first.close();
+            assertThat(third.claim().stream().map(ScheduledJob::id).collect(Collectors.toList()))
+                    .hasSize(8)
+                    .doesNotContain("first-0", "first-2")
+                    .contains("first-1");
+            assertThat(third.isScheduled("first-1")).isTrue();
+        }
+    }
+
+    @Test
+    void testCompaction() throws IOException {
+        try (FileSystemJobStore store = new FileSystemJobStore(directory, 1, 1)) {
+            store.claim();
+            store.store(job("kept", 1000, null, -1));
+            for (int i = 0; i < 5000; i++) {
+                store.store(job("removed-" + i, 1000, null, -1));
+                store.remove("removed-" + i);
+            }
+            assertThat(Files.size(directory.resolve("partition-0.journal"))).isLessThan(200_000);
+            assertThat(store.find("kept")).get().extracting(ScheduledJob::expiration).isEqualTo(1000L);
+        }
+        try (FileSystemJobStore store = new FileSystemJobStore(directory, 1, 1)) {
+            assertThat(store.claim()).extracting(ScheduledJob::id).containsExactly("kept");
+        }
+    }
+
+    private static ScheduledJob job(String id, long expiration, Long repeatInterval, int repeatLimit) {
+        return new ScheduledJob(id, "process", "instance-" + id, expiration, repeatInterval, repeatLimit);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.jobs.ExactExpirationTime;
+import org.kie.kogito.jobs.ProcessInstanceJobDescription;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.timer.TimerInstance;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InMemoryJobServiceTest {
+
+    private KogitoProcessRuntime processRuntime;
+    private KogitoProcessInstance processInstance;
+
+    @BeforeEach
+    void setup() {
+        processRuntime = mock(KogitoProcessRuntime.class);
+        processInstance = mock(KogitoProcessInstance.class);
+        when(processRuntime.getProcessInstance("instance")).thenReturn(processInstance);
+    }
+
+    @Test
+    void testJobsOfSameInstanceAreFiredInOneBatch() {
+        InMemoryJobService service = new InMemoryJobService(1, 200, processRuntime, new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory()));
+        ExactExpirationTime expiration = ExactExpirationTime.of(ZonedDateTime.now().plus(100, ChronoUnit.MILLIS));
+        String first = service.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, expiration, "instance", "process"));
+        String second = service.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(2, expiration, "instance", "process"));
+
+        ArgumentCaptor<Object> timer = ArgumentCaptor.forClass(Object.class);
+        verify(processInstance, timeout(5000).times(2)).signalEvent(eq("timerTriggered"), timer.capture());
+        assertThat(timer.getAllValues()).extracting(t -> ((TimerInstance) t).getId()).containsExactlyInAnyOrder(first, second);
+        verify(processRuntime, times(1)).getProcessInstance("instance");
+        assertThat(service.metrics().batches()).isOne();
+        assertThat(service.metrics().maxBatchSize()).isEqualTo(2);
+    }
+
+    @Test
+    void testFailingJobDoesNotHoldBackItsBatch() {
+        InMemoryJobService service = new InMemoryJobService(1, 200, processRuntime, new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory()));
+        ExactExpirationTime expiration = ExactExpirationTime.of(ZonedDateTime.now().plus(100, ChronoUnit.MILLIS));
+        String failing = service.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, expiration, "instance", "process"));
+        String succeeding = service.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(2, expiration, "instance", "process"));
+        doThrow(new IllegalStateException("failure")).when(processInstance)
+                .signalEvent(eq("timerTriggered"), argThat(t -> t != null && ((TimerInstance) t).getId().equals(failing)));
+
+        // the batch fails, then each job is fired in its own unit of work
+        verify(processRuntime, timeout(5000).times(3)).getProcessInstance("instance");
+        verify(processInstance, times(2)).signalEvent(eq("timerTriggered"), argThat(t -> t != null && ((TimerInstance) t).getId().equals(failing)));
+        verify(processInstance, atLeastOnce()).signalEvent(eq("timerTriggered"), argThat(t -> t != null && ((TimerInstance) t).getId().equals(succeeding)));
+        assertThat(service.metrics().firedJobs()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    void testTimeoutsCascadeThroughLevels() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 1000);
+        List<String> expired = new ArrayList<>();
+
+        assertThat(wheel.add("now", 1005)).isNull();
+        wheel.add("first level", 1050);
+        wheel.add("second level", 1500);
+        wheel.add("third level", 5000);
+        TimingWheel.Timeout<String> cancelled = wheel.add("cancelled", 1500);
+        wheel.cancel(cancelled);
+
+        wheel.advanceClock(1049, expired::add);
+        assertThat(expired).isEmpty();
+        wheel.advanceClock(1050, expired::add);
+        assertThat(expired).containsExactly("first level");
+        wheel.advanceClock(1499, expired::add);
+        assertThat(expired).containsExactly("first level");
+        wheel.advanceClock(1500, expired::add);
+        assertThat(expired).containsExactly("first level", "second level");
+        wheel.advanceClock(4999, expired::add);
+        assertThat(expired).containsExactly("first level", "second level");
+        wheel.advanceClock(5000, expired::add);
+        assertThat(expired).containsExactly("first level", "second level", "third level");
+    }
+}
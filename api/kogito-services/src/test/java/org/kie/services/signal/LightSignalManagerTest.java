@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.signal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.process.EventListener;
+import org.kie.api.runtime.process.ProcessInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LightSignalManagerTest {
+
+    private final List<String> received = new ArrayList<>();
+
+    @Test
+    public void testDeliveryInRegistrationOrder() {
+        LightSignalManager signalManager = new LightSignalManager(id -> Optional.empty(), new DefaultSignalManagerHub());
+        EventListener first = listener("first");
+        EventListener second = listener("second");
+        signalManager.addEventListener("signal", first);
+        signalManager.addEventListener("signal", second);
+        signalManager.addEventListener("signal", first);
+        signalManager.addEventListener("other", listener("other"));
+
+        signalManager.signalEvent("signal", "data");
+        assertThat(received).containsExactly("first", "second", "first");
+
+        received.clear();
+        signalManager.removeEventListener("signal", first);
+        signalManager.signalEvent("signal", "data");
+        assertThat(received).containsExactly("second", "first");
+
+        received.clear();
+        signalManager.removeEventListener("signal", first);
+        signalManager.removeEventListener("signal", second);
+        signalManager.signalEvent("signal", "data");
+        assertThat(received).isEmpty();
+        assertThat(signalManager.accept("signal", "data")).isFalse();
+        assertThat(signalManager.accept("other", "data")).isTrue();
+    }
+
+    @Test
+    public void testListenerRegisteredAgainDuringDelivery() {
+        LightSignalManager signalManager = new LightSignalManager(id -> Optional.empty(), new DefaultSignalManagerHub());
+        signalManager.addEventListener("signal", listener("other"));
+        signalManager.addEventListener("signal", new EventListener() {
+            @Override
+            public void signalEvent(String type, Object event) {
+                received.add("looping");
+                // as a process instance looping back to a catch of the same signal
+                signalManager.removeEventListener(type, this);
+                signalManager.addEventListener(type, this);
+            }
+
+            @Override
+            public String[] getEventTypes() {
+                return new String[0];
+            }
+        });
+
+        signalManager.signalEvent("signal", "data");
+        assertThat(received).containsExactly("other", "looping");
+
+        received.clear();
+        signalManager.signalEvent("signal", "data");
+        assertThat(received).containsExactly("other", "looping");
+    }
+
+    @Test
+    public void testHubSubscription() {
+        DefaultSignalManagerHub hub = new DefaultSignalManagerHub();
+        LightSignalManager sender = new LightSignalManager(id -> Optional.empty(), hub);
+        LightSignalManager receiver = new LightSignalManager(id -> Optional.empty(), hub);
+        EventListener first = listener("first");
+        receiver.addEventListener("signal", first);
+        receiver.addEventListener("signal", listener("second"));
+
+        // the receiver stays subscribed while it has listeners for the signal
+        receiver.removeEventListener("signal", first);
+        sender.signalEvent("signal", "data");
+        assertThat(received).containsExactly("second");
+
+        ProcessInstance processInstance = mock(ProcessInstance.class);
+        when(processInstance.getProcessId()).thenReturn("child");
+        receiver.addEventListener("child", listener("parent"));
+        received.clear();
+        sender.signalEvent("processInstanceCompleted", processInstance);
+        assertThat(received).containsExactly("parent");
+    }
+
+    private EventListener listener(String name) {
+        return new EventListener() {
+            @Override
+            public void signalEvent(String type, Object event) {
+                received.add(name);
+            }
+
+            @Override
+            public String[] getEventTypes() {
+                return new String[0];
+            }
+        };
+    }
+}
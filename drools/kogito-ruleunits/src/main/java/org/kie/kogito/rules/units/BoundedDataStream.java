@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.rules.units;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.kie.kogito.rules.DataProcessor;
+import org.kie.kogito.rules.DataStream;
+
+/**
+ * {@link DataStream} retaining only the last values appended, up to the given retention window: a new
+ * subscriber is replayed the retained values instead of the whole history of the stream.
+ */
+public class BoundedDataStream<T> implements DataStream<T> {
+
+    private final int retention;
+    private final ArrayDeque<T> values = new ArrayDeque<>();
+    private final List<DataProcessor> subscribers = new ArrayList<>();
+
+    /**
+     * @param retention number of last values replayed to new subscribers, <code>0</code> to replay none
+     */
+    public BoundedDataStream(int retention) {
+        if (retention < 0) {
+            throw new IllegalArgumentException("Retention must not be negative: " + retention);
+        }
+        this.retention = retention;
+    }
+
+    @SafeVarargs
+    public static <T> BoundedDataStream<T> create(int retention, T... ts) {
+        BoundedDataStream<T> stream = new BoundedDataStream<>(retention);
+        for (T t : ts) {
+            stream.append(t);
+        }
+        return stream;
+    }
+
+    @Override
+    public void append(T t) {
+        retain(t);
+        subscribers.forEach(s -> s.insert(t));
+    }
+
+    public void appendAll(Collection<? extends T> ts) {
+        ts.forEach(this::retain);
+        for (DataProcessor s : subscribers) {
+            ts.forEach(s::insert);
+        }
+    }
+
+    @Override
+    public void subscribe(DataProcessor subscriber) {
+        subscribers.add(subscriber);
+        values.forEach(subscriber::insert);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    private void retain(T t) {
+        if (retention == 0) {
+            return;
+        }
+        if (values.size() == retention) {
+            values.removeFirst();
+        }
+        values.addLast(t);
+    }
+}
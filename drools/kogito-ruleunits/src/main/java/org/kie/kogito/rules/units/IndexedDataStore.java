@@ -0,0 +1,301 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.rules.units;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.drools.core.definitions.rule.impl.RuleImpl;
+import org.drools.core.kogito.factory.KogitoInternalFactHandle;
+import org.drools.core.reteoo.TerminalNode;
+import org.drools.core.ruleunit.InternalStoreCallback;
+import org.drools.core.spi.Activation;
+import org.drools.core.util.bitmask.BitMask;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.kogito.rules.DataHandle;
+import org.kie.kogito.rules.DataProcessor;
+import org.kie.kogito.rules.DataStore;
+
+/**
+ * {@link DataStore} keeping its facts in insertion order, optionally indexed by a business key so that
+ * facts can be looked up, updated and removed by key, and optionally bounded to a retention window:
+ * once more facts than the window are stored the oldest ones are removed.
+ * <p>
+ * Updating a fact with a new instance keeps its {@link DataHandle}, whose object becomes the new instance.
+ */
+public class IndexedDataStore<K, T> implements DataStore<T>,
+                                               InternalStoreCallback {
+
+    private final Function<? super T, ? extends K> key;
+    private final int retention;
+
+    private final Map<Object, IndexedDataHandle> store = new IdentityHashMap<>();
+    // handles in insertion order, each with its key when the store is indexed
+    private final LinkedHashMap<DataHandle, K> handles = new LinkedHashMap<>();
+    private final Map<K, DataHandle> index = new HashMap<>();
+
+    private final List<EntryPointDataProcessor> entryPointSubscribers = new ArrayList<>();
+    private final List<DataProcessor<T>> subscribers = new ArrayList<>();
+
+    public IndexedDataStore() {
+        this(null, 0);
+    }
+
+    public IndexedDataStore(Function<? super T, ? extends K> key) {
+        this(key, 0);
+    }
+
+    /**
+     * @param key extracts the business key of a fact, <code>null</code> when facts are not indexed
+     * @param retention maximum number of facts kept, <code>0</code> for no limit
+     */
+    public IndexedDataStore(Function<? super T, ? extends K> key, int retention) {
+        if (retention < 0) {
+            throw new IllegalArgumentException("Retention must not be negative: " + retention);
+        }
+        this.key = key;
+        this.retention = retention;
+    }
+
+    @Override
+    public DataHandle add(T t) {
+        DataHandle dh = store(t);
+        evict();
+        entryPointSubscribers.forEach(s -> internalInsert(dh, s));
+        subscribers.forEach(s -> internalInsert(dh, s));
+        return dh;
+    }
+
+    /**
+     * Adds all the given facts, when the store is bounded only the last ones fitting the retention window are kept.
+     */
+    public List<DataHandle> addAll(Collection<? extends T> ts) {
+        int skipped = retention > 0 ? Math.max(ts.size() - retention, 0) : 0;
+        List<DataHandle> added = new ArrayList<>(ts.size() - skipped);
+        Iterator<? extends T> it = ts.iterator();
+        for (int i = 0; i < skipped; i++) {
+            it.next();
+        }
+        try {
+            while (it.hasNext()) {
+                added.add(store(it.next()));
+            }
+        } catch (RuntimeException e) {
+            added.forEach(this::forget);
+            throw e;
+        }
+        evict();
+        for (EntryPointDataProcessor s : entryPointSubscribers) {
+            added.forEach(dh -> internalInsert(dh, s));
+        }
+        for (DataProcessor<T> s : subscribers) {
+            added.forEach(dh -> internalInsert(dh, s));
+        }
+        return added;
+    }
+
+    /**
+     * Updates the fact with the same key as the given one or adds it when there is none.
+     */
+    public DataHandle put(T t) {
+        DataHandle dh = index.get(keyOf(t));
+        if (dh == null) {
+            return add(t);
+        }
+        update(dh, t);
+        return dh;
+    }
+
+    public DataHandle get(K k) {
+        requireIndex();
+        return index.get(k);
+    }
+
+    public int size() {
+        return handles.size();
+    }
+
+    @Override
+    public void update(DataHandle handle, T object) {
+        replace(handle, object);
+        entryPointSubscribers.forEach(s -> s.update(handle, object));
+        subscribers.forEach(s -> s.update(handle, object));
+    }
+
+    public boolean update(K k, T object) {
+        DataHandle dh = get(k);
+        if (dh == null) {
+            return false;
+        }
+        update(dh, object);
+        return true;
+    }
+
+    @Override
+    public void remove(Object object) {
+        DataHandle dh = store.get(object);
+        if (dh != null) {
+            remove(dh);
+        }
+    }
+
+    @Override
+    public void remove(DataHandle handle) {
+        entryPointSubscribers.forEach(s -> s.delete(handle));
+        subscribers.forEach(s -> s.delete(handle));
+        forget(handle);
+    }
+
+    public boolean removeByKey(K k) {
+        DataHandle dh = get(k);
+        if (dh == null) {
+            return false;
+        }
+        remove(dh);
+        return true;
+    }
+
+    @Override
+    public void subscribe(DataProcessor processor) {
+        if (processor instanceof EntryPointDataProcessor) {
+            entryPointSubscribers.add((EntryPointDataProcessor) processor);
+        } else {
+            subscribers.add(processor);
+        }
+        handles.keySet().forEach(dh -> internalInsert(dh, processor));
+    }
+
+    @Override
+    public void update(KogitoInternalFactHandle fh, Object obj, BitMask mask, Class<?> modifiedClass, Activation activation) {
+        DataHandle dh = fh.getDataHandle();
+        replace(dh, (T) obj);
+        entryPointSubscribers.forEach(s -> s.update(dh, obj, mask, modifiedClass, activation));
+        subscribers.forEach(s -> s.update(dh, (T) obj));
+    }
+
+    @Override
+    public void delete(KogitoInternalFactHandle fh, RuleImpl rule, TerminalNode terminalNode, FactHandle.State fhState) {
+        DataHandle dh = fh.getDataHandle();
+        entryPointSubscribers.forEach(s -> s.delete(dh, rule, terminalNode, fhState));
+        subscribers.forEach(s -> s.delete(dh));
+        forget(dh);
+    }
+
+    private DataHandle store(T t) {
+        K k = null;
+        if (key != null) {
+            k = keyOf(t);
+            if (index.containsKey(k)) {
+                throw new IllegalArgumentException("A fact with key " + k + " is already stored");
+            }
+        }
+        IndexedDataHandle dh = new IndexedDataHandle(t);
+        store.put(t, dh);
+        handles.put(dh, k);
+        if (key != null) {
+            index.put(k, dh);
+        }
+        return dh;
+    }
+
+    private void evict() {
+        if (retention > 0) {
+            Iterator<DataHandle> oldest = handles.keySet().iterator();
+            List<DataHandle> evicted = new ArrayList<>(Math.max(handles.size() - retention, 0));
+            for (int i = handles.size(); i > retention; i--) {
+                evicted.add(oldest.next());
+            }
+            evicted.forEach(this::remove);
+        }
+    }
+
+    private void replace(DataHandle dh, T object) {
+        if (!handles.containsKey(dh)) {
+            return;
+        }
+        IndexedDataHandle handle = (IndexedDataHandle) dh;
+        if (handle.object != object) {
+            store.remove(handle.object);
+            store.put(object, handle);
+            handle.object = object;
+        }
+        if (key != null) {
+            K k = keyOf(object);
+            K previous = handles.put(dh, k);
+            if (!k.equals(previous)) {
+                index.remove(previous, dh);
+                index.put(k, dh);
+            }
+        }
+    }
+
+    private void forget(DataHandle dh) {
+        store.remove(dh.getObject());
+        K k = handles.remove(dh);
+        if (k != null) {
+            index.remove(k, dh);
+        }
+    }
+
+    private K keyOf(T t) {
+        requireIndex();
+        K k = key.apply(t);
+        if (k == null) {
+            throw new IllegalArgumentException("Null key for fact " + t);
+        }
+        return k;
+    }
+
+    private void requireIndex() {
+        if (key == null) {
+            throw new IllegalStateException("Facts of this store are not indexed by key");
+        }
+    }
+
+    private void internalInsert(DataHandle dh, DataProcessor s) {
+        FactHandle fh = s.insert(dh, dh.getObject());
+        if (fh != null) {
+            ((KogitoInternalFactHandle) fh).setDataStore(this);
+            ((KogitoInternalFactHandle) fh).setDataHandle(dh);
+        }
+    }
+
+    private static class IndexedDataHandle implements DataHandle {
+
+        private Object object;
+
+        IndexedDataHandle(Object object) {
+            this.object = object;
+        }
+
+        @Override
+        public Object getObject() {
+            return object;
+        }
+
+        @Override
+        public String toString() {
+            return "IndexedDataHandle{object=" + object + '}';
+        }
+    }
+}
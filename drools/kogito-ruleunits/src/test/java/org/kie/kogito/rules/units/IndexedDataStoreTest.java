@@ -0,0 +1,171 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.rules.units;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.kogito.rules.DataHandle;
+import org.kie.kogito.rules.DataProcessor;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IndexedDataStoreTest {
+
+    @Test
+    public void testAddAll() {
+        Probe<Item> probe = new Probe<>();
+        IndexedDataStore<String, Item> items = new IndexedDataStore<>(Item::getId);
+        items.add(new Item("a", 1));
+        items.subscribe(probe);
+        items.addAll(asList(new Item("b", 2), new Item("c", 3)));
+        assertEquals(3, items.size());
+        assertEquals(asList("a", "b", "c"), probe.ids());
+    }
+
+    @Test
+    public void testUpdateAndRemoveByKey() {
+        Probe<Item> probe = new Probe<>();
+        IndexedDataStore<String, Item> items = new IndexedDataStore<>(Item::getId);
+        items.subscribe(probe);
+        Item a = new Item("a", 1);
+        DataHandle handle = items.add(a);
+        assertSame(handle, items.get("a"));
+
+        Item updated = new Item("a", 10);
+        assertSame(handle, items.put(updated));
+        assertSame(updated, probe.facts.get(handle));
+        assertEquals(10, probe.facts.get(handle).getValue());
+        assertSame(updated, handle.getObject());
+        assertFalse(items.update("b", new Item("b", 2)));
+
+        items.remove(a);
+        assertEquals(1, items.size());
+        items.remove(updated);
+        assertEquals(0, items.size());
+
+        items.add(updated);
+        assertTrue(items.removeByKey("a"));
+        assertNull(items.get("a"));
+        assertEquals(0, items.size());
+        assertTrue(probe.facts.isEmpty());
+    }
+
+    @Test
+    public void testDuplicateKey() {
+        IndexedDataStore<String, Item> items = new IndexedDataStore<>(Item::getId);
+        items.add(new Item("a", 1));
+        assertThrows(IllegalArgumentException.class, () -> items.addAll(asList(new Item("b", 2), new Item("a", 3))));
+        assertEquals(1, items.size());
+        assertNull(items.get("b"));
+    }
+
+    @Test
+    public void testRetention() {
+        Probe<Item> probe = new Probe<>();
+        IndexedDataStore<String, Item> items = new IndexedDataStore<>(Item::getId, 2);
+        items.subscribe(probe);
+        items.add(new Item("a", 1));
+        items.add(new Item("b", 2));
+        items.add(new Item("c", 3));
+        assertEquals(asList("b", "c"), probe.ids());
+        assertNull(items.get("a"));
+
+        items.addAll(asList(new Item("d", 4), new Item("e", 5), new Item("f", 6)));
+        assertEquals(asList("e", "f"), probe.ids());
+        assertEquals(2, items.size());
+    }
+
+    @Test
+    public void testNotIndexed() {
+        IndexedDataStore<String, Item> items = new IndexedDataStore<>();
+        Item a = new Item("a", 1);
+        items.add(a);
+        items.add(new Item("a", 2));
+        items.remove(a);
+        assertEquals(1, items.size());
+        assertThrows(IllegalStateException.class, () -> items.get("a"));
+    }
+
+    @Test
+    public void testBoundedStream() {
+        BoundedDataStream<Integer> integers = BoundedDataStream.create(2, 1, 2, 3);
+        Probe<Integer> probe = new Probe<>();
+        integers.subscribe(probe);
+        assertEquals(asList(2, 3), new ArrayList<>(probe.facts.values()));
+
+        integers.appendAll(asList(4, 5, 6));
+        assertEquals(5, probe.facts.size());
+        assertEquals(2, integers.size());
+    }
+
+    private static class Probe<T> implements DataProcessor<T> {
+
+        // handles of the stream values are null, each value is then stored under its own key
+        final Map<Object, T> facts = new LinkedHashMap<>();
+
+        @Override
+        public FactHandle insert(DataHandle handle, T object) {
+            facts.put(handle == null ? new Object() : handle, object);
+            return null;
+        }
+
+        @Override
+        public void update(DataHandle handle, T object) {
+            facts.put(handle, object);
+        }
+
+        @Override
+        public void delete(DataHandle handle) {
+            facts.remove(handle);
+        }
+
+        List<String> ids() {
+            List<String> ids = new ArrayList<>();
+            facts.values().forEach(item -> ids.add(((Item) item).getId()));
+            return ids;
+        }
+    }
+
+    private static class Item {
+
+        private final String id;
+        private final int value;
+
+        Item(String id, int value) {
+            this.id = id;
+            this.value = value;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        int getValue() {
+            return value;
+        }
+    }
+}
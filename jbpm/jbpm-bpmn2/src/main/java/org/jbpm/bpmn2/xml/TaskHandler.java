@@ -33,6 +33,7 @@ import org.jbpm.process.core.datatype.impl.type.ObjectDataType;
 import org.jbpm.process.core.impl.DataTransformerRegistry;
 import org.jbpm.process.core.impl.ParameterDefinitionImpl;
 import org.jbpm.process.core.impl.WorkImpl;
+import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.workflow.core.Node;
 import org.jbpm.workflow.core.NodeContainer;
 import org.jbpm.workflow.core.impl.NodeImpl;
@@ -316,6 +317,9 @@ public class TaskHandler extends AbstractNodeHandler {
 				forEachNode.setId(node.getId());
 				String uniqueId = (String) node.getMetaData().get("UniqueId");
 				forEachNode.setMetaData("UniqueId", uniqueId);
+				if (node.getMetaData().containsKey(Metadata.CUSTOM_PARALLEL)) {
+				    forEachNode.setMetaData(Metadata.CUSTOM_PARALLEL, node.getMetaData().get(Metadata.CUSTOM_PARALLEL));
+				}
 				node.setMetaData("UniqueId", uniqueId + ":" + uniqueIdGen++);
 				forEachNode.addNode(node);
 				forEachNode.linkIncomingConnections(NodeImpl.CONNECTION_DEFAULT_TYPE, node.getId(), NodeImpl.CONNECTION_DEFAULT_TYPE);
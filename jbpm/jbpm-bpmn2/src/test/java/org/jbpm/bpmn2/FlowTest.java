@@ -17,15 +17,22 @@ package org.jbpm.bpmn2;
 
 import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 
 import javax.xml.parsers.DocumentBuilderFactory;
 import org.jbpm.bpmn2.objects.TestWorkItemHandler;
+import org.drools.core.common.InternalKnowledgeRuntime;
 import org.jbpm.process.core.context.variable.VariableScope;
+import org.jbpm.process.instance.InternalProcessRuntime;
 import org.jbpm.process.instance.context.variable.VariableScopeInstance;
 import org.jbpm.process.instance.impl.demo.SystemOutWorkItemHandler;
 import org.jbpm.process.instance.impl.humantask.HumanTaskWorkItemImpl;
@@ -50,7 +57,10 @@ import org.kie.kogito.internal.process.event.DefaultKogitoProcessEventListener;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
 import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -1220,6 +1230,106 @@ public class FlowTest extends JbpmBpmn2TestCase {
 
     }
     
+    @Test
+    @Timeout(10)
+    public void testMultiInstanceLoopCharacteristicsTaskParallel() throws Exception {
+        kruntime = createKogitoProcessRuntime("BPMN2-MultiInstanceLoopCharacteristicsTaskParallel.bpmn2");
+        List<String> myList = Arrays.asList("First Item", "Second Item", "Third Item");
+        // each handler waits for the others, so the process completes only when they run concurrently
+        CountDownLatch running = new CountDownLatch(myList.size());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        kruntime.getWorkItemManager().registerWorkItemHandler("Parallel", new KogitoWorkItemHandler() {
+
+            @Override
+            public void executeWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+                threads.add(Thread.currentThread().getName());
+                running.countDown();
+                try {
+                    running.await();
+                    // later iterations complete first
+                    Thread.sleep(100 - 30 * myList.indexOf(workItem.getParameter("Item")));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                manager.completeWorkItem(workItem.getStringId(), Collections.singletonMap("Result", ((String) workItem.getParameter("Item")).toUpperCase()));
+            }
+
+            @Override
+            public void abortWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+            }
+        });
+        Map<String, Object> params = new HashMap<>();
+        List<String> myListOut = new ArrayList<>();
+        params.put("list", myList);
+        params.put("listOut", myListOut);
+        KogitoProcessInstance processInstance = kruntime.startProcess("MultiInstanceLoopCharacteristicsTaskParallel", params);
+        assertProcessInstanceCompleted(processInstance);
+        assertThat(myListOut).containsExactly("FIRST ITEM", "SECOND ITEM", "THIRD ITEM");
+        assertThat(threads).hasSize(myList.size()).doesNotContain(Thread.currentThread().getName());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testMultiInstanceLoopCharacteristicsTaskParallelCompletedLater() throws Exception {
+        kruntime = createKogitoProcessRuntime("BPMN2-MultiInstanceLoopCharacteristicsTaskParallel.bpmn2");
+        List<String> myList = Arrays.asList("First Item", "Second Item", "Third Item");
+        Map<KogitoWorkItem, KogitoWorkItemManager> pending = new ConcurrentHashMap<>();
+        kruntime.getWorkItemManager().registerWorkItemHandler("Parallel", new KogitoWorkItemHandler() {
+
+            @Override
+            public void executeWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+                // completed once the process instance waits for it
+                pending.put(workItem, manager);
+            }
+
+            @Override
+            public void abortWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+            }
+        });
+        Map<String, Object> params = new HashMap<>();
+        List<String> myListOut = new ArrayList<>();
+        params.put("list", myList);
+        params.put("listOut", myListOut);
+        KogitoProcessInstance processInstance = kruntime.startProcess("MultiInstanceLoopCharacteristicsTaskParallel", params);
+        assertProcessInstanceActive(processInstance);
+        assertThat(pending).hasSize(myList.size());
+
+        pending.forEach((workItem, manager) -> manager.completeWorkItem(workItem.getStringId(), Collections.singletonMap("Result", ((String) workItem.getParameter("Item")).toUpperCase())));
+        assertProcessInstanceCompleted(processInstance);
+        assertThat(myListOut).containsExactlyInAnyOrder("FIRST ITEM", "SECOND ITEM", "THIRD ITEM");
+    }
+
+    @Test
+    @Timeout(10)
+    public void testMultiInstanceLoopCharacteristicsTaskParallelUnitOfWork() throws Exception {
+        kruntime = createKogitoProcessRuntime("BPMN2-MultiInstanceLoopCharacteristicsTaskParallel.bpmn2");
+        UnitOfWorkManager unitOfWorkManager = ((InternalProcessRuntime) ((InternalKnowledgeRuntime) kruntime.getKieRuntime()).getProcessRuntime()).getUnitOfWorkManager();
+        List<String> myList = Arrays.asList("First Item", "Second Item", "Third Item");
+        Set<String> handlerThreads = ConcurrentHashMap.newKeySet();
+        List<String> workThreads = Collections.synchronizedList(new ArrayList<>());
+        kruntime.getWorkItemManager().registerWorkItemHandler("Parallel", new KogitoWorkItemHandler() {
+
+            @Override
+            public void executeWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+                handlerThreads.add(Thread.currentThread().getName());
+                // the work is handed to the unit of work of the thread executing the process instance
+                unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(workItem, item -> workThreads.add(Thread.currentThread().getName())));
+                manager.completeWorkItem(workItem.getStringId(), Collections.singletonMap("Result", ((String) workItem.getParameter("Item")).toUpperCase()));
+            }
+
+            @Override
+            public void abortWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+            }
+        });
+        Map<String, Object> params = new HashMap<>();
+        params.put("list", myList);
+        params.put("listOut", new ArrayList<>());
+        KogitoProcessInstance processInstance = kruntime.startProcess("MultiInstanceLoopCharacteristicsTaskParallel", params);
+        assertProcessInstanceCompleted(processInstance);
+        assertThat(workThreads).hasSize(myList.size()).containsOnly(Thread.currentThread().getName());
+        assertThat(handlerThreads).doesNotContain(Thread.currentThread().getName());
+    }
+
     @Test
     public void testMultiInstanceLoopCharacteristicsTaskWithOutputCompletionCondition()
             throws Exception {
@@ -15,14 +15,28 @@
  */
 package org.jbpm.compiler.canonical;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.Parameter;
 
 import static com.github.javaparser.StaticJavaParser.parse;
 
 public class RestTaskDescriptor {
 
+    // constructor parameters of the generated handler, with their configuration key and the default value of RestWorkItemHandler
+    private static final Map<String, String[]> CONFIG = new HashMap<>();
+
+    static {
+        CONFIG.put("async", new String[]{"kogito.rest.workitem.async", "false"});
+        CONFIG.put("timeout", new String[]{"kogito.rest.workitem.timeout", "30000"});
+        CONFIG.put("maxInFlight", new String[]{"kogito.rest.workitem.max-in-flight", "256"});
+        CONFIG.put("poolSize", new String[]{"kogito.rest.workitem.pool-size", "5"});
+    }
+
     private RestTaskDescriptor() {}
 
     public static String getClassName(ProcessMetaData processMetadata) {
@@ -37,4 +51,19 @@ public class RestTaskDescriptor {
         compilationUnit.findAll(ConstructorDeclaration.class).forEach(c -> c.setName(className));
         return compilationUnit;
     }
+
+    /**
+     * Returns the parameters of the given constructor of a generated handler that are injected from the application
+     * configuration, with their configuration key and default value
+     */
+    public static Map<Parameter, String[]> getConfigParameters(ConstructorDeclaration constructor) {
+        Map<Parameter, String[]> config = new HashMap<>();
+        for (Parameter parameter : constructor.getParameters()) {
+            String[] property = CONFIG.get(parameter.getNameAsString());
+            if (property != null) {
+                config.put(parameter, property);
+            }
+        }
+        return config;
+    }
 }
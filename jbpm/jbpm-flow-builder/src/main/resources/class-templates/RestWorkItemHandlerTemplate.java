@@ -15,17 +15,16 @@
  */
 package org.jbpm.process.codegen;
 
-import io.vertx.mutiny.ext.web.client.WebClient;
 import io.vertx.mutiny.core.Vertx;
 import org.kogito.workitem.rest.RestWorkItemHandler;
 
 public class xxxRestWorkItemHandler extends RestWorkItemHandler {
 
     public xxxRestWorkItemHandler() {
-        this(Vertx.vertx());
+        this(Vertx.vertx(), false, DEFAULT_TIMEOUT, DEFAULT_MAX_IN_FLIGHT, DEFAULT_POOL_SIZE);
     }
 
-    public xxxRestWorkItemHandler(Vertx vertx) {
-        super(WebClient.create(vertx));
+    public xxxRestWorkItemHandler(Vertx vertx, boolean async, long timeout, int maxInFlight, int poolSize) {
+        super(vertx, async, timeout, maxInFlight, poolSize);
     }
 }
\ No newline at end of file
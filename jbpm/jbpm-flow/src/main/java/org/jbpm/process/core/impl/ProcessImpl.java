@@ -19,9 +19,11 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -42,6 +44,8 @@ public class ProcessImpl implements Process, Serializable, ContextResolver {
     
     private static final long serialVersionUID = 510l;
 
+    private static final int COMPILED_EXPRESSIONS_LIMIT = Integer.parseInt(System.getProperty("jbpm.mvel.compiled.expressions.limit", "1024"));
+
     private String id;
     private String name;
     private String version;
@@ -52,6 +56,7 @@ public class ProcessImpl implements Process, Serializable, ContextResolver {
     private ContextContainer contextContainer = new ContextContainerImpl();
     private Map<String, Object> metaData = new HashMap<String, Object>();
     private transient Map<String, Object> runtimeMetaData = new HashMap<String, Object>();
+    private transient volatile Map<String, Serializable> compiledExpressions;
     private Set<String> imports = new HashSet<>();
     private Map<String, String> globals;
     private List<String> functionImports = new ArrayList<>();
@@ -234,6 +239,33 @@ public class ProcessImpl implements Process, Serializable, ContextResolver {
     public void setRuntimeMetaData(Map<String, Object> runtimeMetaData) {
         this.runtimeMetaData = runtimeMetaData;
     }
+
+    /**
+     * Expressions of this process compiled at runtime, keyed by their source. The cache lives as long as the
+     * process definition does and keeps the <code>jbpm.mvel.compiled.expressions.limit</code> most recently
+     * used expressions.
+     */
+    public Map<String, Serializable> getCompiledExpressions() {
+        Map<String, Serializable> expressions = compiledExpressions;
+        if (expressions == null) {
+            synchronized (this) {
+                expressions = compiledExpressions;
+                if (expressions == null) {
+                    expressions = Collections.synchronizedMap(new LinkedHashMap<String, Serializable>(16, 0.75f, true) {
+
+                        private static final long serialVersionUID = 1L;
+
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<String, Serializable> eldest) {
+                            return size() > COMPILED_EXPRESSIONS_LIMIT;
+                        }
+                    });
+                    compiledExpressions = expressions;
+                }
+            }
+        }
+        return expressions;
+    }
     
     /*
      * Special handling for serialization to initialize transient (runtime related) meta data
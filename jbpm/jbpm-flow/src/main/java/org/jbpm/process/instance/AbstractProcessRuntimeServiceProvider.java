@@ -21,8 +21,12 @@ import org.drools.core.event.KogitoProcessEventSupportImpl;
 import org.jbpm.process.instance.impl.DefaultProcessInstanceManager;
 import org.kie.api.event.process.ProcessEventListener;
 import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.process.ParallelWorkItemExecutor;
+import org.kie.kogito.process.ProcessInstanceIdGenerator;
 import org.kie.kogito.process.ProcessEventListenerConfig;
 import org.kie.kogito.process.WorkItemHandlerConfig;
+import org.kie.kogito.process.impl.BoundedParallelWorkItemExecutor;
+import org.kie.kogito.process.impl.TimeOrderedProcessInstanceIdGenerator;
 import org.kie.kogito.internal.process.event.KogitoProcessEventListener;
 import org.kie.kogito.internal.process.event.KogitoProcessEventSupport;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
@@ -39,14 +43,37 @@ public class AbstractProcessRuntimeServiceProvider implements ProcessRuntimeServ
     private final KogitoWorkItemManager workItemManager;
     private final KogitoProcessEventSupportImpl eventSupport;
     private final UnitOfWorkManager unitOfWorkManager;
+    private final ProcessInstanceIdGenerator processInstanceIdGenerator;
+    private final ParallelWorkItemExecutor parallelWorkItemExecutor;
 
     public AbstractProcessRuntimeServiceProvider(JobsService jobsService,
                                                  WorkItemHandlerConfig workItemHandlerProvider,
                                                  ProcessEventListenerConfig processEventListenerProvider,
                                                  SignalManagerHub compositeSignalManager,
                                                  UnitOfWorkManager unitOfWorkManager) {
+        this(jobsService, workItemHandlerProvider, processEventListenerProvider, compositeSignalManager, unitOfWorkManager, null);
+    }
+
+    public AbstractProcessRuntimeServiceProvider(JobsService jobsService,
+                                                 WorkItemHandlerConfig workItemHandlerProvider,
+                                                 ProcessEventListenerConfig processEventListenerProvider,
+                                                 SignalManagerHub compositeSignalManager,
+                                                 UnitOfWorkManager unitOfWorkManager,
+                                                 ProcessInstanceIdGenerator processInstanceIdGenerator) {
+        this(jobsService, workItemHandlerProvider, processEventListenerProvider, compositeSignalManager, unitOfWorkManager, processInstanceIdGenerator, null);
+    }
+
+    public AbstractProcessRuntimeServiceProvider(JobsService jobsService,
+                                                 WorkItemHandlerConfig workItemHandlerProvider,
+                                                 ProcessEventListenerConfig processEventListenerProvider,
+                                                 SignalManagerHub compositeSignalManager,
+                                                 UnitOfWorkManager unitOfWorkManager,
+                                                 ProcessInstanceIdGenerator processInstanceIdGenerator,
+                                                 ParallelWorkItemExecutor parallelWorkItemExecutor) {
         this.unitOfWorkManager = unitOfWorkManager;
-        processInstanceManager = new DefaultProcessInstanceManager();
+        this.parallelWorkItemExecutor = parallelWorkItemExecutor == null ? new BoundedParallelWorkItemExecutor() : parallelWorkItemExecutor;
+        this.processInstanceIdGenerator = processInstanceIdGenerator == null ? new TimeOrderedProcessInstanceIdGenerator() : processInstanceIdGenerator;
+        processInstanceManager = new DefaultProcessInstanceManager(this.processInstanceIdGenerator);
         signalManager = new LightSignalManager(
                 id -> Optional.ofNullable(
                         processInstanceManager.getProcessInstance(id)),
@@ -94,4 +121,14 @@ public class AbstractProcessRuntimeServiceProvider implements ProcessRuntimeServ
     public UnitOfWorkManager getUnitOfWorkManager() {
         return unitOfWorkManager;
     }
+
+    @Override
+    public ProcessInstanceIdGenerator getProcessInstanceIdGenerator() {
+        return processInstanceIdGenerator;
+    }
+
+    @Override
+    public ParallelWorkItemExecutor getParallelWorkItemExecutor() {
+        return parallelWorkItemExecutor;
+    }
 }
@@ -19,6 +19,7 @@ import org.drools.core.common.InternalKnowledgeRuntime;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.internal.process.event.KogitoProcessEventSupport;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.process.ParallelWorkItemExecutor;
 import org.kie.kogito.signal.SignalManager;
 import org.kie.kogito.uow.UnitOfWorkManager;
 
@@ -35,4 +36,6 @@ public interface InternalProcessRuntime extends org.drools.core.runtime.process.
     InternalKnowledgeRuntime getInternalKieRuntime();
 
     JobsService getJobsService();
+
+    ParallelWorkItemExecutor getParallelWorkItemExecutor();
 }
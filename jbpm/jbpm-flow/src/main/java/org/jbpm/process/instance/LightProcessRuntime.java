@@ -57,6 +57,7 @@ import org.kie.kogito.jobs.ProcessJobDescription;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
+import org.kie.kogito.process.ParallelWorkItemExecutor;
 import org.kie.kogito.signal.SignalManager;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.services.jobs.impl.InMemoryJobService;
@@ -71,6 +72,7 @@ public class LightProcessRuntime extends AbstractProcessRuntime {
     private JobsService jobService;
     private final KogitoWorkItemManager workItemManager;
     private UnitOfWorkManager unitOfWorkManager;
+    private ParallelWorkItemExecutor parallelWorkItemExecutor;
 
     private final KogitoProcessRuntimeImpl kogitoProcessRuntime = new KogitoProcessRuntimeImpl( this );
 
@@ -93,6 +95,7 @@ public class LightProcessRuntime extends AbstractProcessRuntime {
         this.jobService = services.getJobsService() == null ? new InMemoryJobService(kogitoProcessRuntime, this.unitOfWorkManager) : services.getJobsService();
         this.processEventSupport = services.getEventSupport();
         this.workItemManager = services.getWorkItemManager();
+        this.parallelWorkItemExecutor = services.getParallelWorkItemExecutor();
         
         if (isActive()) {
             initProcessEventListeners();
@@ -202,6 +205,11 @@ public class LightProcessRuntime extends AbstractProcessRuntime {
         return jobService;
     }
 
+    @Override
+    public ParallelWorkItemExecutor getParallelWorkItemExecutor() {
+        return parallelWorkItemExecutor;
+    }
+
     public SignalManager getSignalManager() {
         return signalManager;
     }
@@ -21,9 +21,11 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.drools.core.process.instance.WorkItem;
 import org.jbpm.process.instance.impl.workitem.Abort;
@@ -36,10 +38,12 @@ import org.kie.kogito.internal.process.runtime.WorkItemNotFoundException;
 import org.kie.kogito.process.workitem.NotAuthorizedException;
 import org.kie.kogito.process.workitem.Policy;
 import org.kie.kogito.process.workitem.Transition;
+import org.kie.kogito.process.workitems.AsyncWorkItemExecutor;
 import org.kie.kogito.process.workitems.KogitoWorkItem;
 import org.kie.kogito.process.workitems.KogitoWorkItemHandlerNotFoundException;
 import org.kie.kogito.process.workitems.KogitoWorkItemManager;
 import org.kie.kogito.process.workitems.impl.KogitoWorkItemImpl;
+import org.kie.kogito.process.workitems.impl.RecordingWorkItemManager;
 import org.kie.kogito.signal.SignalManager;
 
 import static org.jbpm.process.instance.impl.humantask.HumanTaskWorkItemHandler.transitionToPhase;
@@ -60,12 +64,23 @@ public class LightWorkItemManager implements KogitoWorkItemManager {
     private Complete completePhase = new Complete();
     private Abort abortPhase = new Abort();
 
+    private AsyncWorkItemExecutor asyncWorkItemExecutor;
+
     public LightWorkItemManager(ProcessInstanceManager processInstanceManager, SignalManager signalManager, KogitoProcessEventSupport eventSupport) {
         this.processInstanceManager = processInstanceManager;
         this.signalManager = signalManager;
         this.eventSupport = eventSupport;
     }
 
+    public void setAsyncWorkItemExecutor(AsyncWorkItemExecutor asyncWorkItemExecutor) {
+        this.asyncWorkItemExecutor = asyncWorkItemExecutor;
+    }
+
+    @Override
+    public Optional<AsyncWorkItemExecutor> getAsyncWorkItemExecutor() {
+        return Optional.ofNullable(asyncWorkItemExecutor);
+    }
+
     public void internalExecuteWorkItem( KogitoWorkItem workItem) {
         (( KogitoWorkItemImpl ) workItem).setId(UUID.randomUUID().toString());
         internalAddWorkItem(workItem);
@@ -83,6 +98,26 @@ public class LightWorkItemManager implements KogitoWorkItemManager {
         }
     }    
 
+    public Supplier<Runnable> internalPrepareWorkItemExecution(KogitoWorkItem workItem) {
+        (( KogitoWorkItemImpl ) workItem).setId(UUID.randomUUID().toString());
+        internalAddWorkItem(workItem);
+        WorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
+        if (handler == null) {
+            throw new KogitoWorkItemHandlerNotFoundException(workItem.getName() );
+        }
+        Supplier<Runnable> invocation = RecordingWorkItemManager.invocation(this, handler, workItem);
+        return () -> {
+            Runnable replay = invocation.get();
+            return () -> {
+                ProcessInstance processInstance = processInstanceManager.getProcessInstance(workItem.getProcessInstanceStringId());
+                Transition<?> transition = new TransitionToActive();
+                eventSupport.fireBeforeWorkItemTransition(processInstance, workItem, transition, null);
+                replay.run();
+                eventSupport.fireAfterWorkItemTransition(processInstance, workItem, transition, null);
+            };
+        };
+    }
+
     public void internalAddWorkItem( KogitoWorkItem workItem) {
         workItems.put(workItem.getStringId(), workItem);
     }
@@ -67,6 +67,8 @@ import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.jobs.ProcessJobDescription;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.process.ParallelWorkItemExecutor;
+import org.kie.kogito.process.impl.BoundedParallelWorkItemExecutor;
 import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
 import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
 import org.kie.kogito.signal.SignalManager;
@@ -80,6 +82,7 @@ public class ProcessRuntimeImpl extends AbstractProcessRuntime {
     private SignalManager signalManager;
     private JobsService jobService;
     private UnitOfWorkManager unitOfWorkManager;
+    private final ParallelWorkItemExecutor parallelWorkItemExecutor = new BoundedParallelWorkItemExecutor();
 
     private final KogitoProcessRuntimeImpl kogitoProcessRuntime = new KogitoProcessRuntimeImpl( this );
 
@@ -260,6 +263,11 @@ public class ProcessRuntimeImpl extends AbstractProcessRuntime {
         return jobService;
     }
 
+    @Override
+    public ParallelWorkItemExecutor getParallelWorkItemExecutor() {
+        return parallelWorkItemExecutor;
+    }
+
     public SignalManager getSignalManager() {
         return signalManager;
     }
@@ -18,6 +18,8 @@ package org.jbpm.process.instance;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.internal.process.event.KogitoProcessEventSupport;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
+import org.kie.kogito.process.ParallelWorkItemExecutor;
+import org.kie.kogito.process.ProcessInstanceIdGenerator;
 import org.kie.kogito.signal.SignalManager;
 import org.kie.kogito.uow.UnitOfWorkManager;
 
@@ -34,4 +36,8 @@ public interface ProcessRuntimeServiceProvider {
     KogitoProcessEventSupport getEventSupport();
     
     UnitOfWorkManager getUnitOfWorkManager();
+
+    ProcessInstanceIdGenerator getProcessInstanceIdGenerator();
+
+    ParallelWorkItemExecutor getParallelWorkItemExecutor();
 }
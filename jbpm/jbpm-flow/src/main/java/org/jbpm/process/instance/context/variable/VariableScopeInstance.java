@@ -17,7 +17,9 @@ package org.jbpm.process.instance.context.variable;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.jbpm.process.core.context.variable.Variable;
 import org.jbpm.process.core.context.variable.VariableScope;
@@ -38,6 +40,8 @@ public class VariableScopeInstance extends AbstractContextInstance {
     private static final long serialVersionUID = 510l;    
     
     private Map<String, Object> variables = new HashMap<String, Object>();
+    private Set<String> changedVariables = new HashSet<>();
+    private transient Map<String, Long> storedVariableDigests;
     private transient String variableIdPrefix = null;
     private transient String variableInstanceIdPrefix = null;
 
@@ -76,6 +80,31 @@ public class VariableScopeInstance extends AbstractContextInstance {
         return Collections.unmodifiableMap(variables);
     }
 
+    /**
+     * Names of the variables set since the digests of the stored variables were given with
+     * {@link #internalSetStoredVariableDigests(Map)}
+     */
+    public Set<String> getChangedVariables() {
+        return Collections.unmodifiableSet(changedVariables);
+    }
+
+    /**
+     * Digests of the serialized values of the variables as they were stored, <code>null</code> when they were not
+     * kept when this instance was read
+     */
+    public Map<String, Long> getStoredVariableDigests() {
+        return storedVariableDigests == null ? null : Collections.unmodifiableMap(storedVariableDigests);
+    }
+
+    /**
+     * Sets the digests of the serialized values of the variables as they were stored, the current variables are
+     * then considered unchanged
+     */
+    public void internalSetStoredVariableDigests(Map<String, Long> storedVariableDigests) {
+        this.storedVariableDigests = storedVariableDigests;
+        changedVariables.clear();
+    }
+
     public void setVariable(String name, Object value) {
         setVariable(null, name, value);
     }
@@ -116,6 +145,7 @@ public class VariableScopeInstance extends AbstractContextInstance {
     public void internalSetVariable(String name, Object value) {
         // not a case, store it in normal variables
     	variables.put(name, value);
+    	changedVariables.add(name);
     }
     
     public VariableScope getVariableScope() {
@@ -18,18 +18,28 @@ package org.jbpm.process.instance.impl;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.jbpm.process.instance.ProcessInstanceManager;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.process.ProcessInstanceIdGenerator;
+import org.kie.kogito.process.impl.TimeOrderedProcessInstanceIdGenerator;
 
 public class DefaultProcessInstanceManager implements ProcessInstanceManager {
 
     private Map<String, KogitoProcessInstance> processInstances = new ConcurrentHashMap<>();
+    private final ProcessInstanceIdGenerator idGenerator;
+
+    public DefaultProcessInstanceManager() {
+        this(new TimeOrderedProcessInstanceIdGenerator());
+    }
+
+    public DefaultProcessInstanceManager(ProcessInstanceIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
 
     public void addProcessInstance(KogitoProcessInstance processInstance) {
-        String id = UUID.randomUUID().toString();
+        String id = idGenerator.generate();
         ((org.jbpm.process.instance.ProcessInstance) processInstance).setId(id);
         internalAddProcessInstance(processInstance);
     }
@@ -47,7 +47,7 @@ public class VariableUtil {
                     replacements.put(paramName, variableValueString);
                 } else {
                     try {
-                        Object variableValue = MVELProcessHelper.evaluator().eval(paramName, new NodeInstanceResolverFactory((org.jbpm.workflow.instance.NodeInstance) nodeInstance));
+                        Object variableValue = MVELProcessHelper.eval(nodeInstance.getProcessInstance().getProcess(), paramName, new NodeInstanceResolverFactory((org.jbpm.workflow.instance.NodeInstance) nodeInstance));
                         String variableValueString = variableValue == null ? "" : variableValue.toString(); 
                         replacements.put(paramName, variableValueString);
                     } catch (Throwable t) {
@@ -25,6 +25,7 @@ import org.jbpm.process.core.Context;
 import org.jbpm.process.core.context.AbstractContext;
 import org.jbpm.process.core.context.variable.Variable;
 import org.jbpm.process.core.context.variable.VariableScope;
+import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.workflow.core.impl.ConnectionImpl;
 import org.jbpm.workflow.core.impl.ExtendedNodeImpl;
 
@@ -241,6 +242,13 @@ public class ForEachNode extends CompositeContextNode {
         return waitForCompletion;
     }
 
+    /**
+     * Whether work items of the iterations are executed concurrently, enabled with the <code>customParallel</code> metadata
+     */
+    public boolean isParallel() {
+        return Boolean.parseBoolean((String) getMetaData(Metadata.CUSTOM_PARALLEL));
+    }
+
     public void setWaitForCompletion(boolean waitForCompletion) {
         this.waitForCompletion = waitForCompletion;
     }
@@ -17,15 +17,19 @@ package org.jbpm.workflow.instance.impl;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.drools.mvel.MVELSafeHelper;
+import org.jbpm.process.core.impl.ProcessImpl;
+import org.kie.api.definition.process.Process;
 import org.kie.soup.project.datamodel.commons.util.MVELEvaluator;
 import org.mvel2.ErrorDetail;
 import org.mvel2.MVEL;
 import org.mvel2.ParserContext;
 import org.mvel2.compiler.ExpressionCompiler;
+import org.mvel2.integration.VariableResolverFactory;
 
 public class MVELProcessHelper {
 
@@ -59,6 +63,24 @@ public class MVELProcessHelper {
         return EXPR_COMPILER.apply(expr);
     }
 
+    /**
+     * Evaluates the given expression of the given process against the given variables. The compiled form of the
+     * expression is cached by the process (see {@link ProcessImpl#getCompiledExpressions()}), so it is reused by
+     * every instance of the process and released together with the process definition.
+     */
+    public static Object eval(Process process, String expression, VariableResolverFactory factory) {
+        if (!(process instanceof ProcessImpl)) {
+            return evaluator().executeExpression(compileExpression(expression), factory);
+        }
+        Map<String, Serializable> compiledExpressions = ((ProcessImpl) process).getCompiledExpressions();
+        Serializable compiled = compiledExpressions.get(expression);
+        if (compiled == null) {
+            compiled = compileExpression(expression);
+            compiledExpressions.put(expression, compiled);
+        }
+        return evaluator().executeExpression(compiled, factory);
+    }
+
     public static List<ErrorDetail> validateExpression(String expression) {
         return EXPR_COMPILER_DETAILED.apply(expression);
     }
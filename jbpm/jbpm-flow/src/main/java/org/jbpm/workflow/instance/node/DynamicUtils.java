@@ -107,8 +107,8 @@ public class DynamicUtils {
                     variableValue = processInstance.getVariable(paramName);
                     if (variableValue == null) {
                         try {
-                            variableValue = MVELProcessHelper.evaluator().eval(paramName,
-                                                                                            new ProcessInstanceResolverFactory(processInstance));
+                            variableValue = MVELProcessHelper.eval(processInstance.getProcess(), paramName,
+                                                                   new ProcessInstanceResolverFactory(processInstance));
                         } catch (Throwable t) {
                             logger.error("Could not find variable scope for variable {}",
                                          paramName);
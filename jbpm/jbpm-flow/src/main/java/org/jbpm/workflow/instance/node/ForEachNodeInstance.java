@@ -27,6 +27,7 @@ import java.util.Map;
 import org.jbpm.process.core.ContextContainer;
 import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.process.instance.ContextInstance;
+import org.jbpm.process.instance.InternalProcessRuntime;
 import org.jbpm.process.instance.context.variable.VariableScopeInstance;
 import org.jbpm.workflow.core.Node;
 import org.jbpm.workflow.core.node.ForEachNode;
@@ -51,6 +52,8 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
 
     private static final String TEMP_OUTPUT_VAR = "foreach_output";
 
+    private transient ParallelWorkItemExecution parallelExecution;
+
     public ForEachNode getForEachNode() {
         return (ForEachNode) getNode();
     }
@@ -102,7 +105,7 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
             collection = variableScopeInstance.getVariable(collectionExpression);
         } else {
             try {
-                collection = MVELProcessHelper.evaluator().eval(collectionExpression, new NodeInstanceResolverFactory(this));
+                collection = MVELProcessHelper.eval(getProcessInstance().getProcess(), collectionExpression, new NodeInstanceResolverFactory(this));
             } catch (Throwable t) {
                 throw new IllegalArgumentException(
                         "Could not find collection " + collectionExpression);
@@ -149,9 +152,18 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
                     variableScopeInstance.setVariable(this, variableName, o);
                     nodeInstances.add(nodeInstance);
                 }
-                for (NodeInstance nodeInstance : nodeInstances) {
-                    logger.debug("Triggering [{}] in multi-instance loop.", nodeInstance.getNodeId());
-                    nodeInstance.trigger(this, getForEachSplitNode().getTo().getToType());
+                ParallelWorkItemExecution execution = getForEachNode().isParallel() ? new ParallelWorkItemExecution((InternalProcessRuntime) getProcessInstance().getKnowledgeRuntime().getProcessRuntime()) : null;
+                parallelExecution = execution;
+                try {
+                    for (NodeInstance nodeInstance : nodeInstances) {
+                        logger.debug("Triggering [{}] in multi-instance loop.", nodeInstance.getNodeId());
+                        nodeInstance.trigger(this, getForEachSplitNode().getTo().getToType());
+                    }
+                } finally {
+                    parallelExecution = null;
+                }
+                if (execution != null) {
+                    execution.complete();
                 }
                 if (!getForEachNode().isWaitForCompletion()) {
                     ForEachNodeInstance.this.triggerCompleted( Node.CONNECTION_DEFAULT_TYPE, false);
@@ -231,7 +243,7 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
                 return false;
             }
             try {
-                Object result = MVELProcessHelper.evaluator().eval(expression, new ForEachNodeInstanceResolverFactory(this, tempVariables));
+                Object result = MVELProcessHelper.eval(getProcessInstance().getProcess(), expression, new ForEachNodeInstanceResolverFactory(this, tempVariables));
                 if (!(result instanceof Boolean)) {
                     throw new RuntimeException("Completion condition expression must return boolean values: " + result
                                                        + " for expression " + expression);
@@ -254,6 +266,21 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
         return contextInstance;
     }
 
+    /**
+     * Returns the execution collecting the work items of the enclosing parallel for each node while its iterations
+     * are being triggered, <code>null</code> otherwise
+     */
+    static ParallelWorkItemExecution getParallelExecution(NodeInstance nodeInstance) {
+        NodeInstanceContainer container = (NodeInstanceContainer) nodeInstance.getNodeInstanceContainer();
+        while (container instanceof NodeInstance) {
+            if (container instanceof ForEachNodeInstance && ((ForEachNodeInstance) container).parallelExecution != null) {
+                return ((ForEachNodeInstance) container).parallelExecution;
+            }
+            container = (NodeInstanceContainer) ((NodeInstance) container).getNodeInstanceContainer();
+        }
+        return null;
+    }
+
     @Override
     public int getLevelForNode(String uniqueID) {
         // always 1 for for each
@@ -274,7 +274,7 @@ public class LambdaSubProcessNodeInstance extends StateBasedNodeInstance impleme
 	            parameterValue = variableScopeInstance.getVariable(sourceParam);
 	        } else {
 	            try {
-	                parameterValue = MVELProcessHelper.evaluator().eval(sourceParam, new NodeInstanceResolverFactory(this));
+	                parameterValue = MVELProcessHelper.eval(getProcessInstance().getProcess(), sourceParam, new NodeInstanceResolverFactory(this));
 	            } catch (Throwable t) {
 	                logger.warn("Could not find variable scope for variable {}", sourceParam);
 	            }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.instance.node;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import org.jbpm.process.instance.InternalProcessRuntime;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+
+/**
+ * Executes the work item handlers of the iterations of a parallel for each node concurrently, at most
+ * <code>jbpm.foreach.parallel.limit</code> at a time (8 by default), on the
+ * {@link org.kie.kogito.process.ParallelWorkItemExecutor} of the process runtime. The process instance is only
+ * changed by the thread triggering the for each node: once all iterations are triggered, {@link #complete()} waits
+ * for the handlers and applies their outcome in the order of the iterations.
+ * <p>
+ * Each handler runs in a unit of work nested in the one of the thread triggering the for each node: the work it
+ * intercepts is handed to that unit of work together with the outcome of the handler.
+ */
+class ParallelWorkItemExecution {
+
+    private static final int CONCURRENCY_LIMIT = Integer.parseInt(System.getProperty("jbpm.foreach.parallel.limit", "8"));
+
+    private final Executor executor;
+    private final UnitOfWorkManager unitOfWorkManager;
+    private final Semaphore permits = new Semaphore(CONCURRENCY_LIMIT);
+    private final List<Execution> executions = new ArrayList<>();
+
+    ParallelWorkItemExecution(InternalProcessRuntime processRuntime) {
+        this(processRuntime.getParallelWorkItemExecutor(), processRuntime.getUnitOfWorkManager());
+    }
+
+    ParallelWorkItemExecution(Executor executor, UnitOfWorkManager unitOfWorkManager) {
+        this.executor = executor;
+        this.unitOfWorkManager = unitOfWorkManager;
+    }
+
+    void submit(WorkItemNodeInstance nodeInstance, Supplier<Runnable> invocation) {
+        CompletableFuture<Runnable> outcome;
+        try {
+            permits.acquire();
+            outcome = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return invokeInUnitOfWork(invocation);
+                } finally {
+                    permits.release();
+                }
+            }, executor);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = CompletableFuture.completedFuture(invokeInUnitOfWork(invocation));
+        }
+        executions.add(new Execution(nodeInstance, outcome));
+    }
+
+    void complete() {
+        for (Execution execution : executions) {
+            Runnable outcome;
+            try {
+                outcome = execution.outcome.join();
+            } catch (CompletionException e) {
+                outcome = () -> {
+                    throw e;
+                };
+            }
+            execution.nodeInstance.completeParallelExecution(outcome);
+        }
+    }
+
+    private Runnable invokeInUnitOfWork(Supplier<Runnable> invocation) {
+        DeferredWork deferred = new DeferredWork();
+        UnitOfWork unit = unitOfWorkManager.newNestedUnitOfWork(deferred);
+        unit.start();
+        Runnable replay;
+        try {
+            replay = invocation.get();
+        } finally {
+            unit.end();
+        }
+        return () -> {
+            deferred.handTo(unitOfWorkManager.currentUnitOfWork());
+            replay.run();
+        };
+    }
+
+    private static class Execution {
+
+        private final WorkItemNodeInstance nodeInstance;
+        private final CompletableFuture<Runnable> outcome;
+
+        private Execution(WorkItemNodeInstance nodeInstance, CompletableFuture<Runnable> outcome) {
+            this.nodeInstance = nodeInstance;
+            this.outcome = outcome;
+        }
+    }
+
+    /**
+     * Parent of the unit of work of a handler, it keeps the work the handler intercepted until the outcome of the
+     * handler is applied by the thread triggering the for each node
+     */
+    private static class DeferredWork implements UnitOfWork {
+
+        private final List<WorkUnit<?>> work = new ArrayList<>();
+
+        @Override
+        public void start() {
+            // always started
+        }
+
+        @Override
+        public void end() {
+            // ends with the unit of work it is handed to
+        }
+
+        @Override
+        public void abort() {
+            work.clear();
+        }
+
+        @Override
+        public void intercept(WorkUnit work) {
+            this.work.add(work);
+        }
+
+        private void handTo(UnitOfWork unit) {
+            work.forEach(unit::intercept);
+        }
+    }
+}
@@ -16,7 +16,6 @@
 
 package org.jbpm.workflow.instance.node;
 
-import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -108,7 +107,7 @@ public class SubProcessNodeInstance extends StateBasedNodeInstance implements Ev
                     parameterValue = variableScopeInstance.getVariable(mapping.getSources().get(0));
                 } else {
                     try {
-                        parameterValue = MVELProcessHelper.evaluator().eval(mapping.getSources().get(0), new NodeInstanceResolverFactory(this));
+                        parameterValue = MVELProcessHelper.eval(getProcessInstance().getProcess(), mapping.getSources().get(0), new NodeInstanceResolverFactory(this));
                     } catch (Throwable t) {
                         parameterValue = VariableUtil.resolveVariable(mapping.getSources().get(0), this);
                         if (parameterValue != null) {
@@ -144,7 +143,7 @@ public class SubProcessNodeInstance extends StateBasedNodeInstance implements Ev
                     replacements.put(paramName, variableValueString);
                 } else {
                     try {
-                        Object variableValue = MVELProcessHelper.evaluator().eval(paramName, new NodeInstanceResolverFactory(this));
+                        Object variableValue = MVELProcessHelper.eval(getProcessInstance().getProcess(), paramName, new NodeInstanceResolverFactory(this));
                         String variableValueString = variableValue == null ? "" : variableValue.toString();
                         replacements.put(paramName, variableValueString);
                     } catch (Throwable t) {
@@ -325,7 +324,7 @@ public class SubProcessNodeInstance extends StateBasedNodeInstance implements Ev
                         Object value = subProcessVariableScopeInstance.getVariable(mapping.getSources().get(0));
                         if (value == null) {
                             try {
-                                value = MVELProcessHelper.evaluator().eval(mapping.getSources().get(0), new VariableScopeResolverFactory(subProcessVariableScopeInstance));
+                                value = MVELProcessHelper.eval(getProcessInstance().getProcess(), mapping.getSources().get(0), new VariableScopeResolverFactory(subProcessVariableScopeInstance));
                             } catch (Throwable t) {
                                 // do nothing
                             }
@@ -342,8 +341,7 @@ public class SubProcessNodeInstance extends StateBasedNodeInstance implements Ev
                             String expression = paramName + " = " + output;
                             VariableScopeResolverFactory resolver = new VariableScopeResolverFactory(subProcessVariableScopeInstance);
                             resolver.addExtraParameters(((VariableScopeInstance) getProcessInstance().getContextInstance(VariableScope.VARIABLE_SCOPE)).getVariables());
-                            Serializable compiled = MVELProcessHelper.compileExpression(expression);
-                            MVELProcessHelper.evaluator().executeExpression(compiled, resolver);
+                            MVELProcessHelper.eval(getProcessInstance().getProcess(), expression, resolver);
                         } else {
                             logger.error("Could not find variable scope for variable {}", mapping.getTarget());
                             logger.error("when trying to complete SubProcess node {}", getSubProcessNode().getName());
@@ -430,7 +428,7 @@ public class SubProcessNodeInstance extends StateBasedNodeInstance implements Ev
                 parameterValue = variableScopeInstance.getVariable(sourceParam);
             } else {
                 try {
-                    parameterValue = MVELProcessHelper.evaluator().eval(sourceParam, new NodeInstanceResolverFactory(this));
+                    parameterValue = MVELProcessHelper.eval(getProcessInstance().getProcess(), sourceParam, new NodeInstanceResolverFactory(this));
                 } catch (Throwable t) {
                     logger.warn("Could not find variable scope for variable {}", sourceParam);
                 }
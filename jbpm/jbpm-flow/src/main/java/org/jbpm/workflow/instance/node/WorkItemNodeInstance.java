@@ -16,7 +16,6 @@
 
 package org.jbpm.workflow.instance.node;
 
-import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -162,20 +161,15 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
         if (isInversionOfControl()) {
             getProcessInstance().getKnowledgeRuntime().update(getProcessInstance().getKnowledgeRuntime().getFactHandle(this), this);
         } else {
-            try {
-                (( KogitoWorkItemManager ) getProcessInstance().getKnowledgeRuntime().getWorkItemManager()).internalExecuteWorkItem(workItem);
-            } catch (WorkItemHandlerNotFoundException wihnfe) {
-                getProcessInstance().setState(STATE_ABORTED);
-                throw wihnfe;
-            } catch (ProcessWorkItemHandlerException handlerException) {
+            KogitoWorkItemManager workItemManager = ( KogitoWorkItemManager ) getProcessInstance().getKnowledgeRuntime().getWorkItemManager();
+            ParallelWorkItemExecution parallelExecution = ForEachNodeInstance.getParallelExecution(this);
+            if (parallelExecution != null) {
+                // the handler runs concurrently with the other iterations, its outcome is applied by completeParallelExecution
+                executeWorkItem(() -> parallelExecution.submit(this, workItemManager.internalPrepareWorkItemExecution(workItem)));
                 this.workItemId = workItem.getStringId();
-                handleWorkItemHandlerException(handlerException, workItem);
-            } catch (WorkItemExecutionError e) {
-                handleException(e.getErrorCode(), e);
-            } catch (Exception e) {
-                String exceptionName = e.getClass().getName();
-                handleException(exceptionName, e);
+                return;
             }
+            executeWorkItem(() -> workItemManager.internalExecuteWorkItem(workItem));
         }
         if (!workItemNode.isWaitForCompletion()) {
             triggerCompleted();
@@ -183,6 +177,50 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
         this.workItemId = workItem.getStringId();
     }
 
+    void completeParallelExecution(Runnable outcome) {
+        // node instance may have been cancelled while the handler was running
+        if (getNodeInstanceContainer().getNodeInstance(getStringId()) == null) {
+            return;
+        }
+        executeWorkItem(outcome);
+        if (!getWorkItemNode().isWaitForCompletion()) {
+            triggerCompleted();
+        }
+    }
+
+    private void executeWorkItem(Runnable execution) {
+        try {
+            execution.run();
+        } catch (WorkItemHandlerNotFoundException wihnfe) {
+            getProcessInstance().setState(STATE_ABORTED);
+            throw wihnfe;
+        } catch (ProcessWorkItemHandlerException handlerException) {
+            this.workItemId = workItem.getStringId();
+            handleWorkItemHandlerException(handlerException, workItem);
+        } catch (WorkItemExecutionError e) {
+            handleException(e.getErrorCode(), e);
+        } catch (Exception e) {
+            String exceptionName = e.getClass().getName();
+            handleException(exceptionName, e);
+        }
+    }
+
+    /**
+     * Handles an error of the work item reported after its handler returned as if the handler had thrown it,
+     * when no exception handler of the process catches it the process instance is put in error at this node.
+     */
+    public void failWorkItem(Exception e) {
+        try {
+            if (e instanceof WorkItemExecutionError) {
+                handleException(((WorkItemExecutionError) e).getErrorCode(), e);
+            } else {
+                handleException(e.getClass().getName(), e);
+            }
+        } catch (WorkflowRuntimeException wre) {
+            captureError(wre);
+        }
+    }
+
     protected void handleException(String exceptionName, Exception e) {
         ExceptionScopeInstance exceptionScopeInstance = (ExceptionScopeInstance) resolveContextInstance(ExceptionScope.EXCEPTION_SCOPE, exceptionName);
         if (exceptionScopeInstance == null) {
@@ -226,7 +264,7 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
                     parameterValue = variableScopeInstance.getVariable(association.getSources().get(0));
                 } else {
                     try {
-                        parameterValue = MVELProcessHelper.evaluator().eval(association.getSources().get(0), new NodeInstanceResolverFactory(this));
+                        parameterValue = MVELProcessHelper.eval(getProcessInstance().getProcess(), association.getSources().get(0), new NodeInstanceResolverFactory(this));
                     } catch (Throwable t) {
                         logger.error("Could not find variable scope for variable {}", association.getSources().get(0));
                         logger.error("when trying to execute Work Item {}", work.getName());
@@ -256,7 +294,7 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
                             replacements.put(paramName, variableValueString);
                         } else {
                             try {
-                                Object variableValue = MVELProcessHelper.evaluator().eval(paramName, new NodeInstanceResolverFactory(this));
+                                Object variableValue = MVELProcessHelper.eval(getProcessInstance().getProcess(), paramName, new NodeInstanceResolverFactory(this));
                                 String variableValueString = variableValue == null ? "" : variableValue.toString();
                                 replacements.put(paramName, variableValueString);
                             } catch (Throwable t) {
@@ -323,7 +361,7 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
                         Object value = workItem.getResult(association.getSources().get(0));
                         if (value == null) {
                             try {
-                                value = MVELProcessHelper.evaluator().eval(association.getSources().get(0), new WorkItemResolverFactory(workItem));
+                                value = MVELProcessHelper.eval(getProcessInstance().getProcess(), association.getSources().get(0), new WorkItemResolverFactory(workItem));
                             } catch (Throwable t) {
                                 // do nothing
                             }
@@ -349,8 +387,7 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
                             String expression = paramName + " = " + output;
                             NodeInstanceResolverFactory resolver = new NodeInstanceResolverFactory(this);
                             resolver.addExtraParameters(workItem.getResults());
-                            Serializable compiled = MVELProcessHelper.compileExpression(expression);
-                            MVELProcessHelper.evaluator().executeExpression(compiled, resolver);
+                            MVELProcessHelper.eval(getProcessInstance().getProcess(), expression, resolver);
                         } else {                        
                             logger.warn("Could not find variable scope for variable {}", association.getTarget());
                             logger.warn("when trying to complete Work Item {}", workItem.getName());
@@ -533,7 +570,7 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
                 parameterValue = variableScopeInstance.getVariable(sourceParam);
             } else {
                 try {
-                    parameterValue = MVELProcessHelper.evaluator().eval(sourceParam, new NodeInstanceResolverFactory(this));
+                    parameterValue = MVELProcessHelper.eval(getProcessInstance().getProcess(), sourceParam, new NodeInstanceResolverFactory(this));
                 } catch (Throwable t) {
                     logger.warn("Could not find variable scope for variable {}", sourceParam);
                 }
@@ -26,7 +26,6 @@ import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.impl.Sig;
 import org.kie.kogito.services.event.AbstractProcessDataEvent;
-import org.kie.kogito.services.uow.UnitOfWorkExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,7 +45,7 @@ public class CloudEventConsumer<D, M extends Model, T extends AbstractProcessDat
     }
 
     @Override
-    public void consume(Application application, Process<M> process, String payload, String trigger) {
+    protected Optional<Runnable> prepare(Application application, Process<M> process, String payload, String trigger) {
         String simpleName = cloudEventClass.getSimpleName();
         try {
             T cloudEvent = mapper.readValue(payload, cloudEventClass);
@@ -58,14 +57,18 @@ public class CloudEventConsumer<D, M extends Model, T extends AbstractProcessDat
                              trigger,
                              cloudEvent.getType(),
                              cloudEvent.getSource());
-                return;
+                return Optional.empty();
             }
-            UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
+            return Optional.of(() -> {
                 if (cloudEvent.getKogitoReferenceId() != null && !cloudEvent.getKogitoReferenceId().isEmpty()) {
                     logger.debug("Received message with reference id '{}' going to use it to send signal '{}'",
                                  cloudEvent.getKogitoReferenceId(),
                                  trigger);
                     Optional<ProcessInstance<M>> instance = process.instances().findById(cloudEvent.getKogitoReferenceId());
+                    if (!instance.isPresent()) {
+                        // reference id can also be the business key of the process instance
+                        instance = process.instances().findByBusinessKey(cloudEvent.getKogitoReferenceId());
+                    }
                     if(instance.isPresent()){
                         instance.get().send(Sig.of("Message-" + trigger,
                                                    cloudEvent.getData(),
@@ -85,13 +88,13 @@ public class CloudEventConsumer<D, M extends Model, T extends AbstractProcessDat
                         pi.start(trigger, cloudEvent.getKogitoProcessinstanceId());
                     }
                 }
-                return null;
             });
         } catch (JsonProcessingException e) {
             logger.warn("Consumer for CloudEvent type '{}', trigger '{}': ignoring payload '{}'",
                         simpleName,
                         trigger,
                         payload);
+            return Optional.empty();
         }
     }
 
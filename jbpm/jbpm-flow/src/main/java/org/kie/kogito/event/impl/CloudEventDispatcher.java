@@ -0,0 +1,186 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.kie.kogito.event.AcknowledgeableEvent;
+import org.kie.kogito.services.event.impl.AbstractMessageConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single subscriber of the incoming event stream that hands every CloudEvent to the consumers registered for its
+ * type or source, so that only the matching consumers deserialize the payload.
+ * <br/>
+ * Only the <code>type</code> and <code>source</code> attributes of the envelope are read, with a streaming parser
+ * skipping any other attribute including <code>data</code>. Consumers of plain data events (CloudEvents disabled)
+ * have nothing to be routed on and receive every payload.
+ * <br/>
+ * Batches of payloads, see {@link #dispatch(List)}, are split per consumer keeping the order of the payloads, so
+ * that each consumer processes its part of the batch at once. A consumer failing to process an event is logged and
+ * does not prevent the other consumers from receiving it.
+ */
+public class CloudEventDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CloudEventDispatcher.class);
+
+    private static final String TYPE = "type";
+    private static final String SOURCE = "source";
+
+    private final JsonFactory jsonFactory;
+    private final Map<String, List<Route>> routes = new ConcurrentHashMap<>();
+    private final List<Route> unrouted = new CopyOnWriteArrayList<>();
+
+    public CloudEventDispatcher() {
+        this(new JsonFactory());
+    }
+
+    public CloudEventDispatcher(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public void register(AbstractMessageConsumer<?, ?, ?> consumer) {
+        Route route = new Route(consumer::consume, consumer::consume);
+        if (consumer.useCloudEvents()) {
+            register(consumer.routingKeys(), route);
+        } else {
+            unrouted.add(route);
+        }
+    }
+
+    /**
+     * Registers a consumer of the CloudEvents whose type or source is any of the given routing keys
+     */
+    public void register(Collection<String> routingKeys, Consumer<String> consumer) {
+        register(routingKeys, new Route(consumer, payloads -> payloads.forEach(consumer)));
+    }
+
+    private void register(Collection<String> routingKeys, Route route) {
+        for (String routingKey : routingKeys) {
+            routes.computeIfAbsent(routingKey, k -> new CopyOnWriteArrayList<>()).add(route);
+        }
+    }
+
+    public void dispatch(String payload) {
+        unrouted.forEach(route -> deliver(route.single, payload));
+        route(payload).forEach(route -> deliver(route.single, payload));
+    }
+
+    public void dispatch(List<String> payloads) {
+        Map<Route, List<String>> batches = new LinkedHashMap<>();
+        for (String payload : payloads) {
+            unrouted.forEach(route -> batches.computeIfAbsent(route, k -> new ArrayList<>()).add(payload));
+            route(payload).forEach(route -> batches.computeIfAbsent(route, k -> new ArrayList<>()).add(payload));
+        }
+        batches.forEach((route, batch) -> deliver(route.batch, batch));
+    }
+
+    /**
+     * Dispatches the given batch of events and acknowledges them once every consumer processed its part, so
+     * that the events of a batch interrupted by a crash are delivered again.
+     */
+    public void dispatchAndAcknowledge(List<? extends AcknowledgeableEvent> events) {
+        List<String> payloads = new ArrayList<>(events.size());
+        events.forEach(event -> payloads.add(event.payload()));
+        dispatch(payloads);
+        events.forEach(AcknowledgeableEvent::ack);
+    }
+
+    /*
+     * a failing consumer must not prevent the other consumers from receiving the event
+     */
+    private static <T> void deliver(Consumer<T> consumer, T payload) {
+        try {
+            consumer.accept(payload);
+        } catch (RuntimeException e) {
+            logger.error("Error when consuming message", e);
+        }
+    }
+
+    private Collection<Route> route(String payload) {
+        if (routes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String[] envelope = readEnvelope(payload);
+        if (envelope == null || (envelope[0] == null && envelope[1] == null)) {
+            logger.warn("Ignoring payload '{}', it is not a CloudEvent", payload);
+            return Collections.emptyList();
+        }
+        Set<Route> matching = new LinkedHashSet<>();
+        for (String routingKey : envelope) {
+            // the routes do not accept null keys, an event may lack either its type or its source
+            if (routingKey != null) {
+                matching.addAll(routes.getOrDefault(routingKey, Collections.emptyList()));
+            }
+        }
+        if (matching.isEmpty()) {
+            logger.debug("No consumer registered for CloudEvent type '{}', source '{}'", envelope[0], envelope[1]);
+        }
+        return matching;
+    }
+
+    /**
+     * @return type and source of the given CloudEvent, or <code>null</code> if the payload is not a JSON object
+     */
+    private String[] readEnvelope(String payload) {
+        String[] envelope = new String[2];
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME && (envelope[0] == null || envelope[1] == null)) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (TYPE.equals(field) && value == JsonToken.VALUE_STRING) {
+                    envelope[0] = parser.getText();
+                } else if (SOURCE.equals(field) && value == JsonToken.VALUE_STRING) {
+                    envelope[1] = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return envelope;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static class Route {
+
+        private final Consumer<String> single;
+        private final Consumer<List<String>> batch;
+
+        private Route(Consumer<String> single, Consumer<List<String>> batch) {
+            this.single = single;
+            this.batch = batch;
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package org.kie.kogito.event.impl;
 
+import java.util.Optional;
 import java.util.function.Function;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -23,7 +24,6 @@ import org.kie.kogito.Application;
 import org.kie.kogito.Model;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
-import org.kie.kogito.services.uow.UnitOfWorkExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,20 +41,20 @@ public class DataEventConsumer<M extends Model, D> extends JacksonEventConsumer<
     }
 
     @Override
-    public void consume(Application application, Process<M> process, String payload, String trigger) {
+    protected Optional<Runnable> prepare(Application application, Process<M> process, String payload, String trigger) {
         try {
             D eventData = mapper.readValue(payload, dataEventClass);
             M model = function.apply(eventData);
-            UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
+            return Optional.of(() -> {
                 logger.debug(
                     "Received message without reference id, staring new process instance with trigger '{}'",
                     trigger);
                 ProcessInstance<M> pi = process.createInstance(model);
                 pi.start(trigger, null);
-                return null;
             });
         } catch (JsonProcessingException e) {
             logger.error("Error when consuming message for process {}", process.id(), e);
+            return Optional.empty();
         }
     }
 
@@ -15,15 +15,223 @@
  */
 package org.kie.kogito.event.impl;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.kie.kogito.Application;
 import org.kie.kogito.Model;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceExecutionException;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.kie.kogito.services.event.EventConsumer;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit.Operation;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public abstract class JacksonEventConsumer<M extends Model> implements EventConsumer<M> {
 
+    private static final Logger logger = LoggerFactory.getLogger(JacksonEventConsumer.class);
+
     final ObjectMapper mapper;
 
     public JacksonEventConsumer(ObjectMapper mapper) {
         this.mapper = mapper;
     }
+
+    @Override
+    public void consume(Application application, Process<M> process, String payload, String trigger) {
+        prepare(application, process, payload, trigger).ifPresent(action -> UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
+            action.run();
+            return null;
+        }, UnitOfWorkExecutor.DEFAULT_MAX_RETRIES));
+    }
+
+    /**
+     * Deserializes all payloads first and processes the resulting events in one unit of work. Every event is
+     * processed in a unit of work nested in it, so that a failing event is discarded without affecting the others,
+     * which are neither rolled back nor processed again. When the unit of work itself fails to end, its work has
+     * been performed only in part, as units of work do not roll back, so the stored process instances are checked
+     * for every event: events none of whose work has been stored are processed again one by one, events whose work
+     * has been stored are not, and events whose work may have been stored in part are discarded.
+     */
+    @Override
+    public void consume(Application application, Process<M> process, List<String> payloads, String trigger) {
+        List<Runnable> actions = new ArrayList<>(payloads.size());
+        for (String payload : payloads) {
+            prepare(application, process, payload, trigger).ifPresent(actions::add);
+        }
+        if (!actions.isEmpty()) {
+            consume(application.unitOfWorkManager(), actions);
+        }
+    }
+
+    /**
+     * Deserializes the given payload
+     *
+     * @return action processing the event within a unit of work, empty if the payload is ignored
+     */
+    protected abstract Optional<Runnable> prepare(Application application, Process<M> process, String payload, String trigger);
+
+    private void consume(UnitOfWorkManager unitOfWorkManager, List<Runnable> actions) {
+        List<Message> messages = new ArrayList<>(actions.size());
+        try {
+            UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+                UnitOfWork batch = unitOfWorkManager.currentUnitOfWork();
+                for (Runnable action : actions) {
+                    Message message = new Message(action, batch);
+                    if (consumeNested(unitOfWorkManager, message)) {
+                        messages.add(message);
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            logger.debug("Error when ending unit of work of batch of {} messages, checking which messages were stored", actions.size(), e);
+            for (Message message : messages) {
+                Boolean stored = message.stored();
+                if (stored == null) {
+                    logger.error("Error when consuming message, message may have been stored in part and is discarded", e);
+                } else if (!stored) {
+                    consumeAlone(unitOfWorkManager, message.action);
+                }
+            }
+        }
+    }
+
+    private boolean consumeNested(UnitOfWorkManager unitOfWorkManager, Message message) {
+        try {
+            UnitOfWorkExecutor.executeInNestedUnitOfWork(unitOfWorkManager, message, () -> {
+                message.action.run();
+                return null;
+            });
+            return true;
+        } catch (ProcessInstanceExecutionException e) {
+            // the process instance is in error and stored as such, as it would be when consumed alone
+            logger.warn("Process instance {} failed when consuming message", e.getProcessInstanceId(), e);
+            return true;
+        } catch (RuntimeException e) {
+            logger.error("Error when consuming message, message is discarded", e);
+            return false;
+        }
+    }
+
+    private void consumeAlone(UnitOfWorkManager unitOfWorkManager, Runnable action) {
+        try {
+            UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+                action.run();
+                return null;
+            }, UnitOfWorkExecutor.DEFAULT_MAX_RETRIES);
+        } catch (ProcessInstanceExecutionException e) {
+            logger.warn("Process instance {} failed when consuming message", e.getProcessInstanceId(), e);
+        } catch (RuntimeException e) {
+            logger.error("Error when consuming message, message is discarded", e);
+        }
+    }
+
+    /**
+     * Parent of the nested unit of work of a message, hands the work over to the unit of work of the batch
+     * and keeps the persistence operations of the message to find out whether they have been performed.
+     */
+    private static class Message implements UnitOfWork {
+
+        private final Runnable action;
+        private final UnitOfWork batch;
+        private final Map<String, ProcessInstanceWorkUnit<?>> operations = new LinkedHashMap<>();
+        private final Map<String, Long> versions = new LinkedHashMap<>();
+        private boolean otherWork;
+
+        Message(Runnable action, UnitOfWork batch) {
+            this.action = action;
+            this.batch = batch;
+        }
+
+        @Override
+        public void start() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void end() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void abort() {
+            throw new UnsupportedOperationException();
+        }
+
+        @SuppressWarnings("rawtypes")
+        @Override
+        public void intercept(WorkUnit work) {
+            if (work instanceof ProcessInstanceWorkUnit && ((ProcessInstanceWorkUnit<?>) work).operation() != null) {
+                ProcessInstanceWorkUnit<?> unit = (ProcessInstanceWorkUnit<?>) work;
+                String id = unit.data().id();
+                // an instance created by the message is checked as created whatever happens to it afterwards
+                operations.merge(id, unit, (previous, next) -> previous.operation() == Operation.CREATE && next.operation() == Operation.UPDATE ? previous : next);
+                versions.putIfAbsent(id, unit.data() instanceof AbstractProcessInstance ? ((AbstractProcessInstance<?>) unit.data()).version() : 0L);
+            } else {
+                otherWork = true;
+            }
+            batch.intercept(work);
+        }
+
+        /**
+         * @return true when all the work of the message has been stored, false when none of it has been,
+         *         null when it cannot be told
+         */
+        Boolean stored() {
+            if (otherWork) {
+                return null;
+            }
+            int stored = 0;
+            try {
+                for (ProcessInstanceWorkUnit<?> unit : operations.values()) {
+                    Boolean performed = performed(unit);
+                    if (performed == null) {
+                        return null;
+                    } else if (performed) {
+                        stored++;
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.debug("Error when checking stored process instances", e);
+                return null;
+            }
+            if (stored == operations.size()) {
+                return true;
+            }
+            return stored == 0 ? false : null;
+        }
+
+        private Boolean performed(ProcessInstanceWorkUnit<?> unit) {
+            ProcessInstance<?> instance = unit.data();
+            if (!(instance.process().instances() instanceof MutableProcessInstances)) {
+                return null;
+            }
+            MutableProcessInstances<?> instances = (MutableProcessInstances<?>) instance.process().instances();
+            switch (unit.operation()) {
+                case CREATE:
+                    return instances.exists(instance.id());
+                case REMOVE:
+                    return !instances.exists(instance.id());
+                default:
+                    long version = versions.get(instance.id());
+                    OptionalLong stored = instances.version(instance.id());
+                    // without versions an update cannot be told from the instance it was based on
+                    return version == 0 || !stored.isPresent() ? null : stored.getAsLong() != version;
+            }
+        }
+    }
 }
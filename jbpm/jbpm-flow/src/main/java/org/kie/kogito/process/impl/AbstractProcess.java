@@ -24,6 +24,7 @@ import org.jbpm.process.core.timer.DateTimeUtils;
 import org.jbpm.process.core.timer.Timer;
 import org.jbpm.process.instance.InternalProcessRuntime;
 import org.jbpm.process.instance.LightProcessRuntime;
+import org.jbpm.process.instance.LightWorkItemManager;
 import org.jbpm.process.instance.LightProcessRuntimeContext;
 import org.jbpm.process.instance.LightProcessRuntimeServiceProvider;
 import org.jbpm.process.instance.ProcessRuntimeServiceProvider;
@@ -83,6 +84,11 @@ public abstract class AbstractProcess<T extends Model> implements Process<T> {
     protected AbstractProcess(Application app, Collection<KogitoWorkItemHandler> handlers, ProcessInstancesFactory factory) {
         this(new ConfiguredProcessServices(app.config().get(ProcessConfig.class)), handlers, factory);
         this.app = app;
+        // the work item manager belongs to this process, handlers may be shared with other processes
+        KogitoWorkItemManager workItemManager = services.getWorkItemManager();
+        if (workItemManager instanceof LightWorkItemManager) {
+            ((LightWorkItemManager) workItemManager).setAsyncWorkItemExecutor(new UnitOfWorkWorkItemExecutor(app));
+        }
     }
 
     protected AbstractProcess(ProcessRuntimeServiceProvider services, Collection<KogitoWorkItemHandler> handlers, ProcessInstancesFactory factory) {
@@ -133,6 +139,9 @@ public abstract class AbstractProcess<T extends Model> implements Process<T> {
         registerListeners();
         if (isProcessFactorySet()) {
             this.instances = (MutableProcessInstances<T>) processInstancesFactory.createProcessInstances(this);
+            if (processInstancesFactory.cacheSize() > 0) {
+                this.instances = new CachingProcessInstances<>(this, this.instances, processInstancesFactory.cacheSize());
+            }
         }
 
         return this;
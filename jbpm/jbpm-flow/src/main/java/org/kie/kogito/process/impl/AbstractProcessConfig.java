@@ -16,6 +16,7 @@
 package org.kie.kogito.process.impl;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Supplier;
@@ -26,8 +27,10 @@ import java.util.stream.StreamSupport;
 import org.kie.api.event.process.ProcessEventListener;
 import org.kie.kogito.event.EventPublisher;
 import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.process.ParallelWorkItemExecutor;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessEventListenerConfig;
+import org.kie.kogito.process.ProcessInstanceIdGenerator;
 import org.kie.kogito.process.WorkItemHandlerConfig;
 import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
 import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
@@ -42,6 +45,8 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
     private final ProcessEventListenerConfig processEventListenerConfig;
     private final UnitOfWorkManager unitOfWorkManager;
     private final JobsService jobsService;
+    private final ProcessInstanceIdGenerator processInstanceIdGenerator;
+    private final ParallelWorkItemExecutor parallelWorkItemExecutor;
 
     protected AbstractProcessConfig(
             Iterable<WorkItemHandlerConfig> workItemHandlerConfig,
@@ -51,6 +56,69 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
             Iterable<JobsService> jobsService,
             Iterable<EventPublisher> eventPublishers,
             String kogitoService) {
+        this(workItemHandlerConfig,
+             processEventListenerConfigs,
+             processEventListeners,
+             unitOfWorkManager,
+             jobsService,
+             eventPublishers,
+             Collections.emptyList(),
+             kogitoService);
+    }
+
+    protected AbstractProcessConfig(
+            Iterable<WorkItemHandlerConfig> workItemHandlerConfig,
+            Iterable<ProcessEventListenerConfig> processEventListenerConfigs,
+            Iterable<ProcessEventListener> processEventListeners,
+            Iterable<UnitOfWorkManager> unitOfWorkManager,
+            Iterable<JobsService> jobsService,
+            Iterable<EventPublisher> eventPublishers,
+            Iterable<ProcessInstanceIdGenerator> processInstanceIdGenerator,
+            String kogitoService) {
+        this(workItemHandlerConfig,
+             processEventListenerConfigs,
+             processEventListeners,
+             unitOfWorkManager,
+             jobsService,
+             eventPublishers,
+             processInstanceIdGenerator,
+             kogitoService,
+             1);
+    }
+
+    protected AbstractProcessConfig(
+            Iterable<WorkItemHandlerConfig> workItemHandlerConfig,
+            Iterable<ProcessEventListenerConfig> processEventListenerConfigs,
+            Iterable<ProcessEventListener> processEventListeners,
+            Iterable<UnitOfWorkManager> unitOfWorkManager,
+            Iterable<JobsService> jobsService,
+            Iterable<EventPublisher> eventPublishers,
+            Iterable<ProcessInstanceIdGenerator> processInstanceIdGenerator,
+            String kogitoService,
+            int variablesSnapshotInterval) {
+        this(workItemHandlerConfig,
+             processEventListenerConfigs,
+             processEventListeners,
+             unitOfWorkManager,
+             jobsService,
+             eventPublishers,
+             processInstanceIdGenerator,
+             Collections.emptyList(),
+             kogitoService,
+             variablesSnapshotInterval);
+    }
+
+    protected AbstractProcessConfig(
+            Iterable<WorkItemHandlerConfig> workItemHandlerConfig,
+            Iterable<ProcessEventListenerConfig> processEventListenerConfigs,
+            Iterable<ProcessEventListener> processEventListeners,
+            Iterable<UnitOfWorkManager> unitOfWorkManager,
+            Iterable<JobsService> jobsService,
+            Iterable<EventPublisher> eventPublishers,
+            Iterable<ProcessInstanceIdGenerator> processInstanceIdGenerator,
+            Iterable<ParallelWorkItemExecutor> parallelWorkItemExecutor,
+            String kogitoService,
+            int variablesSnapshotInterval) {
 
         this.workItemHandlerConfig = orDefault(workItemHandlerConfig, DefaultWorkItemHandlerConfig::new);
         this.processEventListenerConfig = merge(processEventListenerConfigs, processEventListeners);
@@ -58,9 +126,12 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
                                            () -> new DefaultUnitOfWorkManager(
                                                    new CollectingUnitOfWorkFactory()));
         this.jobsService = orDefault(jobsService, () -> null);
+        this.processInstanceIdGenerator = orDefault(processInstanceIdGenerator, TimeOrderedProcessInstanceIdGenerator::new);
+        this.parallelWorkItemExecutor = orDefault(parallelWorkItemExecutor, BoundedParallelWorkItemExecutor::new);
 
         eventPublishers.forEach(publisher -> unitOfWorkManager().eventManager().addPublisher(publisher));
         unitOfWorkManager().eventManager().setService(kogitoService);
+        unitOfWorkManager().eventManager().setVariablesSnapshotInterval(variablesSnapshotInterval);
     }
 
     @Override
@@ -88,6 +159,16 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
         return jobsService;
     }
 
+    @Override
+    public ProcessInstanceIdGenerator processInstanceIdGenerator() {
+        return processInstanceIdGenerator;
+    }
+
+    @Override
+    public ParallelWorkItemExecutor parallelWorkItemExecutor() {
+        return parallelWorkItemExecutor;
+    }
+
     public org.kie.kogito.Addons addons() {
         return new org.kie.kogito.Addons(Arrays.asList());
     }
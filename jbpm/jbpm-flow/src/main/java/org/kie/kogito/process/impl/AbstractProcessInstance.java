@@ -61,6 +61,7 @@ import org.kie.kogito.internal.process.runtime.WorkItemNotFoundException;
 import org.kie.kogito.process.workitem.Policy;
 import org.kie.kogito.process.workitem.Transition;
 import org.kie.kogito.services.uow.ProcessInstanceWorkUnit;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit.Operation;
 
 public abstract class AbstractProcessInstance<T extends Model> implements ProcessInstance<T> {
 
@@ -75,6 +76,9 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
     protected String id;
     protected CorrelationKey correlationKey;
     protected String description;
+    protected long version;
+    protected Date startDate;
+    protected boolean lazyVariables;
 
     protected ProcessError processError;
 
@@ -178,9 +182,19 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         return processInstance;
     }
 
+    /**
+     * Read only counterpart of {@link #internalRemoveProcessInstance(Supplier)} used when only the header of the
+     * stored process instance was read, the full state including variables is loaded on first access.
+     */
+    public void internalLoadProcessInstanceLazily(Supplier<WorkflowProcessInstance> loadSupplier) {
+        internalRemoveProcessInstance(loadSupplier);
+        this.lazyVariables = true;
+    }
+
     public void internalRemoveProcessInstance(Supplier<WorkflowProcessInstance> reloadSupplier) {
         this.reloadSupplier = reloadSupplier;
         this.status = processInstance.getState();
+        this.startDate = processInstance.getStartDate();
         if (this.status == STATE_ERROR) {
             this.processError = buildProcessError();
         }
@@ -211,7 +225,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         this.id = processInstance.getStringId();
         addCompletionEventListener();
         KogitoProcessInstance processInstance = getProcessRuntime().getKogitoProcessRuntime().startProcessInstance(this.id, trigger);
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).create(pi.id(), pi));
+        addToUnitOfWork(Operation.CREATE, pi -> ((MutableProcessInstances<T>) process.instances()).create(pi.id(), pi));
         unbind(variables, processInstance.getVariables());
         if (this.processInstance != null) {
             this.status = this.processInstance.getState();
@@ -223,13 +237,18 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         ((InternalProcessRuntime) getProcessRuntime()).getUnitOfWorkManager().currentUnitOfWork().intercept(new ProcessInstanceWorkUnit(this, action));
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected void addToUnitOfWork(Operation operation, Consumer<ProcessInstance<T>> action) {
+        ((InternalProcessRuntime) getProcessRuntime()).getUnitOfWorkManager().currentUnitOfWork().intercept(new ProcessInstanceWorkUnit(this, operation, action));
+    }
+
     @Override
     public void abort() {
         String pid = processInstance().getStringId();
         unbind(variables, processInstance().getVariables());
         getProcessRuntime().getKogitoProcessRuntime().abortProcessInstance(pid);
         this.status = processInstance.getState();
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).remove(pi.id()));
+        addToUnitOfWork(Operation.REMOVE, pi -> ((MutableProcessInstances<T>) process.instances()).remove(pi.id(), pi));
     }
 
     private InternalProcessRuntime getProcessRuntime() {
@@ -256,6 +275,10 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     @Override
     public T variables() {
+        if (lazyVariables) {
+            unbind(variables, processInstance().getVariables());
+            lazyVariables = false;
+        }
         return variables;
     }
 
@@ -269,6 +292,18 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         return this.id;
     }
 
+    /**
+     * Version of the stored state this instance was loaded from, used by persistence
+     * to detect concurrent modifications. Zero means the version is not known.
+     */
+    public long version() {
+        return this.version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String businessKey() {
         return this.correlationKey == null ? null : this.correlationKey.getName();
@@ -281,7 +316,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     @Override
     public Date startDate() {
-        return this.processInstance != null ? this.processInstance.getStartDate() : null;
+        return this.processInstance != null ? this.processInstance.getStartDate() : this.startDate;
     }
 
     @Override
@@ -292,7 +327,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
             processInstance().setVariable(entry.getKey(), entry.getValue());
         }
         this.variables.update(map);
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addToUnitOfWork(Operation.UPDATE, pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
         return variables;
     }
 
@@ -342,7 +377,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
         nodeInstanceContainerNode.getNodeInstance(node).trigger(null, Node.CONNECTION_DEFAULT_TYPE);
 
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addToUnitOfWork(Operation.UPDATE, pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
     }
 
     @Override
@@ -376,7 +411,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
             this.processInstance = reloadSupplier.get();
             if (this.processInstance == null) {
                 throw new ProcessInstanceNotFoundException(id);
-            } else if(getProcessRuntime() != null) {
+            } else if (rt != null) {
                 reconnect();
             }
         }
@@ -423,6 +458,20 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         removeOnFinish();
     }
 
+    /**
+     * Fails the given active work item with an error reported after its handler returned, see
+     * {@link WorkItemNodeInstance#failWorkItem(Exception)}.
+     */
+    public void failWorkItem(String id, Exception error) {
+        WorkItemNodeInstance workItemInstance = (WorkItemNodeInstance) processInstance().getNodeInstances(true)
+                .stream()
+                .filter(ni -> ni instanceof WorkItemNodeInstance && id.equals(((WorkItemNodeInstance) ni).getWorkItemId()))
+                .findFirst()
+                .orElseThrow(() -> new WorkItemNotFoundException("Work item with id " + id + " was not found in process instance " + id(), id));
+        workItemInstance.failWorkItem(error);
+        removeOnFinish();
+    }
+
     @Override
     public void abortWorkItem(String id, Policy<?>... policies) {
         getProcessRuntime().getKogitoProcessRuntime().getWorkItemManager().abortWorkItem(id, policies);
@@ -442,21 +491,21 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     @Override
     public Collection<Milestone> milestones() {
-        return processInstance.milestones();
+        return processInstance().milestones();
     }
 
     @Override
     public Collection<AdHocFragment> adHocFragments() {
-        return processInstance.adHocFragments();
+        return processInstance().adHocFragments();
     }
 
     protected void removeOnFinish() {
         if (processInstance.getState() != KogitoProcessInstance.STATE_ACTIVE && processInstance.getState() != KogitoProcessInstance.STATE_ERROR) {
             removeCompletionListener();
             syncProcessInstance(processInstance);
-            addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).remove(pi.id()));
+            addToUnitOfWork(Operation.REMOVE, pi -> ((MutableProcessInstances<T>) process.instances()).remove(pi.id(), pi));
         } else {
-            addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+            addToUnitOfWork(Operation.UPDATE, pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
         }
         unbind(this.variables, processInstance().getVariables());
         this.status = processInstance.getState();
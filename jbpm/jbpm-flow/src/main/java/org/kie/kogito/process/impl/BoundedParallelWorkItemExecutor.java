@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.kie.kogito.process.ParallelWorkItemExecutor;
+
+/**
+ * Default {@link ParallelWorkItemExecutor}, a pool of at most <code>jbpm.foreach.parallel.threads</code> daemon
+ * threads (8 by default) with a queue of <code>jbpm.foreach.parallel.queue</code> handlers (64 by default). When both
+ * are full the handler runs on the submitting thread. Idle threads terminate after a minute.
+ */
+public class BoundedParallelWorkItemExecutor implements ParallelWorkItemExecutor {
+
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    private final ThreadPoolExecutor executor;
+
+    public BoundedParallelWorkItemExecutor() {
+        this(Integer.parseInt(System.getProperty("jbpm.foreach.parallel.threads", "8")),
+             Integer.parseInt(System.getProperty("jbpm.foreach.parallel.queue", "64")));
+    }
+
+    public BoundedParallelWorkItemExecutor(int threads, int queueSize) {
+        this.executor = new ThreadPoolExecutor(threads,
+                                               threads,
+                                               1,
+                                               TimeUnit.MINUTES,
+                                               new ArrayBlockingQueue<>(queueSize),
+                                               runnable -> {
+                                                   Thread thread = new Thread(runnable, "jbpm-foreach-" + THREADS.incrementAndGet());
+                                                   thread.setDaemon(true);
+                                                   return thread;
+                                               },
+                                               new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.kie.api.runtime.process.WorkflowProcessInstance;
+import org.kie.kogito.Model;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceFilter;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ReactiveProcessInstances;
+
+import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
+
+/**
+ * Keeps the process instances written through it in a size bounded cache, so that instances loaded again
+ * shortly after, as signalled or frequently updated ones are, don't have to be unmarshalled from the storage.
+ * <p>
+ * The cache holds the {@link WorkflowProcessInstance} disconnected by the underlying storage once written, along with
+ * the version the storage gave it. A cached instance is handed out to a single caller, which takes it out of the cache
+ * until written back, and only when its version is still the stored one, as given by {@link MutableProcessInstances#version(String)}.
+ * Storages not reporting versions are therefore never read from the cache.
+ * <p>
+ * The asynchronous methods go through the same cache and are delegated to the underlying storage when it is
+ * {@link ReactiveProcessInstances}, otherwise its blocking methods are run asynchronously.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class CachingProcessInstances<T extends Model> implements MutableProcessInstances<T>,
+        ReactiveProcessInstances<T> {
+
+    private final Process<T> process;
+    private final MutableProcessInstances<T> delegate;
+    private final ReactiveProcessInstances<T> reactive;
+    private final Cache<String, CachedInstance> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachingProcessInstances(Process<T> process, MutableProcessInstances<T> delegate, int maximumSize) {
+        this.process = process;
+        this.delegate = delegate;
+        this.reactive = ReactiveProcessInstances.of(delegate);
+        // size based eviction of caffeine uses the W-TinyLFU policy, keeping frequently used instances over recent ones
+        this.cache = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    @Override
+    public Optional<ProcessInstance<T>> findById(String id, ProcessInstanceReadMode mode) {
+        if (mode == MUTABLE) {
+            CachedInstance cached = cache.getIfPresent(id);
+            if (cached != null && cache.asMap().remove(id, cached)) {
+                OptionalLong version = delegate.version(id);
+                if (version.isPresent() && version.getAsLong() == cached.version) {
+                    hits.increment();
+                    return Optional.of(restore(cached));
+                }
+            }
+            misses.increment();
+        }
+        return delegate.findById(id, mode);
+    }
+
+    @Override
+    public CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id, ProcessInstanceReadMode mode) {
+        if (mode == MUTABLE) {
+            CachedInstance cached = cache.getIfPresent(id);
+            if (cached != null && cache.asMap().remove(id, cached)) {
+                return reactive.versionAsync(id).thenCompose(version -> {
+                    if (version.isPresent() && version.getAsLong() == cached.version) {
+                        hits.increment();
+                        return CompletableFuture.completedFuture(Optional.of(restore(cached)));
+                    }
+                    misses.increment();
+                    return reactive.findByIdAsync(id, mode);
+                });
+            }
+            misses.increment();
+        }
+        return reactive.findByIdAsync(id, mode);
+    }
+
+    @Override
+    public Optional<ProcessInstance<T>> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        return delegate.findByBusinessKey(businessKey, mode);
+    }
+
+    @Override
+    public Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode) {
+        return delegate.values(mode);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceFilter filter, ProcessInstanceReadMode mode) {
+        return delegate.stream(filter, mode);
+    }
+
+    @Override
+    public List<ProcessInstance<T>> page(ProcessInstanceFilter filter, int offset, int limit, ProcessInstanceReadMode mode) {
+        return delegate.page(filter, offset, limit, mode);
+    }
+
+    @Override
+    public Integer size() {
+        return delegate.size();
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return delegate.exists(id);
+    }
+
+    @Override
+    public CompletionStage<Boolean> existsAsync(String id) {
+        return reactive.existsAsync(id);
+    }
+
+    @Override
+    public OptionalLong version(String id) {
+        return delegate.version(id);
+    }
+
+    @Override
+    public CompletionStage<OptionalLong> versionAsync(String id) {
+        return reactive.versionAsync(id);
+    }
+
+    @Override
+    public void create(String id, ProcessInstance<T> instance) {
+        CachedInstance written = written(instance);
+        delegate.create(id, instance);
+        cache(id, instance, written);
+    }
+
+    @Override
+    public CompletionStage<Void> createAsync(String id, ProcessInstance<T> instance) {
+        return writeAsync(id, instance, () -> reactive.createAsync(id, instance));
+    }
+
+    @Override
+    public void update(String id, ProcessInstance<T> instance) {
+        CachedInstance written = written(instance);
+        delegate.update(id, instance);
+        cache(id, instance, written);
+    }
+
+    @Override
+    public CompletionStage<Void> updateAsync(String id, ProcessInstance<T> instance) {
+        return writeAsync(id, instance, () -> reactive.updateAsync(id, instance));
+    }
+
+    @Override
+    public void createAll(Collection<ProcessInstance<T>> instances) {
+        Map<ProcessInstance<T>, CachedInstance> written = written(instances);
+        delegate.createAll(instances);
+        written.forEach((instance, before) -> cache(instance.id(), instance, before));
+    }
+
+    @Override
+    public void updateAll(Collection<ProcessInstance<T>> instances) {
+        Map<ProcessInstance<T>, CachedInstance> written = written(instances);
+        delegate.updateAll(instances);
+        written.forEach((instance, before) -> cache(instance.id(), instance, before));
+    }
+
+    @Override
+    public void remove(String id) {
+        cache.invalidate(id);
+        delegate.remove(id);
+    }
+
+    @Override
+    public CompletionStage<Void> removeAsync(String id) {
+        cache.invalidate(id);
+        return reactive.removeAsync(id);
+    }
+
+    @Override
+    public void remove(String id, ProcessInstance<T> instance) {
+        cache.invalidate(id);
+        delegate.remove(id, instance);
+    }
+
+    private CompletionStage<Void> writeAsync(String id, ProcessInstance<T> instance, Supplier<CompletionStage<Void>> write) {
+        CachedInstance written = written(instance);
+        return write.get().thenRun(() -> cache(id, instance, written));
+    }
+
+    private Map<ProcessInstance<T>, CachedInstance> written(Collection<ProcessInstance<T>> instances) {
+        Map<ProcessInstance<T>, CachedInstance> written = new IdentityHashMap<>();
+        instances.forEach(instance -> written.put(instance, written(instance)));
+        return written;
+    }
+
+    /*
+     * captures the instance about to be written, along with its version, as the storage disconnects it once written
+     */
+    private CachedInstance written(ProcessInstance<T> instance) {
+        cache.invalidate(instance.id());
+        AbstractProcessInstance<T> processInstance = (AbstractProcessInstance<T>) instance;
+        return new CachedInstance(processInstance.version(), processInstance.internalGetProcessInstance());
+    }
+
+    /*
+     * the written instance is cached only once disconnected by the storage, which must also have given it its new version
+     */
+    private void cache(String id, ProcessInstance<T> instance, CachedInstance before) {
+        AbstractProcessInstance<T> written = (AbstractProcessInstance<T>) instance;
+        if (before.processInstance != null && written.internalGetProcessInstance() == null && written.version() != before.version && isActive(instance)) {
+            cache.put(id, new CachedInstance(written.version(), before.processInstance));
+        }
+    }
+
+    private ProcessInstance<T> restore(CachedInstance cached) {
+        AbstractProcessInstance<T> instance = (AbstractProcessInstance<T>) ((AbstractProcess<T>) process).createInstance(cached.processInstance);
+        instance.setVersion(cached.version);
+        return instance;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private static class CachedInstance {
+
+        private final long version;
+        private final WorkflowProcessInstance processInstance;
+
+        CachedInstance(long version, WorkflowProcessInstance processInstance) {
+            this.version = version;
+            this.processInstance = processInstance;
+        }
+    }
+}
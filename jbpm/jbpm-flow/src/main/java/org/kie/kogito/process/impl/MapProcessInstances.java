@@ -27,6 +27,7 @@ import org.kie.kogito.process.ProcessInstanceReadMode;
 class MapProcessInstances<T> implements MutableProcessInstances<T> {
 
     private final ConcurrentHashMap<String, ProcessInstance<T>> instances = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> businessKeys = new ConcurrentHashMap<>();
 
     @Override
     public Integer size() {
@@ -38,6 +39,12 @@ class MapProcessInstances<T> implements MutableProcessInstances<T> {
         return Optional.ofNullable(instances.get(id));
     }
 
+    @Override
+    public Optional<ProcessInstance<T>> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        String id = businessKeys.get(businessKey);
+        return id == null ? Optional.empty() : findById(id, mode);
+    }
+
     @Override
     public Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode) {
         return instances.values();
@@ -50,6 +57,9 @@ class MapProcessInstances<T> implements MutableProcessInstances<T> {
             if (existing != null) {
                 throw new ProcessInstanceDuplicatedException(id);
             }
+            if (instance.businessKey() != null) {
+                businessKeys.put(instance.businessKey(), id);
+            }
         }
     }
 
@@ -62,7 +72,10 @@ class MapProcessInstances<T> implements MutableProcessInstances<T> {
 
     @Override
     public void remove(String id) {
-        instances.remove(id);
+        ProcessInstance<T> removed = instances.remove(id);
+        if (removed != null && removed.businessKey() != null) {
+            businessKeys.remove(removed.businessKey(), id);
+        }
     }
 
     @Override
@@ -16,8 +16,10 @@
 package org.kie.kogito.process.impl;
 
 import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.process.ParallelWorkItemExecutor;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessEventListenerConfig;
+import org.kie.kogito.process.ProcessInstanceIdGenerator;
 import org.kie.kogito.process.WorkItemHandlerConfig;
 import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
 import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
@@ -32,17 +34,40 @@ public class StaticProcessConfig implements ProcessConfig {
     private final SignalManagerHub signalManager;
     private final UnitOfWorkManager unitOfWorkManager;
     private final JobsService jobsService;
+    private final ProcessInstanceIdGenerator processInstanceIdGenerator;
+    private final ParallelWorkItemExecutor parallelWorkItemExecutor;
 
     public StaticProcessConfig(
             WorkItemHandlerConfig workItemHandlerConfig,
             ProcessEventListenerConfig processEventListenerConfig,
             UnitOfWorkManager unitOfWorkManager,
             JobsService jobsService) {
+        this(workItemHandlerConfig, processEventListenerConfig, unitOfWorkManager, jobsService, new TimeOrderedProcessInstanceIdGenerator());
+    }
+
+    public StaticProcessConfig(
+            WorkItemHandlerConfig workItemHandlerConfig,
+            ProcessEventListenerConfig processEventListenerConfig,
+            UnitOfWorkManager unitOfWorkManager,
+            JobsService jobsService,
+            ProcessInstanceIdGenerator processInstanceIdGenerator) {
+        this(workItemHandlerConfig, processEventListenerConfig, unitOfWorkManager, jobsService, processInstanceIdGenerator, new BoundedParallelWorkItemExecutor());
+    }
+
+    public StaticProcessConfig(
+            WorkItemHandlerConfig workItemHandlerConfig,
+            ProcessEventListenerConfig processEventListenerConfig,
+            UnitOfWorkManager unitOfWorkManager,
+            JobsService jobsService,
+            ProcessInstanceIdGenerator processInstanceIdGenerator,
+            ParallelWorkItemExecutor parallelWorkItemExecutor) {
         this.unitOfWorkManager = unitOfWorkManager;
         this.workItemHandlerConfig = workItemHandlerConfig;
         this.processEventListenerConfig = processEventListenerConfig;
         this.signalManager = new DefaultSignalManagerHub();
         this.jobsService = jobsService;
+        this.processInstanceIdGenerator = processInstanceIdGenerator;
+        this.parallelWorkItemExecutor = parallelWorkItemExecutor;
     }
 
     public StaticProcessConfig() {
@@ -76,4 +101,14 @@ public class StaticProcessConfig implements ProcessConfig {
     public JobsService jobsService() {
         return jobsService;
     }
+
+    @Override
+    public ProcessInstanceIdGenerator processInstanceIdGenerator() {
+        return processInstanceIdGenerator;
+    }
+
+    @Override
+    public ParallelWorkItemExecutor parallelWorkItemExecutor() {
+        return parallelWorkItemExecutor;
+    }
 }
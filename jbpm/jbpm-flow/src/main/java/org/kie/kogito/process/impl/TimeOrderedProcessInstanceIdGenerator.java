@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.kie.kogito.process.ProcessInstanceIdGenerator;
+
+/**
+ * Generates version 7 UUIDs: a millisecond timestamp followed by random bits, so that ids created close
+ * in time are close to each other once stored, unlike the fully random ids of {@link UUID#randomUUID()}.
+ * <p>
+ * Random bits come from {@link ThreadLocalRandom} and the 12 bits following the timestamp are a per thread
+ * counter, so ids created by the same thread are strictly increasing without any shared state between threads.
+ */
+public class TimeOrderedProcessInstanceIdGenerator implements ProcessInstanceIdGenerator {
+
+    private static final long MAX_SEQUENCE = 0xFFFL;
+
+    private static final ThreadLocal<long[]> STATE = ThreadLocal.withInitial(() -> new long[2]);
+
+    @Override
+    public String generate() {
+        return next().toString();
+    }
+
+    public UUID next() {
+        long[] state = STATE.get();
+        long timestamp = System.currentTimeMillis();
+        long sequence;
+        if (timestamp > state[0]) {
+            // starts from a random value in the lower half so the counter rarely overflows
+            sequence = ThreadLocalRandom.current().nextLong(MAX_SEQUENCE >> 1);
+        } else {
+            timestamp = state[0];
+            sequence = state[1] + 1;
+            if (sequence > MAX_SEQUENCE) {
+                // borrows the next millisecond rather than breaking the ordering
+                timestamp++;
+                sequence = 0;
+            }
+        }
+        state[0] = timestamp;
+        state[1] = sequence;
+
+        long mostSigBits = (timestamp << 16) | 0x7000L | sequence;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.kie.kogito.Application;
+import org.kie.kogito.Model;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.Processes;
+import org.kie.kogito.process.workitems.AsyncWorkItemExecutor;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.WorkUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Asynchronous work item executor of an application, work items are completed through the process instance
+ * they belong to, loaded in a new unit of work on a pool of daemon threads so that the threads delivering results
+ * (e.g. event loops) are never blocked by process execution.
+ */
+public class UnitOfWorkWorkItemExecutor implements AsyncWorkItemExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UnitOfWorkWorkItemExecutor.class);
+
+    private final Application app;
+
+    public UnitOfWorkWorkItemExecutor(Application app) {
+        this.app = app;
+    }
+
+    @Override
+    public void execute(KogitoWorkItem workItem, Supplier<CompletionStage<Map<String, Object>>> execution) {
+        String processId = workItem.getProcessInstance().getProcessId();
+        String processInstanceId = workItem.getProcessInstanceStringId();
+        String workItemId = workItem.getStringId();
+        // the unit of work stores the process instances before performing this work unit
+        app.unitOfWorkManager().currentUnitOfWork().intercept(WorkUnit.create(workItemId, id -> {
+            CompletionStage<Map<String, Object>> results;
+            try {
+                results = execution.get();
+            } catch (RuntimeException e) {
+                fail(processId, processInstanceId, id, e);
+                return;
+            }
+            results.whenCompleteAsync((values, error) -> {
+                if (error == null) {
+                    complete(processId, processInstanceId, id, values);
+                } else {
+                    fail(processId, processInstanceId, id, error);
+                }
+            }, ExecutorHolder.INSTANCE);
+        }));
+    }
+
+    protected void complete(String processId, String processInstanceId, String workItemId, Map<String, Object> results) {
+        executeOnProcessInstance(processId, processInstanceId, workItemId, pi -> pi.completeWorkItem(workItemId, results));
+    }
+
+    protected void fail(String processId, String processInstanceId, String workItemId, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        Exception exception = cause instanceof Exception ? (Exception) cause : new CompletionException(cause);
+        executeOnProcessInstance(processId, processInstanceId, workItemId, pi -> ((AbstractProcessInstance<?>) pi).failWorkItem(workItemId, exception));
+    }
+
+    private void executeOnProcessInstance(String processId, String processInstanceId, String workItemId, Consumer<ProcessInstance<?>> action) {
+        try {
+            Process<? extends Model> process = app.get(Processes.class).processById(processId);
+            UnitOfWorkExecutor.executeInUnitOfWork(app.unitOfWorkManager(), () -> {
+                Optional<? extends ProcessInstance<?>> processInstance = process.instances().findById(processInstanceId);
+                if (processInstance.isPresent()) {
+                    action.accept(processInstance.get());
+                } else {
+                    LOGGER.warn("Process instance {} of work item {} was not found, it might have been completed or aborted", processInstanceId, workItemId);
+                }
+                return null;
+            }, UnitOfWorkExecutor.DEFAULT_MAX_RETRIES);
+        } catch (RuntimeException e) {
+            LOGGER.error("Unable to complete work item {} of process instance {}", workItemId, processInstanceId, e);
+        }
+    }
+
+    private static class ExecutorHolder {
+
+        private static final AtomicInteger THREADS = new AtomicInteger();
+
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "kogito-async-workitem-" + THREADS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.instance.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.junit.jupiter.api.Test;
+import org.mvel2.integration.impl.MapVariableResolverFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MVELProcessHelperTest {
+
+    private final RuleFlowProcess process = new RuleFlowProcess();
+
+    @Test
+    void testCompiledExpressionIsReused() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("a", 1);
+        variables.put("b", 2);
+        assertThat(MVELProcessHelper.eval(process, "a + b", new MapVariableResolverFactory(variables))).isEqualTo(3);
+
+        variables.put("a", "x");
+        variables.put("b", "y");
+        assertThat(MVELProcessHelper.eval(process, "a + b", new MapVariableResolverFactory(variables))).isEqualTo("xy");
+    }
+
+    @Test
+    void testPropertyOfDifferentTypes() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("item", "value");
+        assertThat(MVELProcessHelper.eval(process, "item.length()", new MapVariableResolverFactory(variables))).isEqualTo(5);
+
+        variables.put("item", new StringBuilder("other value"));
+        assertThat(MVELProcessHelper.eval(process, "item.length()", new MapVariableResolverFactory(variables))).isEqualTo(11);
+    }
+
+    @Test
+    void testAssignment() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("target", null);
+        variables.put("source", "value");
+        MVELProcessHelper.eval(process, "target = source", new MapVariableResolverFactory(variables));
+        assertThat(variables).containsEntry("target", "value");
+    }
+
+    @Test
+    void testCompiledExpressionsAreScopedToTheirProcess() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("a", 1);
+        RuleFlowProcess other = new RuleFlowProcess();
+        assertThat(MVELProcessHelper.eval(process, "a * 2", new MapVariableResolverFactory(variables))).isEqualTo(2);
+        assertThat(process.getCompiledExpressions()).containsOnlyKeys("a * 2");
+        assertThat(other.getCompiledExpressions()).isEmpty();
+
+        assertThat(MVELProcessHelper.eval(null, "a * 3", new MapVariableResolverFactory(variables))).isEqualTo(3);
+        assertThat(process.getCompiledExpressions()).containsOnlyKeys("a * 2");
+    }
+
+    @Test
+    void testLeastRecentlyUsedExpressionIsEvicted() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("a", 1);
+        MVELProcessHelper.eval(process, "a + 0", new MapVariableResolverFactory(variables));
+        MVELProcessHelper.eval(process, "a + 1", new MapVariableResolverFactory(variables));
+        for (int i = 2; i <= 1024; i++) {
+            MVELProcessHelper.eval(process, "a + 0", new MapVariableResolverFactory(variables));
+            MVELProcessHelper.eval(process, "a + " + i, new MapVariableResolverFactory(variables));
+        }
+        assertThat(process.getCompiledExpressions()).hasSize(1024).containsKeys("a + 0", "a + 1024").doesNotContainKey("a + 1");
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.AcknowledgeableEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CloudEventDispatcherTest {
+
+    private static final String CUSTOMERS = "{ \"specversion\": \"1.0\"," +
+                                            "\"id\": \"21627e26-31eb-43e7-8343-92a696fd96b1\"," +
+                                            "\"data\": {\"type\" : \"nested\", \"items\": [1, 2]}," +
+                                            "\"source\": \"/process/customers\"," +
+                                            "\"type\": \"customers\"}";
+
+    @Test
+    void testRoutingByType() {
+        CloudEventDispatcher dispatcher = new CloudEventDispatcher();
+        List<String> customers = new ArrayList<>();
+        List<String> orders = new ArrayList<>();
+        dispatcher.register(Arrays.asList("customers", "CustomersDataEvent"), customers::add);
+        dispatcher.register(Collections.singletonList("orders"), orders::add);
+
+        dispatcher.dispatch(CUSTOMERS);
+
+        assertThat(customers).containsExactly(CUSTOMERS);
+        assertThat(orders).isEmpty();
+    }
+
+    @Test
+    void testRoutingBySource() {
+        CloudEventDispatcher dispatcher = new CloudEventDispatcher();
+        List<String> received = new ArrayList<>();
+        // registered under both type and source, still receives each event once
+        dispatcher.register(Arrays.asList("customers", "/process/customers"), received::add);
+
+        dispatcher.dispatch(CUSTOMERS);
+
+        assertThat(received).containsExactly(CUSTOMERS);
+    }
+
+    @Test
+    void testBatchRouting() {
+        CloudEventDispatcher dispatcher = new CloudEventDispatcher();
+        List<String> customers = new ArrayList<>();
+        List<String> orders = new ArrayList<>();
+        dispatcher.register(Collections.singletonList("customers"), customers::add);
+        dispatcher.register(Collections.singletonList("orders"), orders::add);
+        String order = CUSTOMERS.replace("\"customers\"", "\"orders\"");
+
+        dispatcher.dispatch(Arrays.asList(CUSTOMERS, order, "not a json", CUSTOMERS));
+
+        assertThat(customers).containsExactly(CUSTOMERS, CUSTOMERS);
+        assertThat(orders).containsExactly(order);
+    }
+
+    @Test
+    void testInvalidPayload() {
+        CloudEventDispatcher dispatcher = new CloudEventDispatcher();
+        List<String> received = new ArrayList<>();
+        dispatcher.register(Collections.singletonList("customers"), received::add);
+
+        dispatcher.dispatch("not a json");
+        dispatcher.dispatch("[\"customers\"]");
+
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    void testEventWithoutType() {
+        CloudEventDispatcher dispatcher = new CloudEventDispatcher();
+        List<String> customers = new ArrayList<>();
+        List<String> orders = new ArrayList<>();
+        dispatcher.register(Arrays.asList("customers", "/process/customers"), customers::add);
+        dispatcher.register(Collections.singletonList("orders"), orders::add);
+        String withoutType = CUSTOMERS.replace(",\"type\": \"customers\"", "");
+        String withoutEnvelope = "{\"specversion\": \"1.0\", \"data\": {}}";
+
+        dispatcher.dispatch(withoutType);
+        dispatcher.dispatch(withoutEnvelope);
+        dispatcher.dispatch(Arrays.asList(withoutType, withoutEnvelope));
+
+        assertThat(customers).containsExactly(withoutType, withoutType);
+        assertThat(orders).isEmpty();
+    }
+
+    @Test
+    void testFailingConsumer() {
+        CloudEventDispatcher dispatcher = new CloudEventDispatcher();
+        List<String> received = new ArrayList<>();
+        dispatcher.register(Collections.singletonList("customers"), payload -> {
+            throw new IllegalStateException("failure");
+        });
+        dispatcher.register(Collections.singletonList("customers"), received::add);
+
+        dispatcher.dispatch(CUSTOMERS);
+        dispatcher.dispatch(Collections.singletonList(CUSTOMERS));
+
+        assertThat(received).containsExactly(CUSTOMERS, CUSTOMERS);
+    }
+
+    @Test
+    void testBatchIsAcknowledgedOnceDispatched() {
+        CloudEventDispatcher dispatcher = new CloudEventDispatcher();
+        List<String> received = new ArrayList<>();
+        List<String> acknowledged = new ArrayList<>();
+        dispatcher.register(Collections.singletonList("customers"), payload -> {
+            assertThat(acknowledged).isEmpty();
+            received.add(payload);
+        });
+
+        dispatcher.dispatchAndAcknowledge(Arrays.asList(event(CUSTOMERS, acknowledged), event("not a json", acknowledged)));
+
+        assertThat(received).containsExactly(CUSTOMERS);
+        assertThat(acknowledged).containsExactly(CUSTOMERS, "not a json");
+    }
+
+    private static AcknowledgeableEvent event(String payload, List<String> acknowledged) {
+        return new AcknowledgeableEvent() {
+
+            @Override
+            public String payload() {
+                return payload;
+            }
+
+            @Override
+            public void ack() {
+                acknowledged.add(payload);
+            }
+        };
+    }
+}
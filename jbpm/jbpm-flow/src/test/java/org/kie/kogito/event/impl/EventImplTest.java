@@ -15,15 +15,19 @@
  */
 package org.kie.kogito.event.impl;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.Application;
 import org.kie.kogito.Model;
+import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstances;
@@ -34,13 +38,21 @@ import org.kie.kogito.services.event.EventConsumerFactory;
 import org.kie.kogito.services.event.EventMarshaller;
 import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
 import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit.Operation;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -176,6 +188,77 @@ public class EventImplTest {
         verify(processInstance, times(1)).start(trigger, null);
     }
 
+    @Test
+    void testDataEventBatch() {
+        UnitOfWorkManager unitOfWorkManager = mock(UnitOfWorkManager.class);
+        UnitOfWork unitOfWork = mock(UnitOfWork.class);
+        UnitOfWork nestedUnitOfWork = mock(UnitOfWork.class);
+        when(unitOfWorkManager.newUnitOfWork()).thenReturn(unitOfWork);
+        when(unitOfWorkManager.newNestedUnitOfWork(any())).thenReturn(nestedUnitOfWork);
+        when(application.unitOfWorkManager()).thenReturn(unitOfWorkManager);
+        failOn("fail");
+
+        EventConsumer<DummyModel> consumer =
+                factory.get(DummyModel::new, DummyEvent.class, DummyCloudEvent.class, Optional.of(false));
+        final String trigger = "dummyTopic";
+        consumer.consume(application, process, Arrays.asList("{\"dummyField\" : \"pepe\"}",
+                                                             "{\"dummyField\" : \"fail\"}",
+                                                             "not a json",
+                                                             "{\"dummyField\" : \"juan\"}"), trigger);
+
+        // the failing event is discarded on its own, the others are processed once in the same unit of work
+        verify(nestedUnitOfWork, times(1)).abort();
+        verify(nestedUnitOfWork, times(2)).end();
+        verify(unitOfWork, times(1)).end();
+        verify(unitOfWork, never()).abort();
+        verify(processInstance, times(2)).start(trigger, null);
+    }
+
+    @Test
+    void testDataEventBatchFailingToEnd() {
+        UnitOfWorkManager unitOfWorkManager = application.unitOfWorkManager();
+        MutableProcessInstances<DummyModel> instances = mock(MutableProcessInstances.class);
+        Set<String> stored = new HashSet<>();
+        when(process.instances()).thenReturn(instances);
+        when(instances.exists(anyString())).then(invocation -> stored.contains(invocation.<String> getArgument(0)));
+        // the batch fails to store the second instance once, the first one is stored and the third one is not
+        doAnswer(invocation -> stored.add(invocation.getArgument(0))).doThrow(new IllegalStateException("fail")).doAnswer(invocation -> stored.add(invocation.getArgument(0)))
+                .when(instances).create(anyString(), any());
+        when(process.createInstance(Mockito.any(DummyModel.class))).then(invocation -> {
+            String id = invocation.<DummyModel> getArgument(0).dummyEvent.getDummyField();
+            ProcessInstance<DummyModel> instance = mock(ProcessInstance.class);
+            when(instance.id()).thenReturn(id);
+            when(instance.process()).thenReturn(process);
+            doAnswer(start -> {
+                unitOfWorkManager.currentUnitOfWork().intercept(new ProcessInstanceWorkUnit<>(instance, Operation.CREATE, pi -> instances.create(id, instance)));
+                return null;
+            }).when(instance).start(anyString(), any());
+            return instance;
+        });
+
+        EventConsumer<DummyModel> consumer =
+                factory.get(DummyModel::new, DummyEvent.class, DummyCloudEvent.class, Optional.of(false));
+        final String trigger = "dummyTopic";
+        consumer.consume(application, process, Arrays.asList("{\"dummyField\" : \"pepe\"}",
+                                                             "{\"dummyField\" : \"juan\"}",
+                                                             "{\"dummyField\" : \"maria\"}"), trigger);
+
+        // the stored event is not processed again, the others are processed one by one
+        verify(instances, times(1)).create(Mockito.eq("pepe"), any());
+        verify(instances, times(2)).create(Mockito.eq("juan"), any());
+        verify(instances, times(1)).create(Mockito.eq("maria"), any());
+        assertEquals(new HashSet<>(Arrays.asList("pepe", "juan", "maria")), stored);
+    }
+
+    private void failOn(String dummyField) {
+        when(process.createInstance(Mockito.any(DummyModel.class))).then(invocation -> {
+            if (dummyField.equals(invocation.<DummyModel> getArgument(0).dummyEvent.getDummyField())) {
+                throw new IllegalStateException("fail");
+            }
+            return processInstance;
+        });
+    }
+
     @Test
     void testDataMarshaller() {
         DummyEvent dataEvent = new DummyEvent("pepe");
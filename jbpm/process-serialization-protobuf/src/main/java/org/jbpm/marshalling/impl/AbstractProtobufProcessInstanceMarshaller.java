@@ -24,6 +24,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 import com.google.protobuf.ExtensionRegistry;
 import org.drools.core.common.DefaultFactHandle;
@@ -181,9 +183,14 @@ public abstract class AbstractProtobufProcessInstanceMarshaller
                               }
                           } );
 
+        BiPredicate<String, Object> variableCandidates = context instanceof KogitoProcessMarshallerWriteContext ? ((KogitoProcessMarshallerWriteContext) context).getProcessVariableCandidates() : (n, v) -> true;
+        Predicate<JBPMMessages.Variable> variableFilter = context instanceof KogitoProcessMarshallerWriteContext ? ((KogitoProcessMarshallerWriteContext) context).getProcessVariableFilter() : v -> true;
         for ( Map.Entry<String, Object> variable : variables ) {
-            if ( variable.getValue() != null ) {
-                _instance.addVariable( ProtobufProcessMarshaller.marshallVariable( context, variable.getKey(), variable.getValue() ) );
+            if ( variable.getValue() != null && variableCandidates.test( variable.getKey(), variable.getValue() ) ) {
+                JBPMMessages.Variable _variable = ProtobufProcessMarshaller.marshallVariable( context, variable.getKey(), variable.getValue() );
+                if ( variableFilter.test( _variable ) ) {
+                    _instance.addVariable( _variable );
+                }
             }
         }
         
@@ -816,6 +823,16 @@ public abstract class AbstractProtobufProcessInstanceMarshaller
                 }
             }
         }
+
+        if ( context instanceof KogitoMarshallerReaderContext && ((KogitoMarshallerReaderContext) context).isProcessVariableDigests() ) {
+            Map<String, Long> digests = new HashMap<>();
+            for ( JBPMMessages.Variable _variable : _instance.getVariableList() ) {
+                digests.put( _variable.getName(), ProtobufProcessMarshaller.digestVariable( _variable ) );
+            }
+            VariableScopeInstance variableScopeInstance = (VariableScopeInstance) processInstance
+                    .getContextInstance( VariableScope.VARIABLE_SCOPE );
+            variableScopeInstance.internalSetStoredVariableDigests( digests );
+        }
         
         if ( _instance.getIterationLevelsCount() > 0 ) {
             
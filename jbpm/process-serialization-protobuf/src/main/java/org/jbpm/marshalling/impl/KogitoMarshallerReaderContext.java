@@ -34,6 +34,7 @@ import org.kie.api.runtime.Environment;
 public class KogitoMarshallerReaderContext extends ProtobufMarshallerReaderContext {
 
     public Map<String, Process> processes = new HashMap<>();
+    private boolean processVariableDigests;
 
     public KogitoMarshallerReaderContext(InputStream stream,
                                          InternalKnowledgeBase kBase,
@@ -92,4 +93,16 @@ public class KogitoMarshallerReaderContext extends ProtobufMarshallerReaderConte
     public Process getProcess(String processId) {
         return processes.get( processId );
     }
+
+    public boolean isProcessVariableDigests() {
+        return processVariableDigests;
+    }
+
+    /**
+     * Keeps the digests of the process level variables that are read in their variable scope instance, so that
+     * the variables that changed since can be told apart when the process instance is written again
+     */
+    public void setProcessVariableDigests(boolean processVariableDigests) {
+        this.processVariableDigests = processVariableDigests;
+    }
 }
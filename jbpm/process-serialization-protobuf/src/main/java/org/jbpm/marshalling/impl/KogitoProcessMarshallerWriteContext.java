@@ -18,6 +18,8 @@ package org.jbpm.marshalling.impl;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 import org.drools.core.common.BaseNode;
 import org.drools.core.common.InternalWorkingMemory;
@@ -39,6 +41,8 @@ public class KogitoProcessMarshallerWriteContext extends ProtobufMarshallerWrite
     private String taskId;
     private String workItemId;
     private int state;
+    private BiPredicate<String, Object> processVariableCandidates = (name, value) -> true;
+    private Predicate<JBPMMessages.Variable> processVariableFilter = variable -> true;
     
 
     public KogitoProcessMarshallerWriteContext(OutputStream stream,
@@ -82,4 +86,26 @@ public class KogitoProcessMarshallerWriteContext extends ProtobufMarshallerWrite
         this.state = state;
     }
 
+    public BiPredicate<String, Object> getProcessVariableCandidates() {
+        return processVariableCandidates;
+    }
+
+    /**
+     * Restricts the process level variables that are marshalled, used to skip the ones that can not have changed
+     */
+    public void setProcessVariableCandidates(BiPredicate<String, Object> processVariableCandidates) {
+        this.processVariableCandidates = processVariableCandidates;
+    }
+
+    public Predicate<JBPMMessages.Variable> getProcessVariableFilter() {
+        return processVariableFilter;
+    }
+
+    /**
+     * Restricts the process level variables that are written once marshalled, used to write only the changed ones
+     */
+    public void setProcessVariableFilter(Predicate<JBPMMessages.Variable> processVariableFilter) {
+        this.processVariableFilter = processVariableFilter;
+    }
+
 }
@@ -18,12 +18,15 @@ package org.jbpm.marshalling.impl;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.ExtensionRegistry;
@@ -198,6 +201,22 @@ public class ProtobufProcessMarshaller
         return builder.build();
     }
 
+    /**
+     * Digest of the data type and serialized value of the variable, tells whether a variable changed since it was
+     * stored without keeping its serialized value around
+     */
+    public static long digestVariable(Variable _variable) {
+        CRC32 crc = new CRC32();
+        Adler32 adler = new Adler32();
+        for (ByteString bytes : new ByteString[] { ByteString.copyFromUtf8( _variable.getDataType() ), _variable.getValue() }) {
+            for (ByteBuffer buffer : bytes.asReadOnlyByteBufferList()) {
+                crc.update( buffer.duplicate() );
+                adler.update( buffer );
+            }
+        }
+        return crc.getValue() << 32 | adler.getValue();
+    }
+
     public static Variable marshallVariablesMap(MarshallerWriteContext context, Map<String, Object> variables) throws IOException{
         Map<String, Variable> marshalledVariables = new HashMap<String, Variable>();
         for(String key : variables.keySet()){
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl.marshalling;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Storage layout made of a full process instance snapshot followed by delta records produced by
+ * {@link ProcessInstanceMarshaller#marshallProcessInstanceDelta(org.kie.kogito.process.ProcessInstance)}.
+ * <pre>
+ * [magic][snapshot length][snapshot]([delta length][delta])*
+ * </pre>
+ * Deltas can be appended to the stored bytes without rewriting the snapshot, a trailing record that was
+ * not completely written is ignored when reading.
+ */
+public final class ProcessInstanceDeltaLog {
+
+    static final int MAGIC = 0x4B444C47;
+
+    private ProcessInstanceDeltaLog() {
+    }
+
+    public static boolean isLog(byte[] data) {
+        return data.length >= Integer.BYTES && ByteBuffer.wrap(data).getInt() == MAGIC;
+    }
+
+    /**
+     * Starts a new log with the given full snapshot
+     */
+    public static byte[] snapshot(byte[] snapshot) {
+        return ByteBuffer.allocate(Integer.BYTES * 2 + snapshot.length).putInt(MAGIC).putInt(snapshot.length).put(snapshot).array();
+    }
+
+    /**
+     * Frames the given delta so it can be appended to a log
+     */
+    public static byte[] record(byte[] delta) {
+        return ByteBuffer.allocate(Integer.BYTES + delta.length).putInt(delta.length).put(delta).array();
+    }
+
+    /**
+     * @return the snapshot followed by the deltas contained in the given log
+     */
+    public static List<byte[]> records(byte[] data) {
+        List<byte[]> records = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.getInt();
+        while (buffer.remaining() >= Integer.BYTES) {
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                break;
+            }
+            byte[] record = new byte[length];
+            buffer.get(record);
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * Counts the deltas of the log stored in the given channel by following the record lengths,
+     * without reading the records themselves.
+     *
+     * @return number of deltas or -1 if the channel does not contain a complete log deltas can be appended to
+     */
+    public static int countDeltas(SeekableByteChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+        long position = 0;
+        if (!readInt(channel, position, header) || header.getInt(0) != MAGIC) {
+            return -1;
+        }
+        int records = 0;
+        position += Integer.BYTES;
+        long size = channel.size();
+        while (position < size) {
+            if (!readInt(channel, position, header)) {
+                return -1;
+            }
+            position += Integer.BYTES + header.getInt(0);
+            if (header.getInt(0) < 0 || position > size) {
+                return -1;
+            }
+            records++;
+        }
+        return records - 1;
+    }
+
+    private static boolean readInt(SeekableByteChannel channel, long position, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        channel.position(position);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -17,31 +17,59 @@ package org.kie.kogito.process.impl.marshalling;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.protobuf.ExtensionRegistry;
 
 import org.drools.core.impl.EnvironmentImpl;
 import org.drools.core.marshalling.impl.ClassObjectMarshallingStrategyAcceptor;
 import org.drools.core.marshalling.impl.MarshallerReaderContext;
 import org.drools.core.marshalling.impl.SerializablePlaceholderResolverStrategy;
 import org.drools.serialization.protobuf.PersisterHelper;
+import org.drools.serialization.protobuf.ProtobufMessages.Header;
 import org.jbpm.marshalling.impl.JBPMMessages;
 import org.jbpm.marshalling.impl.KogitoMarshallerReaderContext;
 import org.jbpm.marshalling.impl.KogitoProcessMarshallerWriteContext;
 import org.drools.core.marshalling.impl.KogitoSerializablePlaceholderResolverStrategy;
 import org.jbpm.marshalling.impl.ProcessMarshallerRegistry;
+import org.jbpm.marshalling.impl.ProtobufProcessMarshaller;
 import org.jbpm.marshalling.impl.ProtobufRuleFlowProcessInstanceMarshaller;
+import org.jbpm.process.core.context.variable.VariableScope;
+import org.jbpm.process.instance.context.variable.VariableScopeInstance;
+import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
 import org.jbpm.workflow.instance.WorkflowProcessInstance;
 import org.kie.api.marshalling.ObjectMarshallingStrategy;
 import org.kie.api.runtime.Environment;
 import org.kie.api.runtime.EnvironmentName;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceFilter;
+import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcess;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 
 public class ProcessInstanceMarshaller {
 
     private Environment env = new EnvironmentImpl();
+    private boolean variableChangeTracking;
 
     public ProcessInstanceMarshaller(ObjectMarshallingStrategy... strategies) {
         ObjectMarshallingStrategy[] strats = null;
@@ -61,9 +89,61 @@ public class ProcessInstanceMarshaller {
     }
 
     public byte[] marshallProcessInstance(ProcessInstance<?> processInstance) {
+        return marshall(((AbstractProcessInstance<?>) processInstance).internalGetProcessInstance(), (name, value) -> true, variable -> true);
+    }
 
+    /**
+     * Keeps, in the process instances this marshaller reads, the digests of the serialized values of their variables,
+     * required by {@link #marshallProcessInstanceDelta(ProcessInstance)}
+     */
+    public void setVariableChangeTracking(boolean variableChangeTracking) {
+        this.variableChangeTracking = variableChangeTracking;
+    }
+
+    /**
+     * Marshalls the process instance as a delta record against the state it was read from, to be appended to the
+     * {@link ProcessInstanceDeltaLog} it was read from. The record holds the process variables whose serialized value
+     * differs from the digest kept when the instance was read, so variables mutated in place are written as well, and
+     * the names of the removed variables. Variables of immutable types that were not set since are not marshalled.
+     * Node instances and the rest of the process instance state are always written in full.
+     *
+     * @return the delta record or <code>null</code> when the process instance was not read with variable change
+     *         tracking, see {@link #setVariableChangeTracking(boolean)}
+     */
+    public byte[] marshallProcessInstanceDelta(ProcessInstance<?> processInstance) {
         WorkflowProcessInstance pi = ((AbstractProcessInstance<?>) processInstance).internalGetProcessInstance();
+        VariableScopeInstance variableScope = (VariableScopeInstance) pi.getContextInstance(VariableScope.VARIABLE_SCOPE);
+        Map<String, Long> stored = variableScope.getStoredVariableDigests();
+        if (stored == null) {
+            return null;
+        }
+        Set<String> changed = variableScope.getChangedVariables();
+        byte[] data = marshall(pi,
+                               (name, value) -> changed.contains(name) || !stored.containsKey(name) || !isImmutable(value),
+                               variable -> !Long.valueOf(ProtobufProcessMarshaller.digestVariable(variable)).equals(stored.get(variable.getName())));
+        List<String> removed = stored.keySet().stream().filter(name -> variableScope.getVariables().get(name) == null).sorted().collect(Collectors.toList());
 
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(baos)) {
+            out.writeInt(removed.size());
+            for (String name : removed) {
+                out.writeUTF(name);
+            }
+            out.write(data);
+            out.flush();
+            return baos.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Error while marshalling process instance delta", e);
+        }
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Boolean || value instanceof Character || value instanceof Enum ||
+                value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte ||
+                value instanceof Double || value instanceof Float || value instanceof BigDecimal || value instanceof BigInteger;
+    }
+
+    private byte[] marshall(WorkflowProcessInstance pi, BiPredicate<String, Object> variableCandidates, Predicate<JBPMMessages.Variable> variableFilter) {
         try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
 
             KogitoProcessMarshallerWriteContext context = new KogitoProcessMarshallerWriteContext(baos,
@@ -74,6 +154,8 @@ public class ProcessInstanceMarshaller {
                                                                                             this.env);
             context.setProcessInstanceId(pi.getStringId());
             context.setState(pi.getState());
+            context.setProcessVariableCandidates(variableCandidates);
+            context.setProcessVariableFilter(variableFilter);
 
             String processType = pi.getProcess().getType();
             context.writeUTF(processType);
@@ -93,12 +175,75 @@ public class ProcessInstanceMarshaller {
         }
     }
 
+    /**
+     * Unmarshalls the process instance from either a full snapshot or a {@link ProcessInstanceDeltaLog}. The records
+     * of a log are only parsed, the variables they hold are merged and unmarshalled once along with the state of the
+     * last record.
+     */
     public WorkflowProcessInstance unmarshallWorkflowProcessInstance(byte[] data, Process<?> process) {
+        if (!ProcessInstanceDeltaLog.isLog(data)) {
+            return unmarshall(data, process, null, null);
+        }
+        List<byte[]> records = ProcessInstanceDeltaLog.records(data);
+        if (records.size() == 1) {
+            return unmarshall(records.get(0), process, null, null);
+        }
+        byte[] latest = readDelta(records.get(records.size() - 1), name -> {
+        });
+        List<String> strategies = new ArrayList<>();
+        List<JBPMMessages.Variable> variables = new ArrayList<>(variables(records, process, strategies).values());
+        variables.sort(Comparator.comparing(JBPMMessages.Variable::getName));
+        JBPMMessages.ProcessInstance message = readMessage(latest, process).toBuilder()
+                .clearVariable()
+                .addAllVariable(variables)
+                .build();
+        return unmarshall(latest, process, message, strategies);
+    }
+
+    /*
+     * process variables of the snapshot updated by each delta, in their serialized form. Strategy indexes are
+     * local to each record so they are rewritten as positions in the given list of strategy names.
+     */
+    private Map<String, JBPMMessages.Variable> variables(List<byte[]> records, Process<?> process, List<String> strategies) {
+        Map<String, JBPMMessages.Variable> variables = new HashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            byte[] record = i == 0 ? records.get(i) : readDelta(records.get(i), variables::remove);
+            Header header = readHeader(record, process);
+            Map<Integer, Integer> indexes = new HashMap<>();
+            for (Header.StrategyIndex strategy : header.getStrategyList()) {
+                if (!strategies.contains(strategy.getName())) {
+                    strategies.add(strategy.getName());
+                }
+                indexes.put(strategy.getId(), strategies.indexOf(strategy.getName()));
+            }
+            for (JBPMMessages.Variable variable : parseMessage(header).getVariableList()) {
+                variables.put(variable.getName(), variable.toBuilder().setStrategyIndex(indexes.getOrDefault(variable.getStrategyIndex(), variable.getStrategyIndex())).build());
+            }
+        }
+        return variables;
+    }
+
+    /*
+     * the message, when given, replaces the one contained in the data, its variables refer to the given strategies
+     */
+    private WorkflowProcessInstance unmarshall(byte[] data, Process<?> process, JBPMMessages.ProcessInstance message, List<String> strategies) {
         try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
-            MarshallerReaderContext context = new KogitoMarshallerReaderContext(bais,
+            KogitoMarshallerReaderContext context = new KogitoMarshallerReaderContext(bais,
                                                                                 Collections.singletonMap(process.id(), ((AbstractProcess<?>) process).process()),
                                                                                 null, null, null, this.env );
+            context.setProcessVariableDigests(variableChangeTracking);
             String processInstanceType = context.readUTF();
+            if (message != null) {
+                // loads the strategies of the data and their contexts, then indexes them as the merged variables do
+                PersisterHelper.readFromStreamWithHeaderPreloaded(context, PersisterHelper.buildRegistry(context, null));
+                context.getUsedStrategies().clear();
+                for (int i = 0; i < strategies.size(); i++) {
+                    ObjectMarshallingStrategy strategy = context.getResolverStrategyFactory().getStrategyObject(strategies.get(i));
+                    context.getUsedStrategies().put(i, strategy);
+                    context.getStrategyContexts().computeIfAbsent(strategy, ObjectMarshallingStrategy::createContext);
+                }
+                context.setParameterObject(message);
+            }
 
             org.jbpm.marshalling.impl.ProcessInstanceMarshaller marshaller = ProcessMarshallerRegistry.INSTANCE.getMarshaller(processInstanceType);
 
@@ -111,11 +256,157 @@ public class ProcessInstanceMarshaller {
         }
     }
 
+    /**
+     * Reads only the protobuf message of the process instance without building the
+     * <code>WorkflowProcessInstance</code>, variables are kept in their serialized form.
+     */
+    public JBPMMessages.ProcessInstance readProcessInstanceMessage(byte[] data, Process<?> process) {
+        return readMessage(latest(data), process);
+    }
+
+    private JBPMMessages.ProcessInstance readMessage(byte[] data, Process<?> process) {
+        return parseMessage(readHeader(data, process));
+    }
+
+    private Header readHeader(byte[] data, Process<?> process) {
+        try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
+            MarshallerReaderContext context = new KogitoMarshallerReaderContext(bais,
+                                                                                Collections.singletonMap(process.id(), ((AbstractProcess<?>) process).process()),
+                                                                                null, null, null, this.env );
+            context.readUTF();
+            Header header = PersisterHelper.readFromStreamWithHeaderPreloaded(context, PersisterHelper.buildRegistry(context, null));
+            context.close();
+            return header;
+        } catch (Exception e) {
+            throw new RuntimeException("Error while reading process instance", e);
+        }
+    }
+
+    private static JBPMMessages.ProcessInstance parseMessage(Header header) {
+        try {
+            return JBPMMessages.ProcessInstance.parseFrom(header.getPayload(), ExtensionRegistry.newInstance());
+        } catch (Exception e) {
+            throw new RuntimeException("Error while reading process instance", e);
+        }
+    }
+
+    /*
+     * state of a log is described by its last record, variables aside
+     */
+    private static byte[] latest(byte[] data) {
+        if (!ProcessInstanceDeltaLog.isLog(data)) {
+            return data;
+        }
+        List<byte[]> records = ProcessInstanceDeltaLog.records(data);
+        return records.size() == 1 ? records.get(0) : readDelta(records.get(records.size() - 1), name -> {
+        });
+    }
+
+    /**
+     * Reads the names of the removed variables of a delta record
+     *
+     * @return the process instance part of the delta record
+     */
+    private static byte[] readDelta(byte[] delta, Consumer<String> removedVariables) {
+        try (ByteArrayInputStream bais = new ByteArrayInputStream(delta);
+             DataInputStream in = new DataInputStream(bais)) {
+            for (int removed = in.readInt(); removed > 0; removed--) {
+                removedVariables.accept(in.readUTF());
+            }
+            return Arrays.copyOfRange(delta, delta.length - bais.available(), delta.length);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading process instance delta", e);
+        }
+    }
+
+    /**
+     * Evaluates the given filter against the serialized process instance without unmarshalling it.
+     */
+    public boolean matches(byte[] data, Process<?> process, ProcessInstanceFilter filter) {
+        return filter.isEmpty() || matches(readProcessInstanceMessage(data, process), filter);
+    }
+
+    private static boolean matches(JBPMMessages.ProcessInstance message, ProcessInstanceFilter filter) {
+        return filter.matches(message.getState(),
+                              message.hasCorrelationKey() ? message.getCorrelationKey() : null,
+                              message.hasStartDate() ? new Date(message.getStartDate()) : null);
+    }
+
+    /**
+     * Unmarshalls the serialized process instances matching the given filter, skipping the first <code>offset</code>
+     * matching ones and returning at most <code>limit</code> of them. The protobuf message of each process instance is
+     * parsed once, to evaluate the filter and to build read only instances, and only the process instances returned
+     * are unmarshalled.
+     */
+    public Stream<ProcessInstance> unmarshallProcessInstances(Stream<byte[]> data, Process<?> process, ProcessInstanceFilter filter,
+                                                              long offset, long limit, ProcessInstanceReadMode mode) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative, offset: " + offset + ", limit: " + limit);
+        }
+        boolean parse = !filter.isEmpty() || mode == ProcessInstanceReadMode.READ_ONLY;
+        return data.map(bytes -> new Serialized(bytes, parse ? readProcessInstanceMessage(bytes, process) : null))
+                .filter(serialized -> filter.isEmpty() || matches(serialized.message, filter))
+                .skip(offset)
+                .limit(limit)
+                .map(serialized -> mode == ProcessInstanceReadMode.MUTABLE ?
+                        unmarshallProcessInstance(serialized.data, process) :
+                        unmarshallReadOnlyProcessInstance(serialized.data, serialized.message, process));
+    }
+
     public ProcessInstance unmarshallProcessInstance(byte[] data, Process process) {
         return ((AbstractProcess) process).createInstance(unmarshallWorkflowProcessInstance(data, process));
     }
 
+    /**
+     * Builds the read only process instance from the stored header fields (id, state, description, business key,
+     * start date and error) only, variables and node instances are unmarshalled when first accessed.
+     */
     public ProcessInstance unmarshallReadOnlyProcessInstance(byte[] data, Process process) {
-        return ((AbstractProcess) process).createReadOnlyInstance(unmarshallWorkflowProcessInstance(data, process));
+        return unmarshallReadOnlyProcessInstance(data, readProcessInstanceMessage(data, process), process);
+    }
+
+    private ProcessInstance unmarshallReadOnlyProcessInstance(byte[] data, JBPMMessages.ProcessInstance message, Process process) {
+        ProcessInstance instance = ((AbstractProcess) process).createReadOnlyInstance(headerOf(message, process));
+        ((AbstractProcessInstance<?>) instance).internalLoadProcessInstanceLazily(() -> unmarshallWorkflowProcessInstance(data, process));
+        return instance;
+    }
+
+    /**
+     * Creates a process instance carrying only the header fields of the given message, used as the
+     * placeholder of lazily unmarshalled read only instances.
+     */
+    public static WorkflowProcessInstance headerOf(JBPMMessages.ProcessInstance message, Process<?> process) {
+        RuleFlowProcessInstance pi = new RuleFlowProcessInstance();
+        pi.setId(message.getId());
+        pi.setProcessId(message.getProcessId());
+        pi.setProcess(((AbstractProcess<?>) process).process());
+        pi.setDescription(message.getDescription());
+        pi.setState(message.getState());
+        pi.setParentProcessInstanceId(message.getParentProcessInstanceId());
+        pi.setRootProcessInstanceId(message.getRootProcessInstanceId());
+        pi.setRootProcessId(message.getRootProcessId());
+        pi.setCorrelationKey(message.getCorrelationKey());
+        if (message.hasStartDate()) {
+            pi.setStartDate(new Date(message.getStartDate()));
+        }
+        pi.internalSetErrorNodeId(message.getErrorNodeId());
+        pi.internalSetErrorMessage(message.getErrorMessage());
+        pi.setReferenceId(message.getReferenceId());
+        return pi;
+    }
+
+    public ProcessInstance unmarshallProcessInstance(byte[] data, Process process, ProcessInstanceReadMode mode) {
+        return mode == ProcessInstanceReadMode.MUTABLE ? unmarshallProcessInstance(data, process) : unmarshallReadOnlyProcessInstance(data, process);
+    }
+
+    private static class Serialized {
+
+        private final byte[] data;
+        private final JBPMMessages.ProcessInstance message;
+
+        private Serialized(byte[] data, JBPMMessages.ProcessInstance message) {
+            this.data = data;
+            this.message = message;
+        }
     }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.workitems;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
+
+/**
+ * Executes the asynchronous part of work items whose handler returns before the work it started is done.
+ * Handlers get it from the work item manager they are given, see {@link #of(KogitoWorkItemManager)}.
+ */
+public interface AsyncWorkItemExecutor {
+
+    /**
+     * Starts the given execution once the unit of work executing the work item ends, so that the work item is
+     * stored before it can be completed. When the returned stage completes, the work item is completed with its
+     * results, or failed with its error, in a new unit of work.
+     *
+     * @param workItem work item that stays active until the execution completes
+     * @param execution starts the work and returns its results
+     */
+    void execute(KogitoWorkItem workItem, Supplier<CompletionStage<Map<String, Object>>> execution);
+
+    /**
+     * Returns the executor of the work items of the given manager, empty when they cannot be completed asynchronously
+     */
+    static Optional<AsyncWorkItemExecutor> of(KogitoWorkItemManager manager) {
+        return manager instanceof org.kie.kogito.process.workitems.KogitoWorkItemManager ?
+                ((org.kie.kogito.process.workitems.KogitoWorkItemManager) manager).getAsyncWorkItemExecutor() :
+                Optional.empty();
+    }
+}
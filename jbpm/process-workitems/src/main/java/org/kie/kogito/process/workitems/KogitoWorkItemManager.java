@@ -16,7 +16,9 @@
 package org.kie.kogito.process.workitems;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import org.drools.core.process.instance.WorkItem;
 
@@ -24,6 +26,14 @@ public interface KogitoWorkItemManager extends org.drools.core.process.instance.
 
     void internalExecuteWorkItem( KogitoWorkItem workItem);
 
+    /**
+     * Registers the given work item like {@link #internalExecuteWorkItem(KogitoWorkItem)} but returns the invocation
+     * of its handler instead of running it, so that it can be run on another thread. The calls the handler makes on
+     * the work item manager are recorded and applied by the runnable the invocation returns, which must be run
+     * on the thread executing the process instance.
+     */
+    Supplier<Runnable> internalPrepareWorkItemExecution( KogitoWorkItem workItem);
+
     void internalAddWorkItem( KogitoWorkItem workItem);
 
     void internalAbortWorkItem(String id);
@@ -38,6 +48,14 @@ public interface KogitoWorkItemManager extends org.drools.core.process.instance.
 
     Set<WorkItem> getWorkItems();
 
+    /**
+     * Returns the executor of the asynchronous part of the work items of this manager, empty when they cannot be
+     * completed asynchronously
+     */
+    default Optional<AsyncWorkItemExecutor> getAsyncWorkItemExecutor() {
+        return Optional.empty();
+    }
+
     @Override
     default void internalExecuteWorkItem( org.drools.core.process.instance.WorkItem workItem ) {
         throw new UnsupportedOperationException();
@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.drools.core.process.instance.WorkItem;
 import org.kie.api.runtime.process.ProcessInstance;
@@ -64,6 +65,15 @@ public class KogitoDefaultWorkItemManager implements KogitoWorkItemManager {
         } else throw new KogitoWorkItemHandlerNotFoundException(workItem.getName() );
     }
 
+    public Supplier<Runnable> internalPrepareWorkItemExecution(KogitoWorkItem workItem) {
+        (( KogitoWorkItemImpl ) workItem).setId(UUID.randomUUID().toString());
+        internalAddWorkItem(workItem);
+        WorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
+        if (handler != null) {
+            return RecordingWorkItemManager.invocation(this, handler, workItem);
+        } else throw new KogitoWorkItemHandlerNotFoundException(workItem.getName() );
+    }
+
     public void internalAddWorkItem( KogitoWorkItem workItem) {
         workItems.put(workItem.getStringId(), workItem);
     }
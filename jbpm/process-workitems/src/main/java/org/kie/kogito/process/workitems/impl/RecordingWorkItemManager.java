@@ -0,0 +1,183 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.workitems.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.drools.core.process.instance.WorkItem;
+import org.kie.api.runtime.process.WorkItemHandler;
+import org.kie.kogito.process.workitem.Policy;
+import org.kie.kogito.process.workitem.Transition;
+import org.kie.kogito.process.workitems.AsyncWorkItemExecutor;
+import org.kie.kogito.process.workitems.KogitoWorkItem;
+import org.kie.kogito.process.workitems.KogitoWorkItemManager;
+
+/**
+ * Work item manager given to work item handlers invoked outside of the thread executing the process instance.
+ * Until the invocation is applied, it records the calls changing the state of work items, so that they are replayed
+ * on the actual manager by the thread executing the process instance, and delegates the others. Calls made once the
+ * invocation is applied, for instance by handlers completing their work item asynchronously, are delegated like
+ * they would be by the actual manager.
+ */
+public class RecordingWorkItemManager implements KogitoWorkItemManager {
+
+    private final KogitoWorkItemManager delegate;
+    private final List<Consumer<KogitoWorkItemManager>> calls = new ArrayList<>();
+    private boolean replayed;
+
+    private RecordingWorkItemManager(KogitoWorkItemManager delegate) {
+        this.delegate = delegate;
+    }
+
+    private void record(Consumer<KogitoWorkItemManager> call) {
+        synchronized (this) {
+            if (!replayed) {
+                calls.add(call);
+                return;
+            }
+        }
+        call.accept(delegate);
+    }
+
+    private void replay() {
+        List<Consumer<KogitoWorkItemManager>> recorded;
+        synchronized (this) {
+            replayed = true;
+            recorded = new ArrayList<>(calls);
+            calls.clear();
+        }
+        recorded.forEach(call -> call.accept(delegate));
+    }
+
+    @Override
+    public void completeWorkItem(String id, Map<String, Object> results, Policy<?>... policies) {
+        record(manager -> manager.completeWorkItem(id, results, policies));
+    }
+
+    @Override
+    public void abortWorkItem(String id, Policy<?>... policies) {
+        record(manager -> manager.abortWorkItem(id, policies));
+    }
+
+    @Override
+    public void transitionWorkItem(String id, Transition<?> transition) {
+        record(manager -> manager.transitionWorkItem(id, transition));
+    }
+
+    @Override
+    public void retryWorkItem(String workItemID, Map<String, Object> params) {
+        record(manager -> manager.retryWorkItem(workItemID, params));
+    }
+
+    @Override
+    public void signalEvent(String type, Object event) {
+        record(manager -> manager.signalEvent(type, event));
+    }
+
+    @Override
+    public void signalEvent(String type, Object event, String processInstanceId) {
+        record(manager -> manager.signalEvent(type, event, processInstanceId));
+    }
+
+    @Override
+    public KogitoWorkItem getWorkItem(String id) {
+        return delegate.getWorkItem(id);
+    }
+
+    @Override
+    public void internalExecuteWorkItem(KogitoWorkItem workItem) {
+        record(manager -> manager.internalExecuteWorkItem(workItem));
+    }
+
+    @Override
+    public Supplier<Runnable> internalPrepareWorkItemExecution(KogitoWorkItem workItem) {
+        return delegate.internalPrepareWorkItemExecution(workItem);
+    }
+
+    @Override
+    public void internalAddWorkItem(KogitoWorkItem workItem) {
+        record(manager -> manager.internalAddWorkItem(workItem));
+    }
+
+    @Override
+    public void internalAbortWorkItem(String id) {
+        record(manager -> manager.internalAbortWorkItem(id));
+    }
+
+    @Override
+    public void internalCompleteWorkItem(KogitoWorkItem workItem) {
+        record(manager -> manager.internalCompleteWorkItem(workItem));
+    }
+
+    @Override
+    public void registerWorkItemHandler(String workItemName, WorkItemHandler handler) {
+        delegate.registerWorkItemHandler(workItemName, handler);
+    }
+
+    @Override
+    public Set<WorkItem> getWorkItems() {
+        return delegate.getWorkItems();
+    }
+
+    @Override
+    public Optional<AsyncWorkItemExecutor> getAsyncWorkItemExecutor() {
+        return delegate.getAsyncWorkItemExecutor();
+    }
+
+    @Override
+    public void completeWorkItem(long id, Map<String, Object> results) {
+        record(manager -> manager.completeWorkItem(id, results));
+    }
+
+    @Override
+    public void abortWorkItem(long id) {
+        record(manager -> manager.abortWorkItem(id));
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public void dispose() {
+        delegate.dispose();
+    }
+
+    /**
+     * Returns the invocation of the given handler, which can be run on any thread and returns the replay of
+     * the calls the handler made, or rethrows the exception thrown by the handler
+     */
+    public static Supplier<Runnable> invocation(KogitoWorkItemManager manager, WorkItemHandler handler, KogitoWorkItem workItem) {
+        return () -> {
+            RecordingWorkItemManager recording = new RecordingWorkItemManager(manager);
+            try {
+                handler.executeWorkItem(workItem, recording);
+            } catch (RuntimeException e) {
+                return () -> {
+                    throw e;
+                };
+            }
+            return recording::replay;
+        };
+    }
+}
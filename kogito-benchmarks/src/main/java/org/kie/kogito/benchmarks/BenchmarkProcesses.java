@@ -0,0 +1,164 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jbpm.process.core.datatype.impl.type.ObjectDataType;
+import org.jbpm.process.core.timer.Timer;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.ruleflow.core.RuleFlowProcessFactory;
+import org.jbpm.ruleflow.core.factory.ForEachNodeFactory;
+import org.jbpm.workflow.core.Node;
+import org.jbpm.workflow.core.node.Join;
+import org.jbpm.workflow.core.node.Split;
+
+/**
+ * Representative process shapes built with the process factory, so that no process compilation is involved
+ * when starting them.
+ */
+public final class BenchmarkProcesses {
+
+    public static final String STRAIGHT_THROUGH = "straightThrough";
+    public static final String GATEWAYS = "gateways";
+    public static final String MULTI_INSTANCE = "multiInstance";
+    public static final String TIMER = "timer";
+
+    private BenchmarkProcesses() {
+    }
+
+    public static RuleFlowProcess create(String shape) {
+        switch (shape) {
+            case STRAIGHT_THROUGH:
+                return straightThrough();
+            case GATEWAYS:
+                return gateways();
+            case MULTI_INSTANCE:
+                return multiInstance();
+            case TIMER:
+                return timer();
+            default:
+                throw new IllegalArgumentException("Unknown process shape " + shape);
+        }
+    }
+
+    public static Map<String, Object> parameters(String shape) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("amount", 42);
+        if (MULTI_INSTANCE.equals(shape)) {
+            List<String> items = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                items.add("item-" + i);
+            }
+            parameters.put("items", items);
+        }
+        return parameters;
+    }
+
+    /*
+     * start, three scripts, end
+     */
+    private static RuleFlowProcess straightThrough() {
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess(STRAIGHT_THROUGH);
+        factory.name(STRAIGHT_THROUGH).packageName("org.kie.kogito.benchmarks").version("1.0")
+                .variable("amount", new ObjectDataType(Integer.class.getName()))
+                .startNode(1).name("Start").done()
+                .actionNode(2).name("First").action(ctx -> ctx.setVariable("amount", (Integer) ctx.getVariable("amount") + 1)).done()
+                .actionNode(3).name("Second").action(ctx -> ctx.setVariable("amount", (Integer) ctx.getVariable("amount") * 2)).done()
+                .actionNode(4).name("Third").action(ctx -> ctx.setVariable("amount", (Integer) ctx.getVariable("amount") - 1)).done()
+                .endNode(5).name("End").done()
+                .connection(1, 2)
+                .connection(2, 3)
+                .connection(3, 4)
+                .connection(4, 5);
+        return factory.validate().getProcess();
+    }
+
+    /*
+     * exclusive split on a variable followed by a parallel split, both converging before the end
+     */
+    private static RuleFlowProcess gateways() {
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess(GATEWAYS);
+        factory.name(GATEWAYS).packageName("org.kie.kogito.benchmarks").version("1.0")
+                .variable("amount", new ObjectDataType(Integer.class.getName()))
+                .startNode(1).name("Start").done()
+                .splitNode(2).name("Amount").type(Split.TYPE_XOR)
+                .constraint(3, "small", Node.CONNECTION_DEFAULT_TYPE, "java", ctx -> (Integer) ctx.getVariable("amount") < 100, 1)
+                .constraint(4, "large", Node.CONNECTION_DEFAULT_TYPE, "java", ctx -> (Integer) ctx.getVariable("amount") >= 100, 2)
+                .done()
+                .actionNode(3).name("Small").action(ctx -> ctx.setVariable("amount", (Integer) ctx.getVariable("amount") + 1)).done()
+                .actionNode(4).name("Large").action(ctx -> ctx.setVariable("amount", (Integer) ctx.getVariable("amount") - 1)).done()
+                .joinNode(5).name("Merge").type(Join.TYPE_XOR).done()
+                .splitNode(6).name("Fork").type(Split.TYPE_AND).done()
+                .actionNode(7).name("Left").action(ctx -> ctx.getVariable("amount")).done()
+                .actionNode(8).name("Right").action(ctx -> ctx.getVariable("amount")).done()
+                .joinNode(9).name("Join").type(Join.TYPE_AND).done()
+                .endNode(10).name("End").done()
+                .connection(1, 2)
+                .connection(2, 3, "small")
+                .connection(2, 4, "large")
+                .connection(3, 5)
+                .connection(4, 5)
+                .connection(5, 6)
+                .connection(6, 7)
+                .connection(6, 8)
+                .connection(7, 9)
+                .connection(8, 9)
+                .connection(9, 10);
+        return factory.validate().getProcess();
+    }
+
+    /*
+     * parallel multi instance script over the items collection
+     */
+    private static RuleFlowProcess multiInstance() {
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess(MULTI_INSTANCE);
+        factory.name(MULTI_INSTANCE).packageName("org.kie.kogito.benchmarks").version("1.0")
+                .variable("amount", new ObjectDataType(Integer.class.getName()))
+                .variable("items", new ObjectDataType(List.class.getName()))
+                .startNode(1).name("Start").done();
+        ForEachNodeFactory forEach = factory.forEachNode(2);
+        forEach.name("Items")
+                .collectionExpression("items")
+                .variable("item", new ObjectDataType(String.class.getName()));
+        forEach.actionNode(3).name("Item").action(ctx -> ctx.getVariable("item")).done();
+        forEach.linkIncomingConnections(3);
+        forEach.linkOutgoingConnections(3);
+        forEach.done()
+                .endNode(4).name("End").done()
+                .connection(1, 2)
+                .connection(2, 4);
+        return factory.validate().getProcess();
+    }
+
+    /*
+     * waits on a timer, triggered by the benchmark rather than a scheduler
+     */
+    private static RuleFlowProcess timer() {
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess(TIMER);
+        factory.name(TIMER).packageName("org.kie.kogito.benchmarks").version("1.0")
+                .variable("amount", new ObjectDataType(Integer.class.getName()))
+                .startNode(1).name("Start").done()
+                .timerNode(2).name("Wait").type(Timer.TIME_DURATION).delay("1h").done()
+                .endNode(3).name("End").done()
+                .connection(1, 2)
+                .connection(2, 3);
+        return factory.validate().getProcess();
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.model.Model;
+import org.drools.model.Rule;
+import org.drools.model.Variable;
+import org.drools.model.impl.ModelImpl;
+import org.drools.modelcompiler.builder.KieBaseBuilder;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.kogito.rules.DataHandle;
+import org.kie.kogito.rules.DataStore;
+import org.kie.kogito.rules.RuleUnitData;
+import org.kie.kogito.rules.units.AbstractRuleUnitInstance;
+import org.kie.kogito.rules.units.IndexedDataStore;
+import org.kie.kogito.rules.units.ListDataStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.drools.model.DSL.declarationOf;
+import static org.drools.model.DSL.entryPoint;
+import static org.drools.model.DSL.on;
+import static org.drools.model.PatternDSL.pattern;
+import static org.drools.model.PatternDSL.rule;
+
+/**
+ * Facts fed to a rule unit through a {@link ListDataStore}, one by one, or through an {@link IndexedDataStore},
+ * as a batch, and fired on a new session; then all the facts of a bound unit replaced by new instances, alternating
+ * between two sets of orders, and fired again, through the handles kept by the caller for the {@link ListDataStore}
+ * and by business key for the {@link IndexedDataStore}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DataStoreBenchmark {
+
+    @Param({"list", "indexed"})
+    public String store;
+
+    @Param({"100", "10000"})
+    public int facts;
+
+    private KieBase kieBase;
+    private List<Order> orders;
+    private List<Order> changedOrders;
+
+    private KieSession session;
+    private OrderUnit unit;
+    private List<DataHandle> handles;
+    private boolean changed;
+
+    @Setup
+    public void setup() {
+        Variable<Order> order = declarationOf(Order.class, entryPoint(OrderUnit.class.getCanonicalName() + ".orders"));
+        Rule rule = rule("org.kie.kogito.benchmarks", "Large").unit(OrderUnit.class)
+                .build(pattern(order).expr("large", o -> o.getAmount() >= 50),
+                       on(order).execute(o -> o.setLarge(true)));
+        Model model = new ModelImpl().addRule(rule);
+        kieBase = KieBaseBuilder.createKieBaseFromModel(model);
+
+        orders = new ArrayList<>();
+        changedOrders = new ArrayList<>();
+        for (int i = 0; i < facts; i++) {
+            orders.add(new Order(i, i % 100));
+            changedOrders.add(new Order(i, (i + 50) % 100));
+        }
+
+        session = kieBase.newKieSession();
+        unit = newUnit();
+        AbstractRuleUnitInstance<OrderUnit> unitInstance = new AbstractRuleUnitInstance<>(null, unit, session);
+        handles = add(unit, orders);
+        unitInstance.fire();
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.dispose();
+    }
+
+    @Benchmark
+    public int fire() {
+        KieSession newSession = kieBase.newKieSession();
+        try {
+            OrderUnit newUnit = newUnit();
+            AbstractRuleUnitInstance<OrderUnit> unitInstance = new AbstractRuleUnitInstance<>(null, newUnit, newSession);
+            add(newUnit, orders);
+            return unitInstance.fire();
+        } finally {
+            newSession.dispose();
+        }
+    }
+
+    @Benchmark
+    public int update() {
+        changed = !changed;
+        List<Order> updates = changed ? changedOrders : orders;
+        if (unit.orders instanceof IndexedDataStore) {
+            IndexedDataStore<Integer, Order> indexed = (IndexedDataStore<Integer, Order>) unit.orders;
+            for (Order o : updates) {
+                indexed.update(o.getId(), o);
+            }
+        } else {
+            for (int i = 0; i < handles.size(); i++) {
+                unit.orders.update(handles.get(i), updates.get(i));
+            }
+        }
+        return session.fireAllRules();
+    }
+
+    private OrderUnit newUnit() {
+        return new OrderUnit("indexed".equals(store) ? new IndexedDataStore<>(Order::getId) : new ListDataStore<>());
+    }
+
+    private static List<DataHandle> add(OrderUnit unit, List<Order> orders) {
+        if (unit.orders instanceof IndexedDataStore) {
+            return ((IndexedDataStore<Integer, Order>) unit.orders).addAll(orders);
+        }
+        List<DataHandle> added = new ArrayList<>(orders.size());
+        for (Order o : orders) {
+            added.add(unit.orders.add(o));
+        }
+        return added;
+    }
+
+    public static class OrderUnit implements RuleUnitData {
+
+        private final DataStore<Order> orders;
+
+        public OrderUnit(DataStore<Order> orders) {
+            this.orders = orders;
+        }
+
+        public DataStore<Order> getOrders() {
+            return orders;
+        }
+    }
+
+    public static class Order {
+
+        private final int id;
+        private final int amount;
+        private boolean large;
+
+        public Order(int id, int amount) {
+            this.id = id;
+            this.amount = amount;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+
+        public boolean isLarge() {
+            return large;
+        }
+
+        public void setLarge(boolean large) {
+            this.large = large;
+        }
+    }
+}
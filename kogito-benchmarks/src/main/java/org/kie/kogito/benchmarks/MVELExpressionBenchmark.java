@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.workflow.instance.impl.MVELProcessHelper;
+import org.mvel2.integration.impl.MapVariableResolverFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluation by {@link MVELProcessHelper} of the data mapping expressions of a process, round robin over a varying
+ * number of distinct expressions, with the compiled expressions cached by the process compared to compiling them
+ * on every evaluation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MVELExpressionBenchmark {
+
+    @Param({"1", "100", "2000"})
+    public int expressions;
+
+    private RuleFlowProcess process;
+    private String[] sources;
+    private Map<String, Object> variables;
+    private int next;
+
+    @Setup
+    public void setup() {
+        process = new RuleFlowProcess();
+        sources = new String[expressions];
+        for (int i = 0; i < expressions; i++) {
+            sources[i] = "person.name + \"-" + i + "\"";
+        }
+        variables = new HashMap<>();
+        variables.put("person", new Person("john"));
+    }
+
+    @Benchmark
+    public Object cached() {
+        return MVELProcessHelper.eval(process, nextSource(), new MapVariableResolverFactory(variables));
+    }
+
+    @Benchmark
+    public Object uncached() {
+        return MVELProcessHelper.eval(null, nextSource(), new MapVariableResolverFactory(variables));
+    }
+
+    private String nextSource() {
+        String source = sources[next];
+        next = (next + 1) % sources.length;
+        return source;
+    }
+
+    public static class Person {
+
+        private final String name;
+
+        public Person(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
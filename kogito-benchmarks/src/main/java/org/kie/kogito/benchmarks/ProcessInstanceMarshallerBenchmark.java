@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.benchmarks;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Round trips of an active user task process instance through the {@link ProcessInstanceMarshaller},
+ * with a string variable of the given size. Marshalling disconnects the instance, so it is only measured
+ * along with the unmarshalling of the instance it writes. An update of a small variable is written either as a full
+ * snapshot or as a delta, by a marshaller tracking variable changes, to compare
+ * {@link ProcessInstanceMarshaller#marshallProcessInstanceDelta(ProcessInstance)} with
+ * {@link ProcessInstanceMarshaller#marshallProcessInstance(ProcessInstance)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProcessInstanceMarshallerBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int variableSize;
+
+    private BpmnProcess process;
+    private ProcessInstanceMarshaller marshaller;
+    private ProcessInstanceMarshaller trackingMarshaller;
+    private byte[] marshalled;
+
+    @Setup
+    public void setup() {
+        process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.configure();
+        char[] value = new char[variableSize];
+        Arrays.fill(value, 'x');
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("test", new String(value));
+        variables.put("counter", 0);
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(variables));
+        processInstance.start();
+        marshaller = new ProcessInstanceMarshaller();
+        marshalled = marshaller.marshallProcessInstance(processInstance);
+        trackingMarshaller = new ProcessInstanceMarshaller();
+        trackingMarshaller.setVariableChangeTracking(true);
+    }
+
+    @Benchmark
+    public ProcessInstance<?> unmarshall() {
+        return marshaller.unmarshallProcessInstance(marshalled, process);
+    }
+
+    @Benchmark
+    public byte[] roundTrip() {
+        return marshaller.marshallProcessInstance(marshaller.unmarshallProcessInstance(marshalled, process));
+    }
+
+    @Benchmark
+    public byte[] updateSnapshot() {
+        ProcessInstance<?> processInstance = marshaller.unmarshallProcessInstance(marshalled, process);
+        ((AbstractProcessInstance<?>) processInstance).internalGetProcessInstance().setVariable("counter", 1);
+        return marshaller.marshallProcessInstance(processInstance);
+    }
+
+    @Benchmark
+    public byte[] updateDelta() {
+        ProcessInstance<?> processInstance = trackingMarshaller.unmarshallProcessInstance(marshalled, process);
+        ((AbstractProcessInstance<?>) processInstance).internalGetProcessInstance().setVariable("counter", 1);
+        return trackingMarshaller.marshallProcessInstanceDelta(processInstance);
+    }
+}
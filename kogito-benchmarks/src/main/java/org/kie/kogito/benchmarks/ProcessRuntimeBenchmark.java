@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.benchmarks;
+
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jbpm.process.instance.AbstractProcessRuntimeServiceProvider;
+import org.jbpm.process.instance.LightProcessRuntime;
+import org.jbpm.process.instance.LightProcessRuntimeContext;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.jobs.ProcessInstanceJobDescription;
+import org.kie.kogito.jobs.ProcessJobDescription;
+import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.process.impl.DefaultWorkItemHandlerConfig;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.timer.TimerInstance;
+import org.kie.services.signal.DefaultSignalManagerHub;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Starts process instances of the {@link BenchmarkProcesses} shapes on a {@link LightProcessRuntime} and runs them
+ * to completion, timers being triggered right after the start.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProcessRuntimeBenchmark {
+
+    private static final String TIMER_TRIGGERED_EVENT = "timerTriggered";
+
+    @Param({BenchmarkProcesses.STRAIGHT_THROUGH, BenchmarkProcesses.GATEWAYS, BenchmarkProcesses.MULTI_INSTANCE, BenchmarkProcesses.TIMER})
+    public String shape;
+
+    private LightProcessRuntime runtime;
+    private LastJobService jobsService;
+    private Map<String, Object> parameters;
+
+    @Setup
+    public void setup() {
+        RuleFlowProcess process = BenchmarkProcesses.create(shape);
+        jobsService = new LastJobService();
+        runtime = new LightProcessRuntime(new LightProcessRuntimeContext(Collections.singletonList(process)),
+                                          new AbstractProcessRuntimeServiceProvider(jobsService,
+                                                                                    new DefaultWorkItemHandlerConfig(),
+                                                                                    new DefaultProcessEventListenerConfig(),
+                                                                                    new DefaultSignalManagerHub(),
+                                                                                    new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory())));
+        parameters = BenchmarkProcesses.parameters(shape);
+    }
+
+    @Benchmark
+    public int startAndComplete() {
+        ProcessInstance processInstance = runtime.startProcess(shape, parameters);
+        if (processInstance.getState() == ProcessInstance.STATE_ACTIVE && jobsService.last != null) {
+            ProcessInstanceJobDescription job = jobsService.last;
+            jobsService.last = null;
+            String[] ids = job.id().split("_");
+            runtime.signalEvent(TIMER_TRIGGERED_EVENT, TimerInstance.with(Long.parseLong(ids[1]), job.id(), 0), job.processInstanceId());
+        }
+        return processInstance.getState();
+    }
+
+    /*
+     * keeps the last scheduled job so that the benchmark triggers it, there is nothing to cancel
+     */
+    private static class LastJobService implements JobsService {
+
+        private ProcessInstanceJobDescription last;
+
+        @Override
+        public String scheduleProcessJob(ProcessJobDescription description) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
+            last = description;
+            return description.id();
+        }
+
+        @Override
+        public boolean cancelJob(String id) {
+            return false;
+        }
+
+        @Override
+        public ZonedDateTime getScheduledTime(String id) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.model.Model;
+import org.drools.model.Rule;
+import org.drools.model.Variable;
+import org.drools.model.impl.ModelImpl;
+import org.drools.modelcompiler.builder.KieBaseBuilder;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.kogito.rules.DataSource;
+import org.kie.kogito.rules.DataStore;
+import org.kie.kogito.rules.RuleUnitData;
+import org.kie.kogito.rules.units.AbstractRuleUnitInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.drools.model.DSL.declarationOf;
+import static org.drools.model.DSL.entryPoint;
+import static org.drools.model.DSL.on;
+import static org.drools.model.PatternDSL.pattern;
+import static org.drools.model.PatternDSL.rule;
+
+/**
+ * Rule unit instance created on a new session, fed with the given number of facts and fired,
+ * as done for each evaluation of a rule unit. The rule is built with the executable model.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RuleUnitBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int facts;
+
+    private KieBase kieBase;
+    private List<Applicant> applicants;
+
+    @Setup
+    public void setup() {
+        Variable<Applicant> applicant = declarationOf(Applicant.class, entryPoint(AdultUnit.class.getCanonicalName() + ".applicants"));
+        Rule rule = rule("org.kie.kogito.benchmarks", "Adult").unit(AdultUnit.class)
+                .build(pattern(applicant).expr("adult", a -> a.getAge() >= 18),
+                       on(applicant).execute(a -> a.setAdult(true)));
+        Model model = new ModelImpl().addRule(rule);
+        kieBase = KieBaseBuilder.createKieBaseFromModel(model);
+
+        applicants = new ArrayList<>();
+        for (int i = 0; i < facts; i++) {
+            applicants.add(new Applicant(i % 40));
+        }
+    }
+
+    @Benchmark
+    public int fire() {
+        KieSession session = kieBase.newKieSession();
+        try {
+            AdultUnit unit = new AdultUnit();
+            AbstractRuleUnitInstance<AdultUnit> unitInstance = new AbstractRuleUnitInstance<>(null, unit, session);
+            for (Applicant a : applicants) {
+                unit.getApplicants().add(a);
+            }
+            return unitInstance.fire();
+        } finally {
+            session.dispose();
+        }
+    }
+
+    public static class AdultUnit implements RuleUnitData {
+
+        private final DataStore<Applicant> applicants = DataSource.createStore();
+
+        public DataStore<Applicant> getApplicants() {
+            return applicants;
+        }
+    }
+
+    public static class Applicant {
+
+        private final int age;
+        private boolean adult;
+
+        public Applicant(int age) {
+            this.age = age;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public boolean isAdult() {
+            return adult;
+        }
+
+        public void setAdult(boolean adult) {
+            this.adult = adult;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.api.runtime.process.EventListener;
+import org.kie.services.signal.DefaultSignalManagerHub;
+import org.kie.services.signal.LightSignalManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Dispatch of signals by the {@link LightSignalManager} to the listeners registered for a signal,
+ * among listeners of as many other signals, and registration of a listener next to them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SignalManagerBenchmark {
+
+    private static final String SIGNAL = "signal";
+
+    @Param({"1", "10", "100", "10000"})
+    public int listeners;
+
+    private LightSignalManager signalManager;
+    private CountingListener counter;
+
+    @Setup
+    public void setup() {
+        signalManager = new LightSignalManager(id -> Optional.empty(), new DefaultSignalManagerHub());
+        counter = new CountingListener();
+        for (int i = 0; i < listeners; i++) {
+            signalManager.addEventListener(SIGNAL, counter);
+            signalManager.addEventListener(SIGNAL + "-" + i, new CountingListener());
+        }
+    }
+
+    @Benchmark
+    public long fanOut() {
+        signalManager.signalEvent(SIGNAL, counter);
+        return counter.received;
+    }
+
+    @Benchmark
+    public long churn() {
+        CountingListener listener = new CountingListener();
+        signalManager.addEventListener(SIGNAL, listener);
+        signalManager.removeEventListener(SIGNAL, listener);
+        return listener.received;
+    }
+
+    @Benchmark
+    public long unknownSignal() {
+        signalManager.signalEvent("unknown", counter);
+        return counter.received;
+    }
+
+    private static class CountingListener implements EventListener {
+
+        private long received;
+
+        @Override
+        public void signalEvent(String type, Object event) {
+            received++;
+        }
+
+        @Override
+        public String[] getEventTypes() {
+            return new String[]{SIGNAL};
+        }
+    }
+}
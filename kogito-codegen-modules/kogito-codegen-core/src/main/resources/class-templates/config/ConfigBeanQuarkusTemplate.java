@@ -22,9 +22,13 @@ public class ConfigBean extends org.kie.kogito.conf.StaticConfigBean {
     @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.messaging.as-cloudevents")
     java.util.Optional<Boolean> useCloudEvents = java.util.Optional.of(true);
 
+    @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.events.processinstances.snapshot-interval")
+    java.util.Optional<Integer> variablesSnapshotInterval;
+
     @javax.annotation.PostConstruct
     protected void init() {
         setServiceUrl(kogitoService.orElse(""));
         setCloudEvents(useCloudEvents);
+        setVariablesSnapshotInterval(variablesSnapshotInterval.orElse(1));
     }
 }
@@ -22,9 +22,13 @@ public class ConfigBean extends org.kie.kogito.conf.StaticConfigBean {
     @org.springframework.beans.factory.annotation.Value("${kogito.messaging.as-cloudevents:#{null}}")
     java.util.Optional<Boolean> useCloudEvents = java.util.Optional.of(true);
 
+    @org.springframework.beans.factory.annotation.Value("${kogito.events.processinstances.snapshot-interval:#{null}}")
+    java.util.Optional<Integer> variablesSnapshotInterval;
+
     @javax.annotation.PostConstruct
     protected void init() {
         setServiceUrl(kogitoService.orElse(""));
         setCloudEvents(useCloudEvents);
+        setVariablesSnapshotInterval(variablesSnapshotInterval.orElse(1));
     }
 }
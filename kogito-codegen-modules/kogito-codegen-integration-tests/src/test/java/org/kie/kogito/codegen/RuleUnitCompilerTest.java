@@ -38,11 +38,13 @@ import org.kie.kogito.rules.RuleUnit;
 import org.kie.kogito.rules.RuleUnitInstance;
 import org.kie.kogito.rules.RuleUnitQuery;
 import org.kie.kogito.rules.RuleUnits;
+import org.kie.kogito.rules.units.IndexedDataStore;
 
 import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -74,6 +76,33 @@ public class RuleUnitCompilerTest extends AbstractCodegenTest {
         assertTrue( adults.getResults().getResults().containsAll( asList("Mario", "Marilena", "Sofia") ) );
     }
 
+    @Test
+    public void testRuleUnitIndexedStore() throws Exception {
+        Application application = generateCodeRulesOnly("org/kie/kogito/codegen/unit/RuleUnit.drl");
+
+        IndexedDataStore<String, Person> persons = new IndexedDataStore<>(Person::getName);
+        persons.add(new Person( "Mario", 45 ));
+        persons.add(new Person( "Sofia", 7 ));
+
+        AdultUnit adults = new AdultUnit(persons);
+
+        RuleUnit<AdultUnit> unit = application.get(RuleUnits.class).create(AdultUnit.class);
+        RuleUnitInstance<AdultUnit> instance = unit.createInstance(adults);
+
+        assertEquals(1, instance.fire() );
+        assertEquals( asList("Mario"), adults.getResults().getResults() );
+
+        Person sofia = new Person( "Sofia", 22 );
+        DataHandle dhSofia = persons.put(sofia);
+        assertSame( sofia, dhSofia.getObject() );
+        assertEquals( 1, instance.fire() );
+        assertEquals( asList("Mario", "Sofia"), adults.getResults().getResults() );
+
+        persons.remove(sofia);
+        assertEquals( 1, persons.size() );
+        assertEquals( 0, instance.fire() );
+    }
+
     @Test
     public void testRuleUnitModify() throws Exception {
         Application application = generateCodeRulesOnly("org/kie/kogito/codegen/unit/RuleUnitModify.drl");
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.codegen.process;
+
+import org.kie.kogito.codegen.api.context.KogitoBuildContext;
+import org.kie.kogito.codegen.api.template.TemplatedGenerator;
+
+/**
+ * Generates the single subscriber of the incoming event stream that routes every event to the message consumers
+ * registered for its type, see <code>CloudEventDispatcher</code>. Only generated when dependency injection is
+ * available, message consumers of plain Java applications are invoked directly.
+ */
+public class MessageConsumerDispatcherGenerator {
+
+    public static final String CLASS_NAME = "MessageConsumerDispatcher";
+
+    private final TemplatedGenerator generator;
+
+    public MessageConsumerDispatcherGenerator(KogitoBuildContext context) {
+        this.generator = TemplatedGenerator.builder()
+                .build(context, CLASS_NAME);
+    }
+
+    public String generatedFilePath() {
+        return generator.generatedFilePath();
+    }
+
+    public String generate() {
+        return generator.compilationUnitOrThrow("Cannot generate message consumer dispatcher").toString();
+    }
+}
@@ -370,6 +370,12 @@ public class ProcessCodegen extends AbstractGenerator {
                       messageConsumerGenerator.generate());
         }
 
+        if (!megs.isEmpty() && context().hasDI()) {
+            MessageConsumerDispatcherGenerator dispatcherGenerator = new MessageConsumerDispatcherGenerator(context());
+            storeFile(MESSAGE_CONSUMER_TYPE, dispatcherGenerator.generatedFilePath(),
+                      dispatcherGenerator.generate());
+        }
+
         for (MessageProducerGenerator messageProducerGenerator : mpgs) {
             storeFile(MESSAGE_PRODUCER_TYPE, messageProducerGenerator.generatedFilePath(),
                       messageProducerGenerator.generate());
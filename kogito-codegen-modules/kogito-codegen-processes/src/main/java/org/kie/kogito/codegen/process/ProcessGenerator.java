@@ -53,6 +53,7 @@ import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
 import org.drools.core.util.KieFunctions;
 import org.drools.core.util.StringUtils;
 import org.jbpm.compiler.canonical.ProcessMetaData;
+import org.jbpm.compiler.canonical.RestTaskDescriptor;
 import org.jbpm.compiler.canonical.TriggerMetaData;
 import org.jbpm.process.core.datatype.impl.type.ObjectDataType;
 import org.jbpm.ruleflow.core.RuleFlowProcessFactory;
@@ -395,17 +396,19 @@ public class ProcessGenerator {
                 Parameter parameter = new Parameter(clazzNameType, varName);
                 if (context.hasDI()) {
                     context.getDependencyInjectionAnnotator().withApplicationComponent(handlerClazz);
-                    context.getDependencyInjectionAnnotator()
-                        .withInjection(
-                                       handlerClazz
-                                           .getConstructors()
-                                           .stream()
-                                           .filter(c -> !c.getParameters().isEmpty())
-                                           .findFirst()
-                                           .orElseThrow(
-                                                        () -> new IllegalStateException(
-                                                            "Cannot find a non empty constructor to annotate in handler class " +
-                                                                                        handlerClazz)),true);
+                    ConstructorDeclaration injectedConstructor = handlerClazz
+                            .getConstructors()
+                            .stream()
+                            .filter(c -> !c.getParameters().isEmpty())
+                            .findFirst()
+                            .orElseThrow(
+                                         () -> new IllegalStateException(
+                                             "Cannot find a non empty constructor to annotate in handler class " +
+                                                                         handlerClazz));
+                    context.getDependencyInjectionAnnotator().withInjection(injectedConstructor, true);
+                    RestTaskDescriptor.getConfigParameters(injectedConstructor)
+                        .forEach((configParameter, property) -> context.getDependencyInjectionAnnotator()
+                            .withConfigInjection(configParameter, property[0], property[1]));
                 }
              
                 initMethodCall
@@ -33,6 +33,7 @@ import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
 import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.expr.NullLiteralExpr;
@@ -68,8 +69,14 @@ public class PersistenceGenerator extends AbstractGenerator {
 
     protected static final String TEMPLATE_NAME = "templateName";
     protected static final String PATH_NAME = "path";
+    protected static final String DELTAS_NAME = "deltasBeforeCompaction";
+    protected static final String SEGMENT_SIZE_NAME = "segmentSize";
+    protected static final String CACHE_SIZE_NAME = "cacheSize";
 
     private static final String KOGITO_PERSISTENCE_FS_PATH_PROP = "kogito.persistence.filesystem.path";
+    private static final String KOGITO_PERSISTENCE_FS_DELTAS_PROP = "kogito.persistence.filesystem.deltas";
+    private static final String KOGITO_PERSISTENCE_FS_SEGMENT_SIZE_PROP = "kogito.persistence.filesystem.segment-size";
+    private static final String KOGITO_PERSISTENCE_CACHE_SIZE_PROP = "kogito.persistence.cache-size";
     
     private static final String KOGITO_PROCESS_INSTANCE_FACTORY_PACKAGE= "org.kie.kogito.persistence.KogitoProcessInstancesFactory";
     private static final String KOGITO_PROCESS_INSTANCE_FACTORY_IMPL= "KogitoProcessInstancesFactoryImpl";
@@ -154,6 +161,8 @@ public class PersistenceGenerator extends AbstractGenerator {
 
             persistenceProviderClazz.addMember(templateNameField);
             persistenceProviderClazz.addMember(templateNameMethod);
+
+            addIntConfig(persistenceProviderClazz, CACHE_SIZE_NAME, KOGITO_PERSISTENCE_CACHE_SIZE_PROP);
         }
         
         return protobufBasedPersistence(persistenceProviderClazz);
@@ -167,6 +176,8 @@ public class PersistenceGenerator extends AbstractGenerator {
 
         if (context().hasDI()) {
             context().getDependencyInjectionAnnotator().withApplicationComponent(persistenceProviderClazz);
+
+            addIntConfig(persistenceProviderClazz, CACHE_SIZE_NAME, KOGITO_PERSISTENCE_CACHE_SIZE_PROP);
         }
 
         Collection<GeneratedFile> generatedFiles = protobufBasedPersistence(persistenceProviderClazz);
@@ -302,6 +313,12 @@ public class PersistenceGenerator extends AbstractGenerator {
 
             persistenceProviderClazz.addMember(pathField);
             persistenceProviderClazz.addMember(pathMethod);
+
+            // delta updates and segment files are disabled unless configured
+            addIntConfig(persistenceProviderClazz, DELTAS_NAME, KOGITO_PERSISTENCE_FS_DELTAS_PROP);
+            addIntConfig(persistenceProviderClazz, SEGMENT_SIZE_NAME, KOGITO_PERSISTENCE_FS_SEGMENT_SIZE_PROP);
+            // near cache of process instances is disabled unless configured
+            addIntConfig(persistenceProviderClazz, CACHE_SIZE_NAME, KOGITO_PERSISTENCE_CACHE_SIZE_PROP);
         }
 
         generatePersistenceProviderClazz(persistenceProviderClazz, compilationUnit)
@@ -310,6 +327,27 @@ public class PersistenceGenerator extends AbstractGenerator {
         return generatedFiles;
     }
 
+    /*
+     * adds an optional integer config property and the method returning it, zero when not set
+     */
+    private void addIntConfig(ClassOrInterfaceDeclaration persistenceProviderClazz, String name, String property) {
+        FieldDeclaration field = new FieldDeclaration().addVariable(new VariableDeclarator()
+                .setType(new ClassOrInterfaceType(null, new SimpleName(Optional.class.getCanonicalName()), NodeList.nodeList(new ClassOrInterfaceType(null, Integer.class.getCanonicalName()))))
+                .setName(name));
+        context().getDependencyInjectionAnnotator().withConfigInjection(field, property);
+        BlockStmt methodBody = new BlockStmt();
+        methodBody.addStatement(new ReturnStmt(new MethodCallExpr(new NameExpr(name), OR_ELSE).addArgument(new IntegerLiteralExpr("0"))));
+
+        MethodDeclaration method = new MethodDeclaration()
+                .addModifier(Keyword.PUBLIC)
+                .setName(name)
+                .setType(int.class)
+                .setBody(methodBody);
+
+        persistenceProviderClazz.addMember(field);
+        persistenceProviderClazz.addMember(method);
+    }
+
     private Collection<GeneratedFile> mongodbBasedPersistence() {
         Collection<GeneratedFile> generatedFiles = new ArrayList<>();
         ClassOrInterfaceDeclaration persistenceProviderClazz = new ClassOrInterfaceDeclaration()
@@ -350,6 +388,7 @@ public class PersistenceGenerator extends AbstractGenerator {
             persistenceProviderClazz.addMember(dbNameField);
             persistenceProviderClazz.addMember(dbNameMethod);
 
+            addIntConfig(persistenceProviderClazz, CACHE_SIZE_NAME, KOGITO_PERSISTENCE_CACHE_SIZE_PROP);
         }
         generatePersistenceProviderClazz(persistenceProviderClazz, compilationUnit)
                 .ifPresent(generatedFiles::add);
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package $Package$;
+
+import java.time.Duration;
+
+import io.smallrye.mutiny.Multi;
+import org.kie.kogito.event.AcknowledgeableEvent;
+import org.kie.kogito.event.KogitoEventStreams;
+import org.kie.kogito.event.impl.CloudEventDispatcher;
+import org.kie.kogito.services.event.impl.AbstractMessageConsumer;
+import org.reactivestreams.Publisher;
+
+@io.quarkus.runtime.Startup
+public class MessageConsumerDispatcher {
+
+    @javax.inject.Inject
+    javax.enterprise.inject.Instance<AbstractMessageConsumer<?, ?, ?>> consumers;
+
+    @javax.inject.Inject
+    @javax.inject.Named(KogitoEventStreams.PUBLISHER) Publisher<String> eventPublisher;
+
+    @javax.inject.Inject
+    @javax.inject.Named(KogitoEventStreams.MESSAGE_PUBLISHER)
+    javax.enterprise.inject.Instance<Publisher<AcknowledgeableEvent>> messagePublisher;
+
+    @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.messaging.batch-size", defaultValue = "0")
+    int batchSize;
+
+    @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.messaging.batch-timeout", defaultValue = "100")
+    long batchTimeout;
+
+    @javax.annotation.PostConstruct
+    void init() {
+        CloudEventDispatcher dispatcher = new CloudEventDispatcher();
+        consumers.forEach(dispatcher::register);
+
+        if (batchSize > 1 && messagePublisher.isResolvable()) {
+            // events are acknowledged once their batch is processed
+            Multi.createFrom().publisher(messagePublisher.get())
+                    .group().intoLists().of(batchSize, Duration.ofMillis(batchTimeout))
+                    .subscribe()
+                    .with(dispatcher::dispatchAndAcknowledge);
+        } else if (batchSize > 1) {
+            Multi.createFrom().publisher(eventPublisher)
+                    .group().intoLists().of(batchSize, Duration.ofMillis(batchTimeout))
+                    .subscribe()
+                    .with(dispatcher::dispatch);
+        } else {
+            Multi.createFrom().publisher(eventPublisher)
+                    .subscribe()
+                    .with(dispatcher::dispatch);
+        }
+    }
+}
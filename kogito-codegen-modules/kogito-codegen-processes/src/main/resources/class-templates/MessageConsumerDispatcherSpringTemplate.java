@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package $Package$;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.kie.kogito.event.AcknowledgeableEvent;
+import org.kie.kogito.event.KogitoEventStreams;
+import org.kie.kogito.event.impl.CloudEventDispatcher;
+import org.kie.kogito.services.event.impl.AbstractMessageConsumer;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+@org.springframework.stereotype.Component()
+public class MessageConsumerDispatcher {
+
+    @org.springframework.beans.factory.annotation.Autowired()
+    MessageConsumerDispatcher(
+            List<AbstractMessageConsumer<?, ?, ?>> consumers,
+            @org.springframework.beans.factory.annotation.Qualifier(KogitoEventStreams.PUBLISHER) Publisher<String> eventPublisher,
+            @org.springframework.beans.factory.annotation.Qualifier(KogitoEventStreams.MESSAGE_PUBLISHER) org.springframework.beans.factory.ObjectProvider<Publisher<AcknowledgeableEvent>> messagePublisher,
+            @org.springframework.beans.factory.annotation.Value("${kogito.messaging.batch-size:0}") int batchSize,
+            @org.springframework.beans.factory.annotation.Value("${kogito.messaging.batch-timeout:100}") long batchTimeout) {
+        CloudEventDispatcher dispatcher = new CloudEventDispatcher();
+        consumers.forEach(dispatcher::register);
+
+        Publisher<AcknowledgeableEvent> messages = messagePublisher.getIfAvailable();
+        if (batchSize > 1 && messages != null) {
+            // events are acknowledged once their batch is processed
+            Flux.from(messages)
+                    .bufferTimeout(batchSize, Duration.ofMillis(batchTimeout))
+                    .subscribe(dispatcher::dispatchAndAcknowledge);
+        } else if (batchSize > 1) {
+            Flux.from(eventPublisher)
+                    .bufferTimeout(batchSize, Duration.ofMillis(batchTimeout))
+                    .subscribe(dispatcher::dispatch);
+        } else {
+            Flux.from(eventPublisher)
+                    .subscribe(dispatcher::dispatch);
+        }
+    }
+}
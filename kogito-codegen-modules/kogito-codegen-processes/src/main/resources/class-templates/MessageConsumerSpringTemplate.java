@@ -17,12 +17,9 @@ package $Package$;
 
 import org.kie.kogito.Application;
 import org.kie.kogito.conf.ConfigBean;
-import org.kie.kogito.event.KogitoEventStreams;
 import org.kie.kogito.event.impl.DefaultEventConsumerFactory;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.services.event.impl.AbstractMessageConsumer;
-import org.reactivestreams.Publisher;
-import reactor.core.publisher.Flux;
 
 @org.springframework.stereotype.Component()
 public class $Type$MessageConsumer extends AbstractMessageConsumer<$Type$, $DataType$, $DataEventType$> {
@@ -31,8 +28,7 @@ public class $Type$MessageConsumer extends AbstractMessageConsumer<$Type$, $Data
     $Type$MessageConsumer(
             Application application,
             @org.springframework.beans.factory.annotation.Qualifier("$ProcessName$") Process<$Type$> process,
-            ConfigBean configBean,
-            @org.springframework.beans.factory.annotation.Qualifier(KogitoEventStreams.PUBLISHER) Publisher<String> eventPublisher) {
+            ConfigBean configBean) {
         super(application,
               process,
               $DataType$.class,
@@ -40,9 +36,6 @@ public class $Type$MessageConsumer extends AbstractMessageConsumer<$Type$, $Data
               "$Trigger$",
               new DefaultEventConsumerFactory(),
               configBean.useCloudEvents());
-
-        Flux.from(eventPublisher)
-                .subscribe(this::consume);
     }
 
     protected $Type$ eventToModel($DataType$ event) {
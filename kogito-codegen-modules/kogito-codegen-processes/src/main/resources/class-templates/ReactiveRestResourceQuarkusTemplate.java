@@ -40,6 +40,7 @@ import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceExecutionException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ReactiveProcessInstances;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.workitem.Policies;
 import org.kie.kogito.services.uow.UnitOfWorkExecutor;
@@ -94,13 +95,12 @@ public class $Type$ReactiveResource {
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> getResource_$name$(@PathParam("id") String id) {
-        return CompletableFuture
-            .supplyAsync(
-                () -> process
-                    .instances()
-                    .findById(id, ProcessInstanceReadMode.READ_ONLY)
-                    .map(pi -> pi.variables().toOutput())
-                    .orElse(null));
+        return ReactiveProcessInstances
+            .of(process.instances())
+            .findByIdAsync(id, ProcessInstanceReadMode.READ_ONLY)
+            .thenApply(found -> found
+                .map(pi -> pi.variables().toOutput())
+                .orElse(null));
     }
 
     @DELETE()
@@ -145,12 +145,11 @@ public class $Type$ReactiveResource {
     public CompletionStage<List<WorkItem>> getTasks_$name$(@PathParam("id") String id,
                                                                 @QueryParam("user") final String user,
                                                                 @QueryParam("group") final List<String> groups) {
-        return CompletableFuture
-            .supplyAsync(
-                () -> process
-                    .instances()
-                    .findById(id, ProcessInstanceReadMode.READ_ONLY)
-                    .map(pi -> pi.workItems(Policies.of(user, groups)))
-                    .orElse(null));
+        return ReactiveProcessInstances
+            .of(process.instances())
+            .findByIdAsync(id, ProcessInstanceReadMode.READ_ONLY)
+            .thenApply(found -> found
+                .map(pi -> pi.workItems(Policies.of(user, groups)))
+                .orElse(null));
     }
 }
@@ -18,7 +18,9 @@ import java.util.List;
 import org.kie.api.event.process.ProcessEventListener;
 import org.kie.kogito.event.EventPublisher;
 import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.process.ParallelWorkItemExecutor;
 import org.kie.kogito.process.ProcessEventListenerConfig;
+import org.kie.kogito.process.ProcessInstanceIdGenerator;
 import org.kie.kogito.process.WorkItemHandlerConfig;
 import org.kie.kogito.signal.SignalManagerHub;
 import org.kie.kogito.uow.UnitOfWorkManager;
@@ -37,6 +39,8 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
             Instance<ProcessEventListenerConfig> processEventListenerConfigs,
             Instance<ProcessEventListener> processEventListeners,
             Instance<EventPublisher> eventPublishers,
+            Instance<ProcessInstanceIdGenerator> processInstanceIdGenerator,
+            Instance<ParallelWorkItemExecutor> parallelWorkItemExecutor,
             ConfigBean configBean) {
 
         super(workItemHandlerConfig,
@@ -45,7 +49,10 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
               unitOfWorkManager,
               jobsService,
               eventPublishers,
-              configBean.getServiceUrl());
+              processInstanceIdGenerator,
+              parallelWorkItemExecutor,
+              configBean.getServiceUrl(),
+              configBean.getVariablesSnapshotInterval());
     }
 
 }
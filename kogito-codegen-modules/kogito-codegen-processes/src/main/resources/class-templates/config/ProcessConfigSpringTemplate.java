@@ -18,7 +18,9 @@ import java.util.List;
 import org.kie.api.event.process.ProcessEventListener;
 import org.kie.kogito.event.EventPublisher;
 import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.process.ParallelWorkItemExecutor;
 import org.kie.kogito.process.ProcessEventListenerConfig;
+import org.kie.kogito.process.ProcessInstanceIdGenerator;
 import org.kie.kogito.process.WorkItemHandlerConfig;
 import org.kie.kogito.signal.SignalManagerHub;
 import org.kie.kogito.uow.UnitOfWorkManager;
@@ -35,6 +37,8 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
             List<ProcessEventListenerConfig> processEventListenerConfigs,
             List<ProcessEventListener> processEventListeners,
             List<EventPublisher> eventPublishers,
+            List<ProcessInstanceIdGenerator> processInstanceIdGenerator,
+            List<ParallelWorkItemExecutor> parallelWorkItemExecutor,
             ConfigBean configBean) {
 
         super(workItemHandlerConfig,
@@ -43,6 +47,9 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
               unitOfWorkManager,
               jobsService,
               eventPublishers,
-              configBean.getServiceUrl());
+              processInstanceIdGenerator,
+              parallelWorkItemExecutor,
+              configBean.getServiceUrl(),
+              configBean.getVariablesSnapshotInterval());
     }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.codegen.process;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.expr.MethodReferenceExpr;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.codegen.api.context.KogitoBuildContext;
+import org.kie.kogito.codegen.api.context.impl.QuarkusKogitoBuildContext;
+import org.kie.kogito.codegen.api.context.impl.SpringBootKogitoBuildContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageConsumerDispatcherGeneratorTest {
+
+    @Test
+    void testQuarkusDispatcher() {
+        assertDispatcher(QuarkusKogitoBuildContext.builder().withPackageName("org.acme").build());
+    }
+
+    @Test
+    void testSpringDispatcher() {
+        assertDispatcher(SpringBootKogitoBuildContext.builder().withPackageName("org.acme").build());
+    }
+
+    private void assertDispatcher(KogitoBuildContext context) {
+        MessageConsumerDispatcherGenerator generator = new MessageConsumerDispatcherGenerator(context);
+        assertThat(generator.generatedFilePath()).isEqualTo("org/acme/MessageConsumerDispatcher.java");
+
+        CompilationUnit unit = StaticJavaParser.parse(generator.generate());
+        assertThat(unit.getPackageDeclaration()).hasValueSatisfying(p -> assertThat(p.getNameAsString()).isEqualTo("org.acme"));
+        assertThat(unit.getClassByName(MessageConsumerDispatcherGenerator.CLASS_NAME)).isPresent();
+        assertThat(unit.findAll(MethodReferenceExpr.class))
+                .extracting(MethodReferenceExpr::getIdentifier)
+                // one subscription for single events and one for batches, acknowledged once processed when possible
+                .containsExactlyInAnyOrder("register", "dispatchAndAcknowledge", "dispatch", "dispatch");
+    }
+}
@@ -37,8 +37,11 @@ import java.util.Optional;
 
 import static com.github.javaparser.StaticJavaParser.parse;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.codegen.process.persistence.PersistenceGenerator.CACHE_SIZE_NAME;
+import static org.kie.kogito.codegen.process.persistence.PersistenceGenerator.DELTAS_NAME;
 import static org.kie.kogito.codegen.process.persistence.PersistenceGenerator.FILESYSTEM_PERSISTENCE_TYPE;
 import static org.kie.kogito.codegen.process.persistence.PersistenceGenerator.PATH_NAME;
+import static org.kie.kogito.codegen.process.persistence.PersistenceGenerator.SEGMENT_SIZE_NAME;
 
 class FileSystemPersistenceGeneratorTest {
 
@@ -86,5 +89,13 @@ class FileSystemPersistenceGeneratorTest {
         assertThat(fieldDeclaration).isNotEmpty();
         assertThat(fieldDeclaration.get().getVariables()).hasSize(1);
         assertThat(fieldDeclaration.get().getVariables().get(0).getName().asString()).isEqualTo(PATH_NAME);
+
+        assertThat(classDeclaration.findFirst(MethodDeclaration.class, d -> d.getName().getIdentifier().equals(DELTAS_NAME))).isNotEmpty();
+        assertThat(classDeclaration.findAll(FieldDeclaration.class))
+                .anyMatch(field -> field.getVariable(0).getName().asString().equals(DELTAS_NAME));
+        assertThat(classDeclaration.findFirst(MethodDeclaration.class, d -> d.getName().getIdentifier().equals(SEGMENT_SIZE_NAME))).isNotEmpty();
+        assertThat(classDeclaration.findAll(FieldDeclaration.class))
+                .anyMatch(field -> field.getVariable(0).getName().asString().equals(SEGMENT_SIZE_NAME));
+        assertThat(classDeclaration.findFirst(MethodDeclaration.class, d -> d.getName().getIdentifier().equals(CACHE_SIZE_NAME))).isNotEmpty();
     }
 }
\ No newline at end of file
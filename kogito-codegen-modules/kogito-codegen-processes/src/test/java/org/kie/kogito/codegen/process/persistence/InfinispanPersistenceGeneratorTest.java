@@ -34,6 +34,7 @@ import java.util.stream.Collectors;
 
 import static com.github.javaparser.StaticJavaParser.parse;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.codegen.process.persistence.PersistenceGenerator.CACHE_SIZE_NAME;
 import static org.kie.kogito.codegen.process.persistence.PersistenceGenerator.INFINISPAN_PERSISTENCE_TYPE;
 
 class InfinispanPersistenceGeneratorTest {
@@ -80,5 +81,6 @@ class InfinispanPersistenceGeneratorTest {
 
         assertThat(methodDeclaration.getBody()).isNotEmpty();
         assertThat(methodDeclaration.getBody().get().toString()).contains(expectedMarshaller);
+        assertThat(classDeclaration.findFirst(MethodDeclaration.class, d -> d.getName().getIdentifier().equals(CACHE_SIZE_NAME))).isNotEmpty();
     }
 }
\ No newline at end of file
@@ -37,6 +37,7 @@ import org.kie.kogito.codegen.process.persistence.proto.ReflectionProtoGenerator
 
 import static com.github.javaparser.StaticJavaParser.parse;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.codegen.process.persistence.PersistenceGenerator.CACHE_SIZE_NAME;
 import static org.kie.kogito.codegen.process.persistence.PersistenceGenerator.KAFKA_PERSISTENCE_TYPE;
 
 class KafkaPersistenceGeneratorTest {
@@ -83,5 +84,6 @@ class KafkaPersistenceGeneratorTest {
 
         assertThat(methodDeclaration.getBody()).isNotEmpty();
         assertThat(methodDeclaration.getBody().get().toString()).contains(expectedMarshaller);
+        assertThat(classDeclaration.findFirst(MethodDeclaration.class, d -> d.getName().getIdentifier().equals(CACHE_SIZE_NAME))).isNotEmpty();
     }
 }
\ No newline at end of file
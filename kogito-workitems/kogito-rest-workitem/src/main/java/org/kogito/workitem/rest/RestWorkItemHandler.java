@@ -21,11 +21,21 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.mutiny.core.Vertx;
 import io.vertx.mutiny.core.buffer.Buffer;
 import io.vertx.mutiny.ext.web.client.HttpRequest;
 import io.vertx.mutiny.ext.web.client.HttpResponse;
@@ -33,7 +43,20 @@ import io.vertx.mutiny.ext.web.client.WebClient;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
+import org.kie.kogito.process.workitems.AsyncWorkItemExecutor;
 
+/**
+ * Work item handler invoking REST services. By default the thread executing the process instance waits for
+ * the response. When asynchronous and the work item manager of the process provides an {@link AsyncWorkItemExecutor},
+ * as it does for the processes of an application, the request is sent once the process instance is stored and the
+ * work item stays active until the response completes it in a new unit of work.
+ * <br/>
+ * At most <code>maxInFlight</code> asynchronous requests (256 by default) are sent at a time, further ones wait for
+ * a response. Requests time out after <code>timeout</code> milliseconds (30 seconds by default) and at most
+ * <code>poolSize</code> connections are kept per endpoint. The handlers generated for applications are configured by
+ * the <code>kogito.rest.workitem.async</code>, <code>kogito.rest.workitem.timeout</code>,
+ * <code>kogito.rest.workitem.max-in-flight</code> and <code>kogito.rest.workitem.pool-size</code> properties.
+ */
 public class RestWorkItemHandler implements KogitoWorkItemHandler {
 
     public static final String REST_TASK_TYPE = "Rest Task";
@@ -47,6 +70,10 @@ public class RestWorkItemHandler implements KogitoWorkItemHandler {
     public static final String HOST = "host";
     public static final String PORT = "port";
 
+    public static final long DEFAULT_TIMEOUT = 30000;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 256;
+    public static final int DEFAULT_POOL_SIZE = HttpClientOptions.DEFAULT_MAX_POOL_SIZE;
+
     // package scoped to allow unit test
     static class RestUnaryOperator implements UnaryOperator<Object> {
 
@@ -64,9 +91,28 @@ public class RestWorkItemHandler implements KogitoWorkItemHandler {
     }
 
     private WebClient client;
+    private final boolean async;
+    private final long timeout;
+    private final Semaphore inFlight;
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+    public RestWorkItemHandler(Vertx vertx) {
+        this(vertx, false, DEFAULT_TIMEOUT, DEFAULT_MAX_IN_FLIGHT, DEFAULT_POOL_SIZE);
+    }
+
+    public RestWorkItemHandler(Vertx vertx, boolean async, long timeout, int maxInFlight, int poolSize) {
+        this(WebClient.create(vertx, new WebClientOptions().setMaxPoolSize(poolSize)), async, timeout, maxInFlight);
+    }
 
     public RestWorkItemHandler(WebClient client) {
+        this(client, false, DEFAULT_TIMEOUT, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public RestWorkItemHandler(WebClient client, boolean async, long timeout, int maxInFlight) {
         this.client = client;
+        this.async = async;
+        this.timeout = timeout;
+        this.inFlight = new Semaphore(maxInFlight);
     }
 
     @Override
@@ -91,18 +137,74 @@ public class RestWorkItemHandler implements KogitoWorkItemHandler {
         if (user != null && !user.trim().isEmpty() && password != null && !password.trim().isEmpty()) {
             request.basicAuthentication(user, password);
         }
-        HttpResponse<Buffer> response;
+        if (timeout > 0) {
+            request.timeout(timeout);
+        }
+        Object body = null;
         if (method == HttpMethod.POST || method == HttpMethod.PUT) {
             // if parameters is empty at this stage, assume post content is the whole input model
             // if not, build a map from parameters remaining
-            Object body = parameters.isEmpty() ? inputModel : parameters.entrySet().stream().collect(Collectors.toMap(
+            body = parameters.isEmpty() ? inputModel : parameters.entrySet().stream().collect(Collectors.toMap(
                     Entry::getKey, e -> resolver.apply(e.getValue())));
-            response = request.sendJsonAndAwait(body);
-        } else {
-            response = request.sendAndAwait();
         }
-        manager.completeWorkItem(workItem.getStringId(), Collections.singletonMap(RESULT, resultHandler.apply(inputModel,
-                response.bodyAsJsonObject())));
+        Optional<AsyncWorkItemExecutor> executor = async ? AsyncWorkItemExecutor.of(manager) : Optional.empty();
+        if (executor.isPresent()) {
+            Object json = body;
+            executor.get().execute(workItem, () -> sendAsync(request, json, inputModel, resultHandler));
+            return;
+        }
+        HttpResponse<Buffer> response = body != null ? request.sendJsonAndAwait(body) : request.sendAndAwait();
+        manager.completeWorkItem(workItem.getStringId(), results(inputModel, resultHandler, response));
+    }
+
+    private CompletionStage<Map<String, Object>> sendAsync(HttpRequest<Buffer> request, Object body, Object inputModel,
+            RestWorkItemHandlerResult resultHandler) {
+        CompletableFuture<Map<String, Object>> results = new CompletableFuture<>();
+        submit(() -> {
+            try {
+                Uni<HttpResponse<Buffer>> response = body != null ? request.sendJson(body) : request.send();
+                response.subscribe().with(value -> {
+                    release();
+                    try {
+                        results.complete(results(inputModel, resultHandler, value));
+                    } catch (RuntimeException e) {
+                        results.completeExceptionally(e);
+                    }
+                }, error -> {
+                    release();
+                    results.completeExceptionally(error);
+                });
+            } catch (RuntimeException e) {
+                release();
+                results.completeExceptionally(e);
+            }
+        });
+        return results;
+    }
+
+    private Map<String, Object> results(Object inputModel, RestWorkItemHandlerResult resultHandler, HttpResponse<Buffer> response) {
+        return Collections.singletonMap(RESULT, resultHandler.apply(inputModel, response.bodyAsJsonObject()));
+    }
+
+    private void submit(Runnable request) {
+        pending.add(request);
+        sendPending();
+    }
+
+    private void release() {
+        inFlight.release();
+        sendPending();
+    }
+
+    private void sendPending() {
+        while (!pending.isEmpty() && inFlight.tryAcquire()) {
+            Runnable request = pending.poll();
+            if (request == null) {
+                inFlight.release();
+            } else {
+                request.run();
+            }
+        }
     }
 
     @Override
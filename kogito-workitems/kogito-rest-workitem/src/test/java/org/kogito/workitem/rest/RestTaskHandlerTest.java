@@ -18,9 +18,14 @@ package org.kogito.workitem.rest;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
 import io.vertx.mutiny.core.buffer.Buffer;
@@ -30,15 +35,20 @@ import io.vertx.mutiny.ext.web.client.WebClient;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
+import org.kie.kogito.process.workitems.AsyncWorkItemExecutor;
 import org.kogito.workitem.rest.jsonpath.functions.JSonPathResultHandler;
 import org.kogito.workitem.rest.jsonpath.functions.JsonPathResolver;
 import org.mockito.ArgumentCaptor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -134,6 +144,7 @@ public class RestTaskHandlerTest {
         RestWorkItemHandler handler = new RestWorkItemHandler(
             webClient);
         handler.executeWorkItem(workItem, manager);
+        verify(request).timeout(RestWorkItemHandler.DEFAULT_TIMEOUT);
         verify(manager).completeWorkItem(anyString(), argCaptor.capture());
         Map<String, Object> results = argCaptor.getValue();
 
@@ -143,4 +154,55 @@ public class RestTaskHandlerTest {
         assertTrue(result instanceof ObjectNode);
         assertEquals(1, ((ObjectNode) result).get("num").asInt());
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testAsyncRestTaskHandler() {
+        WebClient webClient = mock(WebClient.class);
+        HttpRequest<Buffer> request = mock(HttpRequest.class);
+        when(webClient.request(HttpMethod.POST, 8080, "localhost", "/results")).thenReturn(request);
+        HttpResponse<Buffer> response = mock(HttpResponse.class);
+        when(response.bodyAsJsonObject()).thenReturn(JsonObject.mapFrom(Collections.singletonMap("num", 1)));
+        AtomicReference<UniEmitter<? super HttpResponse<Buffer>>> emitter = new AtomicReference<>();
+        when(request.sendJson(any())).thenReturn(Uni.createFrom().<HttpResponse<Buffer>> emitter(emitter::set));
+
+        CompletableFuture<Map<String, Object>> first = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> second = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<Map<String, Object>>> next = new AtomicReference<>(first);
+        AsyncWorkItemExecutor executor = (workItem, execution) -> {
+            CompletableFuture<Map<String, Object>> results = next.getAndSet(second);
+            execution.get().thenAccept(results::complete);
+        };
+        org.kie.kogito.process.workitems.KogitoWorkItemManager manager = mock(org.kie.kogito.process.workitems.KogitoWorkItemManager.class);
+        when(manager.getAsyncWorkItemExecutor()).thenReturn(Optional.of(executor));
+
+        RestWorkItemHandler handler = new RestWorkItemHandler(webClient, true, 1000, 1);
+        handler.executeWorkItem(postWorkItem(), manager);
+        handler.executeWorkItem(postWorkItem(), manager);
+
+        // the second request waits for the response of the first one
+        verify(request).sendJson(any());
+        verify(request, times(2)).timeout(1000);
+        assertFalse(first.isDone());
+        emitter.get().complete(response);
+        assertEquals(1, ((ObjectNode) first.join().get(RestWorkItemHandler.RESULT)).get("num").asInt());
+
+        verify(request, times(2)).sendJson(any());
+        emitter.get().complete(response);
+        assertEquals(1, ((ObjectNode) second.join().get(RestWorkItemHandler.RESULT)).get("num").asInt());
+        verify(manager, never()).completeWorkItem(anyString(), any());
+    }
+
+    private KogitoWorkItem postWorkItem() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(RestWorkItemHandler.ENDPOINT, "http://localhost:8080/results");
+        parameters.put(RestWorkItemHandler.METHOD, "POST");
+        parameters.put(RestWorkItemHandler.RESULT_HANDLER, new JSonPathResultHandler());
+        parameters.put(RestWorkItemHandler.PARAMETER, new ObjectMapper().createObjectNode().put("id", 26));
+
+        KogitoWorkItem workItem = mock(KogitoWorkItem.class);
+        when(workItem.getStringId()).thenReturn("2");
+        when(workItem.getParameters()).thenReturn(parameters);
+        return workItem;
+    }
 }